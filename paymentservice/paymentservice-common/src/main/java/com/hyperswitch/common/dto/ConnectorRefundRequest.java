@@ -15,6 +15,14 @@ public class ConnectorRefundRequest {
     @Schema(description = "Name of the connector", required = true)
     private String connectorName;
     
+    @JsonProperty("payment_id")
+    @Schema(description = "ID of the payment being refunded")
+    private String paymentId;
+    
+    @JsonProperty("connector_transaction_id")
+    @Schema(description = "Connector's ID of the payment being refunded")
+    private String connectorTransactionId;
+    
     @JsonProperty("amount")
     @Schema(description = "Refund amount (null for full refund)")
     private Long amount;
@@ -35,6 +43,22 @@ public class ConnectorRefundRequest {
         this.connectorName = connectorName;
     }
     
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public String getConnectorTransactionId() {
+        return connectorTransactionId;
+    }
+    
+    public void setConnectorTransactionId(String connectorTransactionId) {
+        this.connectorTransactionId = connectorTransactionId;
+    }
+    
     public Long getAmount() {
         return amount;
     }
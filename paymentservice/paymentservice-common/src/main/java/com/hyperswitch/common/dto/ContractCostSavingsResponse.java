@@ -0,0 +1,146 @@
+package com.hyperswitch.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Response DTO for the contract-based routing cost savings report
+ * Compares the processing cost of the connectors that were actually selected
+ * against the cheapest eligible connector meeting the success-rate floor.
+ */
+public class ContractCostSavingsResponse {
+
+    @JsonProperty("merchant_id")
+    private String merchantId;
+
+    @JsonProperty("profile_id")
+    private String profileId;
+
+    @JsonProperty("from")
+    private Instant from;
+
+    @JsonProperty("to")
+    private Instant to;
+
+    @JsonProperty("total_decisions")
+    private Long totalDecisions;
+
+    @JsonProperty("priced_decisions")
+    private Long pricedDecisions;
+
+    @JsonProperty("decisions_with_cheaper_option")
+    private Long decisionsWithCheaperOption;
+
+    @JsonProperty("actual_cost")
+    private Long actualCost;
+
+    @JsonProperty("least_cost")
+    private Long leastCost;
+
+    @JsonProperty("potential_savings")
+    private Long potentialSavings;
+
+    @JsonProperty("actual_cost_by_connector")
+    private Map<String, Long> actualCostByConnector;
+
+    @JsonProperty("least_cost_volume_by_connector")
+    private Map<String, Long> leastCostVolumeByConnector;
+
+    // Getters and Setters
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    public String getProfileId() {
+        return profileId;
+    }
+
+    public void setProfileId(String profileId) {
+        this.profileId = profileId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public Long getTotalDecisions() {
+        return totalDecisions;
+    }
+
+    public void setTotalDecisions(Long totalDecisions) {
+        this.totalDecisions = totalDecisions;
+    }
+
+    public Long getPricedDecisions() {
+        return pricedDecisions;
+    }
+
+    public void setPricedDecisions(Long pricedDecisions) {
+        this.pricedDecisions = pricedDecisions;
+    }
+
+    public Long getDecisionsWithCheaperOption() {
+        return decisionsWithCheaperOption;
+    }
+
+    public void setDecisionsWithCheaperOption(Long decisionsWithCheaperOption) {
+        this.decisionsWithCheaperOption = decisionsWithCheaperOption;
+    }
+
+    public Long getActualCost() {
+        return actualCost;
+    }
+
+    public void setActualCost(Long actualCost) {
+        this.actualCost = actualCost;
+    }
+
+    public Long getLeastCost() {
+        return leastCost;
+    }
+
+    public void setLeastCost(Long leastCost) {
+        this.leastCost = leastCost;
+    }
+
+    public Long getPotentialSavings() {
+        return potentialSavings;
+    }
+
+    public void setPotentialSavings(Long potentialSavings) {
+        this.potentialSavings = potentialSavings;
+    }
+
+    public Map<String, Long> getActualCostByConnector() {
+        return actualCostByConnector;
+    }
+
+    public void setActualCostByConnector(Map<String, Long> actualCostByConnector) {
+        this.actualCostByConnector = actualCostByConnector;
+    }
+
+    public Map<String, Long> getLeastCostVolumeByConnector() {
+        return leastCostVolumeByConnector;
+    }
+
+    public void setLeastCostVolumeByConnector(Map<String, Long> leastCostVolumeByConnector) {
+        this.leastCostVolumeByConnector = leastCostVolumeByConnector;
+    }
+}
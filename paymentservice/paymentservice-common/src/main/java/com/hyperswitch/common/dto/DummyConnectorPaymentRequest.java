@@ -8,6 +8,9 @@ import java.util.Map;
  */
 public class DummyConnectorPaymentRequest {
     
+    @JsonProperty("payment_id")
+    private String paymentId;
+    
     @JsonProperty("amount")
     private Long amount;
     
@@ -24,6 +27,14 @@ public class DummyConnectorPaymentRequest {
     private String connector;
     
     // Getters and Setters
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
     public Long getAmount() {
         return amount;
     }
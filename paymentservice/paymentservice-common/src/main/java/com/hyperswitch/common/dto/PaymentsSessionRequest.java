@@ -1,5 +1,6 @@
 package com.hyperswitch.common.dto;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -9,6 +10,8 @@ public class PaymentsSessionRequest {
     private String paymentId;
     private Map<String, Object> sessionData;
     private String connector;
+    private List<String> wallets;
+    private String profileId;
     
     public PaymentsSessionRequest() {
     }
@@ -36,5 +39,20 @@ public class PaymentsSessionRequest {
     public void setConnector(String connector) {
         this.connector = connector;
     }
+    
+    public List<String> getWallets() {
+        return wallets;
+    }
+    
+    public void setWallets(List<String> wallets) {
+        this.wallets = wallets;
+    }
+    
+    public String getProfileId() {
+        return profileId;
+    }
+    
+    public void setProfileId(String profileId) {
+        this.profileId = profileId;
+    }
 }
-
@@ -1,5 +1,6 @@
 package com.hyperswitch.common.dto;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -8,6 +9,8 @@ import java.util.Map;
 public class PaymentsSessionResponse {
     private String paymentId;
     private Map<String, String> sessionTokens;
+    private Map<String, Map<String, String>> walletTokens;
+    private List<String> omittedWallets;
     private String status;
     private String message;
     
@@ -30,6 +33,22 @@ public class PaymentsSessionResponse {
         this.sessionTokens = sessionTokens;
     }
     
+    public Map<String, Map<String, String>> getWalletTokens() {
+        return walletTokens;
+    }
+    
+    public void setWalletTokens(Map<String, Map<String, String>> walletTokens) {
+        this.walletTokens = walletTokens;
+    }
+    
+    public List<String> getOmittedWallets() {
+        return omittedWallets;
+    }
+    
+    public void setOmittedWallets(List<String> omittedWallets) {
+        this.omittedWallets = omittedWallets;
+    }
+    
     public String getStatus() {
         return status;
     }
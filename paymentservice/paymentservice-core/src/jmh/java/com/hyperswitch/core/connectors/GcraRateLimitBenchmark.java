@@ -0,0 +1,99 @@
+package com.hyperswitch.core.connectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and allocation of taking a connector rate limit permit
+ * Compares the CAS on GcraRateLimit's single arrival time with the synchronized token bucket
+ * ConnectorRateLimiter used before, on one thread and with four threads sharing the limit.
+ * The limit is high enough that every permit is granted. Run with the gc profiler (the
+ * profile's default) and check that gc.alloc.rate.norm, the bytes allocated per call, is zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GcraRateLimitBenchmark {
+
+    private static final long WINDOW_MILLIS = 1000;
+
+    private GcraRateLimit gcra;
+    private SynchronizedTokenBucket bucket;
+
+    @Setup
+    public void setUp() {
+        gcra = new GcraRateLimit(Integer.MAX_VALUE, Duration.ofMillis(WINDOW_MILLIS));
+        bucket = new SynchronizedTokenBucket(Integer.MAX_VALUE, WINDOW_MILLIS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean gcra() {
+        return gcra.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean synchronizedBucket() {
+        return bucket.tryConsume(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean gcraContended() {
+        return gcra.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean synchronizedBucketContended() {
+        return bucket.tryConsume(System.currentTimeMillis());
+    }
+
+    /**
+     * The token bucket ConnectorRateLimiter kept per connector before GcraRateLimit
+     */
+    private static final class SynchronizedTokenBucket {
+
+        private final int capacity;
+        private final long windowMillis;
+        private final AtomicInteger tokens;
+        private final AtomicLong lastRefill;
+
+        SynchronizedTokenBucket(int capacity, long windowMillis) {
+            this.capacity = capacity;
+            this.windowMillis = windowMillis;
+            this.tokens = new AtomicInteger(capacity);
+            this.lastRefill = new AtomicLong(System.currentTimeMillis());
+        }
+
+        synchronized boolean tryConsume(long now) {
+            if (now - lastRefill.get() >= windowMillis) {
+                tokens.set(capacity);
+                lastRefill.set(now);
+            }
+            int current = tokens.get();
+            if (current > 0) {
+                return tokens.compareAndSet(current, current - 1);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.hyperswitch.core.connectors;
+
+/**
+ * Gradient concurrency limit that tracks what a connector can currently sustain
+ * Round trip times are averaged over windows of calls. While a window's average stays within
+ * the tolerance of the lowest average seen, the connector is not queueing and the limit grows
+ * by about its square root; once calls slow down the limit shrinks in proportion, and a window
+ * with dropped calls backs it off. A limit pinned at its minimum for a while means the
+ * connector became slower rather than queued, so the baseline is reset to the current average.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int STALE_BASELINE_WINDOWS = 10;
+
+    private final int minLimit;
+    private int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double smoothing;
+
+    private volatile double limit;
+    private double baselineRttNanos;
+    private int windowsAtMinimum;
+
+    // Current window
+    private long windowRttNanos;
+    private int windowCalls;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int windowSize,
+                             double tolerance, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.windowSize = Math.max(1, windowSize);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Record a finished call with its round trip time, the calls in flight when it finished
+     * and whether it was dropped by a timeout or overload
+     */
+    synchronized void record(long rttNanos, int inFlight, boolean dropped) {
+        windowRttNanos += rttNanos;
+        windowCalls++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        windowDropped |= dropped;
+        if (windowCalls < windowSize) {
+            return;
+        }
+        double averageRtt = (double) windowRttNanos / windowCalls;
+        boolean appLimited = windowMaxInFlight < limit / 2;
+        boolean droppedCalls = windowDropped;
+        windowRttNanos = 0;
+        windowCalls = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+
+        if (baselineRttNanos == 0 || averageRtt < baselineRttNanos) {
+            baselineRttNanos = averageRtt;
+        }
+        double target;
+        if (droppedCalls) {
+            target = limit * BACKOFF_RATIO;
+        } else if (appLimited) {
+            // Too few calls to say anything about the connector's capacity
+            return;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineRttNanos / averageRtt));
+            target = limit * gradient + Math.sqrt(limit);
+        }
+        limit = Math.min(maxLimit, Math.max(minLimit, limit * (1 - smoothing) + target * smoothing));
+
+        if (limit <= minLimit) {
+            if (++windowsAtMinimum >= STALE_BASELINE_WINDOWS) {
+                baselineRttNanos = averageRtt;
+                windowsAtMinimum = 0;
+            }
+        } else {
+            windowsAtMinimum = 0;
+        }
+    }
+
+    /**
+     * Change the highest limit, for example when the bulkhead of the connector is resized
+     */
+    synchronized void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        limit = Math.min(limit, this.maxLimit);
+    }
+}
@@ -0,0 +1,295 @@
+package com.hyperswitch.core.connectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous admission queue in front of one connector's rate limit
+ * Callers that find no permit wait in a per-merchant FIFO lane and lanes are served round
+ * robin, so a burst from one merchant cannot starve the others. A single timer wakes the
+ * queue exactly when the next permit conforms instead of every waiter polling the limiter.
+ * Waiters carry a deadline: a call whose estimated wait already exceeds it is rejected on
+ * arrival, and one still queued at its deadline is rejected then.
+ */
+public final class ConnectorAdmissionQueue {
+
+    private static final String NO_MERCHANT = "";
+
+    /**
+     * Permit source of the queue
+     */
+    interface Permits {
+
+        /** Take a permit without waiting */
+        boolean tryAcquire();
+
+        /** Nanoseconds until the next permit is expected, zero if unknown */
+        long waitNanos();
+
+        /** Nanoseconds between permits at the steady rate */
+        long intervalNanos();
+
+        void release();
+    }
+
+    private final String connector;
+    private final Permits permits;
+    private final int maxDepth;
+    private final Scheduler scheduler;
+
+    private final Map<String, ArrayDeque<Waiter>> lanes = new HashMap<>();
+    private final ArrayDeque<String> rotation = new ArrayDeque<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong wakeAt = new AtomicLong(Long.MAX_VALUE);
+
+    private Timer waitTimer;
+    private Counter deadlineRejections;
+    private Counter capacityRejections;
+
+    ConnectorAdmissionQueue(String connector, Permits permits, int maxDepth, Scheduler scheduler,
+                            MeterRegistry meterRegistry) {
+        this.connector = connector;
+        this.permits = permits;
+        this.maxDepth = maxDepth;
+        this.scheduler = scheduler;
+        if (meterRegistry != null) {
+            Gauge.builder("hyperswitch.connector.admission.queue.depth", depth, AtomicInteger::get)
+                .description("Connector calls waiting for a rate limit permit")
+                .tag("connector", connector)
+                .register(meterRegistry);
+            this.waitTimer = Timer.builder("hyperswitch.connector.admission.wait")
+                .description("Time connector calls waited for a rate limit permit")
+                .tag("connector", connector)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.deadlineRejections = Counter.builder("hyperswitch.connector.admission.rejected")
+                .description("Connector calls rejected by the admission queue")
+                .tag("connector", connector)
+                .tag("reason", "deadline")
+                .register(meterRegistry);
+            this.capacityRejections = Counter.builder("hyperswitch.connector.admission.rejected")
+                .description("Connector calls rejected by the admission queue")
+                .tag("connector", connector)
+                .tag("reason", "capacity")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Complete once a permit is granted, or fail with ConnectorRateLimitException if it
+     * cannot be granted before the deadline
+     */
+    public Mono<Void> acquire(String merchantId, Duration maxWait) {
+        return Mono.defer(() -> enqueue(merchantId, maxWait));
+    }
+
+    private Mono<Void> enqueue(String merchantId, Duration maxWait) {
+        if (depth.get() == 0 && permits.tryAcquire()) {
+            record(0L);
+            return Mono.empty();
+        }
+        long now = System.nanoTime();
+        long maxWaitNanos = maxWait.toNanos();
+        String lane = merchantId != null ? merchantId : NO_MERCHANT;
+
+        Waiter waiter = new Waiter(now, now + maxWaitNanos);
+        synchronized (this) {
+            if (depth.get() >= maxDepth) {
+                return reject(capacityRejections, "admission queue full");
+            }
+            if (estimatedWaitNanos(lane) > maxWaitNanos) {
+                return reject(deadlineRejections, "wait would exceed deadline");
+            }
+            ArrayDeque<Waiter> queue = lanes.get(lane);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                lanes.put(lane, queue);
+                rotation.addLast(lane);
+            }
+            queue.addLast(waiter);
+            depth.incrementAndGet();
+        }
+        drain();
+
+        return waiter.sink.asMono()
+            .timeout(Duration.ofNanos(maxWaitNanos), Mono.defer(() -> {
+                waiter.expire();
+                if (waiter.isAdmitted()) {
+                    // Admitted while the timeout fired
+                    return Mono.empty();
+                }
+                if (deadlineRejections != null) {
+                    deadlineRejections.increment();
+                }
+                return Mono.error(new ConnectorRateLimitException(connector, "deadline exceeded in admission queue"));
+            }), scheduler)
+            .doOnCancel(() -> {
+                if (!waiter.expire() && waiter.isAdmitted()) {
+                    permits.release();
+                }
+            });
+    }
+
+    /**
+     * Admit waiters while permits are available, then arm one timer for the next permit
+     */
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (true) {
+                Waiter waiter;
+                synchronized (this) {
+                    waiter = nextWaiter();
+                }
+                if (waiter == null) {
+                    break;
+                }
+                if (!permits.tryAcquire()) {
+                    scheduleWake(permits.waitNanos());
+                    break;
+                }
+                synchronized (this) {
+                    removeNext();
+                }
+                if (waiter.admit()) {
+                    record(System.nanoTime() - waiter.enqueuedAt);
+                    waiter.sink.tryEmitEmpty();
+                } else {
+                    permits.release();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    private long estimatedWaitNanos(String lane) {
+        ArrayDeque<Waiter> queue = lanes.get(lane);
+        int laneDepth = queue != null ? queue.size() : 0;
+        int activeLanes = rotation.size() + (queue == null ? 1 : 0);
+        // Round robin serves this lane once per pass over the active lanes
+        long ahead = Math.min(depth.get(), (long) (laneDepth + 1) * activeLanes - 1);
+        return permits.waitNanos() + ahead * permits.intervalNanos();
+    }
+
+    private Waiter nextWaiter() {
+        while (!rotation.isEmpty()) {
+            String lane = rotation.peekFirst();
+            ArrayDeque<Waiter> queue = lanes.get(lane);
+            while (!queue.isEmpty() && queue.peekFirst().isExpired()) {
+                queue.pollFirst();
+                depth.decrementAndGet();
+            }
+            if (!queue.isEmpty()) {
+                return queue.peekFirst();
+            }
+            lanes.remove(lane);
+            rotation.pollFirst();
+        }
+        return null;
+    }
+
+    private void removeNext() {
+        String lane = rotation.pollFirst();
+        ArrayDeque<Waiter> queue = lanes.get(lane);
+        queue.pollFirst();
+        depth.decrementAndGet();
+        if (queue.isEmpty()) {
+            lanes.remove(lane);
+        } else {
+            rotation.addLast(lane);
+        }
+    }
+
+    private void scheduleWake(long delayNanos) {
+        if (delayNanos <= 0) {
+            // Waiting on something other than the local rate, such as a permit lease; its completion drains
+            return;
+        }
+        long target = System.nanoTime() + delayNanos;
+        while (true) {
+            long current = wakeAt.get();
+            if (current != Long.MAX_VALUE && current - target <= 0) {
+                return;
+            }
+            if (wakeAt.compareAndSet(current, target)) {
+                scheduler.schedule(() -> {
+                    wakeAt.compareAndSet(target, Long.MAX_VALUE);
+                    drain();
+                }, delayNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+    }
+
+    private Mono<Void> reject(Counter counter, String reason) {
+        if (counter != null) {
+            counter.increment();
+        }
+        return Mono.error(new ConnectorRateLimitException(connector, reason));
+    }
+
+    private void record(long waitNanos) {
+        if (waitTimer != null) {
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A queued call; admitted or expired exactly once
+     */
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int ADMITTED = 1;
+        private static final int EXPIRED = 2;
+
+        private final long enqueuedAt;
+        private final long deadline;
+        private final Sinks.Empty<Void> sink = Sinks.empty();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(long enqueuedAt, long deadline) {
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+        }
+
+        boolean admit() {
+            return state.compareAndSet(WAITING, ADMITTED);
+        }
+
+        boolean isAdmitted() {
+            return state.get() == ADMITTED;
+        }
+
+        boolean expire() {
+            return state.compareAndSet(WAITING, EXPIRED);
+        }
+
+        boolean isExpired() {
+            if (state.get() == EXPIRED) {
+                return true;
+            }
+            return System.nanoTime() - deadline > 0 && expire();
+        }
+    }
+}
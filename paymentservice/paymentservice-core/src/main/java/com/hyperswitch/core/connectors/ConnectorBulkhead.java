@@ -0,0 +1,484 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.routing.elimination.ConnectorCapacity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkheads for connector calls, one per connector
+ * Each connector may have a limited number of calls in flight. Further calls wait in a
+ * bounded FIFO queue for a slot and are rejected fast once the queue is full or their wait
+ * exceeds the maximum, so a slow connector holds on to its own slots instead of the event
+ * loops and connections every other connector needs. Routing treats a connector whose slots
+ * are all taken as saturated and sends traffic elsewhere first. Limits can be changed at
+ * runtime; changes are published to Redis and picked up by all nodes.
+ * With adaptive limits the slots actually available follow an AdaptiveConcurrencyLimit
+ * driven by the round trip times of the connector's calls, up to the configured maximum, so
+ * the bulkhead narrows when an acquirer browns out and widens again as it recovers.
+ */
+@Component
+public class ConnectorBulkhead implements ConnectorCapacity {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorBulkhead.class);
+    private static final String CONFIG_KEY = "connector:bulkhead:config";
+    private static final String METRIC_PREFIX = "hyperswitch.connector.bulkhead";
+
+    /**
+     * Bulkhead limits of a connector
+     */
+    public record Limits(int maxConcurrent, int maxQueued) {
+
+        public Limits {
+            if (maxConcurrent <= 0 || maxQueued < 0) {
+                throw new IllegalArgumentException("max_concurrent must be positive and max_queued not negative");
+            }
+        }
+
+        static Limits parse(String value) {
+            int separator = value.indexOf('/');
+            if (separator < 0) {
+                return null;
+            }
+            try {
+                return new Limits(Integer.parseInt(value.substring(0, separator)),
+                    Integer.parseInt(value.substring(separator + 1)));
+            } catch (IllegalArgumentException _) {
+                return null;
+            }
+        }
+
+        String format() {
+            return maxConcurrent + "/" + maxQueued;
+        }
+    }
+
+    private final boolean enabled;
+    private final Limits defaults;
+    private final Duration maxWait;
+    private final boolean adaptive;
+    private final int adaptiveInitialLimit;
+    private final int adaptiveMinLimit;
+    private final int adaptiveWindowSize;
+    private final double adaptiveTolerance;
+    private final double adaptiveSmoothing;
+
+    // Runtime overrides keyed by connector
+    private final Map<String, Limits> overrides = new ConcurrentHashMap<>();
+
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    private MeterRegistry meterRegistry;
+
+    public ConnectorBulkhead(
+            @Value("${hyperswitch.connectors.bulkhead.enabled:true}") boolean enabled,
+            @Value("${hyperswitch.connectors.bulkhead.max-concurrent:200}") int maxConcurrent,
+            @Value("${hyperswitch.connectors.bulkhead.max-queued:100}") int maxQueued,
+            @Value("${hyperswitch.connectors.bulkhead.max-wait-ms:1000}") long maxWaitMillis,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.enabled:false}") boolean adaptive,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.initial-limit:20}") int adaptiveInitialLimit,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.min-limit:5}") int adaptiveMinLimit,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.window-size:20}") int adaptiveWindowSize,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.tolerance:2.0}") double adaptiveTolerance,
+            @Value("${hyperswitch.connectors.bulkhead.adaptive.smoothing:0.2}") double adaptiveSmoothing) {
+        this.enabled = enabled;
+        this.defaults = new Limits(maxConcurrent, maxQueued);
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        this.adaptive = adaptive;
+        this.adaptiveInitialLimit = adaptiveInitialLimit;
+        this.adaptiveMinLimit = adaptiveMinLimit;
+        this.adaptiveWindowSize = adaptiveWindowSize;
+        this.adaptiveTolerance = adaptiveTolerance;
+        this.adaptiveSmoothing = adaptiveSmoothing;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - connector bulkhead limits will be node-local");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a connector call in the bulkhead of its connector. A call that gets no slot is
+     * answered with CONNECTOR_BULKHEAD_FULL without subscribing to it; the slot of an
+     * admitted call is released when it completes, fails or is cancelled. The round trip time
+     * of a finished call, excluding its wait for a slot, feeds the adaptive limit.
+     */
+    public <T> Mono<Result<T, PaymentError>> execute(String connectorName, Mono<Result<T, PaymentError>> call) {
+        if (!enabled || connectorName == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Compartment compartment = compartment(connectorName.toLowerCase());
+            return compartment.acquire()
+                .then(Mono.defer(() -> {
+                    long startNanos = System.nanoTime();
+                    AtomicBoolean released = new AtomicBoolean();
+                    return call
+                        .doOnNext(result -> compartment.record(result, System.nanoTime() - startNanos))
+                        .doOnError(error -> compartment.record(null, System.nanoTime() - startNanos))
+                        .doFinally(signal -> {
+                            if (released.compareAndSet(false, true)) {
+                                compartment.release();
+                            }
+                        });
+                }))
+                .onErrorResume(BulkheadFullException.class, error -> Mono.just(Result.<T, PaymentError>err(
+                    PaymentError.of(ConnectorErrorClass.BULKHEAD_FULL.errorCode(),
+                        "Bulkhead full for connector " + connectorName + " (" + error.getMessage() + ")"))));
+        });
+    }
+
+    /**
+     * Routing view: a connector is saturated while all of its slots are taken, so a new call would queue
+     */
+    @Override
+    public boolean isSaturated(Connector connector) {
+        if (!enabled || compartments.isEmpty()) {
+            return false;
+        }
+        Compartment compartment = compartments.get(connector.name().toLowerCase());
+        return compartment != null && compartment.isSaturated();
+    }
+
+    /**
+     * Calls of a connector currently in flight
+     */
+    public int inFlight(String connectorName) {
+        Compartment compartment = compartments.get(connectorName.toLowerCase());
+        return compartment != null ? compartment.inFlight : 0;
+    }
+
+    /**
+     * Slots currently available to a connector's calls, below its maximum while the adaptive limit is lower
+     */
+    public int limit(String connectorName) {
+        String connector = connectorName.toLowerCase();
+        Compartment compartment = compartments.get(connector);
+        return compartment != null ? compartment.limit() : overrides.getOrDefault(connector, defaults).maxConcurrent();
+    }
+
+    /**
+     * Calls of a connector currently waiting for a slot
+     */
+    public int queued(String connectorName) {
+        Compartment compartment = compartments.get(connectorName.toLowerCase());
+        return compartment != null ? compartment.queued() : 0;
+    }
+
+    /**
+     * Update the bulkhead limits of a connector. The change is published to Redis so that
+     * every node applies it.
+     */
+    public void updateLimits(String connectorName, int maxConcurrent, int maxQueued) {
+        String connector = connectorName.toLowerCase();
+        Limits limits = new Limits(maxConcurrent, maxQueued);
+        apply(connector, limits);
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(CONFIG_KEY, connector, limits.format())
+                .subscribe(null, error -> log.warn("Failed to publish bulkhead limits for {} to Redis", connector, error));
+        }
+        log.info("Updated bulkhead limits for {}: {} in flight, {} queued", connector, maxConcurrent, maxQueued);
+    }
+
+    /**
+     * Effective bulkhead limits by connector, with the defaults under "default"
+     */
+    public Map<String, Limits> getLimits() {
+        Map<String, Limits> limits = new HashMap<>();
+        limits.put("default", defaults);
+        limits.putAll(overrides);
+        return limits;
+    }
+
+    /**
+     * Pick up bulkhead limits changed on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.bulkhead.refresh-interval-ms:10000}")
+    public void refreshLimits() {
+        if (!enabled || redisTemplate == null) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(CONFIG_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applyLimits,
+                error -> log.debug("Failed to refresh bulkhead limits from Redis", error));
+    }
+
+    void applyLimits(Map<String, String> published) {
+        Map<String, Limits> parsed = new HashMap<>();
+        published.forEach((connector, value) -> {
+            Limits limits = Limits.parse(value);
+            if (limits != null) {
+                parsed.put(connector, limits);
+            } else {
+                log.warn("Ignoring invalid bulkhead limits for {}: {}", connector, value);
+            }
+        });
+        for (String connector : overrides.keySet()) {
+            if (!parsed.containsKey(connector)) {
+                apply(connector, null);
+            }
+        }
+        parsed.forEach((connector, limits) -> {
+            if (!limits.equals(overrides.get(connector))) {
+                apply(connector, limits);
+            }
+        });
+    }
+
+    private void apply(String connector, Limits limits) {
+        if (limits != null) {
+            overrides.put(connector, limits);
+        } else {
+            overrides.remove(connector);
+        }
+        Compartment compartment = compartments.get(connector);
+        if (compartment != null) {
+            compartment.resize(limits != null ? limits : defaults);
+        }
+    }
+
+    private Compartment compartment(String connector) {
+        return compartments.computeIfAbsent(connector, this::newCompartment);
+    }
+
+    private Compartment newCompartment(String connector) {
+        Compartment compartment = new Compartment(connector, overrides.getOrDefault(connector, defaults));
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_PREFIX + ".in_flight", compartment, c -> c.inFlight)
+                .description("Connector calls in flight")
+                .tag("connector", connector)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".queued", compartment, Compartment::queued)
+                .description("Connector calls waiting for a bulkhead slot")
+                .tag("connector", connector)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".limit", compartment, Compartment::limit)
+                .description("Slots available to the connector's calls")
+                .tag("connector", connector)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".saturation", compartment, Compartment::saturation)
+                .description("Share of the connector's bulkhead slots in use")
+                .tag("connector", connector)
+                .register(meterRegistry);
+        }
+        return compartment;
+    }
+
+    private void reject(String connector, String reason) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Connector calls rejected by the bulkhead")
+            .tag("connector", connector)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Slots and waiting calls of one connector
+     */
+    private final class Compartment {
+        final String connector;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private final AdaptiveConcurrencyLimit adaptiveLimit;
+        private volatile Limits limits;
+        volatile int inFlight;
+
+        Compartment(String connector, Limits limits) {
+            this.connector = connector;
+            this.limits = limits;
+            this.adaptiveLimit = adaptive
+                ? new AdaptiveConcurrencyLimit(adaptiveInitialLimit, adaptiveMinLimit, limits.maxConcurrent(),
+                    adaptiveWindowSize, adaptiveTolerance, adaptiveSmoothing)
+                : null;
+        }
+
+        int limit() {
+            int maxConcurrent = limits.maxConcurrent();
+            return adaptiveLimit != null ? Math.min(maxConcurrent, adaptiveLimit.limit()) : maxConcurrent;
+        }
+
+        boolean isSaturated() {
+            return inFlight >= limit();
+        }
+
+        double saturation() {
+            return (double) inFlight / limit();
+        }
+
+        synchronized int queued() {
+            return waiters.size();
+        }
+
+        Mono<Void> acquire() {
+            Waiter waiter;
+            synchronized (this) {
+                if (waiters.isEmpty() && inFlight < limit()) {
+                    inFlight++;
+                    return Mono.empty();
+                }
+                if (waiters.size() >= limits.maxQueued()) {
+                    reject(connector, "queue_full");
+                    return Mono.error(new BulkheadFullException("queue full"));
+                }
+                waiter = new Waiter();
+                waiters.addLast(waiter);
+            }
+            return waiter.sink.asMono()
+                .timeout(maxWait, Mono.defer(() -> {
+                    if (waiter.expire()) {
+                        remove(waiter);
+                        reject(connector, "deadline");
+                        return Mono.error(new BulkheadFullException("wait exceeded " + maxWait.toMillis() + "ms"));
+                    }
+                    // Admitted while the timeout fired
+                    return Mono.empty();
+                }))
+                .doOnCancel(() -> {
+                    if (waiter.expire()) {
+                        remove(waiter);
+                    } else {
+                        release();
+                    }
+                });
+        }
+
+        /**
+         * Feed the round trip time of a finished call to the adaptive limit. Timeouts and
+         * overload answers count as dropped; calls the circuit breaker short-circuited never
+         * reached the connector and are ignored
+         */
+        void record(Result<?, PaymentError> result, long rttNanos) {
+            if (adaptiveLimit == null) {
+                return;
+            }
+            ConnectorErrorClass errorClass = result == null
+                ? ConnectorErrorClass.UNKNOWN
+                : result.isErr() ? ConnectorErrorClass.fromErrorCode(result.unwrapErr().getCode()) : null;
+            if (errorClass == ConnectorErrorClass.CIRCUIT_OPEN) {
+                return;
+            }
+            boolean dropped = result == null
+                || errorClass == ConnectorErrorClass.TIMEOUT
+                || errorClass == ConnectorErrorClass.RATE_LIMITED
+                || errorClass == ConnectorErrorClass.UNAVAILABLE;
+            adaptiveLimit.record(rttNanos, inFlight, dropped);
+        }
+
+        /**
+         * Free the slot of a finished call and hand free slots to waiters
+         */
+        void release() {
+            synchronized (this) {
+                inFlight--;
+            }
+            drain();
+        }
+
+        /**
+         * Apply new limits, admitting waiters into any slots they add
+         */
+        void resize(Limits newLimits) {
+            limits = newLimits;
+            if (adaptiveLimit != null) {
+                adaptiveLimit.setMaxLimit(newLimits.maxConcurrent());
+            }
+            drain();
+        }
+
+        private void drain() {
+            while (true) {
+                Waiter next;
+                synchronized (this) {
+                    if (inFlight >= limit()) {
+                        return;
+                    }
+                    next = nextWaiter();
+                    if (next == null) {
+                        return;
+                    }
+                    inFlight++;
+                }
+                next.sink.tryEmitEmpty();
+            }
+        }
+
+        /**
+         * Next waiter still waiting, marked admitted; callers hold the lock
+         */
+        private Waiter nextWaiter() {
+            Waiter waiter;
+            while ((waiter = waiters.pollFirst()) != null) {
+                if (waiter.admit()) {
+                    return waiter;
+                }
+            }
+            return null;
+        }
+
+        private synchronized void remove(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * A queued call; admitted or expired exactly once
+     */
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int ADMITTED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Sinks.Empty<Void> sink = Sinks.empty();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        boolean admit() {
+            return state.compareAndSet(WAITING, ADMITTED);
+        }
+
+        boolean expire() {
+            return state.compareAndSet(WAITING, EXPIRED);
+        }
+    }
+
+    /**
+     * Raised internally when a call gets no slot; surfaced as a CONNECTOR_BULKHEAD_FULL result
+     */
+    private static final class BulkheadFullException extends RuntimeException {
+        BulkheadFullException(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
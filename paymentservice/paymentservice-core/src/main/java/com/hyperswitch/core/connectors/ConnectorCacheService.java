@@ -1,124 +1,313 @@
 package com.hyperswitch.core.connectors;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for caching connector API responses
- * Implements TTL-based caching similar to hyperswitch patterns
+ * Implements TTL-based caching similar to hyperswitch patterns. Entries are held in a
+ * Caffeine cache bounded by their estimated size in bytes, with a TTL per entry. Keys built
+ * by generateKey are also indexed by connector so a connector can be invalidated without
+ * scanning the cache; the index is kept in step through the cache's removal listener.
  */
 @Service
 public class ConnectorCacheService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(ConnectorCacheService.class);
-    
-    // Cache entries with TTL
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
-    
+    private static final String KEY_PREFIX = "connector:";
+
     // Default TTL: 5 minutes for status checks, 1 hour for other responses
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
     private static final Duration STATUS_TTL = Duration.ofMinutes(1);
-    
+
+    @Value("${hyperswitch.connectors.cache.maximum-weight-bytes:67108864}")
+    private long maximumWeightBytes = 64L * 1024 * 1024;
+
+    private final Ticker ticker;
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final ConcurrentHashMap<String, Set<String>> keysByConnector = new ConcurrentHashMap<>();
+    private volatile Cache<String, Entry> cache;
+    private MeterRegistry meterRegistry;
+
+    public ConnectorCacheService() {
+        this.ticker = Ticker.systemTicker();
+    }
+
+    ConnectorCacheService(long maximumWeightBytes, Ticker ticker) {
+        this.maximumWeightBytes = maximumWeightBytes;
+        this.ticker = ticker;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Get cached response if available and not expired
      */
     public <T> Mono<T> getCached(String key, Class<T> type) {
-        CacheEntry entry = cache.get(key);
-        
+        Entry entry = cache().getIfPresent(key);
+
         if (entry == null) {
             return Mono.empty();
         }
-        
-        if (entry.isExpired()) {
-            cache.remove(key);
-            return Mono.empty();
-        }
-        
+
         @SuppressWarnings("unchecked")
-        T value = (T) entry.getValue();
+        T value = (T) entry.value();
         return Mono.just(value);
     }
-    
+
     /**
      * Cache a response with TTL
      */
     public <T> void put(String key, T value, Duration ttl) {
-        cache.put(key, new CacheEntry(value, System.currentTimeMillis() + ttl.toMillis()));
+        cache().put(key, new Entry(value, weigh(key, value), ttl.toNanos()));
+        index(key);
         log.debug("Cached response for key: {}, TTL: {}ms", key, ttl.toMillis());
     }
-    
+
     /**
      * Cache a response with default TTL
      */
     public <T> void put(String key, T value) {
         put(key, value, DEFAULT_TTL);
     }
-    
+
     /**
      * Cache a status response with shorter TTL
      */
     public <T> void putStatus(String key, T value) {
         put(key, value, STATUS_TTL);
     }
-    
+
     /**
      * Invalidate cache entry
      */
     public void invalidate(String key) {
-        cache.remove(key);
+        cache().invalidate(key);
         log.debug("Invalidated cache for key: {}", key);
     }
-    
+
     /**
      * Invalidate all cache entries for a connector
      */
     public void invalidateConnector(String connectorName) {
-        String prefix = "connector:" + connectorName.toLowerCase() + ":";
-        cache.entrySet().removeIf(entry -> entry.getKey().startsWith(prefix));
-        log.debug("Invalidated all cache entries for connector: {}", connectorName);
+        Set<String> keys = keysByConnector.remove(connectorName.toLowerCase());
+        if (keys != null) {
+            cache().invalidateAll(keys);
+        }
+        log.debug("Invalidated cache entries for connector: {}", connectorName);
     }
-    
+
     /**
      * Clear all cache
      */
     public void clear() {
-        cache.clear();
+        cache().invalidateAll();
+        keysByConnector.clear();
         log.debug("Cleared all cache entries");
     }
-    
+
+    /**
+     * Remove expired entries that are not read again
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.cache.cleanup-interval-ms:1000}")
+    public void cleanUp() {
+        if (cache != null) {
+            cache.cleanUp();
+        }
+    }
+
     /**
      * Generate cache key for connector operation
      */
     public String generateKey(String connectorName, String operation, String identifier) {
-        return String.format("connector:%s:%s:%s", 
+        return String.format("connector:%s:%s:%s",
             connectorName.toLowerCase(), operation, identifier);
     }
-    
+
+    Cache<String, Entry> cache() {
+        Cache<String, Entry> current = cache;
+        if (current == null) {
+            synchronized (this) {
+                current = cache;
+                if (current == null) {
+                    current = Caffeine.newBuilder()
+                        .maximumWeight(maximumWeightBytes)
+                        .weigher((String key, Entry entry) -> entry.weight())
+                        .expireAfter(new EntryExpiry())
+                        .ticker(ticker)
+                        .executor(Runnable::run)
+                        .evictionListener((String key, Entry entry, RemovalCause cause) -> {
+                            if (cause == RemovalCause.EXPIRED) {
+                                expirations.increment();
+                            } else {
+                                sizeEvictions.increment();
+                            }
+                        })
+                        .removalListener((String key, Entry entry, RemovalCause cause) -> unindex(key, cause))
+                        .recordStats()
+                        .build();
+                    registerMetrics(current);
+                    cache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Adds a written key to the connector index
+     * Runs after the write so a concurrent invalidateConnector cannot leave the entry unindexed,
+     * and drops the key again if the entry was removed in between.
+     */
+    private void index(String key) {
+        String connector = connectorOf(key);
+        if (connector == null) {
+            return;
+        }
+        keysByConnector.compute(connector, (name, keys) -> {
+            Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        });
+        if (!cache().asMap().containsKey(key)) {
+            unindex(key, RemovalCause.EXPLICIT);
+        }
+    }
+
     /**
-     * Cache entry with expiration
+     * Drops a removed key from the connector index unless it was written again meanwhile
      */
-    private static class CacheEntry {
-        private final Object value;
-        private final long expiresAt;
-        
-        CacheEntry(Object value, long expiresAt) {
-            this.value = value;
-            this.expiresAt = expiresAt;
+    private void unindex(String key, RemovalCause cause) {
+        String connector = connectorOf(key);
+        if (connector == null || cause == RemovalCause.REPLACED) {
+            return;
         }
-        
-        Object getValue() {
-            return value;
+        Cache<String, Entry> current = cache;
+        if (current != null && current.asMap().containsKey(key)) {
+            return;
         }
-        
-        boolean isExpired() {
-            return System.currentTimeMillis() > expiresAt;
+        keysByConnector.computeIfPresent(connector, (name, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Number of keys in the connector index
+     */
+    int indexedKeyCount() {
+        return keysByConnector.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Number of connectors in the connector index
+     */
+    int indexedConnectorCount() {
+        return keysByConnector.size();
+    }
+
+    /**
+     * Connector of a key built by generateKey, or null for keys built any other way
+     */
+    static String connectorOf(String key) {
+        if (!key.startsWith(KEY_PREFIX)) {
+            return null;
         }
+        int end = key.indexOf(':', KEY_PREFIX.length());
+        return end > 0 ? key.substring(KEY_PREFIX.length(), end) : null;
+    }
+
+    /**
+     * Rough retained size of an entry in bytes
+     */
+    static int weigh(String key, Object value) {
+        int valueBytes;
+        if (value instanceof CharSequence text) {
+            valueBytes = 40 + 2 * text.length();
+        } else if (value instanceof byte[] bytes) {
+            valueBytes = 16 + bytes.length;
+        } else {
+            // Response DTOs of a handful of strings and numbers
+            valueBytes = 512;
+        }
+        return 96 + 2 * key.length() + valueBytes;
+    }
+
+    private void registerMetrics(Cache<String, Entry> cache) {
+        if (meterRegistry == null) {
+            return;
+        }
+        FunctionCounter.builder("hyperswitch.connector.cache.requests", cache, c -> c.stats().hitCount())
+            .description("Connector cache lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.cache.requests", cache, c -> c.stats().missCount())
+            .description("Connector cache lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.cache.evictions", sizeEvictions, LongAdder::sum)
+            .description("Connector cache entries evicted")
+            .tag("cause", "size")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.cache.evictions", expirations, LongAdder::sum)
+            .description("Connector cache entries evicted")
+            .tag("cause", "expired")
+            .register(meterRegistry);
+        Gauge.builder("hyperswitch.connector.cache.size", cache, Cache::estimatedSize)
+            .description("Connector cache entries")
+            .register(meterRegistry);
+        Gauge.builder("hyperswitch.connector.cache.weight", cache,
+                c -> c.policy().eviction().flatMap(eviction -> eviction.weightedSize()).orElse(0L))
+            .description("Estimated bytes held by the connector cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached value with its estimated size and time to live
+     */
+    record Entry(Object value, int weight, long ttlNanos) {
     }
-}
 
+    /**
+     * Expires each entry after its own TTL from the last write; reads do not extend it
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
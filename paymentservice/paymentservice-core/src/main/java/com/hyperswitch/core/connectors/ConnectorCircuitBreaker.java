@@ -0,0 +1,402 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.routing.elimination.ConnectorCircuitState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breakers for connector calls, one per connector and endpoint class
+ * Each breaker keeps the outcomes of the last calls in a sliding window and opens when the
+ * failure rate or slow call rate crosses its threshold. An open breaker fails calls fast;
+ * after the open duration a few probe calls are let through and the breaker closes again
+ * only if they all succeed. Open breakers are published to Redis so every node stops
+ * calling the connector, and routing skips connectors whose payment endpoints are open.
+ */
+@Component
+public class ConnectorCircuitBreaker implements ConnectorCircuitState {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorCircuitBreaker.class);
+    private static final String REDIS_KEY = "connector:circuit:open";
+    private static final String METRIC_PREFIX = "hyperswitch.connector.circuit";
+
+    /**
+     * Breaker state
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long slowCallThresholdMillis;
+    private final double slowCallRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+
+    // Keyed by connector|endpoint class
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    private MeterRegistry meterRegistry;
+
+    public ConnectorCircuitBreaker(
+            @Value("${hyperswitch.connectors.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${hyperswitch.connectors.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${hyperswitch.connectors.circuit-breaker.min-calls:20}") int minCalls,
+            @Value("${hyperswitch.connectors.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${hyperswitch.connectors.circuit-breaker.slow-call-threshold-ms:5000}") long slowCallThresholdMillis,
+            @Value("${hyperswitch.connectors.circuit-breaker.slow-call-rate-threshold:0.5}") double slowCallRateThreshold,
+            @Value("${hyperswitch.connectors.circuit-breaker.open-duration-ms:30000}") long openMillis,
+            @Value("${hyperswitch.connectors.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        this.enabled = enabled;
+        this.windowSize = Math.max(1, windowSize);
+        this.minCalls = Math.min(Math.max(1, minCalls), this.windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdMillis = slowCallThresholdMillis;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - connector circuit breakers will be node-local");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a connector call through the breaker of its connector and endpoint class.
+     * An error signal or an error result other than a decline or rejected request counts as a failure;
+     * a call the breaker rejects is answered with CONNECTOR_CIRCUIT_OPEN without subscribing to it.
+     */
+    public <T> Mono<Result<T, PaymentError>> execute(
+            String connectorName,
+            ConnectorEndpointClass endpointClass,
+            Mono<Result<T, PaymentError>> call) {
+        if (!enabled || connectorName == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Breaker breaker = breaker(connectorName.toLowerCase(), endpointClass);
+            if (!breaker.tryAcquire(System.currentTimeMillis())) {
+                increment(breaker, "rejected");
+                return Mono.just(Result.<T, PaymentError>err(PaymentError.of("CONNECTOR_CIRCUIT_OPEN",
+                    "Circuit open for connector " + connectorName + " (" + breaker.endpoint + ")")));
+            }
+            long startNanos = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                .doOnNext(result -> {
+                    recorded.set(true);
+                    breaker.record(isFailure(result), elapsedMillis(startNanos), System.currentTimeMillis());
+                })
+                .doOnError(error -> {
+                    recorded.set(true);
+                    breaker.record(true, elapsedMillis(startNanos), System.currentTimeMillis());
+                })
+                .doFinally(signal -> {
+                    if (!recorded.get()) {
+                        // Cancelled or empty; give back a probe slot if one was taken
+                        breaker.release();
+                    }
+                });
+        });
+    }
+
+    /**
+     * Routing view: a connector is open while the breaker of any endpoint class that
+     * starts a payment is open
+     */
+    @Override
+    public boolean isOpen(Connector connector) {
+        if (!enabled || breakers.isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        String name = connector.name().toLowerCase();
+        for (ConnectorEndpointClass endpointClass : ConnectorEndpointClass.values()) {
+            if (endpointClass.gatesRouting()) {
+                Breaker breaker = breakers.get(key(name, endpointClass));
+                if (breaker != null && breaker.isOpen(now)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Current state of a breaker
+     */
+    public State getState(String connectorName, ConnectorEndpointClass endpointClass) {
+        Breaker breaker = breakers.get(key(connectorName.toLowerCase(), endpointClass));
+        return breaker != null ? breaker.state : State.CLOSED;
+    }
+
+    /**
+     * Pull breakers opened by other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.circuit-breaker.sync-interval-ms:1000}")
+    public void syncFromRemote() {
+        if (!enabled || redisTemplate == null) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(REDIS_KEY)
+            .subscribe(entry -> applyRemote(entry.getKey(), entry.getValue()),
+                error -> log.debug("Failed to read circuit breaker state from Redis, using local state", error));
+    }
+
+    void applyRemote(String field, Object value) {
+        if (!(value instanceof Number openUntil)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (openUntil.longValue() <= now) {
+            return;
+        }
+        int separator = field.indexOf('|');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            ConnectorEndpointClass endpointClass =
+                ConnectorEndpointClass.valueOf(field.substring(separator + 1).toUpperCase());
+            breaker(field.substring(0, separator), endpointClass).openFromRemote(openUntil.longValue(), now);
+        } catch (IllegalArgumentException _) {
+            log.debug("Ignoring circuit breaker state for unknown endpoint class: {}", field);
+        }
+    }
+
+    private Breaker breaker(String connector, ConnectorEndpointClass endpointClass) {
+        return breakers.computeIfAbsent(key(connector, endpointClass),
+            field -> newBreaker(field, connector, endpointClass));
+    }
+
+    private Breaker newBreaker(String field, String connector, ConnectorEndpointClass endpointClass) {
+        Breaker breaker = new Breaker(field, connector, endpointClass.name().toLowerCase());
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_PREFIX + ".state", breaker, b -> b.state.ordinal())
+                .description("Connector circuit breaker state (0=closed, 1=open, 2=half open)")
+                .tag("connector", connector)
+                .tag("endpoint", breaker.endpoint)
+                .register(meterRegistry);
+        }
+        return breaker;
+    }
+
+    /**
+     * Declines and requests the connector rejected as invalid say nothing about its health,
+     * and neither do calls shed locally by a bulkhead or another breaker
+     */
+    private static boolean isFailure(Result<?, PaymentError> result) {
+        if (result.isOk()) {
+            return false;
+        }
+        ConnectorErrorClass errorClass = ConnectorErrorClass.fromErrorCode(result.unwrapErr().getCode());
+        return errorClass != ConnectorErrorClass.CLIENT_ERROR
+            && errorClass != ConnectorErrorClass.SOFT_DECLINE
+            && errorClass != ConnectorErrorClass.BULKHEAD_FULL
+            && errorClass != ConnectorErrorClass.CIRCUIT_OPEN;
+    }
+
+    private static String key(String connector, ConnectorEndpointClass endpointClass) {
+        return connector + "|" + endpointClass.name().toLowerCase();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private void publish(Breaker breaker, long openUntil) {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.opsForHash().put(REDIS_KEY, breaker.field, openUntil)
+            .subscribe(null, error -> log.debug("Failed to publish circuit breaker state to Redis", error));
+    }
+
+    private void clear(Breaker breaker) {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.opsForHash().remove(REDIS_KEY, breaker.field)
+            .subscribe(null, error -> log.debug("Failed to clear circuit breaker state in Redis", error));
+    }
+
+    private void increment(Breaker breaker, String event) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_PREFIX + ".events")
+            .description("Connector circuit breaker events")
+            .tag("connector", breaker.connector)
+            .tag("endpoint", breaker.endpoint)
+            .tag("event", event)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Breaker of one connector endpoint class with a count-based sliding window
+     */
+    private final class Breaker {
+        final String field;
+        final String connector;
+        final String endpoint;
+
+        // Ring buffer over the last windowSize outcomes
+        private final boolean[] failed = new boolean[windowSize];
+        private final boolean[] slow = new boolean[windowSize];
+        private int next;
+        private int size;
+        private int failures;
+        private int slowCalls;
+
+        private int probesIssued;
+        private int probeSuccesses;
+
+        volatile State state = State.CLOSED;
+        volatile long openUntil;
+
+        Breaker(String field, String connector, String endpoint) {
+            this.field = field;
+            this.connector = connector;
+            this.endpoint = endpoint;
+        }
+
+        boolean isOpen(long now) {
+            return state == State.OPEN && now < openUntil;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now < openUntil) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probesIssued = 0;
+                probeSuccesses = 0;
+                log.info("Circuit for connector {} ({}) half open, sending {} probe calls",
+                    connector, endpoint, halfOpenProbes);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesIssued >= halfOpenProbes) {
+                    return false;
+                }
+                probesIssued++;
+            }
+            return true;
+        }
+
+        synchronized void release() {
+            if (state == State.HALF_OPEN && probesIssued > probeSuccesses) {
+                probesIssued--;
+            }
+        }
+
+        synchronized void record(boolean failure, long latencyMillis, long now) {
+            boolean slowCall = latencyMillis >= slowCallThresholdMillis;
+            switch (state) {
+                case CLOSED:
+                    if (size == windowSize) {
+                        failures -= failed[next] ? 1 : 0;
+                        slowCalls -= slow[next] ? 1 : 0;
+                    } else {
+                        size++;
+                    }
+                    failed[next] = failure;
+                    slow[next] = slowCall;
+                    failures += failure ? 1 : 0;
+                    slowCalls += slowCall ? 1 : 0;
+                    next = (next + 1) % windowSize;
+
+                    if (size >= minCalls) {
+                        double failureRate = (double) failures / size;
+                        double slowCallRate = (double) slowCalls / size;
+                        if (failureRate >= failureRateThreshold) {
+                            open(now, "failure rate " + failureRate);
+                        } else if (slowCallRate >= slowCallRateThreshold) {
+                            open(now, "slow call rate " + slowCallRate);
+                        }
+                    }
+                    break;
+                case HALF_OPEN:
+                    if (failure || slowCall) {
+                        open(now, "probe call failed");
+                    } else if (++probeSuccesses >= halfOpenProbes) {
+                        close();
+                    }
+                    break;
+                default:
+                    // Outcomes of calls still in flight when the breaker opened
+                    break;
+            }
+        }
+
+        synchronized void openFromRemote(long remoteOpenUntil, long now) {
+            if (state != State.CLOSED || remoteOpenUntil <= now) {
+                return;
+            }
+            state = State.OPEN;
+            openUntil = remoteOpenUntil;
+            reset();
+            log.info("Circuit for connector {} ({}) opened by another node until {}",
+                connector, endpoint, remoteOpenUntil);
+        }
+
+        private void open(long now, String reason) {
+            state = State.OPEN;
+            openUntil = now + openMillis;
+            reset();
+            increment(this, "opened");
+            log.warn("Opening circuit for connector {} ({}) for {}ms: {}", connector, endpoint, openMillis, reason);
+            publish(this, openUntil);
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            reset();
+            increment(this, "closed");
+            log.info("Circuit for connector {} ({}) closed after {} successful probes",
+                connector, endpoint, halfOpenProbes);
+            clear(this);
+        }
+
+        private void reset() {
+            next = 0;
+            size = 0;
+            failures = 0;
+            slowCalls = 0;
+            probesIssued = 0;
+            probeSuccesses = 0;
+        }
+    }
+}
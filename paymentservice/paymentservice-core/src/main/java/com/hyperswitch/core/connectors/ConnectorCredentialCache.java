@@ -0,0 +1,331 @@
+package com.hyperswitch.core.connectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperswitch.common.security.EncryptionUtil;
+import com.hyperswitch.storage.entity.MerchantConnectorAccountEntity;
+import com.hyperswitch.storage.repository.MerchantConnectorAccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of decrypted connector credentials per (merchant, connector)
+ * A miss loads the merchant connector account with one lookup on the (merchant_id, connector_name)
+ * index and decrypts it once; concurrent misses of the same key share the load. Hits hand out the
+ * cached immutable map without copying it. Account updates are published to Redis, so every node
+ * drops the account's credentials within the invalidation sync interval rather than at the TTL.
+ */
+@Component
+public class ConnectorCredentialCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorCredentialCache.class);
+    private static final String[] METADATA_KEYS = {"api_key", "api_secret", "webhook_secret"};
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String INVALIDATION_KEY = "connector:credentials:changed";
+
+    private final MerchantConnectorAccountRepository repository;
+    private final long ttlNanos;
+    private final long maximumSize;
+    private final LongSupplier ticker;
+    private final Map<String, CachedCredentials> entries = new ConcurrentHashMap<>();
+    private final Map<String, Mono<Map<String, String>>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private Timer loadTimer;
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    public ConnectorCredentialCache(
+            MerchantConnectorAccountRepository repository,
+            @Value("${hyperswitch.connectors.credentials.ttl-ms:300000}") long ttlMillis,
+            @Value("${hyperswitch.connectors.credentials.maximum-size:10000}") long maximumSize) {
+        this(repository, ttlMillis, maximumSize, System::nanoTime);
+    }
+
+    ConnectorCredentialCache(
+            MerchantConnectorAccountRepository repository,
+            long ttlMillis,
+            long maximumSize,
+            LongSupplier ticker) {
+        this.repository = repository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maximumSize = maximumSize;
+        this.ticker = ticker;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - credential updates will only reach other nodes at the TTL");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("hyperswitch.connector.credentials.requests", hits, LongAdder::sum)
+            .description("Connector credential lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.credentials.requests", misses, LongAdder::sum)
+            .description("Connector credential lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.credentials.evictions", expirations, LongAdder::sum)
+            .description("Connector credentials removed from the cache")
+            .tag("cause", "expired")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.credentials.evictions", sizeEvictions, LongAdder::sum)
+            .description("Connector credentials removed from the cache")
+            .tag("cause", "size")
+            .register(meterRegistry);
+        FunctionCounter.builder("hyperswitch.connector.credentials.evictions", invalidations, LongAdder::sum)
+            .description("Connector credentials removed from the cache")
+            .tag("cause", "invalidated")
+            .register(meterRegistry);
+        Gauge.builder("hyperswitch.connector.credentials.size", entries, Map::size)
+            .description("Cached connector credentials")
+            .register(meterRegistry);
+        this.loadTimer = Timer.builder("hyperswitch.connector.credentials.load")
+            .description("Time to load and decrypt connector credentials on a miss")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decrypted credentials of a merchant's connector account, empty when there is no account
+     */
+    public Mono<Map<String, String>> get(String merchantId, String connectorName) {
+        String key = key(merchantId, connectorName);
+        return Mono.defer(() -> {
+            CachedCredentials cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() - ticker.getAsLong() > 0) {
+                    hits.increment();
+                    return Mono.just(cached.credentials());
+                }
+                remove(key, cached, expirations);
+            }
+            misses.increment();
+            return loading.computeIfAbsent(key, k -> load(k, merchantId, connectorName));
+        });
+    }
+
+    /**
+     * Drop the credentials of a merchant's connector account after it was updated or removed, on every node
+     */
+    public void invalidate(String merchantId, String connectorName) {
+        String key = key(merchantId, connectorName);
+        long changedAt = System.currentTimeMillis();
+        invalidateLocal(key);
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(INVALIDATION_KEY, key, String.valueOf(changedAt))
+                .subscribe(null, error -> log.warn("Failed to publish credential change for {} to Redis", key, error));
+        }
+        log.debug("Invalidated credentials for merchant: {}, connector: {}", merchantId, connectorName);
+    }
+
+    /**
+     * Pick up credential changes made on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.credentials.invalidation-sync-ms:5000}")
+    public void syncInvalidations() {
+        if (redisTemplate == null || entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(INVALIDATION_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applyInvalidations,
+                error -> log.debug("Failed to read credential changes from Redis", error));
+    }
+
+    void applyInvalidations(Map<String, String> changedAt) {
+        long now = System.currentTimeMillis();
+        long ttlMillis = TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+        changedAt.forEach((key, value) -> {
+            long changed;
+            try {
+                changed = Long.parseLong(value);
+            } catch (NumberFormatException _) {
+                log.warn("Ignoring invalid credential change time for {}: {}", key, value);
+                return;
+            }
+            CachedCredentials cached = entries.get(key);
+            if (cached != null && cached.loadedAt() <= changed) {
+                invalidateLocal(key);
+            }
+            if (redisTemplate != null && now - changed > ttlMillis) {
+                // Credentials loaded before this change have expired everywhere by now
+                redisTemplate.opsForHash().remove(INVALIDATION_KEY, key)
+                    .subscribe(null, error -> log.debug("Failed to prune credential change for {}", key, error));
+            }
+        });
+    }
+
+    /**
+     * Zero and remove expired credentials that are not read again
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.credentials.cleanup-interval-ms:10000}")
+    public void cleanUp() {
+        long now = ticker.getAsLong();
+        entries.forEach((key, cached) -> {
+            if (cached.expiresAt() - now <= 0) {
+                remove(key, cached, expirations);
+            }
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void invalidateLocal(String key) {
+        // Loads that started before the update must not store what they read
+        epoch.incrementAndGet();
+        loading.remove(key);
+        CachedCredentials cached = entries.get(key);
+        if (cached != null) {
+            remove(key, cached, invalidations);
+        }
+    }
+
+    private Mono<Map<String, String>> load(String key, String merchantId, String connectorName) {
+        long start = System.nanoTime();
+        long loadedAt = System.currentTimeMillis();
+        long startEpoch = epoch.get();
+        @SuppressWarnings("unchecked")
+        Mono<Map<String, String>>[] cached = new Mono[1];
+        cached[0] = repository.findByMerchantIdAndConnectorName(merchantId, connectorName)
+            .next()
+            .map(account -> Map.copyOf(decrypt(account)))
+            .doOnNext(credentials -> {
+                if (loadTimer != null) {
+                    loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                if (epoch.get() == startEpoch) {
+                    store(key, credentials, loadedAt);
+                }
+            })
+            .doOnTerminate(() -> loading.remove(key, cached[0]))
+            .cache();
+        return cached[0];
+    }
+
+    private void store(String key, Map<String, String> credentials, long loadedAt) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        if (!entries.containsKey(key) && entries.size() >= maximumSize) {
+            evictOne();
+        }
+        entries.put(key, new CachedCredentials(credentials, ticker.getAsLong() + ttlNanos, loadedAt));
+    }
+
+    /**
+     * Make room by removing expired credentials, or else the credentials closest to expiring
+     */
+    private void evictOne() {
+        cleanUp();
+        if (entries.size() < maximumSize) {
+            return;
+        }
+        Map.Entry<String, CachedCredentials> oldest = null;
+        for (Map.Entry<String, CachedCredentials> entry : entries.entrySet()) {
+            if (oldest == null || entry.getValue().expiresAt() - oldest.getValue().expiresAt() < 0) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            remove(oldest.getKey(), oldest.getValue(), sizeEvictions);
+        }
+    }
+
+    private void remove(String key, CachedCredentials cached, LongAdder cause) {
+        if (entries.remove(key, cached)) {
+            cause.increment();
+        }
+    }
+
+    /**
+     * Credentials of an account: secrets in its metadata, then its encrypted account details,
+     * then the connector's environment variable
+     */
+    static Map<String, String> decrypt(MerchantConnectorAccountEntity account) {
+        Map<String, String> credentials = new LinkedHashMap<>();
+        Map<String, Object> metadata = account.getMetadata();
+        if (metadata != null) {
+            for (String name : METADATA_KEYS) {
+                Object value = metadata.get(name);
+                if (value != null) {
+                    credentials.put(name, value.toString());
+                }
+            }
+        }
+        accountDetails(account).forEach((name, value) -> {
+            if (value != null && !(value instanceof Map) && !(value instanceof Iterable)) {
+                credentials.putIfAbsent(name, value.toString());
+            }
+        });
+        if (credentials.isEmpty()) {
+            String apiKey = System.getenv("CONNECTOR_" + account.getConnectorName().toUpperCase() + "_API_KEY");
+            if (apiKey != null) {
+                credentials.put("api_key", apiKey);
+            }
+        }
+        return credentials;
+    }
+
+    private static Map<String, Object> accountDetails(MerchantConnectorAccountEntity account) {
+        byte[] stored = account.getConnectorAccountDetails();
+        if (stored == null || stored.length == 0) {
+            return Map.of();
+        }
+        String details = new String(stored, StandardCharsets.UTF_8).trim();
+        try {
+            if (!details.startsWith("{")) {
+                details = EncryptionUtil.decrypt(details);
+            }
+            return OBJECT_MAPPER.readValue(details, MAP_TYPE);
+        } catch (Exception e) {
+            log.debug("Connector account details of {} are not readable: {}",
+                account.getMerchantConnectorId(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static String key(String merchantId, String connectorName) {
+        return merchantId + "|" + connectorName.toLowerCase();
+    }
+
+    /**
+     * Immutable credentials with their expiry on the ticker and their load time on the wall clock,
+     * which is compared with changes published by other nodes
+     */
+    private record CachedCredentials(Map<String, String> credentials, long expiresAt, long loadedAt) {
+    }
+}
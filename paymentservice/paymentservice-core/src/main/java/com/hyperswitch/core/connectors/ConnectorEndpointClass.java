@@ -0,0 +1,28 @@
+package com.hyperswitch.core.connectors;
+
+/**
+ * Class of connector endpoint a call goes to
+ * Endpoints of one connector fail independently (a refund API outage does not stop
+ * authorizations), so circuit breakers are kept per connector and endpoint class.
+ */
+public enum ConnectorEndpointClass {
+    PAYMENT(true),
+    AUTHORIZE(true),
+    CAPTURE(false),
+    REFUND(false),
+    SYNC(false),
+    SESSION(false);
+
+    private final boolean gatesRouting;
+
+    ConnectorEndpointClass(boolean gatesRouting) {
+        this.gatesRouting = gatesRouting;
+    }
+
+    /**
+     * Whether an open circuit on this endpoint class should take the connector out of routing
+     */
+    public boolean gatesRouting() {
+        return gatesRouting;
+    }
+}
@@ -0,0 +1,172 @@
+package com.hyperswitch.core.connectors;
+
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import io.netty.handler.timeout.WriteTimeoutException;
+import org.springframework.core.codec.CodecException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Typed classification of a failed connector call
+ * Besides whether a retry can help, each class records whether the request may already
+ * have been processed by the connector. Such failures are only retried for idempotent
+ * requests, since retrying a non-idempotent authorize could charge the customer twice.
+ */
+public enum ConnectorErrorClass {
+    TIMEOUT("CONNECTOR_TIMEOUT", true, true),
+    CONNECTION_FAILED("CONNECTOR_CONNECTION_FAILED", true, false),
+    CONNECTION_CLOSED("CONNECTOR_CONNECTION_CLOSED", true, true),
+    RATE_LIMITED("CONNECTOR_RATE_LIMITED", true, false),
+    UNAVAILABLE("CONNECTOR_UNAVAILABLE", true, false),
+    SERVER_ERROR("CONNECTOR_SERVER_ERROR", true, true),
+    SOFT_DECLINE("CONNECTOR_SOFT_DECLINE", true, false),
+    CLIENT_ERROR("CONNECTOR_REQUEST_REJECTED", false, false),
+    CIRCUIT_OPEN("CONNECTOR_CIRCUIT_OPEN", false, false),
+    BULKHEAD_FULL("CONNECTOR_BULKHEAD_FULL", false, false),
+    UNKNOWN("CONNECTOR_API_CALL_FAILED", false, true);
+
+    private static final Map<String, ConnectorErrorClass> BY_CODE = new HashMap<>();
+
+    static {
+        for (ConnectorErrorClass errorClass : values()) {
+            BY_CODE.put(errorClass.errorCode, errorClass);
+        }
+    }
+
+    private final String errorCode;
+    private final boolean retryable;
+    private final boolean mayHaveBeenProcessed;
+
+    ConnectorErrorClass(String errorCode, boolean retryable, boolean mayHaveBeenProcessed) {
+        this.errorCode = errorCode;
+        this.retryable = retryable;
+        this.mayHaveBeenProcessed = mayHaveBeenProcessed;
+    }
+
+    /**
+     * PaymentError code reported for this class
+     */
+    public String errorCode() {
+        return errorCode;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Whether the connector may have acted on the request before it failed
+     */
+    public boolean mayHaveBeenProcessed() {
+        return mayHaveBeenProcessed;
+    }
+
+    /**
+     * Whether a retry is safe for a request with the given idempotency
+     */
+    public boolean isRetryable(boolean idempotent) {
+        return retryable && (idempotent || !mayHaveBeenProcessed);
+    }
+
+    /**
+     * Class of an error code produced by the connector HTTP client, null if the code is not one of ours
+     */
+    public static ConnectorErrorClass fromErrorCode(String code) {
+        return code != null ? BY_CODE.get(code) : null;
+    }
+
+    /**
+     * Class of an HTTP status returned by a connector
+     */
+    public static ConnectorErrorClass fromStatus(int status) {
+        if (status == 429) {
+            return RATE_LIMITED;
+        }
+        if (status == 408) {
+            return TIMEOUT;
+        }
+        if (status == 503) {
+            return UNAVAILABLE;
+        }
+        if (status >= 500) {
+            return SERVER_ERROR;
+        }
+        if (status >= 400) {
+            return CLIENT_ERROR;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Class of an exception raised by a connector call
+     */
+    public static ConnectorErrorClass fromThrowable(Throwable error) {
+        boolean transportFailure = false;
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < 5; depth++) {
+            ConnectorErrorClass errorClass = fromType(current);
+            if (errorClass != null) {
+                return errorClass;
+            }
+            transportFailure |= current instanceof WebClientRequestException;
+            current = current.getCause();
+        }
+        // A transport failure with an unrecognised cause may have happened after the request was sent
+        return transportFailure ? CONNECTION_CLOSED : fromMessage(error);
+    }
+
+    private static ConnectorErrorClass fromType(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return fromStatus(response.getStatusCode().value());
+        }
+        if (error instanceof CodecException) {
+            // Malformed body, a retry gets the same response
+            return UNKNOWN;
+        }
+        if (error instanceof ConnectTimeoutException
+                || error instanceof ConnectException
+                || error instanceof UnknownHostException
+                || error instanceof NoRouteToHostException) {
+            // Never reached the connector
+            return CONNECTION_FAILED;
+        }
+        if (error instanceof TimeoutException
+                || error instanceof ReadTimeoutException
+                || error instanceof WriteTimeoutException) {
+            return TIMEOUT;
+        }
+        if (error instanceof PrematureCloseException || error instanceof IOException) {
+            return CONNECTION_CLOSED;
+        }
+        return null;
+    }
+
+    /**
+     * Last resort for untyped exceptions
+     */
+    private static ConnectorErrorClass fromMessage(Throwable error) {
+        String message = error != null ? error.getMessage() : null;
+        if (message == null) {
+            return UNKNOWN;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        if (lower.contains("timeout") || lower.contains("timed out")) {
+            return TIMEOUT;
+        }
+        if (lower.contains("connection") || lower.contains("network")) {
+            return CONNECTION_CLOSED;
+        }
+        return UNKNOWN;
+    }
+}
@@ -2,35 +2,108 @@ package com.hyperswitch.core.connectors;
 
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.routing.latency.ConnectorLatencyTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * HTTP client for making API calls to payment connectors
- * Handles authentication, request building, and response parsing
+ * Handles authentication, request building, and response parsing. Calls go through the
+ * connector's own connection pool when a client registry is configured, and are encoded and
+ * decoded by the streaming codec when one is configured. Calls run in the connector's
+ * bulkhead, so a slow connector cannot hold more than its share of in-flight calls.
+ * The "dummy" connector, and any connector listed as simulated, is sent to the dummy
+ * connector instead, so its simulations reach the real call path in load tests.
  */
 @Component
 public class ConnectorHttpClient {
     
     private static final Logger log = LoggerFactory.getLogger(ConnectorHttpClient.class);
+    private static final String DUMMY_CONNECTOR = "dummy";
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+        new ParameterizedTypeReference<Map<String, Object>>() {};
+    
     private final WebClient webClient;
+    private ConnectorLatencyTracker latencyTracker;
+    private ConnectorCircuitBreaker circuitBreaker;
+    private ConnectorBulkhead bulkhead;
+    private ConnectorWebClientRegistry clientRegistry;
+    private ConnectorJsonCodec jsonCodec;
+    private final String dummyBaseUrl;
+    private final Set<String> simulatedConnectors;
     
     public ConnectorHttpClient() {
+        this("http://localhost:8080/api/dummy-connector", "");
+    }
+    
+    @Autowired
+    public ConnectorHttpClient(
+            @Value("${hyperswitch.connectors.dummy.base-url:http://localhost:8080/api/dummy-connector}") String dummyBaseUrl,
+            @Value("${hyperswitch.connectors.dummy.simulated-connectors:}") String simulatedConnectors) {
+        this.dummyBaseUrl = dummyBaseUrl;
+        this.simulatedConnectors = Arrays.stream(simulatedConnectors.split(","))
+            .map(name -> name.trim().toLowerCase(Locale.ROOT))
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
         this.webClient = WebClient.builder()
             .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
             .build();
     }
     
+    @Autowired(required = false)
+    public void setLatencyTracker(ConnectorLatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+    
+    @Autowired(required = false)
+    public void setCircuitBreaker(ConnectorCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    @Autowired(required = false)
+    public void setBulkhead(ConnectorBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+    
+    @Autowired(required = false)
+    public void setClientRegistry(ConnectorWebClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
+    
+    @Autowired(required = false)
+    public void setJsonCodec(ConnectorJsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+    }
+    
+    /**
+     * Execute a POST request to a connector's payment endpoint
+     */
+    public Mono<Result<Map<String, Object>, PaymentError>> post(
+            String url,
+            Map<String, Object> requestBody,
+            Map<String, String> headers,
+            String connectorName) {
+        return post(url, requestBody, headers, connectorName, ConnectorEndpointClass.PAYMENT);
+    }
+    
     /**
      * Execute a POST request to a connector API
      */
@@ -38,10 +111,71 @@ public class ConnectorHttpClient {
             String url,
             Map<String, Object> requestBody,
             Map<String, String> headers,
+            String connectorName,
+            ConnectorEndpointClass endpointClass) {
+        return exchange(fields(postSpec(url, requestBody, headers, connectorName).retrieve(),
+            connectorName, endpointClass), connectorName, endpointClass);
+    }
+    
+    /**
+     * Execute a POST request to a connector API, decoding the response straight into the
+     * connector's response type
+     */
+    public <T> Mono<Result<T, PaymentError>> post(
+            String url,
+            Map<String, Object> requestBody,
+            Map<String, String> headers,
+            String connectorName,
+            ConnectorEndpointClass endpointClass,
+            Class<T> responseType) {
+        return exchange(typed(postSpec(url, requestBody, headers, connectorName).retrieve(),
+            connectorName, endpointClass, responseType), connectorName, endpointClass);
+    }
+    
+    /**
+     * Execute a GET request to a connector's sync endpoint
+     */
+    public Mono<Result<Map<String, Object>, PaymentError>> get(
+            String url,
+            Map<String, String> headers,
+            String connectorName) {
+        return get(url, headers, connectorName, ConnectorEndpointClass.SYNC);
+    }
+    
+    /**
+     * Execute a GET request to a connector API
+     */
+    public Mono<Result<Map<String, Object>, PaymentError>> get(
+            String url,
+            Map<String, String> headers,
+            String connectorName,
+            ConnectorEndpointClass endpointClass) {
+        return exchange(fields(getSpec(url, headers, connectorName).retrieve(), connectorName, endpointClass),
+            connectorName, endpointClass);
+    }
+    
+    /**
+     * Execute a GET request to a connector API, decoding the response straight into the
+     * connector's response type
+     */
+    public <T> Mono<Result<T, PaymentError>> get(
+            String url,
+            Map<String, String> headers,
+            String connectorName,
+            ConnectorEndpointClass endpointClass,
+            Class<T> responseType) {
+        return exchange(typed(getSpec(url, headers, connectorName).retrieve(), connectorName, endpointClass,
+            responseType), connectorName, endpointClass);
+    }
+    
+    private WebClient.RequestHeadersSpec<?> postSpec(
+            String url,
+            Object requestBody,
+            Map<String, String> headers,
             String connectorName) {
         log.debug("Making POST request to connector: {}, URL: {}", connectorName, url);
         
-        WebClient.RequestBodySpec requestSpec = webClient.post()
+        WebClient.RequestBodySpec requestSpec = client(connectorName).post()
             .uri(url)
             .contentType(MediaType.APPLICATION_JSON);
         
@@ -49,59 +183,175 @@ public class ConnectorHttpClient {
         if (headers != null) {
             headers.forEach(requestSpec::header);
         }
-        
-        ParameterizedTypeReference<Map<String, Object>> typeRef = 
-            new ParameterizedTypeReference<Map<String, Object>>() {};
-        
-        return requestSpec
-            .bodyValue(requestBody)
-            .retrieve()
-            .bodyToMono(typeRef)
-            .timeout(Duration.ofSeconds(30))
-            .map(response -> {
-                log.debug("Connector response received: {}", response);
-                return Result.<Map<String, Object>, PaymentError>ok(response);
-            })
-            .onErrorResume(error -> {
-                log.error("Error calling connector API: {}", error.getMessage(), error);
-                return Mono.just(Result.err(PaymentError.of("CONNECTOR_API_CALL_FAILED",
-                    "Failed to call connector API: " + error.getMessage())));
-            });
+        return jsonCodec != null ? requestSpec.body(jsonCodec.encode(requestBody)) : requestSpec.bodyValue(requestBody);
     }
     
-    /**
-     * Execute a GET request to a connector API
-     */
-    public Mono<Result<Map<String, Object>, PaymentError>> get(
+    private WebClient.RequestHeadersSpec<?> getSpec(
             String url,
             Map<String, String> headers,
             String connectorName) {
         log.debug("Making GET request to connector: {}, URL: {}", connectorName, url);
         
-        WebClient.RequestHeadersSpec<?> requestSpec = webClient.get()
+        WebClient.RequestHeadersSpec<?> requestSpec = client(connectorName).get()
             .uri(url);
         
         // Add headers
         if (headers != null) {
             headers.forEach(requestSpec::header);
         }
-        
-        ParameterizedTypeReference<Map<String, Object>> typeRef = 
-            new ParameterizedTypeReference<Map<String, Object>>() {};
-        
-        return requestSpec
-            .retrieve()
-            .bodyToMono(typeRef)
+        return requestSpec;
+    }
+    
+    /**
+     * Decode the response fields the connector endpoint needs, streaming when the codec knows them
+     */
+    private Mono<Map<String, Object>> fields(
+            WebClient.ResponseSpec response,
+            String connectorName,
+            ConnectorEndpointClass endpointClass) {
+        Set<String> fields = jsonCodec != null ? jsonCodec.responseFields(connectorName, endpointClass) : null;
+        if (fields == null) {
+            return response.bodyToMono(MAP_TYPE);
+        }
+        return jsonCodec.decodeFields(response.bodyToFlux(DataBuffer.class), fields);
+    }
+    
+    /**
+     * Decode the response into a type, streaming only the endpoint's fields when the codec knows them
+     */
+    private <T> Mono<T> typed(
+            WebClient.ResponseSpec response,
+            String connectorName,
+            ConnectorEndpointClass endpointClass,
+            Class<T> responseType) {
+        Set<String> fields = jsonCodec != null ? jsonCodec.responseFields(connectorName, endpointClass) : null;
+        if (fields == null) {
+            return response.bodyToMono(responseType);
+        }
+        return jsonCodec.decodeFields(response.bodyToFlux(DataBuffer.class), fields, responseType);
+    }
+    
+    /**
+     * Connector's own pooled client, or the shared client when no registry is configured
+     */
+    private WebClient client(String connectorName) {
+        return clientRegistry != null ? clientRegistry.client(connectorName) : webClient;
+    }
+    
+    private <T> Mono<Result<T, PaymentError>> exchange(
+            Mono<T> response,
+            String connectorName,
+            ConnectorEndpointClass endpointClass) {
+        return response
             .timeout(Duration.ofSeconds(30))
-            .map(response -> {
-                log.debug("Connector response received: {}", response);
-                return Result.<Map<String, Object>, PaymentError>ok(response);
+            .map(body -> {
+                log.debug("Connector response received: {}", body);
+                return Result.<T, PaymentError>ok(body);
             })
-            .onErrorResume(error -> {
-                log.error("Error calling connector API: {}", error.getMessage(), error);
-                return Mono.just(Result.err(PaymentError.of("CONNECTOR_API_CALL_FAILED",
-                    "Failed to call connector API: " + error.getMessage())));
-            });
+            .onErrorResume(error -> failed(error, connectorName))
+            .transform(call -> timed(call, connectorName))
+            .transform(call -> guarded(call, connectorName, endpointClass))
+            .transform(call -> bulkheaded(call, connectorName));
+    }
+    
+    /**
+     * Map a failed call to a typed connector error
+     */
+    private <T> Mono<Result<T, PaymentError>> failed(Throwable error, String connectorName) {
+        ConnectorErrorClass errorClass = ConnectorErrorClass.fromThrowable(error);
+        log.error("Error calling connector API: {}, class: {}, {}", connectorName, errorClass, error.getMessage(), error);
+        return Mono.just(Result.err(PaymentError.connectorError(errorClass.errorCode(),
+            "Failed to call connector API: " + error.getMessage(), connectorErrorCode(error))));
+    }
+    
+    /**
+     * Error code reported in a connector's error response body, if any
+     */
+    @SuppressWarnings("unchecked")
+    private static String connectorErrorCode(Throwable error) {
+        if (!(error instanceof WebClientResponseException response)) {
+            return null;
+        }
+        try {
+            Map<String, Object> body = response.getResponseBodyAs(Map.class);
+            if (body == null) {
+                return null;
+            }
+            // Stripe style {"error": {"code": ...}}, otherwise a top level code
+            if (body.get("error") instanceof Map<?, ?> nested && nested.get("code") != null) {
+                return nested.get("code").toString();
+            }
+            Object code = body.containsKey("error_code") ? body.get("error_code") : body.get("code");
+            return code != null ? code.toString() : null;
+        } catch (RuntimeException _) {
+            return null;
+        }
+    }
+    
+    /**
+     * Fail fast while the circuit of the connector endpoint is open
+     */
+    private <T> Mono<Result<T, PaymentError>> guarded(
+            Mono<Result<T, PaymentError>> call,
+            String connectorName,
+            ConnectorEndpointClass endpointClass) {
+        if (circuitBreaker == null) {
+            return call;
+        }
+        return circuitBreaker.execute(connectorName, endpointClass, call);
+    }
+    
+    /**
+     * Hold a slot of the connector's bulkhead for the call. Outermost, so time spent waiting
+     * for a slot counts neither as connector latency nor against the circuit breaker
+     */
+    private <T> Mono<Result<T, PaymentError>> bulkheaded(
+            Mono<Result<T, PaymentError>> call,
+            String connectorName) {
+        if (bulkhead == null) {
+            return call;
+        }
+        return bulkhead.execute(connectorName, call);
+    }
+    
+    /**
+     * Report call latency and outcome to the routing latency tracker
+     */
+    private <T> Mono<Result<T, PaymentError>> timed(
+            Mono<Result<T, PaymentError>> call,
+            String connectorName) {
+        if (latencyTracker == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return call.doOnNext(result -> latencyTracker.recordCall(
+                connectorName, result.isOk(), (System.nanoTime() - startNanos) / 1_000_000));
+        });
+    }
+    
+    /**
+     * Add the connector's idempotency key header so that a retried call is not executed twice.
+     * Returns false if the connector does not support idempotency keys.
+     */
+    public boolean addIdempotencyKey(Map<String, String> headers, String connectorName, String idempotencyKey) {
+        String header;
+        switch (connectorName.toLowerCase()) {
+            case "stripe":
+            case "adyen":
+                header = "Idempotency-Key";
+                break;
+            case "checkout":
+                header = "Cko-Idempotency-Key";
+                break;
+            case "paypal":
+                header = "PayPal-Request-Id";
+                break;
+            default:
+                return false;
+        }
+        headers.put(header, idempotencyKey);
+        return true;
     }
     
     /**
@@ -141,10 +391,21 @@ public class ConnectorHttpClient {
         return headers;
     }
     
+    /**
+     * Whether calls of a connector go to the dummy connector instead of the connector's API
+     */
+    public boolean routesToDummy(String connectorName) {
+        String name = connectorName.toLowerCase(Locale.ROOT);
+        return DUMMY_CONNECTOR.equals(name) || simulatedConnectors.contains(name);
+    }
+    
     /**
      * Get connector API base URL
      */
     public String getConnectorBaseUrl(String connectorName) {
+        if (routesToDummy(connectorName)) {
+            return dummyBaseUrl;
+        }
         // Connector-specific base URLs
         switch (connectorName.toLowerCase()) {
             case "stripe":
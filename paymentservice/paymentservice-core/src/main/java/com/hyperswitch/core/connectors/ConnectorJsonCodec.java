@@ -0,0 +1,220 @@
+package com.hyperswitch.core.connectors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming JSON codec for connector traffic
+ * Request bodies are serialized straight into a buffer of the connection's (pooled) allocator
+ * instead of an intermediate byte array. Responses of endpoints with registered fields are fed
+ * chunk by chunk into Jackson's non-blocking parser, keeping only the fields the caller reads,
+ * so the body is never aggregated nor materialized as a full map. Every buffer is released as
+ * soon as it is parsed. Responses of other endpoints are decoded in full.
+ */
+@Component
+public class ConnectorJsonCodec {
+
+    private static final String ANY_CONNECTOR = "*";
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final Map<String, Set<String>> responseFields = new ConcurrentHashMap<>();
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    public ConnectorJsonCodec() {
+        // Responses of these endpoints are reduced to the id and status ConnectorApiServiceImpl reads.
+        // Payment and session responses are returned to clients as metadata and stay fully decoded.
+        Set<String> transactionFields = Set.of("id", "status");
+        for (String connectorName : List.of("stripe", "paypal", "razorpay", "adyen")) {
+            for (ConnectorEndpointClass endpointClass : List.of(ConnectorEndpointClass.AUTHORIZE,
+                    ConnectorEndpointClass.CAPTURE, ConnectorEndpointClass.REFUND, ConnectorEndpointClass.SYNC)) {
+                registerResponseFields(connectorName, endpointClass, transactionFields);
+            }
+        }
+    }
+
+    @Autowired(required = false)
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Register the response fields a connector endpoint needs, as dotted paths such as
+     * "error.code". "*" registers the fields for every connector without its own entry.
+     */
+    public void registerResponseFields(String connectorName, ConnectorEndpointClass endpointClass, Set<String> fields) {
+        responseFields.put(key(connectorName, endpointClass), Set.copyOf(fields));
+    }
+
+    /**
+     * Response fields of a connector endpoint, null if the full response is needed
+     */
+    public Set<String> responseFields(String connectorName, ConnectorEndpointClass endpointClass) {
+        Set<String> fields = responseFields.get(key(connectorName, endpointClass));
+        return fields != null ? fields : responseFields.get(key(ANY_CONNECTOR, endpointClass));
+    }
+
+    /**
+     * Body inserter writing a request object into a buffer of the outgoing connection
+     */
+    public BodyInserter<Object, ReactiveHttpOutputMessage> encode(Object body) {
+        return (message, context) -> message.writeWith(
+            Mono.fromCallable(() -> write(body, message.bufferFactory()))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+    }
+
+    /**
+     * Serialize a request object into a newly allocated buffer, released on failure
+     */
+    public DataBuffer write(Object body, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            objectMapper.writeValue(generator, body);
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Failed to encode connector request", e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Extract the given fields from a streamed JSON response. Keys of the returned map are the
+     * dotted field paths; fields missing from the response are absent.
+     */
+    public Mono<Map<String, Object>> decodeFields(Flux<DataBuffer> body, Set<String> fields) {
+        return Mono.defer(() -> {
+            FieldExtractor extractor = new FieldExtractor(fields);
+            return body
+                .doOnNext(extractor::feed)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then(Mono.fromCallable(extractor::finish))
+                .doFinally(signal -> extractor.close());
+        });
+    }
+
+    /**
+     * Extract the given fields from a streamed JSON response and bind them to a type. Fields are
+     * bound by their dotted path, so the type should only declare top level fields.
+     */
+    public <T> Mono<T> decodeFields(Flux<DataBuffer> body, Set<String> fields, Class<T> type) {
+        return decodeFields(body, fields).map(values -> objectMapper.convertValue(values, type));
+    }
+
+    private static String key(String connectorName, ConnectorEndpointClass endpointClass) {
+        return connectorName.toLowerCase() + "|" + endpointClass.name();
+    }
+
+    /**
+     * Incremental parser state of one response
+     */
+    private final class FieldExtractor {
+        private final Map<String, String> pointers = new HashMap<>();
+        private final Set<String> names = new HashSet<>();
+        private final Map<String, Object> values = new HashMap<>();
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+
+        FieldExtractor(Set<String> fields) {
+            for (String field : fields) {
+                pointers.put("/" + field.replace('.', '/'), field);
+                names.add(field.substring(field.lastIndexOf('.') + 1));
+            }
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        void feed(DataBuffer buffer) {
+            try {
+                if (values.size() == pointers.size()) {
+                    // Everything needed is parsed, the rest of the body is only drained
+                    return;
+                }
+                try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                    while (chunks.hasNext()) {
+                        feeder.feedInput(chunks.next());
+                        // Parse all complete tokens; partial tokens are copied into the parser
+                        drain();
+                    }
+                }
+            } catch (IOException e) {
+                throw new DecodingException("Failed to parse connector response", e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        Map<String, Object> finish() {
+            if (values.size() < pointers.size()) {
+                try {
+                    feeder.endOfInput();
+                    drain();
+                } catch (IOException e) {
+                    throw new DecodingException("Failed to parse connector response", e);
+                }
+            }
+            return values;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException _) {
+                // Nothing buffered outside the parser
+            }
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                // Cheap name check first, the full path is only built for candidate fields
+                if (token.isScalarValue() && token != JsonToken.VALUE_NULL && names.contains(parser.currentName())) {
+                    String field = pointers.get(parser.getParsingContext().pathAsPointer().toString());
+                    if (field != null) {
+                        values.put(field, value(token));
+                    }
+                }
+            }
+        }
+
+        private Object value(JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_NUMBER_INT -> parser.getNumberValue();
+                case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                default -> parser.getText();
+            };
+        }
+    }
+}
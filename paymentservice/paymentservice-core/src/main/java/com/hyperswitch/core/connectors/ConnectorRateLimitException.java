@@ -0,0 +1,30 @@
+package com.hyperswitch.core.connectors;
+
+/**
+ * Signals that a connector call was not admitted by the connector rate limit
+ */
+public class ConnectorRateLimitException extends RuntimeException {
+
+    private final String connector;
+    private final String reason;
+
+    public ConnectorRateLimitException(String connector, String reason) {
+        super("Rate limit exceeded for connector " + connector + ": " + reason);
+        this.connector = connector;
+        this.reason = reason;
+    }
+
+    public String getConnector() {
+        return connector;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // Raised on the hot path under load; the stack trace carries no information
+        return this;
+    }
+}
@@ -1,141 +1,466 @@
 package com.hyperswitch.core.connectors;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Rate limiter for connector API calls
- * Implements token bucket algorithm per connector
+ * Each connector, and optionally each merchant account on a connector, gets a lock-free
+ * GCRA limit on the local node. When Redis is available the limit is also enforced across
+ * the cluster: nodes lease batches of permits from a GCRA kept in Redis by a Lua script and
+ * spend them locally, so N nodes together stay within the connector's real limit.
+ * Limits can be changed at runtime; changes are published to Redis and picked up by all nodes.
+ * Callers that have to wait for a permit do so in a fair per-connector admission queue.
  */
 @Component
 public class ConnectorRateLimiter {
-    
+
     private static final Logger log = LoggerFactory.getLogger(ConnectorRateLimiter.class);
-    
-    // Rate limit configuration per connector
-    private static final Map<String, RateLimitConfig> RATE_LIMITS = new ConcurrentHashMap<>();
-    
-    // Token buckets per connector
-    private final Map<String, TokenBucket> tokenBuckets = new ConcurrentHashMap<>();
-    
-    static {
-        // Default rate limits (requests per minute)
-        RATE_LIMITS.put("stripe", new RateLimitConfig(100, Duration.ofMinutes(1)));
-        RATE_LIMITS.put("paypal", new RateLimitConfig(200, Duration.ofMinutes(1)));
-        RATE_LIMITS.put("razorpay", new RateLimitConfig(100, Duration.ofMinutes(1)));
-        RATE_LIMITS.put("adyen", new RateLimitConfig(100, Duration.ofMinutes(1)));
+
+    private static final String DEFAULT = "default";
+    private static final String CONFIG_KEY = "rate_limit:config";
+    private static final String GLOBAL_KEY_PREFIX = "rate_limit:gcra:";
+
+    // Grants up to ARGV[3] permits from a GCRA whose theoretical arrival time (microseconds) is KEYS[1]
+    private static final RedisScript<Long> LEASE_SCRIPT = RedisScript.of("""
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+        local interval = tonumber(ARGV[1])
+        local tolerance = tonumber(ARGV[2])
+        local requested = tonumber(ARGV[3])
+        local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+        if tat < now then
+            tat = now
+        end
+        local available = math.floor((now + tolerance - tat) / interval) + 1
+        local granted = math.max(0, math.min(requested, available))
+        if granted > 0 then
+            local newTat = tat + granted * interval
+            redis.call('SET', KEYS[1], string.format('%d', newTat), 'PX', math.ceil((newTat - now) / 1000) + 1000)
+        end
+        return granted
+        """, Long.class);
+
+    // Built-in rate limits (requests per minute)
+    private static final Map<String, RateLimitConfig> RATE_LIMITS = Map.of(
+        "stripe", new RateLimitConfig(100, Duration.ofMinutes(1)),
+        "paypal", new RateLimitConfig(200, Duration.ofMinutes(1)),
+        "razorpay", new RateLimitConfig(100, Duration.ofMinutes(1)),
+        "adyen", new RateLimitConfig(100, Duration.ofMinutes(1)),
         // Default for unknown connectors
-        RATE_LIMITS.put("default", new RateLimitConfig(50, Duration.ofMinutes(1)));
+        DEFAULT, new RateLimitConfig(50, Duration.ofMinutes(1))
+    );
+
+    // Runtime overrides keyed by connector or connector|merchant
+    private final Map<String, RateLimitConfig> overrides = new ConcurrentHashMap<>();
+
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private final Map<String, ConnectorAdmissionQueue> admissionQueues = new ConcurrentHashMap<>();
+
+    @Value("${hyperswitch.connectors.rate-limit.lease-batch-size:10}")
+    private int leaseBatchSize = 10;
+
+    @Value("${hyperswitch.connectors.rate-limit.max-wait-ms:2000}")
+    private long maxWaitMillis = 2000;
+
+    @Value("${hyperswitch.connectors.rate-limit.max-queue-depth:1000}")
+    private int maxQueueDepth = 1000;
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - connector rate limits will be enforced per node");
+        }
     }
-    
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Check if a request is allowed (rate limit not exceeded)
      */
     public Mono<Boolean> isAllowed(String connectorName) {
-        String normalizedName = connectorName.toLowerCase();
-        RateLimitConfig config = RATE_LIMITS.getOrDefault(normalizedName, RATE_LIMITS.get("default"));
-        
-        TokenBucket bucket = tokenBuckets.computeIfAbsent(normalizedName,
-            k -> new TokenBucket(config.maxRequests, config.window));
-        
-        return Mono.fromCallable(() -> {
-            long now = System.currentTimeMillis();
-            boolean allowed = bucket.tryConsume(now);
-            
+        return isAllowed(connectorName, null);
+    }
+
+    /**
+     * Check if a request is allowed by the connector limit and, if one is configured,
+     * the limit of the merchant account on that connector
+     */
+    public Mono<Boolean> isAllowed(String connectorName, String merchantId) {
+        String connector = connectorName.toLowerCase();
+        Limiter connectorLimiter = limiter(connector);
+        Limiter merchantLimiter = merchantId != null ? merchantLimiter(connector, merchantId) : null;
+
+        Mono<Boolean> decision = merchantLimiter == null
+            ? connectorLimiter.tryAcquire()
+            : merchantLimiter.tryAcquire()
+                .flatMap(allowed -> !allowed
+                    ? Mono.just(false)
+                    : connectorLimiter.tryAcquire().doOnNext(connectorAllowed -> {
+                        if (!connectorAllowed) {
+                            merchantLimiter.release();
+                        }
+                    }));
+
+        return decision.doOnNext(allowed -> {
             if (!allowed) {
                 log.warn("Rate limit exceeded for connector: {}", connectorName);
             }
-            
-            return allowed;
+            if (meterRegistry != null) {
+                meterRegistry.counter("hyperswitch.connector.rate_limit.decisions",
+                    "connector", connector, "result", allowed ? "allowed" : "rejected").increment();
+            }
         });
     }
-    
+
     /**
      * Wait if rate limit is exceeded
+     * The call waits in the connector's admission queue until a permit is available and fails
+     * with ConnectorRateLimitException if that cannot happen within the maximum wait.
      */
     public Mono<Void> waitIfNeeded(String connectorName) {
-        return isAllowed(connectorName)
-            .flatMap(allowed -> {
-                if (allowed) {
-                    return Mono.empty();
-                } else {
-                    // Wait a bit before retrying
-                    log.info("Rate limit exceeded, waiting before retry for connector: {}", connectorName);
-                    return Mono.delay(Duration.ofSeconds(1))
-                        .then();
-                }
-            });
+        return waitIfNeeded(connectorName, null, Duration.ofMillis(maxWaitMillis));
     }
-    
+
+    /**
+     * Wait for a permit on behalf of a merchant, using the configured maximum wait
+     */
+    public Mono<Void> waitIfNeeded(String connectorName, String merchantId) {
+        return waitIfNeeded(connectorName, merchantId, Duration.ofMillis(maxWaitMillis));
+    }
+
+    /**
+     * Wait for a permit with per-merchant fairness. A configured merchant account limit is
+     * checked first and rejects without queueing; the shared connector limit is queued for.
+     * The merchant permit is given back if the connector permit is not granted.
+     */
+    public Mono<Void> waitIfNeeded(String connectorName, String merchantId, Duration maxWait) {
+        String connector = connectorName.toLowerCase();
+        Limiter merchantLimiter = merchantId != null ? merchantLimiter(connector, merchantId) : null;
+        Mono<Void> admission = Mono.defer(() -> admissionQueue(connector).acquire(merchantId, maxWait));
+        Mono<Void> permit = merchantLimiter == null
+            ? admission
+            : merchantLimiter.tryAcquire().flatMap(allowed -> allowed
+                ? admission
+                    .doOnError(error -> merchantLimiter.release())
+                    .doOnCancel(merchantLimiter::release)
+                : Mono.error(new ConnectorRateLimitException(connector, "merchant rate limit exceeded")));
+        return permit
+            .doOnError(ConnectorRateLimitException.class,
+                error -> log.warn("Rate limit exceeded for connector: {} ({})", connectorName, error.getReason()));
+    }
+
     /**
      * Update rate limit configuration for a connector
      */
     public void updateRateLimit(String connectorName, int maxRequests, Duration window) {
-        String normalizedName = connectorName.toLowerCase();
-        RATE_LIMITS.put(normalizedName, new RateLimitConfig(maxRequests, window));
-        tokenBuckets.remove(normalizedName); // Reset bucket
-        log.info("Updated rate limit for connector {}: {} requests per {}", 
-            connectorName, maxRequests, window);
+        updateRateLimit(connectorName, null, maxRequests, window);
+    }
+
+    /**
+     * Update rate limit configuration for a connector, or for one merchant account on it when
+     * merchantId is given. The change is published to Redis so that every node applies it.
+     */
+    public void updateRateLimit(String connectorName, String merchantId, int maxRequests, Duration window) {
+        String key = key(connectorName.toLowerCase(), merchantId);
+        overrides.put(key, new RateLimitConfig(maxRequests, window));
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(CONFIG_KEY, key, maxRequests + "/" + window.toMillis())
+                .subscribe(null, error -> log.warn("Failed to publish rate limit for {} to Redis", key, error));
+        }
+        log.info("Updated rate limit for {}: {} requests per {}", key, maxRequests, window);
+    }
+
+    /**
+     * Effective rate limits by connector or connector|merchant
+     */
+    public Map<String, RateLimitConfig> getRateLimits() {
+        Map<String, RateLimitConfig> limits = new HashMap<>(RATE_LIMITS);
+        limits.putAll(overrides);
+        return limits;
+    }
+
+    /**
+     * Pick up rate limits changed on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.rate-limit.refresh-interval-ms:10000}")
+    public void refreshRateLimits() {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(CONFIG_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applyRateLimits,
+                error -> log.debug("Failed to refresh rate limits from Redis", error));
+    }
+
+    void applyRateLimits(Map<String, String> published) {
+        Map<String, RateLimitConfig> parsed = new HashMap<>();
+        published.forEach((key, value) -> {
+            RateLimitConfig config = RateLimitConfig.parse(value);
+            if (config != null) {
+                parsed.put(key, config);
+            } else {
+                log.warn("Ignoring invalid rate limit for {}: {}", key, value);
+            }
+        });
+        overrides.keySet().retainAll(parsed.keySet());
+        parsed.forEach((key, config) -> {
+            if (!config.equals(overrides.get(key))) {
+                overrides.put(key, config);
+            }
+        });
+    }
+
+    private Limiter limiter(String connector) {
+        RateLimitConfig config = overrides.get(connector);
+        if (config == null) {
+            config = RATE_LIMITS.getOrDefault(connector, RATE_LIMITS.get(DEFAULT));
+        }
+        return limiter(connector, config);
+    }
+
+    private Limiter merchantLimiter(String connector, String merchantId) {
+        String key = key(connector, merchantId);
+        RateLimitConfig config = overrides.get(key);
+        if (config == null) {
+            limiters.remove(key);
+            return null;
+        }
+        return limiter(key, config);
     }
-    
+
+    private Limiter limiter(String key, RateLimitConfig config) {
+        Limiter current = limiters.get(key);
+        if (current != null && current.config == config) {
+            return current;
+        }
+        // Configuration changed, reset the limit
+        return limiters.compute(key, (k, existing) ->
+            existing != null && existing.config == config ? existing : new Limiter(k, config));
+    }
+
+    private ConnectorAdmissionQueue admissionQueue(String connector) {
+        ConnectorAdmissionQueue queue = admissionQueues.get(connector);
+        if (queue != null) {
+            return queue;
+        }
+        return admissionQueues.computeIfAbsent(connector, k -> new ConnectorAdmissionQueue(k,
+            new ConnectorAdmissionQueue.Permits() {
+                @Override
+                public boolean tryAcquire() {
+                    return limiter(k).tryAcquireNow();
+                }
+
+                @Override
+                public long waitNanos() {
+                    return limiter(k).waitNanos();
+                }
+
+                @Override
+                public long intervalNanos() {
+                    return limiter(k).local.getEmissionIntervalNanos();
+                }
+
+                @Override
+                public void release() {
+                    limiter(k).release();
+                }
+            },
+            maxQueueDepth, Schedulers.parallel(), meterRegistry));
+    }
+
+    private static String key(String connector, String merchantId) {
+        return merchantId != null ? connector + "|" + merchantId : connector;
+    }
+
     /**
      * Rate limit configuration
      */
-    private static class RateLimitConfig {
-        final int maxRequests;
-        final Duration window;
-        
-        RateLimitConfig(int maxRequests, Duration window) {
-            this.maxRequests = maxRequests;
-            this.window = window;
+    public record RateLimitConfig(int maxRequests, Duration window) {
+
+        static RateLimitConfig parse(String value) {
+            int slash = value.indexOf('/');
+            try {
+                int maxRequests = Integer.parseInt(value.substring(0, slash).trim());
+                long windowMillis = Long.parseLong(value.substring(slash + 1).trim());
+                return maxRequests > 0 && windowMillis > 0
+                    ? new RateLimitConfig(maxRequests, Duration.ofMillis(windowMillis))
+                    : null;
+            } catch (RuntimeException _) {
+                return null;
+            }
         }
     }
-    
+
     /**
-     * Token bucket implementation
+     * Local GCRA limit plus the permits leased from the cluster-wide limit in Redis
      */
-    private static class TokenBucket {
-        private final int capacity;
-        private final long windowMillis;
-        private final AtomicInteger tokens;
-        private final AtomicLong lastRefill;
-        
-        TokenBucket(int capacity, Duration window) {
-            this.capacity = capacity;
-            this.windowMillis = window.toMillis();
-            this.tokens = new AtomicInteger(capacity);
-            this.lastRefill = new AtomicLong(System.currentTimeMillis());
+    private final class Limiter {
+        private final String key;
+        private final RateLimitConfig config;
+        private final GcraRateLimit local;
+        private final AtomicLong leased = new AtomicLong();
+        private final AtomicReference<Mono<Long>> pendingLease = new AtomicReference<>();
+        private final int batchSize;
+        private volatile long leaseExpiresAt;
+        private volatile long leaseRetryAt = System.nanoTime();
+
+        Limiter(String key, RateLimitConfig config) {
+            this.key = key;
+            this.config = config;
+            this.local = new GcraRateLimit(config.maxRequests(), config.window());
+            this.batchSize = Math.clamp(leaseBatchSize, 1, config.maxRequests());
         }
-        
-        synchronized boolean tryConsume(long now) {
-            refill(now);
-            
-            int current = tokens.get();
-            if (current > 0) {
-                return tokens.compareAndSet(current, current - 1);
-            }
-            
+
+        Mono<Boolean> tryAcquire() {
+            if (!local.tryAcquire()) {
+                return Mono.just(false);
+            }
+            if (redisTemplate == null) {
+                return Mono.just(true);
+            }
+            if (takeLeased()) {
+                if (leased.get() < batchSize / 2) {
+                    lease().subscribe();
+                }
+                return Mono.just(true);
+            }
+            return lease()
+                .map(granted -> takeLeased())
+                .doOnNext(allowed -> {
+                    if (!allowed) {
+                        local.release();
+                    }
+                });
+        }
+
+        /**
+         * Take a permit without waiting for Redis; a missing lease is requested in the
+         * background and the admission queue is drained when it arrives
+         */
+        boolean tryAcquireNow() {
+            if (!local.tryAcquire()) {
+                return false;
+            }
+            if (redisTemplate == null) {
+                return true;
+            }
+            if (takeLeased()) {
+                if (leased.get() < batchSize / 2) {
+                    lease().subscribe();
+                }
+                return true;
+            }
+            local.release();
+            if (System.nanoTime() - leaseRetryAt >= 0) {
+                lease().subscribe();
+            }
             return false;
         }
-        
-        private void refill(long now) {
-            long lastRefillTime = lastRefill.get();
-            long elapsed = now - lastRefillTime;
-            
-            if (elapsed >= windowMillis) {
-                // Refill tokens
-                tokens.set(capacity);
-                lastRefill.set(now);
+
+        long waitNanos() {
+            long now = System.nanoTime();
+            long localWait = local.waitNanos(now);
+            if (redisTemplate == null || leased.get() > 0) {
+                return localWait;
+            }
+            return Math.max(localWait, leaseRetryAt - now);
+        }
+
+        void release() {
+            local.release();
+            if (redisTemplate != null) {
+                leased.incrementAndGet();
             }
         }
+
+        private boolean takeLeased() {
+            if (System.nanoTime() - leaseExpiresAt > 0) {
+                // Unused permits of an old lease are not carried into a new window
+                leased.set(0);
+                return false;
+            }
+            while (true) {
+                long available = leased.get();
+                if (available <= 0) {
+                    return false;
+                }
+                if (leased.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Lease a batch of permits; concurrent callers share one Redis round trip
+         */
+        private Mono<Long> lease() {
+            Mono<Long> pending = pendingLease.get();
+            if (pending != null) {
+                return pending;
+            }
+            long intervalMicros = Math.max(1L, config.window().toNanos() / 1_000L / config.maxRequests());
+            long toleranceMicros = intervalMicros * (config.maxRequests() - 1);
+            Mono<Long> request = redisTemplate.execute(LEASE_SCRIPT,
+                    List.of(GLOBAL_KEY_PREFIX + key),
+                    List.of(Long.toString(intervalMicros), Long.toString(toleranceMicros), Integer.toString(batchSize)),
+                    RedisElementWriter.from(StringRedisSerializer.UTF_8),
+                    RedisElementReader.from(StringRedisSerializer.UTF_8))
+                .next()
+                .doOnNext(granted -> {
+                    if (granted > 0) {
+                        leaseExpiresAt = System.nanoTime() + config.window().toNanos();
+                        leased.addAndGet(granted);
+                    } else {
+                        // Cluster limit exhausted, retry once a batch has been emitted again
+                        leaseRetryAt = System.nanoTime() + local.getEmissionIntervalNanos() * batchSize;
+                    }
+                })
+                .onErrorResume(error -> {
+                    // Redis unavailable: fall back to the node-local limit
+                    log.debug("Failed to lease rate limit permits for {}, using local limit", key, error);
+                    leaseExpiresAt = System.nanoTime() + config.window().toNanos();
+                    leased.addAndGet(batchSize);
+                    return Mono.just((long) batchSize);
+                })
+                .doFinally(signal -> {
+                    pendingLease.set(null);
+                    ConnectorAdmissionQueue queue = admissionQueues.get(key);
+                    if (queue != null) {
+                        queue.drain();
+                    }
+                })
+                .cache();
+            return pendingLease.compareAndSet(null, request) ? request : lease();
+        }
     }
 }
-
@@ -0,0 +1,147 @@
+package com.hyperswitch.core.connectors;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer for idempotent connector reads
+ * Status polling, redirect callbacks and webhooks often ask a connector about the same
+ * transaction within milliseconds. Concurrent reads of the same (connector, transaction)
+ * share one in-flight call, and successful results are remembered for a short time so
+ * that reads arriving right after the call completes do not repeat it either.
+ */
+@Component
+public class ConnectorReadCoalescer {
+
+    public static final String PAYMENT_SYNC = "psync";
+    public static final String REFUND_SYNC = "rsync";
+    public static final String DISPUTE_FETCH = "dispute_fetch";
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorReadCoalescer.class);
+
+    private final Duration memoTtl;
+    private final Cache<String, Result<?, PaymentError>> memo;
+    private final Map<String, Mono<? extends Result<?, PaymentError>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ReadStats> stats = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry;
+
+    public ConnectorReadCoalescer(
+            @Value("${hyperswitch.connectors.coalescing.memo-ttl-ms:500}") long memoTtlMillis,
+            @Value("${hyperswitch.connectors.coalescing.memo-maximum-size:10000}") long memoMaximumSize) {
+        this.memoTtl = Duration.ofMillis(memoTtlMillis);
+        this.memo = Caffeine.newBuilder()
+            .maximumSize(memoMaximumSize)
+            .expireAfterWrite(memoTtl)
+            .build();
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Execute a connector read, sharing it with concurrent reads of the same transaction
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<Result<T, PaymentError>> read(
+            String operation,
+            String connectorName,
+            String transactionId,
+            Supplier<Mono<Result<T, PaymentError>>> call) {
+        if (transactionId == null) {
+            return Mono.defer(call);
+        }
+        String key = operation + "|" + (connectorName != null ? connectorName.toLowerCase() : "") + "|" + transactionId;
+        return Mono.defer(() -> {
+            Result<?, PaymentError> memoized = memo.getIfPresent(key);
+            if (memoized != null) {
+                record(operation, "memo");
+                return Mono.just((Result<T, PaymentError>) memoized);
+            }
+            boolean[] leader = new boolean[1];
+            Mono<Result<T, PaymentError>> shared = (Mono<Result<T, PaymentError>>) inFlight.computeIfAbsent(key,
+                k -> {
+                    leader[0] = true;
+                    return Mono.defer(call)
+                        .doOnNext(result -> {
+                            if (result.isOk() && !memoTtl.isZero()) {
+                                memo.put(k, result);
+                            }
+                        })
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+                });
+            if (!leader[0]) {
+                log.debug("Joining in-flight {} for {}", operation, key);
+            }
+            record(operation, leader[0] ? "leader" : "joined");
+            return shared;
+        });
+    }
+
+    /**
+     * Share of reads of an operation served without a connector call
+     */
+    public double coalescingRatio(String operation) {
+        ReadStats readStats = stats.get(operation);
+        return readStats != null ? readStats.ratio() : 0.0;
+    }
+
+    private void record(String operation, String outcome) {
+        ReadStats readStats = stats.computeIfAbsent(operation, this::registerRatio);
+        if ("leader".equals(outcome)) {
+            readStats.calls.increment();
+        } else {
+            readStats.coalesced.increment();
+        }
+        if (meterRegistry != null) {
+            Counter.builder("hyperswitch.connector.coalescing.reads")
+                .description("Connector reads by whether they called the connector")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    private ReadStats registerRatio(String operation) {
+        ReadStats readStats = new ReadStats();
+        if (meterRegistry != null) {
+            Gauge.builder("hyperswitch.connector.coalescing.ratio", readStats, ReadStats::ratio)
+                .description("Share of connector reads served by an in-flight or memoized call")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        }
+        return readStats;
+    }
+
+    private static final class ReadStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+
+        double ratio() {
+            long coalescedReads = coalesced.sum();
+            long total = coalescedReads + calls.sum();
+            return total == 0 ? 0.0 : (double) coalescedReads / total;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hyperswitch.core.connectors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps connector retries at a share of live traffic
+ * Every request deposits a fraction of a token and every retry spends a whole one, so
+ * during an outage retries add at most that fraction of extra load instead of multiplying it.
+ * The bucket starts full so that low-traffic connectors can still retry occasional failures.
+ */
+final class ConnectorRetryBudget {
+
+    private static final long SCALE = 1_000L;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    // Balance in thousandths of a token
+    private final AtomicLong balance;
+
+    ConnectorRetryBudget(double retryRatio, int maxTokens) {
+        this.depositPerRequest = Math.max(0L, Math.round(retryRatio * SCALE));
+        this.maxBalance = Math.max(1, maxTokens) * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Credit the budget for a new request
+     */
+    void deposit() {
+        if (balance.get() < maxBalance) {
+            balance.accumulateAndGet(depositPerRequest, (current, amount) -> Math.min(maxBalance, current + amount));
+        }
+    }
+
+    /**
+     * Spend one token for a retry, false if the budget is exhausted
+     */
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    double tokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
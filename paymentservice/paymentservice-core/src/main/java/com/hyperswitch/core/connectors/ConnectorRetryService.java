@@ -2,80 +2,82 @@ package com.hyperswitch.core.connectors;
 
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.gsm.GsmService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Service for handling retry logic for connector API calls
- * Implements exponential backoff retry strategy similar to hyperswitch
+ * Implements exponential backoff retry strategy similar to hyperswitch. Failures are
+ * classified by type (HTTP status, transport exception, GSM rule for the connector's error
+ * code); failures the connector may already have acted on are only retried for idempotent
+ * calls, and retries per connector are capped by a retry budget.
  */
 @Service
 public class ConnectorRetryService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(ConnectorRetryService.class);
-    
+
     private static final int MAX_RETRIES = 3;
     private static final Duration INITIAL_DELAY = Duration.ofMillis(500);
     private static final Duration MAX_DELAY = Duration.ofSeconds(5);
-    
+
+    @Value("${hyperswitch.connectors.retry.budget-ratio:0.1}")
+    private double budgetRatio = 0.1;
+
+    @Value("${hyperswitch.connectors.retry.budget-max-tokens:10}")
+    private int budgetMaxTokens = 10;
+
+    private final Map<String, ConnectorRetryBudget> budgets = new ConcurrentHashMap<>();
+
+    private GsmService gsmService;
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    public void setGsmService(GsmService gsmService) {
+        this.gsmService = gsmService;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
-     * Execute a connector API call with retry logic
+     * Execute an idempotent connector API call with retry logic
      */
     public <T> Mono<Result<T, PaymentError>> executeWithRetry(
             Function<Void, Mono<Result<T, PaymentError>>> apiCall,
             String connectorName,
             String operation) {
-        
-        // Use Mono.defer to ensure the function is called on each retry attempt
-        return Mono.defer(() -> apiCall.apply(null))
-            .retryWhen(Retry.backoff(MAX_RETRIES, INITIAL_DELAY)
-                .maxBackoff(MAX_DELAY)
-                .filter(error -> shouldRetry(error))
-                .doBeforeRetry(retrySignal -> {
-                    log.warn("Retrying connector API call - Connector: {}, Operation: {}, Attempt: {}",
-                        connectorName, operation, retrySignal.totalRetries() + 1);
-                })
-                .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
-                    log.error("Connector API call failed after {} retries - Connector: {}, Operation: {}",
-                        MAX_RETRIES, connectorName, operation);
-                    return retrySignal.failure();
-                }))
-            .onErrorResume(error -> {
-                log.error("Connector API call failed after retries: {}", error.getMessage(), error);
-                return Mono.just(Result.err(PaymentError.of("CONNECTOR_API_CALL_FAILED",
-                    "Failed after " + MAX_RETRIES + " retries: " + error.getMessage())));
-            });
+        return executeWithRetry(apiCall, connectorName, operation, true);
     }
-    
+
     /**
-     * Determine if an error should trigger a retry
+     * Execute a connector API call with retry logic. A call is idempotent when it has no
+     * side effects or carries an idempotency key the connector honours.
      */
-    private boolean shouldRetry(Throwable error) {
-        if (error == null) {
-            return false;
-        }
-        
-        String errorMessage = error.getMessage();
-        if (errorMessage == null) {
-            return false;
-        }
-        
-        // Retry on network errors, timeouts, and 5xx server errors
-        return errorMessage.contains("timeout") ||
-               errorMessage.contains("connection") ||
-               errorMessage.contains("network") ||
-               errorMessage.contains("500") ||
-               errorMessage.contains("502") ||
-               errorMessage.contains("503") ||
-               errorMessage.contains("504");
+    public <T> Mono<Result<T, PaymentError>> executeWithRetry(
+            Function<Void, Mono<Result<T, PaymentError>>> apiCall,
+            String connectorName,
+            String operation,
+            boolean idempotent) {
+        return withRetry(apiCall, MAX_RETRIES, INITIAL_DELAY, MAX_DELAY, connectorName, operation, idempotent);
     }
-    
+
     /**
      * Execute with custom retry configuration
      */
@@ -86,20 +88,135 @@ public class ConnectorRetryService {
             Duration maxDelay,
             String connectorName,
             String operation) {
-        
-        return apiCall.apply(null)
-            .retryWhen(Retry.backoff(maxRetries, initialDelay)
+        return withRetry(apiCall, maxRetries, initialDelay, maxDelay, connectorName, operation, true);
+    }
+
+    /**
+     * Classify a failed connector call. GSM rules are looked up with the operation as their flow.
+     */
+    public ConnectorErrorClass classify(PaymentError error, String connectorName, String operation) {
+        ConnectorErrorClass errorClass = ConnectorErrorClass.fromErrorCode(error.getCode());
+        if (gsmService != null && error.getConnectorError() != null) {
+            String decision = gsmService.findDecision(connectorName, operation, GsmService.DEFAULT_SUB_FLOW,
+                error.getConnectorError());
+            if ("retry".equalsIgnoreCase(decision) || "requeue".equalsIgnoreCase(decision)) {
+                return ConnectorErrorClass.SOFT_DECLINE;
+            }
+        }
+        return errorClass != null ? errorClass : ConnectorErrorClass.UNKNOWN;
+    }
+
+    private <T> Mono<Result<T, PaymentError>> withRetry(
+            Function<Void, Mono<Result<T, PaymentError>>> apiCall,
+            int maxRetries,
+            Duration initialDelay,
+            Duration maxDelay,
+            String connectorName,
+            String operation,
+            boolean idempotent) {
+        ConnectorRetryBudget budget = budget(connectorName);
+
+        // Use Mono.defer to ensure the function is called on each retry attempt
+        Mono<Result<T, PaymentError>> attempt = Mono.defer(() -> apiCall.apply(null))
+            .flatMap(result -> result.isErr() && classify(result.unwrapErr(), connectorName, operation).isRetryable()
+                ? Mono.<Result<T, PaymentError>>error(new FailedAttempt(result))
+                : Mono.just(result));
+
+        return Mono.fromRunnable(budget::deposit)
+            .then(attempt.retryWhen(Retry.backoff(maxRetries, initialDelay)
                 .maxBackoff(maxDelay)
-                .filter(this::shouldRetry)
+                .filter(error -> shouldRetry(error, connectorName, operation, idempotent, budget))
                 .doBeforeRetry(retrySignal -> {
                     log.warn("Retrying connector API call - Connector: {}, Operation: {}, Attempt: {}",
                         connectorName, operation, retrySignal.totalRetries() + 1);
-                }))
+                })
+                .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
+                    log.error("Connector API call failed after {} retries - Connector: {}, Operation: {}",
+                        maxRetries, connectorName, operation);
+                    return retrySignal.failure();
+                })))
             .onErrorResume(error -> {
+                if (error instanceof FailedAttempt failed) {
+                    // Keep the typed error of the last attempt
+                    @SuppressWarnings("unchecked")
+                    Result<T, PaymentError> result = (Result<T, PaymentError>) failed.result;
+                    return Mono.just(result);
+                }
                 log.error("Connector API call failed after retries: {}", error.getMessage(), error);
                 return Mono.just(Result.err(PaymentError.of("CONNECTOR_API_CALL_FAILED",
                     "Failed after " + maxRetries + " retries: " + error.getMessage())));
             });
     }
-}
 
+    /**
+     * Determine if an error should trigger a retry
+     */
+    private boolean shouldRetry(Throwable error, String connectorName, String operation, boolean idempotent,
+                                ConnectorRetryBudget budget) {
+        ConnectorErrorClass errorClass = error instanceof FailedAttempt failed
+            ? classify(failed.result.unwrapErr(), connectorName, operation)
+            : ConnectorErrorClass.fromThrowable(error);
+
+        if (!errorClass.isRetryable()) {
+            record(connectorName, errorClass, "not_retryable");
+            return false;
+        }
+        if (!errorClass.isRetryable(idempotent)) {
+            log.warn("Not retrying non-idempotent {} on connector {}: {} may have been processed",
+                operation, connectorName, errorClass);
+            record(connectorName, errorClass, "not_idempotent");
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            log.warn("Retry budget exhausted for connector {}, not retrying {}", connectorName, operation);
+            record(connectorName, errorClass, "budget_exhausted");
+            return false;
+        }
+        record(connectorName, errorClass, "retried");
+        return true;
+    }
+
+    private ConnectorRetryBudget budget(String connectorName) {
+        String key = connectorName != null ? connectorName.toLowerCase() : "unknown";
+        return budgets.computeIfAbsent(key, name -> {
+            ConnectorRetryBudget budget = new ConnectorRetryBudget(budgetRatio, budgetMaxTokens);
+            if (meterRegistry != null) {
+                Gauge.builder("hyperswitch.connector.retry.budget", budget, ConnectorRetryBudget::tokens)
+                    .description("Retry tokens available to a connector")
+                    .tag("connector", name)
+                    .register(meterRegistry);
+            }
+            return budget;
+        });
+    }
+
+    private void record(String connectorName, ConnectorErrorClass errorClass, String decision) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder("hyperswitch.connector.retry.decisions")
+            .description("Retry decisions for failed connector calls")
+            .tag("connector", connectorName != null ? connectorName.toLowerCase() : "unknown")
+            .tag("error_class", errorClass.name().toLowerCase())
+            .tag("decision", decision)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Carries a retryable error result through the retry operator
+     */
+    private static final class FailedAttempt extends RuntimeException {
+        private final transient Result<?, PaymentError> result;
+
+        FailedAttempt(Result<?, PaymentError> result) {
+            super(result.unwrapErr().getMessage());
+            this.result = result;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hyperswitch.core.connectors;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Connector's answer to an authorize, capture, refund or sync call
+ * Only the transaction id and status are read from these responses, so they are decoded
+ * straight into this record instead of a map of the whole body.
+ *
+ * @param id connector's id of the payment, capture or refund, or null if absent
+ * @param status connector's status, or null if absent
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ConnectorTransactionResponse(String id, String status) {
+
+    public String idOr(String fallback) {
+        return id != null ? id : fallback;
+    }
+
+    public String statusOr(String fallback) {
+        return status != null ? status : fallback;
+    }
+}
@@ -0,0 +1,314 @@
+package com.hyperswitch.core.connectors;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.AbstractProtocolSslContextSpec;
+import reactor.netty.tcp.SslProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-connector HTTP clients
+ * Every connector gets its own connection pool, so a slow acquirer can only exhaust its own
+ * connections. Pools bound pending acquires and evict idle connections in the background,
+ * can negotiate HTTP/2 to multiplex calls over few connections, and keep one TLS context per
+ * connector so that new connections resume TLS sessions instead of full handshakes.
+ * Pool usage is published per connector. Pool overrides are published to Redis so that every
+ * node applies them.
+ */
+@Component
+public class ConnectorWebClientRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorWebClientRegistry.class);
+    private static final String METRIC_PREFIX = "hyperswitch.connector.pool";
+    private static final int MAX_IN_MEMORY_SIZE = 10 * 1024 * 1024;
+    private static final String CONFIG_KEY = "connector:pool:config";
+
+    /**
+     * Connection pool settings of one connector
+     */
+    public record PoolSettings(
+            int maxConnections,
+            int pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictionInterval,
+            boolean http2,
+            int maxConcurrentStreams,
+            Duration responseTimeout) {
+
+        static PoolSettings parse(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 9) {
+                return null;
+            }
+            try {
+                return new PoolSettings(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Duration.ofMillis(Long.parseLong(parts[2])), Duration.ofMillis(Long.parseLong(parts[3])),
+                    Duration.ofMillis(Long.parseLong(parts[4])), Duration.ofMillis(Long.parseLong(parts[5])),
+                    Boolean.parseBoolean(parts[6]), Integer.parseInt(parts[7]),
+                    Duration.ofMillis(Long.parseLong(parts[8])));
+            } catch (NumberFormatException _) {
+                return null;
+            }
+        }
+
+        String format() {
+            return String.join(",", String.valueOf(maxConnections), String.valueOf(pendingAcquireMaxCount),
+                String.valueOf(pendingAcquireTimeout.toMillis()), String.valueOf(maxIdleTime.toMillis()),
+                String.valueOf(maxLifeTime.toMillis()), String.valueOf(evictionInterval.toMillis()),
+                String.valueOf(http2), String.valueOf(maxConcurrentStreams),
+                String.valueOf(responseTimeout.toMillis()));
+        }
+    }
+
+    private final PoolSettings defaults;
+    private final int tlsSessionCacheSize;
+    private final Duration tlsSessionTimeout;
+
+    private final Map<String, PoolSettings> overrides = new ConcurrentHashMap<>();
+    private final Map<String, ConnectorClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> poolMeters = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry;
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    public ConnectorWebClientRegistry(
+            @Value("${hyperswitch.connectors.http.max-connections:100}") int maxConnections,
+            @Value("${hyperswitch.connectors.http.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${hyperswitch.connectors.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMillis,
+            @Value("${hyperswitch.connectors.http.max-idle-time-ms:30000}") long maxIdleTimeMillis,
+            @Value("${hyperswitch.connectors.http.max-life-time-ms:300000}") long maxLifeTimeMillis,
+            @Value("${hyperswitch.connectors.http.eviction-interval-ms:10000}") long evictionIntervalMillis,
+            @Value("${hyperswitch.connectors.http.http2:false}") boolean http2,
+            @Value("${hyperswitch.connectors.http.max-concurrent-streams:100}") int maxConcurrentStreams,
+            @Value("${hyperswitch.connectors.http.response-timeout-ms:30000}") long responseTimeoutMillis,
+            @Value("${hyperswitch.connectors.http.tls-session-cache-size:1024}") int tlsSessionCacheSize,
+            @Value("${hyperswitch.connectors.http.tls-session-timeout-seconds:3600}") long tlsSessionTimeoutSeconds) {
+        this.defaults = new PoolSettings(maxConnections, pendingAcquireMaxCount,
+            Duration.ofMillis(pendingAcquireTimeoutMillis), Duration.ofMillis(maxIdleTimeMillis),
+            Duration.ofMillis(maxLifeTimeMillis), Duration.ofMillis(evictionIntervalMillis),
+            http2, maxConcurrentStreams, Duration.ofMillis(responseTimeoutMillis));
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+        this.tlsSessionTimeout = Duration.ofSeconds(tlsSessionTimeoutSeconds);
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - connector pool settings will be node-local");
+        }
+    }
+
+    /**
+     * WebClient of a connector, created with its own pool on first use
+     */
+    public WebClient client(String connectorName) {
+        String name = connectorName != null ? connectorName.toLowerCase() : "default";
+        return clients.computeIfAbsent(name, this::create).webClient;
+    }
+
+    /**
+     * Pool settings of a connector
+     */
+    public PoolSettings settings(String connectorName) {
+        return overrides.getOrDefault(connectorName.toLowerCase(), defaults);
+    }
+
+    /**
+     * Override the pool settings of a connector. An existing client is replaced and its
+     * pool closed once in-flight calls complete. The change is published to Redis so that
+     * every node applies it.
+     */
+    public void configure(String connectorName, PoolSettings settings) {
+        String name = connectorName.toLowerCase();
+        apply(name, settings);
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(CONFIG_KEY, name, settings.format())
+                .subscribe(null, error -> log.warn("Failed to publish pool settings for {} to Redis", name, error));
+        }
+        log.info("Updated HTTP pool settings for connector {}: {}", name, settings);
+    }
+
+    /**
+     * Pick up pool settings changed on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.http.refresh-interval-ms:10000}")
+    public void refreshSettings() {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(CONFIG_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applySettings,
+                error -> log.debug("Failed to refresh connector pool settings from Redis", error));
+    }
+
+    void applySettings(Map<String, String> published) {
+        Map<String, PoolSettings> parsed = new HashMap<>();
+        published.forEach((connector, value) -> {
+            PoolSettings settings = PoolSettings.parse(value);
+            if (settings != null) {
+                parsed.put(connector, settings);
+            } else {
+                log.warn("Ignoring invalid pool settings for {}: {}", connector, value);
+            }
+        });
+        for (String connector : overrides.keySet()) {
+            if (!parsed.containsKey(connector)) {
+                apply(connector, null);
+            }
+        }
+        parsed.forEach((connector, settings) -> {
+            if (!settings.equals(overrides.get(connector))) {
+                apply(connector, settings);
+            }
+        });
+    }
+
+    /**
+     * Replace the connector's client with one built from the given settings, or the defaults if null
+     */
+    private void apply(String name, PoolSettings settings) {
+        if (settings != null) {
+            overrides.put(name, settings);
+        } else {
+            overrides.remove(name);
+        }
+        ConnectorClient previous = clients.remove(name);
+        if (previous != null) {
+            previous.provider.disposeLater()
+                .subscribe(null, error -> log.debug("Failed to close connection pool of {}", name, error));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        clients.values().forEach(client -> client.provider.dispose());
+        clients.clear();
+    }
+
+    private ConnectorClient create(String name) {
+        PoolSettings settings = overrides.getOrDefault(name, defaults);
+
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("connector-" + name)
+            .maxConnections(settings.maxConnections())
+            .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+            .maxIdleTime(settings.maxIdleTime())
+            .maxLifeTime(settings.maxLifeTime())
+            .evictInBackground(settings.evictionInterval());
+        if (settings.http2()) {
+            pool.allocationStrategy(Http2AllocationStrategy.builder()
+                .maxConnections(settings.maxConnections())
+                .maxConcurrentStreams(settings.maxConcurrentStreams())
+                .minConnections(1)
+                .build());
+        }
+        if (meterRegistry != null) {
+            pool.metrics(true, () -> new PoolMeterRegistrar(name));
+        }
+        ConnectionProvider provider = pool.build();
+
+        // One TLS context per connector keeps its session cache across connections
+        AbstractProtocolSslContextSpec<?> tls = settings.http2()
+            ? Http2SslContextSpec.forClient()
+            : Http11SslContextSpec.forClient();
+        SslProvider sslProvider = SslProvider.builder()
+            .sslContext(tls.configure(builder -> builder
+                .sessionCacheSize(tlsSessionCacheSize)
+                .sessionTimeout(tlsSessionTimeout.toSeconds())))
+            .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+            .protocol(settings.http2()
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11})
+            .secure(sslProvider)
+            .responseTimeout(settings.responseTimeout());
+
+        WebClient webClient = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+            .build();
+        log.info("Created HTTP client for connector {}: {}", name, settings);
+        return new ConnectorClient(provider, webClient);
+    }
+
+    private record ConnectorClient(ConnectionProvider provider, WebClient webClient) {
+    }
+
+    /**
+     * Publishes the pool of each remote address of a connector
+     */
+    private final class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+        private final String connector;
+
+        PoolMeterRegistrar(String connector) {
+            this.connector = connector;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                    ConnectionPoolMetrics metrics) {
+            Tags tags = Tags.of("connector", connector, "remote", String.valueOf(remoteAddress));
+            List<Meter> meters = new ArrayList<>();
+            meters.add(gauge("active", "Connections acquired by calls", tags, metrics, ConnectionPoolMetrics::acquiredSize));
+            meters.add(gauge("idle", "Idle connections", tags, metrics, ConnectionPoolMetrics::idleSize));
+            meters.add(gauge("allocated", "Open connections", tags, metrics, ConnectionPoolMetrics::allocatedSize));
+            meters.add(gauge("pending", "Calls waiting for a connection", tags, metrics,
+                ConnectionPoolMetrics::pendingAcquireSize));
+            meters.add(gauge("max", "Maximum connections", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize));
+            poolMeters.put(id + remoteAddress, meters);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            List<Meter> meters = poolMeters.remove(id + remoteAddress);
+            if (meters != null) {
+                meters.forEach(meterRegistry::remove);
+            }
+        }
+
+        private Meter gauge(String name, String description, Tags tags, ConnectionPoolMetrics metrics,
+                            ToDoubleFunction<ConnectionPoolMetrics> value) {
+            return Gauge.builder(METRIC_PREFIX + "." + name, metrics, value)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+        }
+    }
+}
@@ -2,22 +2,62 @@ package com.hyperswitch.core.connectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Service for verifying webhook signatures per connector
- * Implements connector-specific signature verification algorithms
+ * Implements connector-specific signature verification algorithms. Signatures are computed
+ * over the raw body bytes with MAC instances reused per thread and secret, and compared
+ * against the decoded expected digest in constant time.
  */
 @Service
 public class ConnectorWebhookVerifier {
     
     private static final Logger log = LoggerFactory.getLogger(ConnectorWebhookVerifier.class);
+    private static final int MACS_PER_THREAD = 32;
+    private static final WebhookSignatureScheme DEFAULT_SCHEME =
+        WebhookSignatureScheme.hex(WebhookSignatureScheme.HMAC_SHA256);
+    
+    private final Map<String, WebhookSignatureScheme> schemes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<MacKey, Mac>> macs = ThreadLocal.withInitial(() ->
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MacKey, Mac> eldest) {
+                return size() > MACS_PER_THREAD;
+            }
+        });
+    
+    public ConnectorWebhookVerifier() {
+        // Stripe signs timestamp + "." + payload and rejects events older than 5 minutes
+        registerScheme("stripe", WebhookSignatureScheme.stripe(Duration.ofMinutes(5), Clock.systemUTC()));
+        registerScheme("paypal", DEFAULT_SCHEME);
+        registerScheme("razorpay", DEFAULT_SCHEME);
+        registerScheme("adyen", DEFAULT_SCHEME);
+    }
+    
+    /**
+     * Register or replace the signature scheme of a connector
+     */
+    public void registerScheme(String connectorName, WebhookSignatureScheme scheme) {
+        schemes.put(connectorName.toLowerCase(), scheme);
+    }
     
     /**
      * Verify webhook signature for a connector
@@ -33,165 +73,89 @@ public class ConnectorWebhookVerifier {
             return false;
         }
         
-        try {
-            switch (connectorName.toLowerCase()) {
-                case "stripe":
-                    return verifyStripeSignature(payload, signature, secret);
-                case "paypal":
-                    return verifyPayPalSignature(payload, signature, secret);
-                case "razorpay":
-                    return verifyRazorpaySignature(payload, signature, secret);
-                case "adyen":
-                    return verifyAdyenSignature(payload, signature, secret);
-                default:
-                    // Default HMAC-SHA256 verification
-                    return verifyHmacSha256(payload, signature, secret);
-            }
-        } catch (Exception e) {
-            log.error("Error verifying webhook signature for connector {}: {}", 
-                connectorName, e.getMessage(), e);
-            return false;
-        }
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        return verify(connectorName, signature, secret, mac -> mac.update(body));
     }
     
     /**
-     * Verify Stripe webhook signature
-     * Stripe uses HMAC-SHA256 with timestamp and payload
+     * Verify webhook signature for a connector over the raw request body
+     * The body buffers are MACed in place and released once verified.
      */
-    private boolean verifyStripeSignature(String payload, String signature, String secret) {
-        try {
-            // Stripe signature format: t=timestamp,v1=signature
-            String[] parts = signature.split(",");
-            String timestamp = null;
-            String sig = null;
-            
-            for (String part : parts) {
-                if (part.startsWith("t=")) {
-                    timestamp = part.substring(2);
-                } else if (part.startsWith("v1=")) {
-                    sig = part.substring(3);
+    public Mono<Boolean> verifyWebhookSignature(
+            String connectorName,
+            Flux<DataBuffer> body,
+            String signature,
+            String secret) {
+        
+        if (signature == null || secret == null) {
+            log.warn("Missing signature or secret for connector: {}", connectorName);
+            return Mono.just(false);
+        }
+        
+        return body
+            .collectList()
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+            .map(buffers -> {
+                try {
+                    return verify(connectorName, signature, secret, mac -> update(mac, buffers));
+                } finally {
+                    buffers.forEach(DataBufferUtils::release);
                 }
-            }
-            
-            if (timestamp == null || sig == null) {
+            });
+    }
+    
+    private boolean verify(String connectorName, String signature, String secret, Consumer<Mac> body) {
+        WebhookSignatureScheme scheme = schemes.getOrDefault(connectorName.toLowerCase(), DEFAULT_SCHEME);
+        Mac mac = null;
+        try {
+            WebhookSignatureScheme.ExpectedSignature expected = scheme.parse(signature);
+            if (expected == null) {
+                log.warn("Malformed or expired webhook signature for connector: {}", connectorName);
                 return false;
             }
             
-            // Verify timestamp (should be within 5 minutes)
-            long timestampLong = Long.parseLong(timestamp);
-            long currentTime = System.currentTimeMillis() / 1000;
-            if (Math.abs(currentTime - timestampLong) > 300) { // 5 minutes
-                log.warn("Stripe webhook timestamp too old or too far in future");
-                return false;
+            mac = mac(scheme.algorithm(), secret);
+            if (expected.signedPrefix() != null) {
+                mac.update(expected.signedPrefix());
             }
-            
-            // Compute signature
-            String signedPayload = timestamp + "." + payload;
-            String computedSig = computeHmacSha256(signedPayload, secret);
-            
-            return MessageDigest.isEqual(
-                computedSig.getBytes(StandardCharsets.UTF_8),
-                sig.getBytes(StandardCharsets.UTF_8)
-            );
-        } catch (Exception e) {
-            log.error("Error verifying Stripe signature: {}", e.getMessage(), e);
-            return false;
-        }
-    }
-    
-    /**
-     * Verify PayPal webhook signature
-     * PayPal uses HMAC-SHA256 with specific headers
-     */
-    private boolean verifyPayPalSignature(String payload, String signature, String secret) {
-        try {
-            // PayPal uses HMAC-SHA256 on the payload
-            String computedSig = computeHmacSha256(payload, secret);
-            return MessageDigest.isEqual(
-                computedSig.getBytes(StandardCharsets.UTF_8),
-                signature.getBytes(StandardCharsets.UTF_8)
-            );
-        } catch (Exception e) {
-            log.error("Error verifying PayPal signature: {}", e.getMessage(), e);
-            return false;
-        }
-    }
-    
-    /**
-     * Verify Razorpay webhook signature
-     * Razorpay uses HMAC-SHA256
-     */
-    private boolean verifyRazorpaySignature(String payload, String signature, String secret) {
-        try {
-            String computedSig = computeHmacSha256(payload, secret);
-            return MessageDigest.isEqual(
-                computedSig.getBytes(StandardCharsets.UTF_8),
-                signature.getBytes(StandardCharsets.UTF_8)
-            );
+            body.accept(mac);
+            return MessageDigest.isEqual(mac.doFinal(), expected.digest());
         } catch (Exception e) {
-            log.error("Error verifying Razorpay signature: {}", e.getMessage(), e);
-            return false;
-        }
-    }
-    
-    /**
-     * Verify Adyen webhook signature
-     * Adyen uses HMAC-SHA256 with specific format
-     */
-    private boolean verifyAdyenSignature(String payload, String signature, String secret) {
-        try {
-            String computedSig = computeHmacSha256(payload, secret);
-            return MessageDigest.isEqual(
-                computedSig.getBytes(StandardCharsets.UTF_8),
-                signature.getBytes(StandardCharsets.UTF_8)
-            );
-        } catch (Exception e) {
-            log.error("Error verifying Adyen signature: {}", e.getMessage(), e);
+            log.error("Error verifying webhook signature for connector {}: {}", 
+                connectorName, e.getMessage(), e);
+            if (mac != null) {
+                mac.reset();
+            }
             return false;
         }
     }
     
-    /**
-     * Generic HMAC-SHA256 verification
-     */
-    private boolean verifyHmacSha256(String payload, String signature, String secret) {
-        try {
-            String computedSig = computeHmacSha256(payload, secret);
-            return MessageDigest.isEqual(
-                computedSig.getBytes(StandardCharsets.UTF_8),
-                signature.getBytes(StandardCharsets.UTF_8)
-            );
-        } catch (Exception e) {
-            log.error("Error verifying HMAC-SHA256 signature: {}", e.getMessage(), e);
-            return false;
+    private static void update(Mac mac, List<DataBuffer> buffers) {
+        for (DataBuffer buffer : buffers) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    mac.update(iterator.next());
+                }
+            }
         }
     }
     
     /**
-     * Compute HMAC-SHA256 signature
+     * MAC initialized with the secret, reused by later verifications on this thread
      */
-    private String computeHmacSha256(String data, String secret) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(secretKeySpec);
-            byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to compute HMAC-SHA256", e);
+    private Mac mac(String algorithm, String secret) throws GeneralSecurityException {
+        Map<MacKey, Mac> threadMacs = macs.get();
+        MacKey key = new MacKey(algorithm, secret);
+        Mac mac = threadMacs.get(key);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), algorithm));
+            threadMacs.put(key, mac);
         }
+        return mac;
     }
     
-    /**
-     * Convert bytes to hex string
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
+    private record MacKey(String algorithm, String secret) {
     }
     
     /**
@@ -0,0 +1,81 @@
+package com.hyperswitch.core.connectors;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free rate limit using the generic cell rate algorithm (GCRA)
+ * The whole state is a single theoretical arrival time in nanoseconds that is advanced by
+ * one emission interval per permit with a CAS, so acquiring a permit never blocks and never
+ * takes a lock. A limit of N requests per window allows a burst of N and then N per window.
+ */
+public final class GcraRateLimit {
+
+    private final int maxRequests;
+    private final Duration window;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public GcraRateLimit(int maxRequests, Duration window) {
+        this(maxRequests, window, System.nanoTime());
+    }
+
+    GcraRateLimit(int maxRequests, Duration window, long nowNanos) {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests must be positive");
+        }
+        this.maxRequests = maxRequests;
+        this.window = window;
+        this.emissionIntervalNanos = Math.max(1L, window.toNanos() / maxRequests);
+        this.burstToleranceNanos = emissionIntervalNanos * (maxRequests - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Take one permit if it conforms to the limit at the given time
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            if (base - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Time until the next permit conforms, zero if one is available now
+     */
+    public long waitNanos(long nowNanos) {
+        long base = Math.max(theoreticalArrival.get(), nowNanos);
+        return Math.max(0L, base - nowNanos - burstToleranceNanos);
+    }
+
+    /**
+     * Give back a permit that was acquired but not used
+     */
+    public void release() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+}
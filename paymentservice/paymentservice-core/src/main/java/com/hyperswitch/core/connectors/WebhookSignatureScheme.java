@@ -0,0 +1,120 @@
+package com.hyperswitch.core.connectors;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * How a connector signs its webhooks
+ * A scheme parses the signature header once into the digest it expects and the bytes the
+ * connector signs ahead of the raw body, so the verifier can MAC the body as received.
+ */
+public interface WebhookSignatureScheme {
+
+    String HMAC_SHA256 = "HmacSHA256";
+
+    /**
+     * JCA name of the MAC algorithm
+     */
+    String algorithm();
+
+    /**
+     * Expected signature from the header, or null when it is malformed or stale
+     */
+    ExpectedSignature parse(String signatureHeader);
+
+    /**
+     * Decoded digest and the bytes signed before the body, if any
+     */
+    record ExpectedSignature(byte[] signedPrefix, byte[] digest) {
+    }
+
+    /**
+     * MAC of the body sent as a hex string
+     */
+    static WebhookSignatureScheme hex(String algorithm) {
+        return new WebhookSignatureScheme() {
+            @Override
+            public String algorithm() {
+                return algorithm;
+            }
+
+            @Override
+            public ExpectedSignature parse(String signatureHeader) {
+                byte[] digest = decodeHex(signatureHeader.trim());
+                return digest != null ? new ExpectedSignature(null, digest) : null;
+            }
+        };
+    }
+
+    /**
+     * MAC of the body sent as a Base64 string
+     */
+    static WebhookSignatureScheme base64(String algorithm) {
+        return new WebhookSignatureScheme() {
+            @Override
+            public String algorithm() {
+                return algorithm;
+            }
+
+            @Override
+            public ExpectedSignature parse(String signatureHeader) {
+                try {
+                    return new ExpectedSignature(null, Base64.getDecoder().decode(signatureHeader.trim()));
+                } catch (IllegalArgumentException _) {
+                    return null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Stripe's t=timestamp,v1=signature header, signing timestamp + "." + body
+     */
+    static WebhookSignatureScheme stripe(Duration tolerance, Clock clock) {
+        return new WebhookSignatureScheme() {
+            @Override
+            public String algorithm() {
+                return HMAC_SHA256;
+            }
+
+            @Override
+            public ExpectedSignature parse(String signatureHeader) {
+                String timestamp = null;
+                String signature = null;
+                for (String part : signatureHeader.split(",")) {
+                    if (part.startsWith("t=")) {
+                        timestamp = part.substring(2);
+                    } else if (part.startsWith("v1=")) {
+                        signature = part.substring(3);
+                    }
+                }
+                if (timestamp == null || signature == null) {
+                    return null;
+                }
+                try {
+                    long age = clock.millis() / 1000 - Long.parseLong(timestamp);
+                    if (Math.abs(age) > tolerance.toSeconds()) {
+                        return null;
+                    }
+                } catch (NumberFormatException _) {
+                    return null;
+                }
+                byte[] digest = decodeHex(signature);
+                return digest != null
+                    ? new ExpectedSignature((timestamp + ".").getBytes(StandardCharsets.US_ASCII), digest)
+                    : null;
+            }
+        };
+    }
+
+    private static byte[] decodeHex(String hex) {
+        try {
+            return HexFormat.of().parseHex(hex);
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+    }
+}
@@ -5,10 +5,13 @@ import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
 import com.hyperswitch.core.connectors.ConnectorApiService;
 import com.hyperswitch.core.connectors.ConnectorHttpClient;
+import com.hyperswitch.core.connectors.ConnectorEndpointClass;
 import com.hyperswitch.core.connectors.MerchantConnectorAccountService;
 import com.hyperswitch.core.connectors.ConnectorRetryService;
 import com.hyperswitch.core.connectors.ConnectorRateLimiter;
 import com.hyperswitch.core.connectors.ConnectorCacheService;
+import com.hyperswitch.core.connectors.ConnectorCredentialCache;
+import com.hyperswitch.core.connectors.ConnectorTransactionResponse;
 import com.hyperswitch.storage.entity.PaymentIntentEntity;
 import com.hyperswitch.storage.repository.PaymentIntentRepository;
 import org.slf4j.Logger;
@@ -35,6 +38,7 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
     private final ConnectorRateLimiter rateLimiter;
     private final ConnectorCacheService cacheService;
     private final PaymentIntentRepository paymentIntentRepository;
+    private ConnectorCredentialCache credentialCache;
     
     @Autowired
     public ConnectorApiServiceImpl(
@@ -52,6 +56,11 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         this.paymentIntentRepository = paymentIntentRepository;
     }
     
+    @Autowired(required = false)
+    public void setCredentialCache(ConnectorCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+    
     @Override
     public Mono<Result<ConnectorSessionResponse, PaymentError>> createConnectorSession(
             String paymentId,
@@ -61,13 +70,14 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Get connector credentials (in production, this would fetch from database)
         return getConnectorCredentials(request.getConnectorName(), paymentId)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorSessionResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
@@ -76,9 +86,10 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                 String sessionUrl = buildSessionUrl(baseUrl, request.getConnectorName());
                 
                 // Apply rate limiting
-                return rateLimiter.waitIfNeeded(request.getConnectorName())
+                return rateLimiter.waitIfNeeded(request.getConnectorName(), resolved.merchantId())
                     .then(retryService.executeWithRetry(
-                        unused -> httpClient.post(sessionUrl, sessionRequest, headers, request.getConnectorName())
+                        unused -> httpClient.post(sessionUrl, sessionRequest, headers, request.getConnectorName(),
+                            ConnectorEndpointClass.SESSION)
                             .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
                                 if (apiResult.isOk()) {
                                     Map<String, Object> apiResponse = apiResult.unwrap();
@@ -115,20 +126,22 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Similar to above but payment ID is in request
         return getConnectorCredentials(request.getConnectorName(), request.getPaymentId())
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorSessionResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
                 Map<String, Object> sessionRequest = buildSessionRequest(request, request.getPaymentId());
                 String sessionUrl = buildSessionUrl(baseUrl, request.getConnectorName());
                 
-                return httpClient.post(sessionUrl, sessionRequest, headers, request.getConnectorName())
+                return httpClient.post(sessionUrl, sessionRequest, headers, request.getConnectorName(),
+                        ConnectorEndpointClass.SESSION)
                     .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
                         if (apiResult.isOk()) {
                             Map<String, Object> apiResponse = apiResult.unwrap();
@@ -154,13 +167,14 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Get connector credentials and make payment API call
         return getConnectorCredentials(request.getConnectorName(), paymentId)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorPaymentResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
@@ -168,11 +182,15 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                 Map<String, Object> paymentRequest = buildPaymentRequest(request, paymentId);
                 String paymentUrl = buildPaymentUrl(baseUrl, request.getConnectorName());
                 
+                boolean idempotent = httpClient.addIdempotencyKey(headers, request.getConnectorName(),
+                    idempotencyKey(paymentId, "executePayment"));
+                
                 // Make actual API call to connector
                 // Apply rate limiting and retry
-                return rateLimiter.waitIfNeeded(request.getConnectorName())
+                return rateLimiter.waitIfNeeded(request.getConnectorName(), resolved.merchantId())
                     .then(retryService.executeWithRetry(
-                        unused -> httpClient.post(paymentUrl, paymentRequest, headers, request.getConnectorName())
+                        unused -> httpClient.post(paymentUrl, paymentRequest, headers, request.getConnectorName(),
+                            ConnectorEndpointClass.PAYMENT)
                             .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
                                 if (apiResult.isOk()) {
                                     Map<String, Object> apiResponse = apiResult.unwrap();
@@ -192,7 +210,8 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                                 }
                             }),
                         request.getConnectorName(),
-                        "executePayment"
+                        "executePayment",
+                        idempotent
                     ));
             })
         .onErrorResume(error -> {
@@ -211,33 +230,39 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Get connector credentials and make authorization API call
         return getConnectorCredentials(request.getConnectorName(), paymentId)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorAuthorizationResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
                 Map<String, Object> authRequest = buildAuthorizationRequest(request, paymentId);
                 String authUrl = buildAuthorizationUrl(baseUrl, request.getConnectorName(), paymentId);
                 
+                boolean idempotent = httpClient.addIdempotencyKey(headers, request.getConnectorName(),
+                    idempotencyKey(paymentId, "authorize"));
+                
                 // Apply rate limiting and retry
-                return rateLimiter.waitIfNeeded(request.getConnectorName())
+                return rateLimiter.waitIfNeeded(request.getConnectorName(), resolved.merchantId())
                     .then(retryService.executeWithRetry(
-                        unused -> httpClient.post(authUrl, authRequest, headers, request.getConnectorName())
-                            .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
+                        unused -> httpClient.post(authUrl, authRequest, headers, request.getConnectorName(),
+                            ConnectorEndpointClass.AUTHORIZE, ConnectorTransactionResponse.class)
+                            .flatMap((Result<ConnectorTransactionResponse, PaymentError> apiResult) -> {
                                 if (apiResult.isOk()) {
-                                    Map<String, Object> apiResponse = apiResult.unwrap();
+                                    ConnectorTransactionResponse apiResponse = apiResult.unwrap();
                                     return Mono.just(buildAuthorizationResponse(apiResponse, request, paymentId));
                                 } else {
                                     return Mono.just(Result.<ConnectorAuthorizationResponse, PaymentError>err(apiResult.unwrapErr()));
                                 }
                             }),
                         request.getConnectorName(),
-                        "authorize"
+                        "authorize",
+                        idempotent
                     ));
             })
         .onErrorResume(error -> {
@@ -256,26 +281,31 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Get connector credentials and make capture API call
         return getConnectorCredentials(request.getConnectorName(), paymentId)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorCaptureResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
                 Map<String, Object> captureRequest = buildCaptureRequest(request, paymentId);
                 String captureUrl = buildCaptureUrl(baseUrl, request.getConnectorName(), paymentId);
                 
+                boolean idempotent = httpClient.addIdempotencyKey(headers, request.getConnectorName(),
+                    idempotencyKey(paymentId, "capture"));
+                
                 // Apply rate limiting and retry
-                return rateLimiter.waitIfNeeded(request.getConnectorName())
+                return rateLimiter.waitIfNeeded(request.getConnectorName(), resolved.merchantId())
                     .then(retryService.executeWithRetry(
-                        unused -> httpClient.post(captureUrl, captureRequest, headers, request.getConnectorName())
-                            .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
+                        unused -> httpClient.post(captureUrl, captureRequest, headers, request.getConnectorName(),
+                            ConnectorEndpointClass.CAPTURE, ConnectorTransactionResponse.class)
+                            .flatMap((Result<ConnectorTransactionResponse, PaymentError> apiResult) -> {
                                 if (apiResult.isOk()) {
-                                    Map<String, Object> apiResponse = apiResult.unwrap();
+                                    ConnectorTransactionResponse apiResponse = apiResult.unwrap();
                                     Result<ConnectorCaptureResponse, PaymentError> response = 
                                         buildCaptureResponse(apiResponse, request, paymentId);
                                     
@@ -292,7 +322,8 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                                 }
                             }),
                         request.getConnectorName(),
-                        "capture"
+                        "capture",
+                        idempotent
                     ));
             })
         .onErrorResume(error -> {
@@ -310,34 +341,40 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                 request.getConnectorName(), refundId);
         
         // Get connector credentials and make refund API call
-        return getConnectorCredentials(request.getConnectorName(), null)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+        return getConnectorCredentials(request.getConnectorName(), request.getPaymentId())
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorRefundResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(request.getConnectorName());
                 Map<String, String> headers = httpClient.buildAuthHeaders(request.getConnectorName(), credentials);
                 
                 Map<String, Object> refundRequest = buildRefundRequest(request, refundId);
-                String refundUrl = buildRefundUrl(baseUrl, request.getConnectorName(), refundId);
+                String refundUrl = buildRefundUrl(baseUrl, request, refundId);
+                
+                boolean idempotent = httpClient.addIdempotencyKey(headers, request.getConnectorName(),
+                    idempotencyKey(refundId, "refund"));
                 
                 // Apply rate limiting and retry
-                return rateLimiter.waitIfNeeded(request.getConnectorName())
+                return rateLimiter.waitIfNeeded(request.getConnectorName(), resolved.merchantId())
                     .then(retryService.executeWithRetry(
-                        unused -> httpClient.post(refundUrl, refundRequest, headers, request.getConnectorName())
-                            .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
+                        unused -> httpClient.post(refundUrl, refundRequest, headers, request.getConnectorName(),
+                            ConnectorEndpointClass.REFUND, ConnectorTransactionResponse.class)
+                            .flatMap((Result<ConnectorTransactionResponse, PaymentError> apiResult) -> {
                                 if (apiResult.isOk()) {
-                                    Map<String, Object> apiResponse = apiResult.unwrap();
+                                    ConnectorTransactionResponse apiResponse = apiResult.unwrap();
                                     return Mono.just(buildRefundResponse(apiResponse, request, refundId));
                                 } else {
                                     return Mono.just(Result.<ConnectorRefundResponse, PaymentError>err(apiResult.unwrapErr()));
                                 }
                             }),
                         request.getConnectorName(),
-                        "refund"
+                        "refund",
+                        idempotent
                     ));
             })
         .onErrorResume(error -> {
@@ -356,13 +393,14 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         
         // Get connector credentials and fetch payment status
         return getConnectorCredentials(connectorName, paymentId)
-            .flatMap((Result<Map<String, String>, PaymentError> credentialsResult) -> {
+            .flatMap((Result<MerchantCredentials, PaymentError> credentialsResult) -> {
                 if (credentialsResult.isErr()) {
                     return Mono.<Result<ConnectorPaymentStatusResponse, PaymentError>>just(
                         Result.err(credentialsResult.unwrapErr()));
                 }
                 
-                Map<String, String> credentials = credentialsResult.unwrap();
+                MerchantCredentials resolved = credentialsResult.unwrap();
+                Map<String, String> credentials = resolved.credentials();
                 String baseUrl = httpClient.getConnectorBaseUrl(connectorName);
                 Map<String, String> headers = httpClient.buildAuthHeaders(connectorName, credentials);
                 
@@ -374,12 +412,13 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
                     .map(Result::<ConnectorPaymentStatusResponse, PaymentError>ok)
                     .switchIfEmpty(
                         // Apply rate limiting and retry
-                        rateLimiter.waitIfNeeded(connectorName)
+                        rateLimiter.waitIfNeeded(connectorName, resolved.merchantId())
                             .then(retryService.executeWithRetry(
-                                unused -> httpClient.get(statusUrl, headers, connectorName)
-                                    .flatMap((Result<Map<String, Object>, PaymentError> apiResult) -> {
+                                unused -> httpClient.get(statusUrl, headers, connectorName,
+                                        ConnectorEndpointClass.SYNC, ConnectorTransactionResponse.class)
+                                    .flatMap((Result<ConnectorTransactionResponse, PaymentError> apiResult) -> {
                                         if (apiResult.isOk()) {
-                                            Map<String, Object> apiResponse = apiResult.unwrap();
+                                            ConnectorTransactionResponse apiResponse = apiResult.unwrap();
                                             Result<ConnectorPaymentStatusResponse, PaymentError> response = 
                                                 buildStatusResponse(apiResponse, paymentId, connectorName);
                                             
@@ -428,47 +467,62 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
     // ========== Helper Methods ==========
     
     /**
-     * Get connector credentials for a connector from database
-     * Fetches credentials from MerchantConnectorAccountService
+     * Get connector credentials for a connector from database, together with the merchant they belong to
+     * The merchant ID is resolved from the payment and is also used for per-merchant rate limiting.
      */
-    private Mono<Result<Map<String, String>, PaymentError>> getConnectorCredentials(
+    private Mono<Result<MerchantCredentials, PaymentError>> getConnectorCredentials(
             String connectorName, String paymentId) {
         // Get merchantId from paymentId or request context
         return getMerchantIdFromPayment(paymentId)
             .flatMap(merchantId -> {
                 if (merchantId == null || merchantId.isEmpty()) {
-                    return Mono.just(Result.err(PaymentError.of("MERCHANT_ID_REQUIRED",
+                    return Mono.just(Result.<MerchantCredentials, PaymentError>err(PaymentError.of("MERCHANT_ID_REQUIRED",
                         "Merchant ID is required to fetch connector credentials")));
                 }
+                return loadConnectorCredentials(merchantId, connectorName)
+                    .map(result -> result.map(credentials -> new MerchantCredentials(merchantId, credentials)));
+            });
+    }
+    
+    /**
+     * Fetches credentials from the credential cache or MerchantConnectorAccountService
+     */
+    private Mono<Result<Map<String, String>, PaymentError>> loadConnectorCredentials(
+            String merchantId, String connectorName) {
+        if (credentialCache != null) {
+            return credentialCache.get(merchantId, connectorName)
+                .map(Result::<Map<String, String>, PaymentError>ok)
+                .switchIfEmpty(Mono.just(Result.err(PaymentError.of("CONNECTOR_ACCOUNT_NOT_FOUND",
+                    "Connector account not found for connector: " + connectorName))));
+        }
+        
+        // Fetch connector account from database
+        return connectorAccountService.listConnectorAccounts(merchantId)
+            .flatMap(result -> {
+                if (result.isErr()) {
+                    return Mono.just(Result.err(result.unwrapErr()));
+                }
                 
-                // Fetch connector account from database
-                return connectorAccountService.listConnectorAccounts(merchantId)
-                    .flatMap(result -> {
-                        if (result.isErr()) {
-                            return Mono.just(Result.err(result.unwrapErr()));
-                        }
-                        
-                        // Find the connector account matching the connector name
-                        return result.unwrap()
-                            .filter(account -> connectorName.equalsIgnoreCase(account.getConnectorName()))
-                            .next()
-                            .flatMap(account -> {
-                                // Fetch connector account details from entity
-                                return connectorAccountService.getConnectorAccount(merchantId, account.getId())
-                                    .map(accountResult -> {
-                                        if (accountResult.isErr()) {
-                                            log.warn("Failed to get connector account details, using fallback");
-                                            return extractCredentialsFromResponse(account, connectorName);
-                                        }
-                                        
-                                        // Extract credentials from connector account details
-                                        // In production, this would decrypt and deserialize connectorAccountDetails
-                                        return extractCredentialsFromResponse(accountResult.unwrap(), connectorName);
-                                    });
-                            })
-                            .switchIfEmpty(Mono.just(Result.err(PaymentError.of("CONNECTOR_ACCOUNT_NOT_FOUND",
-                                "Connector account not found for connector: " + connectorName))));
-                    });
+                // Find the connector account matching the connector name
+                return result.unwrap()
+                    .filter(account -> connectorName.equalsIgnoreCase(account.getConnectorName()))
+                    .next()
+                    .flatMap(account -> {
+                        // Fetch connector account details from entity
+                        return connectorAccountService.getConnectorAccount(merchantId, account.getId())
+                            .map(accountResult -> {
+                                if (accountResult.isErr()) {
+                                    log.warn("Failed to get connector account details, using fallback");
+                                    return extractCredentialsFromResponse(account, connectorName);
+                                }
+                                
+                                // Extract credentials from connector account details
+                                // In production, this would decrypt and deserialize connectorAccountDetails
+                                return extractCredentialsFromResponse(accountResult.unwrap(), connectorName);
+                            });
+                    })
+                    .switchIfEmpty(Mono.just(Result.err(PaymentError.of("CONNECTOR_ACCOUNT_NOT_FOUND",
+                        "Connector account not found for connector: " + connectorName))));
             });
     }
     
@@ -570,7 +624,7 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      */
     private Mono<String> getMerchantIdFromPayment(String paymentId) {
         if (paymentId == null || paymentId.isEmpty()) {
-            return Mono.just((String) null);
+            return Mono.just("");
         }
         
         // Fetch merchant ID from payment intent repository
@@ -578,11 +632,11 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
             .map(PaymentIntentEntity::getMerchantId)
             .switchIfEmpty(Mono.defer(() -> {
                 log.warn("Payment not found for paymentId: {}", paymentId);
-                return Mono.just((String) null);
+                return Mono.just("");
             }))
             .onErrorResume(error -> {
                 log.error("Error fetching merchant ID from payment: {}", paymentId, error);
-                return Mono.just((String) null);
+                return Mono.just("");
             });
     }
     
@@ -592,6 +646,12 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
     private Map<String, Object> buildSessionRequest(ConnectorSessionRequest request, String paymentId) {
         Map<String, Object> sessionRequest = new HashMap<>();
         
+        if (httpClient.routesToDummy(request.getConnectorName())) {
+            sessionRequest.put("payment_id", paymentId);
+            sessionRequest.put("connector", request.getConnectorName().toLowerCase());
+            return sessionRequest;
+        }
+        
         switch (request.getConnectorName().toLowerCase()) {
             case "stripe":
                 sessionRequest.put("payment_intent", paymentId);
@@ -617,6 +677,9 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build session URL for connector
      */
     private String buildSessionUrl(String baseUrl, String connectorName) {
+        if (httpClient.routesToDummy(connectorName)) {
+            return baseUrl + "/sessions";
+        }
         switch (connectorName.toLowerCase()) {
             case "stripe":
                 return baseUrl + "/checkout/sessions";
@@ -666,6 +729,27 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         return Result.ok(response);
     }
     
+    /**
+     * Payment request of the dummy connector, which applies the simulation of the connector named
+     * in it and keeps the payment under the caller's payment ID
+     */
+    private static Map<String, Object> dummyPaymentRequest(Map<String, Object> request, String connectorName,
+                                                           String paymentId, Map<String, Object> paymentMethod) {
+        request.put("connector", connectorName.toLowerCase());
+        request.put("payment_id", paymentId);
+        if (paymentMethod != null) {
+            request.put("payment_method_data", paymentMethod);
+        }
+        return request;
+    }
+    
+    /**
+     * Idempotency key for one connector call; retries of the call reuse it, a new call gets a new one
+     */
+    private static String idempotencyKey(String id, String operation) {
+        return id + "_" + operation + "_" + UUID.randomUUID();
+    }
+    
     /**
      * Build payment request for connector
      */
@@ -674,6 +758,11 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         paymentRequest.put("amount", request.getAmount());
         paymentRequest.put("currency", request.getCurrency());
         
+        if (httpClient.routesToDummy(request.getConnectorName())) {
+            return dummyPaymentRequest(paymentRequest, request.getConnectorName(), paymentId,
+                request.getPaymentMethod());
+        }
+        
         if (request.getPaymentMethod() != null) {
             paymentRequest.put("payment_method", request.getPaymentMethod());
         }
@@ -689,6 +778,9 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build payment URL for connector
      */
     private String buildPaymentUrl(String baseUrl, String connectorName) {
+        if (httpClient.routesToDummy(connectorName)) {
+            return baseUrl + "/payment";
+        }
         switch (connectorName.toLowerCase()) {
             case "stripe":
                 return baseUrl + "/payment_intents";
@@ -722,6 +814,11 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
         authRequest.put("amount", request.getAmount());
         authRequest.put("currency", request.getCurrency());
         
+        if (httpClient.routesToDummy(request.getConnectorName())) {
+            return dummyPaymentRequest(authRequest, request.getConnectorName(), paymentId,
+                request.getPaymentMethod());
+        }
+        
         if (request.getPaymentMethod() != null) {
             authRequest.put("payment_method", request.getPaymentMethod());
         }
@@ -737,6 +834,10 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build authorization URL for connector
      */
     private String buildAuthorizationUrl(String baseUrl, String connectorName, String paymentId) {
+        if (httpClient.routesToDummy(connectorName)) {
+            // The dummy connector authorizes when it creates the payment
+            return baseUrl + "/payment";
+        }
         switch (connectorName.toLowerCase()) {
             case "stripe":
                 return baseUrl + "/payment_intents/" + paymentId + "/confirm";
@@ -751,13 +852,12 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build authorization response from connector API response
      */
     private Result<ConnectorAuthorizationResponse, PaymentError> buildAuthorizationResponse(
-            Map<String, Object> apiResponse, ConnectorAuthorizationRequest request, String paymentId) {
+            ConnectorTransactionResponse apiResponse, ConnectorAuthorizationRequest request, String paymentId) {
         ConnectorAuthorizationResponse response = new ConnectorAuthorizationResponse();
         response.setPaymentId(paymentId);
         response.setConnectorName(request.getConnectorName());
-        response.setStatus((String) apiResponse.getOrDefault("status", "authorized"));
-        response.setAuthorizationId((String) apiResponse.getOrDefault("id", 
-            "auth_" + UUID.randomUUID().toString()));
+        response.setStatus(apiResponse.statusOr("authorized"));
+        response.setAuthorizationId(apiResponse.idOr("auth_" + UUID.randomUUID().toString()));
         return Result.ok(response);
     }
     
@@ -782,6 +882,9 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build capture URL for connector
      */
     private String buildCaptureUrl(String baseUrl, String connectorName, String paymentId) {
+        if (httpClient.routesToDummy(connectorName)) {
+            return baseUrl + "/payments/" + paymentId + "/capture";
+        }
         switch (connectorName.toLowerCase()) {
             case "stripe":
                 return baseUrl + "/payment_intents/" + paymentId + "/capture";
@@ -796,13 +899,12 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build capture response from connector API response
      */
     private Result<ConnectorCaptureResponse, PaymentError> buildCaptureResponse(
-            Map<String, Object> apiResponse, ConnectorCaptureRequest request, String paymentId) {
+            ConnectorTransactionResponse apiResponse, ConnectorCaptureRequest request, String paymentId) {
         ConnectorCaptureResponse response = new ConnectorCaptureResponse();
         response.setPaymentId(paymentId);
         response.setConnectorName(request.getConnectorName());
-        response.setStatus((String) apiResponse.getOrDefault("status", "captured"));
-        response.setCaptureId((String) apiResponse.getOrDefault("id", 
-            "capture_" + UUID.randomUUID().toString()));
+        response.setStatus(apiResponse.statusOr("captured"));
+        response.setCaptureId(apiResponse.idOr("capture_" + UUID.randomUUID().toString()));
         return Result.ok(response);
     }
     
@@ -830,8 +932,14 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
     /**
      * Build refund URL for connector
      */
-    private String buildRefundUrl(String baseUrl, String connectorName, String refundId) {
-        switch (connectorName.toLowerCase()) {
+    private String buildRefundUrl(String baseUrl, ConnectorRefundRequest request, String refundId) {
+        if (httpClient.routesToDummy(request.getConnectorName())) {
+            // Payments created through the dummy connector carry the payment ID as their connector ID
+            String paymentId = request.getConnectorTransactionId() != null
+                ? request.getConnectorTransactionId() : request.getPaymentId();
+            return baseUrl + "/payments/" + paymentId + "/refund";
+        }
+        switch (request.getConnectorName().toLowerCase()) {
             case "stripe":
                 return baseUrl + "/refunds";
             case "paypal":
@@ -845,13 +953,12 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build refund response from connector API response
      */
     private Result<ConnectorRefundResponse, PaymentError> buildRefundResponse(
-            Map<String, Object> apiResponse, ConnectorRefundRequest request, String refundId) {
+            ConnectorTransactionResponse apiResponse, ConnectorRefundRequest request, String refundId) {
         ConnectorRefundResponse response = new ConnectorRefundResponse();
         response.setRefundId(refundId);
         response.setConnectorName(request.getConnectorName());
-        response.setStatus((String) apiResponse.getOrDefault("status", "processing"));
-        response.setConnectorRefundId((String) apiResponse.getOrDefault("id", 
-            "conn_refund_" + UUID.randomUUID().toString()));
+        response.setStatus(apiResponse.statusOr("processing"));
+        response.setConnectorRefundId(apiResponse.idOr("conn_refund_" + UUID.randomUUID().toString()));
         return Result.ok(response);
     }
     
@@ -859,6 +966,9 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build status URL for connector
      */
     private String buildStatusUrl(String baseUrl, String connectorName, String paymentId) {
+        if (httpClient.routesToDummy(connectorName)) {
+            return baseUrl + "/payments/" + paymentId;
+        }
         switch (connectorName.toLowerCase()) {
             case "stripe":
                 return baseUrl + "/payment_intents/" + paymentId;
@@ -873,14 +983,18 @@ public class ConnectorApiServiceImpl implements ConnectorApiService {
      * Build status response from connector API response
      */
     private Result<ConnectorPaymentStatusResponse, PaymentError> buildStatusResponse(
-            Map<String, Object> apiResponse, String paymentId, String connectorName) {
+            ConnectorTransactionResponse apiResponse, String paymentId, String connectorName) {
         ConnectorPaymentStatusResponse response = new ConnectorPaymentStatusResponse();
         response.setPaymentId(paymentId);
         response.setConnectorName(connectorName);
-        response.setStatus((String) apiResponse.getOrDefault("status", "succeeded"));
-        response.setConnectorTransactionId((String) apiResponse.getOrDefault("id", 
-            "conn_txn_" + UUID.randomUUID().toString()));
+        response.setStatus(apiResponse.statusOr("succeeded"));
+        response.setConnectorTransactionId(apiResponse.idOr("conn_txn_" + UUID.randomUUID().toString()));
         return Result.ok(response);
     }
+    
+    /**
+     * Connector credentials and the merchant they were resolved for
+     */
+    private record MerchantCredentials(String merchantId, Map<String, String> credentials) {
+    }
 }
-
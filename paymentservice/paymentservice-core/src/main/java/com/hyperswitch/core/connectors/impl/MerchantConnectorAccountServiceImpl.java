@@ -6,6 +6,7 @@ import com.hyperswitch.common.dto.MerchantConnectorAccountRequest;
 import com.hyperswitch.common.dto.MerchantConnectorAccountResponse;
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.connectors.ConnectorCredentialCache;
 import com.hyperswitch.core.connectors.MerchantConnectorAccountService;
 import com.hyperswitch.connectors.ConnectorService;
 import com.hyperswitch.storage.entity.MerchantConnectorAccountEntity;
@@ -33,6 +34,7 @@ public class MerchantConnectorAccountServiceImpl implements MerchantConnectorAcc
 
     private final MerchantConnectorAccountRepository repository;
     private final ConnectorService connectorService;
+    private ConnectorCredentialCache credentialCache;
 
     @Autowired
     public MerchantConnectorAccountServiceImpl(
@@ -42,6 +44,11 @@ public class MerchantConnectorAccountServiceImpl implements MerchantConnectorAcc
         this.connectorService = connectorService;
     }
 
+    @Autowired(required = false)
+    public void setCredentialCache(ConnectorCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
     @Override
     public Mono<Result<MerchantConnectorAccountResponse, PaymentError>> createConnectorAccount(
             String merchantId,
@@ -208,7 +215,8 @@ public class MerchantConnectorAccountServiceImpl implements MerchantConnectorAcc
                 
                 entity.setModifiedAt(Instant.now());
                 
-                return repository.save(entity);
+                return repository.save(entity)
+                    .doOnSuccess(this::invalidateCredentials);
             })
             .map(this::toResponse)
             .map(Result::<MerchantConnectorAccountResponse, PaymentError>ok)
@@ -233,7 +241,8 @@ public class MerchantConnectorAccountServiceImpl implements MerchantConnectorAcc
         return repository.findByMerchantConnectorId(merchantConnectorId)
             .filter(entity -> merchantId.equals(entity.getMerchantId()))
             .switchIfEmpty(Mono.error(new RuntimeException(CONNECTOR_ACCOUNT_NOT_FOUND_MSG)))
-            .flatMap(repository::delete)
+            .flatMap(entity -> repository.delete(entity)
+                .doOnSuccess(unused -> invalidateCredentials(entity)))
             .thenReturn(Result.<Void, PaymentError>ok(null))
             .onErrorResume(error -> {
                 log.error("Error deleting connector account", error);
@@ -278,6 +287,15 @@ public class MerchantConnectorAccountServiceImpl implements MerchantConnectorAcc
         }
     }
 
+    /**
+     * Drop cached credentials once a rotated or removed account is persisted
+     */
+    private void invalidateCredentials(MerchantConnectorAccountEntity entity) {
+        if (credentialCache != null && entity != null) {
+            credentialCache.invalidate(entity.getMerchantId(), entity.getConnectorName());
+        }
+    }
+
     private MerchantConnectorAccountResponse toResponse(MerchantConnectorAccountEntity entity) {
         MerchantConnectorAccountResponse response = new MerchantConnectorAccountResponse();
         response.setId(entity.getId());
@@ -10,6 +10,7 @@ import com.hyperswitch.common.types.Result;
 import com.hyperswitch.connectors.ConnectorInterface;
 import com.hyperswitch.connectors.ConnectorResponse;
 import com.hyperswitch.connectors.ConnectorService;
+import com.hyperswitch.core.connectors.ConnectorReadCoalescer;
 import com.hyperswitch.core.disputes.DisputeService;
 import com.hyperswitch.storage.entity.DisputeEntity;
 import com.hyperswitch.storage.repository.DisputeRepository;
@@ -37,6 +38,7 @@ public class DisputeServiceImpl implements DisputeService {
     private final DisputeRepository disputeRepository;
     private final ObjectMapper objectMapper;
     private final ConnectorService connectorService;
+    private ConnectorReadCoalescer readCoalescer;
 
     @Autowired
     public DisputeServiceImpl(
@@ -47,6 +49,14 @@ public class DisputeServiceImpl implements DisputeService {
         this.objectMapper = objectMapper;
         this.connectorService = connectorService;
     }
+    
+    /**
+     * Optional setter for ConnectorReadCoalescer - concurrent fetches of a dispute share one connector call
+     */
+    @Autowired(required = false)
+    public void setReadCoalescer(ConnectorReadCoalescer readCoalescer) {
+        this.readCoalescer = readCoalescer;
+    }
 
     @Override
     public Mono<Either<PaymentError, DisputeResponse>> getDispute(String merchantId, DisputeId disputeId) {
@@ -252,7 +262,11 @@ public class DisputeServiceImpl implements DisputeService {
                 
                 // For now, we'll use a generic sync method if available
                 // In production, connectors would implement dispute-specific sync methods
-                return syncDisputeFromConnector(dispute)
+                Mono<Result<ConnectorResponse, PaymentError>> fetch = readCoalescer != null
+                    ? readCoalescer.read(ConnectorReadCoalescer.DISPUTE_FETCH, dispute.getConnector(),
+                        dispute.getConnectorDisputeId(), () -> syncDisputeFromConnector(dispute))
+                    : syncDisputeFromConnector(dispute);
+                return fetch
                     .flatMap(syncResult -> {
                         if (syncResult.isErr()) {
                             log.error("Failed to sync dispute from connector: {}", syncResult.unwrapErr().getMessage());
@@ -0,0 +1,192 @@
+package com.hyperswitch.core.dummyconnector;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulated behaviour of one connector on the dummy connector
+ * Calls take a latency drawn from the distribution; a share of them fail, hang until the
+ * timeout, or are answered with a rate limit once the per-second limit is exceeded; and every
+ * call fails while an outage window is active. Outage windows are relative to the time the
+ * simulation was applied and may repeat.
+ *
+ * @param latency latency of a call
+ * @param errorRate share of calls failing with a connector server error
+ * @param timeoutRate share of calls hanging until the timeout
+ * @param timeout how long a hanging call takes before it fails
+ * @param rateLimitPerSecond calls accepted per second before answering with a rate limit, 0 for no limit
+ * @param webhookDelay delay before the outcome of a completed payment is reported, null for none
+ * @param outages scripted outage windows
+ * @param appliedAt time the simulation was applied
+ */
+public record ConnectorSimulation(
+        SimulatedLatency latency,
+        double errorRate,
+        double timeoutRate,
+        Duration timeout,
+        int rateLimitPerSecond,
+        SimulatedLatency webhookDelay,
+        List<Outage> outages,
+        Instant appliedAt) {
+
+    public ConnectorSimulation {
+        if (errorRate + timeoutRate > 1.0) {
+            throw new IllegalArgumentException("error_rate and timeout_rate must not add up to more than 1");
+        }
+        if (rateLimitPerSecond < 0) {
+            throw new IllegalArgumentException("rate_limit_per_second must not be negative");
+        }
+        outages = List.copyOf(outages);
+    }
+
+    /**
+     * Outage starting the given time after the simulation was applied, repeating every
+     * {@code repeatEvery} unless that is null
+     */
+    public record Outage(Duration startAfter, Duration duration, Duration repeatEvery) {
+
+        public Outage {
+            if (startAfter.isNegative() || duration.isNegative()) {
+                throw new IllegalArgumentException("Outage start and duration must not be negative");
+            }
+            if (repeatEvery != null && repeatEvery.compareTo(duration) <= 0) {
+                throw new IllegalArgumentException("Outage repeat_every_ms must be longer than its duration_ms");
+            }
+        }
+
+        boolean isActive(Duration sinceApplied) {
+            Duration intoOutage = sinceApplied.minus(startAfter);
+            if (intoOutage.isNegative()) {
+                return false;
+            }
+            if (repeatEvery != null) {
+                intoOutage = Duration.ofNanos(intoOutage.toNanos() % repeatEvery.toNanos());
+            }
+            return intoOutage.compareTo(duration) < 0;
+        }
+    }
+
+    /**
+     * Whether one of the outage windows is active at the given time
+     */
+    public boolean inOutage(Instant now) {
+        Duration sinceApplied = Duration.between(appliedAt, now);
+        for (Outage outage : outages) {
+            if (outage.isActive(sinceApplied)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the settings accepted by the dummy connector simulation endpoint, for example
+     * {"latency": {"distribution": "lognormal", "median_ms": 180, "sigma": 0.6}, "error_rate": 0.02,
+     * "timeout_rate": 0.005, "timeout_ms": 30000, "rate_limit_per_second": 200,
+     * "outages": [{"start_after_ms": 60000, "duration_ms": 15000, "repeat_every_ms": 300000}]}
+     */
+    public static ConnectorSimulation fromMap(Map<String, Object> settings, Instant appliedAt) {
+        SimulatedLatency latency = settings.containsKey("latency")
+            ? SimulatedLatency.fromMap(mapValue(settings, "latency"))
+            : SimulatedLatency.constant(Duration.ZERO);
+        SimulatedLatency webhookDelay = settings.containsKey("webhook_delay")
+            ? SimulatedLatency.fromMap(mapValue(settings, "webhook_delay"))
+            : null;
+        List<Outage> outages = new ArrayList<>();
+        if (settings.get("outages") instanceof List<?> list) {
+            for (Object item : list) {
+                if (!(item instanceof Map<?, ?>)) {
+                    throw new IllegalArgumentException("outages must be a list of objects");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> outage = (Map<String, Object>) item;
+                long repeatEveryMs = longValue(outage, "repeat_every_ms", 0);
+                outages.add(new Outage(
+                    Duration.ofMillis(longValue(outage, "start_after_ms", 0)),
+                    Duration.ofMillis(longValue(outage, "duration_ms", 0)),
+                    repeatEveryMs > 0 ? Duration.ofMillis(repeatEveryMs) : null));
+            }
+        } else if (settings.containsKey("outages")) {
+            throw new IllegalArgumentException("outages must be a list of objects");
+        }
+        return new ConnectorSimulation(
+            latency,
+            rate(settings, "error_rate"),
+            rate(settings, "timeout_rate"),
+            Duration.ofMillis(longValue(settings, "timeout_ms", 30_000)),
+            (int) longValue(settings, "rate_limit_per_second", 0),
+            webhookDelay,
+            outages,
+            appliedAt);
+    }
+
+    /**
+     * Settings in the form accepted by {@link #fromMap(Map, Instant)}
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("latency", latency.toMap());
+        settings.put("error_rate", errorRate);
+        settings.put("timeout_rate", timeoutRate);
+        settings.put("timeout_ms", timeout.toMillis());
+        settings.put("rate_limit_per_second", rateLimitPerSecond);
+        if (webhookDelay != null) {
+            settings.put("webhook_delay", webhookDelay.toMap());
+        }
+        List<Map<String, Object>> windows = new ArrayList<>();
+        for (Outage outage : outages) {
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("start_after_ms", outage.startAfter().toMillis());
+            window.put("duration_ms", outage.duration().toMillis());
+            if (outage.repeatEvery() != null) {
+                window.put("repeat_every_ms", outage.repeatEvery().toMillis());
+            }
+            windows.add(window);
+        }
+        settings.put("outages", windows);
+        settings.put("applied_at", appliedAt.toString());
+        return settings;
+    }
+
+    static long longValue(Map<String, Object> settings, String key, long defaultValue) {
+        Object value = settings.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Number number) || number.longValue() < 0) {
+            throw new IllegalArgumentException(key + " must be a non-negative number");
+        }
+        return number.longValue();
+    }
+
+    static double doubleValue(Map<String, Object> settings, String key, double defaultValue) {
+        Object value = settings.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Number number) || number.doubleValue() < 0) {
+            throw new IllegalArgumentException(key + " must be a non-negative number");
+        }
+        return number.doubleValue();
+    }
+
+    static double rate(Map<String, Object> settings, String key) {
+        double rate = doubleValue(settings, key, 0.0);
+        if (rate > 1.0) {
+            throw new IllegalArgumentException(key + " must be between 0 and 1");
+        }
+        return rate;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> mapValue(Map<String, Object> settings, String key) {
+        if (!(settings.get(key) instanceof Map<?, ?> value)) {
+            throw new IllegalArgumentException(key + " must be an object");
+        }
+        return (Map<String, Object>) value;
+    }
+}
@@ -5,6 +5,8 @@ import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 /**
  * Service interface for dummy connector operations (testing)
  */
@@ -42,5 +44,30 @@ public interface DummyConnectorService {
      * Complete dummy payment
      */
     Mono<Result<Void, PaymentError>> completePayment(String attemptId, Boolean confirm);
+    
+    /**
+     * Capture dummy payment, completing it without the authorization page
+     */
+    Mono<Result<DummyConnectorPaymentResponse, PaymentError>> capturePayment(String paymentId);
+    
+    /**
+     * Create dummy session for a payment
+     */
+    Mono<Result<Map<String, Object>, PaymentError>> createSession(String paymentId, String connector);
+    
+    /**
+     * Apply simulated behaviour to a connector, or to every connector without its own when
+     * the connector is "*". Returns the applied settings
+     */
+    Mono<Result<Map<String, Object>, PaymentError>> applySimulation(String connector, Map<String, Object> settings);
+    
+    /**
+     * Get the applied simulations by connector
+     */
+    Mono<Result<Map<String, Object>, PaymentError>> getSimulations();
+    
+    /**
+     * Remove the simulation of a connector
+     */
+    Mono<Result<Void, PaymentError>> clearSimulation(String connector);
 }
-
@@ -0,0 +1,130 @@
+package com.hyperswitch.core.dummyconnector;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latency distribution of a simulated connector call
+ * Acquirer latencies are right-skewed, so the usual model is lognormal around a median; a
+ * bimodal mix of two distributions models a connector whose calls sometimes take a slow path
+ * such as a network-token lookup or an issuer stand-in.
+ */
+public sealed interface SimulatedLatency {
+
+    /**
+     * Upper bound of a sample, so a heavy tail cannot stall a simulation indefinitely
+     */
+    Duration MAX = Duration.ofMinutes(10);
+
+    Duration sample(RandomGenerator random);
+
+    /**
+     * Settings in the form accepted by {@link #fromMap(Map)}
+     */
+    Map<String, Object> toMap();
+
+    static SimulatedLatency constant(Duration latency) {
+        return new Constant(latency);
+    }
+
+    /**
+     * Lognormal latency with the given median; sigma is the standard deviation of its logarithm
+     */
+    static SimulatedLatency lognormal(Duration median, double sigma) {
+        return new Lognormal(median, sigma);
+    }
+
+    /**
+     * Latency from the slow distribution for the given share of calls and from the fast one otherwise
+     */
+    static SimulatedLatency bimodal(SimulatedLatency fast, SimulatedLatency slow, double slowShare) {
+        return new Bimodal(fast, slow, slowShare);
+    }
+
+    /**
+     * Parse a distribution such as {"distribution": "lognormal", "median_ms": 180, "sigma": 0.5}
+     */
+    static SimulatedLatency fromMap(Map<String, Object> settings) {
+        Object distribution = settings.getOrDefault("distribution", "constant");
+        return switch (String.valueOf(distribution).toLowerCase()) {
+            case "constant" -> constant(Duration.ofMillis(ConnectorSimulation.longValue(settings, "ms", 0)));
+            case "lognormal" -> lognormal(
+                Duration.ofMillis(ConnectorSimulation.longValue(settings, "median_ms", 0)),
+                ConnectorSimulation.doubleValue(settings, "sigma", 0.5));
+            case "bimodal" -> bimodal(
+                fromMap(ConnectorSimulation.mapValue(settings, "fast")),
+                fromMap(ConnectorSimulation.mapValue(settings, "slow")),
+                ConnectorSimulation.rate(settings, "slow_share"));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + distribution);
+        };
+    }
+
+    private static Duration clamp(double nanos) {
+        return nanos >= MAX.toNanos() ? MAX : Duration.ofNanos(Math.max(0L, (long) nanos));
+    }
+
+    record Constant(Duration latency) implements SimulatedLatency {
+
+        public Constant {
+            if (latency.isNegative()) {
+                throw new IllegalArgumentException("Latency must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return latency;
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("distribution", "constant");
+            settings.put("ms", latency.toMillis());
+            return settings;
+        }
+    }
+
+    record Lognormal(Duration median, double sigma) implements SimulatedLatency {
+
+        public Lognormal {
+            if (median.isNegative() || sigma < 0) {
+                throw new IllegalArgumentException("Lognormal median and sigma must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return clamp(median.toNanos() * Math.exp(sigma * random.nextGaussian()));
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("distribution", "lognormal");
+            settings.put("median_ms", median.toMillis());
+            settings.put("sigma", sigma);
+            return settings;
+        }
+    }
+
+    record Bimodal(SimulatedLatency fast, SimulatedLatency slow, double slowShare) implements SimulatedLatency {
+
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return random.nextDouble() < slowShare ? slow.sample(random) : fast.sample(random);
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("distribution", "bimodal");
+            settings.put("fast", fast.toMap());
+            settings.put("slow", slow.toMap());
+            settings.put("slow_share", slowShare);
+            return settings;
+        }
+    }
+}
@@ -3,30 +3,69 @@ package com.hyperswitch.core.dummyconnector.impl;
 import com.hyperswitch.common.dto.*;
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.connectors.ConnectorErrorClass;
+import com.hyperswitch.core.dummyconnector.ConnectorSimulation;
 import com.hyperswitch.core.dummyconnector.DummyConnectorService;
+import com.hyperswitch.core.dummyconnector.SimulatedLatency;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of DummyConnectorService
- * This is a testing connector that simulates payment and refund operations
+ * This is a testing connector that simulates payment and refund operations. Each connector
+ * can be given a simulation of latency, errors, timeouts, rate limits, slow webhooks and
+ * outages, so routing, retries and circuit breakers can be load tested locally.
  */
 @Service
 public class DummyConnectorServiceImpl implements DummyConnectorService {
     
     private static final Logger log = LoggerFactory.getLogger(DummyConnectorServiceImpl.class);
     
+    /**
+     * Simulation key applying to every connector without a simulation of its own
+     */
+    public static final String ALL_CONNECTORS = "*";
+    
     // In-memory storage for testing (in production, this would use Redis)
-    private final Map<String, DummyConnectorPaymentResponse> paymentStore = new HashMap<>();
-    private final Map<String, DummyConnectorRefundResponse> refundStore = new HashMap<>();
-    private final Map<String, String> attemptToPaymentId = new HashMap<>();
+    private final Map<String, DummyConnectorPaymentResponse> paymentStore = new ConcurrentHashMap<>();
+    private final Map<String, DummyConnectorRefundResponse> refundStore = new ConcurrentHashMap<>();
+    private final Map<String, String> attemptToPaymentId = new ConcurrentHashMap<>();
+    private final Map<String, String> paymentConnector = new ConcurrentHashMap<>();
+    
+    // Simulated connector behaviour for load and resilience testing
+    private final Map<String, ConnectorSimulation> simulations = new ConcurrentHashMap<>();
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+    private final Map<String, PendingOutcome> pendingOutcomes = new ConcurrentHashMap<>();
+    
+    /**
+     * Fail the given share of payment calls and delay every payment call by the given latency
+     */
+    public void injectFaults(double errorRate, Duration latency) {
+        simulations.put(ALL_CONNECTORS, new ConnectorSimulation(
+            SimulatedLatency.constant(latency != null ? latency : Duration.ZERO),
+            errorRate, 0.0, Duration.ofSeconds(30), 0, null, List.of(), Instant.now()));
+        log.info("Dummy connector faults injected: errorRate={}, latency={}", errorRate, latency);
+    }
+    
+    /**
+     * Remove injected faults
+     */
+    public void clearFaults() {
+        simulations.remove(ALL_CONNECTORS);
+    }
     
     @Override
     public Mono<Result<DummyConnectorPaymentResponse, PaymentError>> createPayment(
@@ -35,8 +74,16 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
         log.info("Creating dummy payment: amount={}, currency={}, connector={}", 
                 request.getAmount(), request.getCurrency(), request.getConnector());
         
-        return Mono.fromCallable(() -> {
-            String paymentId = "pay_" + UUID.randomUUID().toString().replace("-", "");
+        String connector = connectorKey(request.getConnector());
+        return simulate(connector, Mono.fromCallable(() -> {
+            // Callers routed here from the connector call path pass their own payment ID, and
+            // retries of the call get the payment already created for it
+            String paymentId = request.getPaymentId() != null && !request.getPaymentId().isBlank()
+                ? request.getPaymentId() : "pay_" + UUID.randomUUID().toString().replace("-", "");
+            DummyConnectorPaymentResponse existing = paymentStore.get(paymentId);
+            if (existing != null) {
+                return Result.<DummyConnectorPaymentResponse, PaymentError>ok(existing);
+            }
             String attemptId = "attempt_" + UUID.randomUUID().toString().replace("-", "");
             
             DummyConnectorPaymentResponse response = new DummyConnectorPaymentResponse();
@@ -56,6 +103,7 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
             // Store payment data
             paymentStore.put(paymentId, response);
             attemptToPaymentId.put(attemptId, paymentId);
+            paymentConnector.put(paymentId, connector);
             
             // In production, this would:
             // 1. Store payment attempt in Redis with TTL
@@ -63,7 +111,7 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
             // 3. Process payment based on connector type and payment method
             
             return Result.<DummyConnectorPaymentResponse, PaymentError>ok(response);
-        })
+        }))
         .onErrorResume(error -> {
             log.error("Error creating dummy payment: {}", error.getMessage(), error);
             return Mono.just(Result.err(PaymentError.of("DUMMY_PAYMENT_CREATE_FAILED",
@@ -75,8 +123,8 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
     public Mono<Result<DummyConnectorPaymentResponse, PaymentError>> getPaymentData(String paymentId) {
         log.info("Getting dummy payment data: {}", paymentId);
         
-        return Mono.fromCallable(() -> {
-            DummyConnectorPaymentResponse payment = paymentStore.get(paymentId);
+        return simulate(paymentConnector.get(paymentId), Mono.fromCallable(() -> {
+            DummyConnectorPaymentResponse payment = settle(paymentId);
             if (payment == null) {
                 return Result.<DummyConnectorPaymentResponse, PaymentError>err(
                     PaymentError.of("PAYMENT_NOT_FOUND", "Payment not found: " + paymentId));
@@ -85,7 +133,7 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
             // In production, this would retrieve from Redis
             
             return Result.<DummyConnectorPaymentResponse, PaymentError>ok(payment);
-        })
+        }))
         .onErrorResume(error -> {
             log.error("Error getting dummy payment data: {}", error.getMessage(), error);
             return Mono.just(Result.err(PaymentError.of("DUMMY_PAYMENT_RETRIEVAL_FAILED",
@@ -100,8 +148,8 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
         
         log.info("Creating dummy refund: paymentId={}, amount={}", paymentId, request.getAmount());
         
-        return Mono.fromCallable(() -> {
-            DummyConnectorPaymentResponse payment = paymentStore.get(paymentId);
+        return simulate(paymentConnector.get(paymentId), Mono.fromCallable(() -> {
+            DummyConnectorPaymentResponse payment = settle(paymentId);
             if (payment == null) {
                 return Result.<DummyConnectorRefundResponse, PaymentError>err(
                     PaymentError.of("PAYMENT_NOT_FOUND", "Payment not found: " + paymentId));
@@ -112,7 +160,9 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
                     PaymentError.of("PAYMENT_NOT_SUCCESSFUL", "Payment is not successful"));
             }
             
-            if (request.getAmount() > payment.getAmount()) {
+            // Like the connectors, a refund without an amount refunds the whole payment
+            long refundAmount = request.getAmount() != null ? request.getAmount() : payment.getAmount();
+            if (refundAmount > payment.getAmount()) {
                 return Result.<DummyConnectorRefundResponse, PaymentError>err(
                     PaymentError.of("REFUND_AMOUNT_EXCEEDS_PAYMENT", 
                         "Refund amount exceeds payment amount"));
@@ -126,7 +176,7 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
             response.setCurrency(payment.getCurrency());
             response.setCreated(Instant.now());
             response.setPaymentAmount(payment.getAmount());
-            response.setRefundAmount(request.getAmount());
+            response.setRefundAmount(refundAmount);
             
             refundStore.put(refundId, response);
             
@@ -136,7 +186,7 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
             // 3. Update payment eligible amount
             
             return Result.<DummyConnectorRefundResponse, PaymentError>ok(response);
-        })
+        }))
         .onErrorResume(error -> {
             log.error("Error creating dummy refund: {}", error.getMessage(), error);
             return Mono.just(Result.err(PaymentError.of("DUMMY_REFUND_CREATE_FAILED",
@@ -217,10 +267,8 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
                     PaymentError.of("PAYMENT_NOT_FOUND", "Payment not found: " + paymentId));
             }
             
-            // Update payment status based on confirmation
-            payment.setStatus(confirm ? "succeeded" : "failed");
-            payment.setNextAction(null);
-            paymentStore.put(paymentId, payment);
+            // Update payment status based on confirmation, reported late when webhooks are slow
+            applyOutcome(paymentId, payment, confirm ? "succeeded" : "failed");
             
             // In production, this would:
             // 1. Update payment status in Redis
@@ -235,5 +283,186 @@ public class DummyConnectorServiceImpl implements DummyConnectorService {
                 "Failed to complete dummy payment: " + error.getMessage())));
         });
     }
+    
+    @Override
+    public Mono<Result<DummyConnectorPaymentResponse, PaymentError>> capturePayment(String paymentId) {
+        log.info("Capturing dummy payment: {}", paymentId);
+        
+        return simulate(paymentConnector.get(paymentId), Mono.fromCallable(() -> {
+            DummyConnectorPaymentResponse payment = settle(paymentId);
+            if (payment == null) {
+                return Result.<DummyConnectorPaymentResponse, PaymentError>err(
+                    PaymentError.of("PAYMENT_NOT_FOUND", "Payment not found: " + paymentId));
+            }
+            if ("failed".equals(payment.getStatus())) {
+                return Result.<DummyConnectorPaymentResponse, PaymentError>err(
+                    PaymentError.of("PAYMENT_NOT_CAPTURABLE", "Payment has failed: " + paymentId));
+            }
+            applyOutcome(paymentId, payment, "succeeded");
+            return Result.<DummyConnectorPaymentResponse, PaymentError>ok(payment);
+        }))
+        .onErrorResume(error -> {
+            log.error("Error capturing dummy payment: {}", error.getMessage(), error);
+            return Mono.just(Result.err(PaymentError.of("DUMMY_PAYMENT_CAPTURE_FAILED",
+                "Failed to capture dummy payment: " + error.getMessage())));
+        });
+    }
+    
+    @Override
+    public Mono<Result<Map<String, Object>, PaymentError>> createSession(String paymentId, String connector) {
+        log.info("Creating dummy session: paymentId={}, connector={}", paymentId, connector);
+        
+        return simulate(connectorKey(connector), Mono.fromCallable(() -> {
+            Map<String, Object> session = new HashMap<>();
+            session.put("session_id", "session_" + UUID.randomUUID().toString().replace("-", ""));
+            session.put("token", "token_" + UUID.randomUUID().toString().replace("-", ""));
+            session.put("payment_id", paymentId);
+            return Result.<Map<String, Object>, PaymentError>ok(session);
+        }))
+        .onErrorResume(error -> {
+            log.error("Error creating dummy session: {}", error.getMessage(), error);
+            return Mono.just(Result.err(PaymentError.of("DUMMY_SESSION_CREATE_FAILED",
+                "Failed to create dummy session: " + error.getMessage())));
+        });
+    }
+    
+    @Override
+    public Mono<Result<Map<String, Object>, PaymentError>> applySimulation(
+            String connector, Map<String, Object> settings) {
+        String key = connectorKey(connector);
+        try {
+            ConnectorSimulation simulation = ConnectorSimulation.fromMap(settings, Instant.now());
+            simulations.put(key, simulation);
+            rateWindows.remove(key);
+            log.info("Dummy connector simulation applied: connector={}, settings={}", key, simulation.toMap());
+            return Mono.just(Result.ok(simulation.toMap()));
+        } catch (IllegalArgumentException e) {
+            return Mono.just(Result.err(PaymentError.of("INVALID_REQUEST", e.getMessage())));
+        }
+    }
+    
+    @Override
+    public Mono<Result<Map<String, Object>, PaymentError>> getSimulations() {
+        Map<String, Object> applied = new TreeMap<>();
+        simulations.forEach((connector, simulation) -> applied.put(connector, simulation.toMap()));
+        return Mono.just(Result.ok(applied));
+    }
+    
+    @Override
+    public Mono<Result<Void, PaymentError>> clearSimulation(String connector) {
+        String key = connectorKey(connector);
+        if (simulations.remove(key) == null) {
+            return Mono.just(Result.err(PaymentError.of("SIMULATION_NOT_FOUND",
+                "No simulation applied to connector: " + key)));
+        }
+        rateWindows.remove(key);
+        log.info("Dummy connector simulation cleared: connector={}", key);
+        return Mono.just(Result.ok(null));
+    }
+    
+    /**
+     * Run a call under the simulation of its connector. Outages and rate limits fail the call
+     * immediately; otherwise it fails after its latency, hangs until the timeout, or proceeds
+     * after its latency
+     */
+    private <T> Mono<Result<T, PaymentError>> simulate(String connectorName, Mono<Result<T, PaymentError>> call) {
+        String connector = connectorName != null ? connectorName : ALL_CONNECTORS;
+        return Mono.defer(() -> {
+            ConnectorSimulation simulation = simulationFor(connector);
+            if (simulation == null) {
+                return call;
+            }
+            Instant now = Instant.now();
+            if (simulation.inOutage(now)) {
+                return Mono.just(simulatedError(ConnectorErrorClass.UNAVAILABLE, connector, "outage"));
+            }
+            if (simulation.rateLimitPerSecond() > 0
+                    && !rateWindows.computeIfAbsent(connector, k -> new RateWindow())
+                        .tryAcquire(now.getEpochSecond(), simulation.rateLimitPerSecond())) {
+                return Mono.just(simulatedError(ConnectorErrorClass.RATE_LIMITED, connector, "rate limit"));
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < simulation.errorRate() + simulation.timeoutRate()) {
+                boolean timedOut = roll >= simulation.errorRate();
+                Duration delay = timedOut ? simulation.timeout() : simulation.latency().sample(random);
+                Result<T, PaymentError> failure = timedOut
+                    ? simulatedError(ConnectorErrorClass.TIMEOUT, connector, "timeout")
+                    : simulatedError(ConnectorErrorClass.SERVER_ERROR, connector, "server error");
+                return Mono.delay(delay).thenReturn(failure);
+            }
+            Duration latency = simulation.latency().sample(random);
+            return latency.isZero() ? call : call.delaySubscription(latency);
+        });
+    }
+    
+    private ConnectorSimulation simulationFor(String connector) {
+        ConnectorSimulation simulation = connector != null ? simulations.get(connector) : null;
+        return simulation != null ? simulation : simulations.get(ALL_CONNECTORS);
+    }
+    
+    /**
+     * Payment with an outcome whose slow webhook is due applied to it
+     */
+    private DummyConnectorPaymentResponse settle(String paymentId) {
+        DummyConnectorPaymentResponse payment = paymentStore.get(paymentId);
+        PendingOutcome pending = pendingOutcomes.get(paymentId);
+        if (payment != null && pending != null && !Instant.now().isBefore(pending.reportAt())
+                && pendingOutcomes.remove(paymentId, pending)) {
+            payment.setStatus(pending.status());
+        }
+        return payment;
+    }
+    
+    /**
+     * Set the outcome of a payment, reported late when the connector's webhooks are slow
+     */
+    private void applyOutcome(String paymentId, DummyConnectorPaymentResponse payment, String status) {
+        payment.setNextAction(null);
+        ConnectorSimulation simulation = simulationFor(paymentConnector.get(paymentId));
+        if (simulation != null && simulation.webhookDelay() != null) {
+            Duration delay = simulation.webhookDelay().sample(ThreadLocalRandom.current());
+            pendingOutcomes.put(paymentId, new PendingOutcome(status, Instant.now().plus(delay)));
+        } else {
+            payment.setStatus(status);
+        }
+        paymentStore.put(paymentId, payment);
+    }
+    
+    private static <T> Result<T, PaymentError> simulatedError(
+            ConnectorErrorClass errorClass, String connector, String reason) {
+        return Result.err(PaymentError.of(errorClass.errorCode(),
+            "Simulated " + reason + " of dummy connector " + connector));
+    }
+    
+    private static String connectorKey(String connector) {
+        return connector != null && !connector.isBlank() ? connector.toLowerCase(Locale.ROOT) : ALL_CONNECTORS;
+    }
+    
+    /**
+     * Outcome of a completed payment waiting for its slow webhook
+     */
+    private record PendingOutcome(String status, Instant reportAt) {
+    }
+    
+    /**
+     * Calls accepted by a connector in the current second
+     */
+    private static final class RateWindow {
+        
+        private long second;
+        private int count;
+        
+        synchronized boolean tryAcquire(long currentSecond, int limit) {
+            if (currentSecond != second) {
+                second = currentSecond;
+                count = 0;
+            }
+            if (count >= limit) {
+                return false;
+            }
+            count++;
+            return true;
+        }
+    }
 }
-
@@ -29,5 +29,17 @@ public interface GsmService {
      * Delete GSM rule
      */
     Mono<Result<GsmDeleteResponse, PaymentError>> deleteGsmRule(GsmDeleteRequest request);
+    
+    /**
+     * Sub flow of rules created without one
+     */
+    String DEFAULT_SUB_FLOW = "sub_flow";
+
+    /**
+     * Decision of the rule mapping a connector error code in a flow, or null if no rule matches.
+     * Flow and sub flow match case-insensitively; a null sub flow means {@link #DEFAULT_SUB_FLOW}.
+     * Answered from memory so it can be used on the connector call path.
+     */
+    String findDecision(String connector, String flow, String subFlow, String code);
 }
 
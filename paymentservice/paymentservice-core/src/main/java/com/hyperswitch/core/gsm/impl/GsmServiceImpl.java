@@ -1,21 +1,50 @@
 package com.hyperswitch.core.gsm.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hyperswitch.common.dto.*;
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
 import com.hyperswitch.core.gsm.GsmService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Implementation of GsmService
+ * Rules are published to a Redis hash and every node reloads it periodically, so a rule
+ * created through any node reaches the decision lookups of all of them.
  */
 @Service
 public class GsmServiceImpl implements GsmService {
     
     private static final Logger log = LoggerFactory.getLogger(GsmServiceImpl.class);
+    private static final String RULES_KEY = "gsm:rules";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Rules keyed by connector, flow, sub flow, code and message
+    private final Map<String, GsmResponse> rules = new ConcurrentHashMap<>();
+    // Decisions keyed by connector, flow, sub flow and code, rebuilt whenever the rules change
+    private volatile Map<String, String> decisions = Map.of();
+    
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - GSM rules will be node-local");
+        }
+    }
     
     @Override
     public Mono<Result<GsmResponse, PaymentError>> createGsmRule(GsmCreateRequest request) {
@@ -42,6 +71,8 @@ public class GsmServiceImpl implements GsmService {
             response.setStandardisedCode(request.getStandardisedCode());
             response.setDescription(request.getDescription());
             response.setUserGuidanceMessage(request.getUserGuidanceMessage());
+            store(ruleKey(request.getConnector(), request.getFlow(), request.getSubFlow(),
+                request.getCode(), request.getMessage()), response);
             
             // In production, this would:
             // 1. Validate connector, flow, code, message combination
@@ -65,6 +96,12 @@ public class GsmServiceImpl implements GsmService {
                 request.getConnector(), request.getFlow(), request.getCode());
         
         return Mono.fromCallable(() -> {
+            GsmResponse stored = rules.get(ruleKey(request.getConnector(), request.getFlow(),
+                request.getSubFlow(), request.getCode(), request.getMessage()));
+            if (stored != null) {
+                return Result.<GsmResponse, PaymentError>ok(stored);
+            }
+            
             GsmResponse response = new GsmResponse();
             response.setConnector(request.getConnector());
             response.setFlow(request.getFlow());
@@ -113,6 +150,8 @@ public class GsmServiceImpl implements GsmService {
             response.setStandardisedCode(request.getStandardisedCode());
             response.setDescription(request.getDescription());
             response.setUserGuidanceMessage(request.getUserGuidanceMessage());
+            store(ruleKey(request.getConnector(), request.getFlow(), request.getSubFlow(),
+                request.getCode(), request.getMessage()), response);
             
             // In production, this would:
             // 1. Validate GSM rule exists
@@ -135,6 +174,9 @@ public class GsmServiceImpl implements GsmService {
                 request.getConnector(), request.getFlow(), request.getCode());
         
         return Mono.fromCallable(() -> {
+            remove(ruleKey(request.getConnector(), request.getFlow(), request.getSubFlow(),
+                request.getCode(), request.getMessage()));
+            
             GsmDeleteResponse response = new GsmDeleteResponse();
             response.setGsmRuleDelete(true);
             response.setConnector(request.getConnector());
@@ -156,5 +198,84 @@ public class GsmServiceImpl implements GsmService {
                 "Failed to delete GSM rule: " + error.getMessage())));
         });
     }
+    
+    @Override
+    public String findDecision(String connector, String flow, String subFlow, String code) {
+        if (connector == null || flow == null || code == null) {
+            return null;
+        }
+        return decisions.get(decisionKey(connector, flow, subFlow, code));
+    }
+    
+    /**
+     * Reload the rules published by every node
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.gsm.refresh-interval-ms:10000}")
+    public void refreshRules() {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.<String, String>opsForHash().entries(RULES_KEY)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .subscribe(this::applyRules, error -> log.debug("Failed to read GSM rules from Redis", error));
+    }
+    
+    void applyRules(Map<String, String> published) {
+        Map<String, GsmResponse> loaded = new HashMap<>();
+        published.forEach((key, json) -> {
+            try {
+                loaded.put(key, objectMapper.readValue(json, GsmResponse.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable GSM rule {}: {}", key, e.getMessage());
+            }
+        });
+        rules.keySet().retainAll(loaded.keySet());
+        rules.putAll(loaded);
+        reindex();
+    }
+    
+    private void store(String key, GsmResponse rule) {
+        rules.put(key, rule);
+        reindex();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.<String, String>opsForHash().put(RULES_KEY, key, objectMapper.writeValueAsString(rule))
+                .subscribe(null, error -> log.warn("Failed to publish GSM rule {} to Redis", key, error));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize GSM rule {}: {}", key, e.getMessage());
+        }
+    }
+    
+    private void remove(String key) {
+        rules.remove(key);
+        reindex();
+        if (redisTemplate != null) {
+            redisTemplate.<String, String>opsForHash().remove(RULES_KEY, key)
+                .subscribe(null, error -> log.warn("Failed to remove GSM rule {} from Redis", key, error));
+        }
+    }
+    
+    private synchronized void reindex() {
+        Map<String, String> index = new HashMap<>();
+        // In rule key order, so rules differing only by message resolve the same way on every node
+        for (GsmResponse rule : new TreeMap<>(rules).values()) {
+            if (rule.getConnector() != null && rule.getFlow() != null && rule.getCode() != null
+                    && rule.getDecision() != null) {
+                index.putIfAbsent(decisionKey(rule.getConnector(), rule.getFlow(), rule.getSubFlow(), rule.getCode()),
+                    rule.getDecision());
+            }
+        }
+        decisions = Map.copyOf(index);
+    }
+    
+    private static String decisionKey(String connector, String flow, String subFlow, String code) {
+        return connector.toLowerCase() + "|" + flow.toLowerCase() + "|"
+            + (subFlow != null ? subFlow.toLowerCase() : DEFAULT_SUB_FLOW) + "|" + code;
+    }
+    
+    private static String ruleKey(String connector, String flow, String subFlow, String code, String message) {
+        return (connector != null ? connector.toLowerCase() : "") + "|" + flow + "|" + subFlow + "|" + code + "|" + message;
+    }
 }
-
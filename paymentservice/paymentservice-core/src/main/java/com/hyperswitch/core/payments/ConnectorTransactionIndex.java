@@ -0,0 +1,149 @@
+package com.hyperswitch.core.payments;
+
+import com.hyperswitch.storage.entity.ConnectorTransactionMapEntity;
+import com.hyperswitch.storage.repository.ConnectorTransactionMapRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**
+ * Index from a connector's transaction ID to our payment and attempt
+ * Mappings are written when an attempt gets its connector transaction ID and cached in
+ * Redis, so resolving a webhook is a cache hit or one point lookup on the
+ * (connector, connector_transaction_id) index, and reconciliation resolves IDs in batches.
+ */
+@Component
+public class ConnectorTransactionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorTransactionIndex.class);
+    private static final String KEY_PREFIX = "conntxn:";
+
+    /**
+     * Payment attempt a connector transaction belongs to
+     */
+    public record TransactionRef(
+            String connector,
+            String connectorTransactionId,
+            String merchantId,
+            String paymentId,
+            String attemptId) {
+    }
+
+    private final ConnectorTransactionMapRepository repository;
+    private final Duration cacheTtl;
+    private final int batchSize;
+
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    public ConnectorTransactionIndex(
+            ConnectorTransactionMapRepository repository,
+            @Value("${hyperswitch.connectors.transaction-index.cache-ttl-seconds:604800}") long cacheTtlSeconds,
+            @Value("${hyperswitch.connectors.transaction-index.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.batchSize = batchSize;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Map a connector transaction ID to its attempt; failures are logged, not propagated
+     */
+    public Mono<Void> record(
+            String connector,
+            String connectorTransactionId,
+            String merchantId,
+            String paymentId,
+            String attemptId) {
+        if (connector == null || connectorTransactionId == null) {
+            return Mono.empty();
+        }
+        TransactionRef ref = new TransactionRef(connector.toLowerCase(), connectorTransactionId,
+            merchantId, paymentId, attemptId);
+        return repository.upsert(ref.connector(), connectorTransactionId, merchantId, paymentId, attemptId)
+            .then(cache(ref))
+            .onErrorResume(error -> {
+                log.warn("Failed to index connector transaction {} of payment {}: {}",
+                    connectorTransactionId, paymentId, error.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Attempt a connector transaction belongs to, empty if it is not ours
+     */
+    public Mono<TransactionRef> resolve(String connector, String connectorTransactionId) {
+        if (connector == null || connectorTransactionId == null) {
+            return Mono.empty();
+        }
+        String connectorName = connector.toLowerCase();
+        Mono<TransactionRef> lookup = Mono.defer(() -> repository
+            .findByConnectorAndConnectorTransactionId(connectorName, connectorTransactionId)
+            .map(ConnectorTransactionIndex::toRef)
+            .flatMap(ref -> cache(ref).thenReturn(ref)));
+        if (redisTemplate == null) {
+            return lookup;
+        }
+        return redisTemplate.opsForValue().get(key(connectorName, connectorTransactionId))
+            .map(value -> fromCache(connectorName, connectorTransactionId, value))
+            .onErrorResume(error -> {
+                log.debug("Failed to read connector transaction index from Redis: {}", error.getMessage());
+                return Mono.empty();
+            })
+            .switchIfEmpty(lookup);
+    }
+
+    /**
+     * Attempts of many transactions of one connector, looked up in batches of IN queries
+     * Transaction IDs that are not ours are left out.
+     */
+    public Flux<TransactionRef> resolveAll(String connector, Collection<String> connectorTransactionIds) {
+        if (connector == null || connectorTransactionIds.isEmpty()) {
+            return Flux.empty();
+        }
+        String connectorName = connector.toLowerCase();
+        return Flux.fromIterable(new LinkedHashSet<>(connectorTransactionIds))
+            .buffer(batchSize)
+            .concatMap(batch -> repository.findByConnectorAndConnectorTransactionIdIn(connectorName, batch))
+            .map(ConnectorTransactionIndex::toRef);
+    }
+
+    private Mono<Void> cache(TransactionRef ref) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        String value = ref.merchantId() + "|" + ref.paymentId() + "|" + ref.attemptId();
+        return redisTemplate.opsForValue().set(key(ref.connector(), ref.connectorTransactionId()), value, cacheTtl)
+            .onErrorResume(error -> {
+                log.debug("Failed to cache connector transaction index entry: {}", error.getMessage());
+                return Mono.just(false);
+            })
+            .then();
+    }
+
+    private static String key(String connector, String connectorTransactionId) {
+        return KEY_PREFIX + connector + ":" + connectorTransactionId;
+    }
+
+    private static TransactionRef fromCache(String connector, String connectorTransactionId, String value) {
+        String[] parts = value.split("\\|", 3);
+        return new TransactionRef(connector, connectorTransactionId, parts[0], parts[1], parts[2]);
+    }
+
+    private static TransactionRef toRef(ConnectorTransactionMapEntity entity) {
+        return new TransactionRef(entity.getConnector(), entity.getConnectorTransactionId(),
+            entity.getMerchantId(), entity.getPaymentId(), entity.getAttemptId());
+    }
+}
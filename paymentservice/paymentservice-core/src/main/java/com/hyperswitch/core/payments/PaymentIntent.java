@@ -25,6 +25,9 @@ public final class PaymentIntent {
     private final String connectorTransactionId;
     private final String errorMessage;
     private final String errorCode;
+    private final Amount surchargeAmount;
+    private final Amount taxAmount;
+    private final Amount amountCapturable;
 
     private PaymentIntent(Builder builder) {
         this.paymentId = builder.paymentId;
@@ -40,6 +43,9 @@ public final class PaymentIntent {
         this.connectorTransactionId = builder.connectorTransactionId;
         this.errorMessage = builder.errorMessage;
         this.errorCode = builder.errorCode;
+        this.surchargeAmount = builder.surchargeAmount;
+        this.taxAmount = builder.taxAmount;
+        this.amountCapturable = builder.amountCapturable;
     }
 
     public static Builder builder() {
@@ -98,6 +104,27 @@ public final class PaymentIntent {
         return errorCode;
     }
 
+    /**
+     * Surcharge added to the amount by the profile's surcharge rules, if any
+     */
+    public Amount getSurchargeAmount() {
+        return surchargeAmount;
+    }
+
+    /**
+     * Tax charged on the surcharge, if any
+     */
+    public Amount getTaxAmount() {
+        return taxAmount;
+    }
+
+    /**
+     * Total authorized with the connector, the amount plus surcharge and tax on surcharge
+     */
+    public Amount getAmountCapturable() {
+        return amountCapturable;
+    }
+
     public static class Builder {
         private PaymentId paymentId;
         private Amount amount;
@@ -112,6 +139,9 @@ public final class PaymentIntent {
         private String connectorTransactionId;
         private String errorMessage;
         private String errorCode;
+        private Amount surchargeAmount;
+        private Amount taxAmount;
+        private Amount amountCapturable;
 
         public Builder paymentId(PaymentId paymentId) {
             this.paymentId = paymentId;
@@ -178,6 +208,21 @@ public final class PaymentIntent {
             return this;
         }
 
+        public Builder surchargeAmount(Amount surchargeAmount) {
+            this.surchargeAmount = surchargeAmount;
+            return this;
+        }
+
+        public Builder taxAmount(Amount taxAmount) {
+            this.taxAmount = taxAmount;
+            return this;
+        }
+
+        public Builder amountCapturable(Amount amountCapturable) {
+            this.amountCapturable = amountCapturable;
+            return this;
+        }
+
         public PaymentIntent build() {
             return new PaymentIntent(this);
         }
@@ -0,0 +1,52 @@
+package com.hyperswitch.core.payments;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Source of the session material a checkout needs to render one wallet
+ * Providers are looked up by wallet name (apple_pay, google_pay, paypal, ...). Material that
+ * does not depend on the payment, such as merchant identifiers or an OAuth access token, can
+ * be marked reusable so that it is cached per profile instead of fetched for every checkout.
+ */
+public interface WalletSessionProvider {
+
+    /**
+     * Wallet name this provider answers for, matched case-insensitively
+     */
+    String wallet();
+
+    /**
+     * Whether the material only depends on the profile and may be shared across payments
+     */
+    default boolean reusablePerProfile() {
+        return false;
+    }
+
+    /**
+     * Create the session tokens of the wallet for a profile and, when known, a payment
+     */
+    Mono<Map<String, String>> createSession(String profileId, String paymentId);
+
+    static WalletSessionProvider of(String wallet, boolean reusablePerProfile,
+                                    BiFunction<String, String, Mono<Map<String, String>>> createSession) {
+        return new WalletSessionProvider() {
+            @Override
+            public String wallet() {
+                return wallet;
+            }
+
+            @Override
+            public boolean reusablePerProfile() {
+                return reusablePerProfile;
+            }
+
+            @Override
+            public Mono<Map<String, String>> createSession(String profileId, String paymentId) {
+                return createSession.apply(profileId, paymentId);
+            }
+        };
+    }
+}
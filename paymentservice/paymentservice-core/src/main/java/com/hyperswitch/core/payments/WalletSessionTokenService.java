@@ -0,0 +1,288 @@
+package com.hyperswitch.core.payments;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.storage.repository.BusinessProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel fan-out of wallet session token creation for checkout
+ * Every requested wallet is asked for its session at the same time and given its own
+ * deadline. Wallets that fail or miss the deadline are left out of the result instead of
+ * holding back the others, so the checkout renders the wallets that answered. Material a
+ * provider marks as reusable is cached per merchant profile, once the profile is known to
+ * belong to the merchant. Only wallets with a provider or of a known connector are accepted.
+ */
+@Component
+public class WalletSessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletSessionTokenService.class);
+    private static final Set<String> CONNECTORS = Arrays.stream(Connector.values())
+        .map(connector -> connector.name().toLowerCase(Locale.ROOT))
+        .collect(Collectors.toUnmodifiableSet());
+
+    private final Duration timeout;
+    private final long cacheTtlNanos;
+    private final int cacheMaximumSize;
+    private final int maxWallets;
+    private final int concurrency;
+    private final LongSupplier ticker;
+    private final BusinessProfileRepository profileRepository;
+    private final Map<String, WalletSessionProvider> providers = new ConcurrentHashMap<>();
+    private final Map<String, CachedSession> profileCache = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public WalletSessionTokenService(
+            BusinessProfileRepository profileRepository,
+            @Value("${hyperswitch.payment.wallet-sessions.timeout-ms:800}") long timeoutMillis,
+            @Value("${hyperswitch.payment.wallet-sessions.profile-cache-ttl-ms:300000}") long cacheTtlMillis,
+            @Value("${hyperswitch.payment.wallet-sessions.profile-cache-maximum-size:10000}") int cacheMaximumSize,
+            @Value("${hyperswitch.payment.wallet-sessions.max-wallets:16}") int maxWallets,
+            @Value("${hyperswitch.payment.wallet-sessions.concurrency:8}") int concurrency) {
+        this(profileRepository, timeoutMillis, cacheTtlMillis, cacheMaximumSize, maxWallets, concurrency,
+            System::nanoTime);
+    }
+
+    WalletSessionTokenService(BusinessProfileRepository profileRepository, long timeoutMillis, long cacheTtlMillis,
+                              int cacheMaximumSize, int maxWallets, int concurrency, LongSupplier ticker) {
+        this.profileRepository = profileRepository;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        this.cacheMaximumSize = cacheMaximumSize;
+        this.maxWallets = maxWallets;
+        this.concurrency = Math.max(1, concurrency);
+        this.ticker = ticker;
+        register(WalletSessionProvider.of("stripe", false,
+            (profileId, paymentId) -> Mono.just(placeholderTokens("stripe"))));
+        register(WalletSessionProvider.of("paypal", true,
+            (profileId, paymentId) -> Mono.just(placeholderTokens("paypal"))));
+    }
+
+    /**
+     * Wallet providers available in the application, replacing built-in ones of the same wallet
+     */
+    @Autowired(required = false)
+    public void setProviders(List<WalletSessionProvider> providers) {
+        providers.forEach(this::register);
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create the sessions of the requested wallets of a merchant in parallel
+     * Completes once every wallet has answered or missed its deadline; the omitted wallets are
+     * listed in the result. Fails when a wallet is unknown, too many wallets are requested, or
+     * the profile does not belong to the merchant.
+     */
+    public Mono<Result<WalletSessions, PaymentError>> createSessions(String merchantId, String profileId,
+                                                                     String paymentId, Collection<String> wallets) {
+        List<String> requested = wallets.stream()
+            .filter(Objects::nonNull)
+            .map(WalletSessionTokenService::normalize)
+            .distinct()
+            .toList();
+        if (requested.size() > maxWallets) {
+            return Mono.just(Result.err(PaymentError.of("INVALID_REQUEST",
+                "At most " + maxWallets + " wallets can be requested at once")));
+        }
+        for (String wallet : requested) {
+            if (!providers.containsKey(wallet) && !CONNECTORS.contains(wallet)) {
+                return Mono.just(Result.err(PaymentError.of("INVALID_REQUEST", "Unknown wallet: " + wallet)));
+            }
+        }
+        if (requested.isEmpty()) {
+            return Mono.just(Result.ok(new WalletSessions(Map.of(), List.of())));
+        }
+        if (profileId == null) {
+            return fanOut(merchantId, null, paymentId, requested).map(Result::<WalletSessions, PaymentError>ok);
+        }
+        return profileRepository.findByProfileIdAndMerchantId(profileId, merchantId)
+            .flatMap(profile -> fanOut(merchantId, profileId, paymentId, requested)
+                .map(Result::<WalletSessions, PaymentError>ok))
+            .switchIfEmpty(Mono.fromSupplier(() -> Result.<WalletSessions, PaymentError>err(
+                PaymentError.of("PROFILE_NOT_FOUND", "Profile not found for merchant: " + profileId))));
+    }
+
+    /**
+     * Drop the cached wallet material of a merchant's profile, for example after its wallet settings changed
+     */
+    public void invalidateProfile(String merchantId, String profileId) {
+        String prefix = merchantId + "|" + profileId + "|";
+        profileCache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Session tokens standing in for a connector without a provider of its own, as before providers existed
+     */
+    public static Map<String, String> placeholderTokens(String connector) {
+        String name = connector != null ? normalize(connector) : "";
+        switch (name) {
+            case "stripe":
+                return Map.of("publishable_key", "pk_test_" + randomToken(), "client_secret", "sk_test_" + randomToken());
+            case "paypal":
+                return Map.of("client_id", "client_" + randomToken(), "access_token", "token_" + randomToken());
+            default:
+                return Map.of("session_token", UUID.randomUUID().toString());
+        }
+    }
+
+    private Mono<WalletSessions> fanOut(String merchantId, String profileId, String paymentId, List<String> requested) {
+        return Flux.fromIterable(requested)
+            .flatMap(wallet -> session(merchantId, profileId, paymentId, wallet),
+                Math.min(requested.size(), concurrency))
+            .collectMap(Outcome::wallet)
+            .map(outcomes -> {
+                Map<String, Map<String, String>> tokens = new LinkedHashMap<>();
+                List<String> omitted = new ArrayList<>();
+                for (String wallet : requested) {
+                    Outcome outcome = outcomes.get(wallet);
+                    if (outcome != null && outcome.tokens() != null) {
+                        tokens.put(wallet, outcome.tokens());
+                    } else {
+                        omitted.add(wallet);
+                    }
+                }
+                return new WalletSessions(tokens, omitted);
+            });
+    }
+
+    private Mono<Outcome> session(String merchantId, String profileId, String paymentId, String wallet) {
+        WalletSessionProvider provider = providers.getOrDefault(wallet, fallback(wallet));
+        String cacheKey = provider.reusablePerProfile() && profileId != null
+            ? merchantId + "|" + profileId + "|" + wallet : null;
+        return Mono.defer(() -> {
+            if (cacheKey != null) {
+                Map<String, String> cached = cached(cacheKey);
+                if (cached != null) {
+                    record(wallet, "cached", 0);
+                    return Mono.just(new Outcome(wallet, cached));
+                }
+            }
+            long start = System.nanoTime();
+            return Mono.defer(() -> provider.createSession(profileId, paymentId))
+                .timeout(timeout)
+                .map(tokens -> {
+                    record(wallet, "ok", System.nanoTime() - start);
+                    if (cacheKey != null) {
+                        cache(cacheKey, tokens);
+                    }
+                    return new Outcome(wallet, tokens);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    record(wallet, "empty", System.nanoTime() - start);
+                    return new Outcome(wallet, null);
+                }))
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("Wallet session for {} missed its {}ms deadline, omitting it", wallet, timeout.toMillis());
+                    record(wallet, "timeout", System.nanoTime() - start);
+                    return Mono.just(new Outcome(wallet, null));
+                })
+                .onErrorResume(e -> {
+                    log.warn("Wallet session for {} failed, omitting it: {}", wallet, e.getMessage());
+                    record(wallet, "error", System.nanoTime() - start);
+                    return Mono.just(new Outcome(wallet, null));
+                });
+        });
+    }
+
+    private Map<String, String> cached(String key) {
+        CachedSession cached = profileCache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - cached.expiresAt() >= 0) {
+            profileCache.remove(key, cached);
+            return null;
+        }
+        return cached.tokens();
+    }
+
+    private void cache(String key, Map<String, String> tokens) {
+        if (cacheTtlNanos <= 0) {
+            return;
+        }
+        long now = ticker.getAsLong();
+        if (profileCache.size() >= cacheMaximumSize) {
+            profileCache.values().removeIf(cached -> now - cached.expiresAt() >= 0);
+            if (profileCache.size() >= cacheMaximumSize) {
+                return;
+            }
+        }
+        profileCache.put(key, new CachedSession(Map.copyOf(tokens), now + cacheTtlNanos));
+    }
+
+    private void record(String wallet, String outcome, long nanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("hyperswitch.payments.wallet_session.latency")
+            .description("Time to create the session of a wallet for checkout")
+            .tag("wallet", wallet)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void register(WalletSessionProvider provider) {
+        providers.put(normalize(provider.wallet()), provider);
+    }
+
+    /**
+     * Connectors without a provider get placeholder session tokens
+     */
+    private static WalletSessionProvider fallback(String wallet) {
+        return WalletSessionProvider.of(wallet, false, (profileId, paymentId) -> Mono.just(placeholderTokens(wallet)));
+    }
+
+    private static String normalize(String wallet) {
+        return wallet.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String randomToken() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Session tokens by wallet, in request order, and the wallets left out
+     */
+    public record WalletSessions(Map<String, Map<String, String>> tokens, List<String> omitted) {
+    }
+
+    private record Outcome(String wallet, Map<String, String> tokens) {
+    }
+
+    private record CachedSession(Map<String, String> tokens, long expiresAt) {
+    }
+}
@@ -6,6 +6,7 @@ import com.hyperswitch.common.types.Amount;
 import com.hyperswitch.common.types.PaymentId;
 import com.hyperswitch.core.payments.PaymentIntent;
 import com.hyperswitch.core.payments.Refund;
+import com.hyperswitch.storage.entity.PaymentAttemptEntity;
 import com.hyperswitch.storage.entity.PaymentIntentEntity;
 import com.hyperswitch.storage.entity.RefundEntity;
 import org.springframework.stereotype.Component;
@@ -37,6 +38,34 @@ public class PaymentMapper {
             .build();
     }
     
+    /**
+     * Add the surcharge, tax on surcharge and capturable total of the active attempt to an intent
+     */
+    public static PaymentIntent withAttemptAmounts(PaymentIntent intent, PaymentAttemptEntity attempt) {
+        if (intent == null || intent.getAmount() == null || attempt == null || attempt.getAmountCapturable() == null) {
+            return intent;
+        }
+        String currency = intent.getAmount().getCurrencyCode();
+        return PaymentIntent.builder()
+            .paymentId(intent.getPaymentId())
+            .amount(intent.getAmount())
+            .paymentMethod(intent.getPaymentMethod())
+            .status(intent.getStatus())
+            .merchantId(intent.getMerchantId())
+            .customerId(intent.getCustomerId())
+            .createdAt(intent.getCreatedAt())
+            .updatedAt(intent.getUpdatedAt())
+            .metadata(intent.getMetadata())
+            .connectorName(intent.getConnectorName())
+            .connectorTransactionId(attempt.getConnectorTransactionId())
+            .errorMessage(intent.getErrorMessage())
+            .errorCode(intent.getErrorCode())
+            .surchargeAmount(toAmount(attempt.getSurchargeAmount(), currency))
+            .taxAmount(toAmount(attempt.getTaxAmount(), currency))
+            .amountCapturable(toAmount(attempt.getAmountCapturable(), currency))
+            .build();
+    }
+    
     public Refund toRefund(RefundEntity entity) {
         return Refund.builder()
             .refundId(entity.getRefundId())
@@ -51,5 +80,15 @@ public class PaymentMapper {
             .connectorRefundId(entity.getConnectorRefundId())
             .build();
     }
+    
+    private static Amount toAmount(Long minorUnits, String currency) {
+        if (minorUnits == null) {
+            return null;
+        }
+        return Amount.of(
+            BigDecimal.valueOf(minorUnits).divide(BigDecimal.valueOf(100)),
+            Currency.getInstance(currency)
+        );
+    }
 }
 
@@ -4,6 +4,7 @@ import com.hyperswitch.common.enums.PaymentStatus;
 import com.hyperswitch.common.types.Amount;
 import com.hyperswitch.common.types.PaymentId;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.connectors.ConnectorReadCoalescer;
 import com.hyperswitch.core.payments.*;
 import com.hyperswitch.common.dto.CreatePaymentRequest;
 import com.hyperswitch.common.dto.UpdateRefundRequest;
@@ -11,6 +12,7 @@ import com.hyperswitch.common.dto.RefundAggregatesResponse;
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.routing.RoutingService;
 import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.routing.surcharge.SurchargeEvaluator;
 import com.hyperswitch.connectors.ConnectorService;
 import com.hyperswitch.connectors.ConnectorResponse;
 import com.hyperswitch.common.analytics.AnalyticsService;
@@ -34,6 +36,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Implementation of PaymentService
@@ -61,6 +64,10 @@ public class PaymentServiceImpl implements PaymentService {
     private AnalyticsService analyticsService; // Made optional - no implementation available
     private final RoutingDecisionLogRepository routingDecisionLogRepository;
     private final TransactionalOperator transactionalOperator;
+    private SurchargeEvaluator surchargeEvaluator;
+    private ConnectorReadCoalescer readCoalescer;
+    private ConnectorTransactionIndex transactionIndex;
+    private WalletSessionTokenService walletSessionTokenService;
 
     @Autowired
     public PaymentServiceImpl(
@@ -100,6 +107,38 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    /**
+     * Optional setter for SurchargeEvaluator - surcharges are skipped if not available
+     */
+    @Autowired(required = false)
+    public void setSurchargeEvaluator(SurchargeEvaluator surchargeEvaluator) {
+        this.surchargeEvaluator = surchargeEvaluator;
+    }
+
+    /**
+     * Optional setter for ConnectorReadCoalescer - concurrent syncs of a transaction share one connector call
+     */
+    @Autowired(required = false)
+    public void setReadCoalescer(ConnectorReadCoalescer readCoalescer) {
+        this.readCoalescer = readCoalescer;
+    }
+
+    /**
+     * Optional setter for ConnectorTransactionIndex - connector transaction IDs are then not indexed
+     */
+    @Autowired(required = false)
+    public void setTransactionIndex(ConnectorTransactionIndex transactionIndex) {
+        this.transactionIndex = transactionIndex;
+    }
+
+    /**
+     * Optional setter for WalletSessionTokenService - session tokens are then generated for the connector only
+     */
+    @Autowired(required = false)
+    public void setWalletSessionTokenService(WalletSessionTokenService walletSessionTokenService) {
+        this.walletSessionTokenService = walletSessionTokenService;
+    }
+
     @Override
     public Mono<Result<PaymentIntent, PaymentError>> createPayment(CreatePaymentRequest request) {
         log.info("Creating payment for merchant: {}", request.getMerchantId());
@@ -327,9 +366,17 @@ public class PaymentServiceImpl implements PaymentService {
             ))
             .merchantId(intent.getMerchantId())
             .paymentMethod(request.getPaymentMethod())
+            .metadata(routingMetadata(intent))
             .build();
     }
     
+    /**
+     * Routing metadata identifying the payment, so that shadow routing decisions can be joined to it
+     */
+    private static Map<String, Object> routingMetadata(PaymentIntentEntity intent) {
+        return intent.getPaymentId() != null ? Map.of("payment_id", intent.getPaymentId()) : null;
+    }
+    
     /**
      * Create payment attempt and process payment
      */
@@ -339,9 +386,8 @@ public class PaymentServiceImpl implements PaymentService {
             String connectorName) {
         PaymentAttemptEntity attempt = createPaymentAttempt(intent, connectorName);
         
-        @SuppressWarnings("null")
-        PaymentAttemptEntity attemptToSave = attempt;
-        return paymentAttemptRepository.save(attemptToSave)
+        return applySurcharge(intent, request, attempt)
+            .flatMap(paymentAttemptRepository::save)
             .flatMap(savedAttempt -> {
                 logRoutingDecisionForAttempt(intent, savedAttempt, connectorName, request);
                 return updateIntentAndProcessPayment(intent, savedAttempt, request, connectorName);
@@ -367,6 +413,68 @@ public class PaymentServiceImpl implements PaymentService {
             .build();
     }
     
+    /**
+     * Apply the profile's surcharge rules to the attempt
+     * The attempt's amount_capturable is set to the total authorized with the connector, so that
+     * capture and the response use the same amount as authorization.
+     */
+    private Mono<PaymentAttemptEntity> applySurcharge(
+            PaymentIntentEntity intent,
+            ConfirmPaymentRequest request,
+            PaymentAttemptEntity attempt) {
+        if (surchargeEvaluator == null) {
+            attempt.setAmountCapturable(intent.getAmount());
+            return Mono.just(attempt);
+        }
+        return surchargeEvaluator.evaluate(
+                intent.getMerchantId(),
+                intent.getProfileId(),
+                intent.getAmount(),
+                request.getPaymentMethod(),
+                cardAttribute(request, "card_type"),
+                cardAttribute(request, "card_issuing_country"))
+            .map(surcharge -> {
+                if (surcharge.total() > 0) {
+                    attempt.setSurchargeAmount(surcharge.surchargeAmount());
+                    attempt.setTaxAmount(surcharge.taxOnSurcharge());
+                }
+                attempt.setAmountCapturable(capturableAmount(intent, attempt));
+                return attempt;
+            });
+    }
+    
+    /**
+     * Read a card attribute from payment method data, nested under "card" or at the top level
+     */
+    private static String cardAttribute(ConfirmPaymentRequest request, String key) {
+        Map<String, Object> data = request.getPaymentMethodData();
+        if (data == null) {
+            return null;
+        }
+        Object value = data.get("card") instanceof Map<?, ?> card ? card.get(key) : null;
+        if (value == null) {
+            value = data.get(key);
+        }
+        return value != null ? value.toString() : null;
+    }
+    
+    /**
+     * Gross amount authorized for an attempt, the intent amount plus any surcharge and tax on surcharge
+     */
+    private static long capturableAmount(PaymentIntentEntity intent, PaymentAttemptEntity attempt) {
+        if (attempt.getAmountCapturable() != null) {
+            return attempt.getAmountCapturable();
+        }
+        long amount = intent.getAmount();
+        if (attempt.getSurchargeAmount() != null) {
+            amount += attempt.getSurchargeAmount();
+        }
+        if (attempt.getTaxAmount() != null) {
+            amount += attempt.getTaxAmount();
+        }
+        return amount;
+    }
+    
     /**
      * Log routing decision for payment attempt
      */
@@ -427,27 +535,26 @@ public class PaymentServiceImpl implements PaymentService {
                 // Validate payment status
                 validateCaptureStatus(intent)
                     .switchIfEmpty(Mono.defer(() -> {
-                        // Calculate and validate capture amount
-                        Mono<Result<Long, PaymentError>> amountValidation = calculateCaptureAmount(intent, request);
-                        return amountValidation.flatMap(amountResult -> {
-                            if (amountResult.isErr()) {
-                                return Mono.just(Result.<PaymentIntent, PaymentError>err(amountResult.unwrapErr()));
-                            }
-                            Long amountToCapture = amountResult.unwrap();
-                            
-                            // Get active attempt and process capture
-                            @SuppressWarnings("null")
-                            String activeAttemptId = intent.getActiveAttemptId();
-                            return paymentAttemptRepository.findById(activeAttemptId)
-                                .flatMap(attempt -> connectorService.capture(
+                        // Get active attempt, whose capturable amount includes any surcharge
+                        @SuppressWarnings("null")
+                        String activeAttemptId = intent.getActiveAttemptId();
+                        return paymentAttemptRepository.findById(activeAttemptId)
+                            .flatMap(attempt -> {
+                                // Calculate and validate capture amount
+                                Result<Long, PaymentError> amountResult = calculateCaptureAmount(intent, attempt, request);
+                                if (amountResult.isErr()) {
+                                    return Mono.just(Result.<PaymentIntent, PaymentError>err(amountResult.unwrapErr()));
+                                }
+                                Long amountToCapture = amountResult.unwrap();
+                                return connectorService.capture(
                                         intent.getPaymentId(),
                                         amountToCapture,
                                         intent.getCurrency(),
                                         attempt.getConnector(),
                                         attempt.getConnectorTransactionId()
                                     )
-                                    .flatMap(captureResult -> processCaptureResult(captureResult, intent, amountToCapture)));
-                        });
+                                    .flatMap(captureResult -> processCaptureResult(captureResult, intent, attempt, amountToCapture));
+                            });
                     }))
             )
             .switchIfEmpty(Mono.just(Result.<PaymentIntent, PaymentError>err(PaymentError.of(
@@ -476,32 +583,32 @@ public class PaymentServiceImpl implements PaymentService {
         return Mono.empty();
     }
 
-    private Mono<Result<Long, PaymentError>> calculateCaptureAmount(
+    private Result<Long, PaymentError> calculateCaptureAmount(
             PaymentIntentEntity intent, 
+            PaymentAttemptEntity attempt,
             CapturePaymentRequest request) {
         Long amountToCapture;
+        Long captured = intent.getAmountCaptured() != null ? intent.getAmountCaptured() : 0L;
+        Long remaining = capturableAmount(intent, attempt) - captured;
         if (request.getAmountToCapture() != null) {
             amountToCapture = convertToMinorUnits(request.getAmountToCapture());
             // Validate partial capture amount
-            Long captured = intent.getAmountCaptured() != null ? intent.getAmountCaptured() : 0L;
-            Long remaining = intent.getAmount() - captured;
             if (amountToCapture > remaining) {
-                return Mono.just(Result.<Long, PaymentError>err(PaymentError.of(
+                return Result.<Long, PaymentError>err(PaymentError.of(
                     "INVALID_AMOUNT",
                     "Capture amount exceeds remaining amount. Remaining: " + remaining
-                )));
+                ));
             }
             if (amountToCapture <= 0) {
-                return Mono.just(Result.<Long, PaymentError>err(PaymentError.of(
+                return Result.<Long, PaymentError>err(PaymentError.of(
                     "INVALID_AMOUNT",
                     "Capture amount must be greater than zero"
-                )));
+                ));
             }
         } else {
-            Long captured = intent.getAmountCaptured() != null ? intent.getAmountCaptured() : 0L;
-            amountToCapture = intent.getAmount() - captured;
+            amountToCapture = remaining;
         }
-        return Mono.just(Result.<Long, PaymentError>ok(amountToCapture));
+        return Result.<Long, PaymentError>ok(amountToCapture);
     }
 
     @Override
@@ -626,13 +733,21 @@ public class PaymentServiceImpl implements PaymentService {
             ConfirmPaymentRequest request,
             String connectorName) {
         
+        long authorizeStartNanos = System.nanoTime();
         return connectorService.authorize(
             intent.getPaymentId(),
-            intent.getAmount(),
+            capturableAmount(intent, attempt),
             intent.getCurrency(),
             connectorName,
             request.getPaymentMethodData() != null ? request.getPaymentMethodData() : new java.util.HashMap<>()
         )
+        .doOnNext(authResult -> routingService.recordConnectorOutcome(
+            intent.getMerchantId(),
+            connectorName,
+            request.getPaymentMethod() != null ? request.getPaymentMethod().name() : null,
+            intent.getCurrency(),
+            authResult.isOk(),
+            (System.nanoTime() - authorizeStartNanos) / 1_000_000))
         .flatMap(authResult -> {
             if (authResult.isOk()) {
                 ConnectorResponse response = authResult.unwrap();
@@ -647,6 +762,8 @@ public class PaymentServiceImpl implements PaymentService {
                 attempt.setModifiedAt(Instant.now());
                 
                 return paymentAttemptRepository.save(attempt)
+                    .flatMap(savedAttempt -> indexConnectorTransaction(intent, savedAttempt, connectorName)
+                        .thenReturn(savedAttempt))
                     .flatMap(savedAttempt -> {
                         // Update intent status
                         intent.setStatus(paymentStatus);
@@ -669,11 +786,13 @@ public class PaymentServiceImpl implements PaymentService {
                                     );
                                 
                                 // Create mandate if this is a setup_mandate payment or off_session payment
+                                PaymentIntent confirmed = PaymentMapper.withAttemptAmounts(
+                                    paymentMapper.toPaymentIntent(saved), savedAttempt);
                                 if (shouldCreateMandate(saved, request)) {
                                     return createMandateFromPayment(saved, attempt, request)
-                                        .then(Mono.just(Result.<PaymentIntent, PaymentError>ok(paymentMapper.toPaymentIntent(saved))));
+                                        .then(Mono.just(Result.<PaymentIntent, PaymentError>ok(confirmed)));
                                 }
-                                return Mono.just(Result.<PaymentIntent, PaymentError>ok(paymentMapper.toPaymentIntent(saved)));
+                                return Mono.just(Result.<PaymentIntent, PaymentError>ok(confirmed));
                             });
                     });
             } else {
@@ -786,6 +905,7 @@ public class PaymentServiceImpl implements PaymentService {
             ))
             .merchantId(intent.getMerchantId())
             .paymentMethod(request.getPaymentMethod())
+            .metadata(routingMetadata(intent))
             .build();
         
         return routingService.selectConnectors(routingRequest, intent.getMerchantId())
@@ -848,6 +968,7 @@ public class PaymentServiceImpl implements PaymentService {
             ))
             .merchantId(intent.getMerchantId())
             .paymentMethod(request.getPaymentMethod())
+            .metadata(routingMetadata(intent))
             .build();
         
         return routingService.selectConnectors(routingRequest, intent.getMerchantId())
@@ -980,9 +1101,10 @@ public class PaymentServiceImpl implements PaymentService {
     private Mono<Result<PaymentIntent, PaymentError>> processCaptureResult(
             Result<ConnectorResponse, PaymentError> captureResult,
             PaymentIntentEntity intent,
+            PaymentAttemptEntity attempt,
             Long amountToCapture) {
         if (captureResult.isOk()) {
-            return updateIntentAfterCapture(intent, amountToCapture);
+            return updateIntentAfterCapture(intent, attempt, amountToCapture);
         } else {
             return Mono.just(Result.<PaymentIntent, PaymentError>err(captureResult.unwrapErr()));
         }
@@ -990,11 +1112,12 @@ public class PaymentServiceImpl implements PaymentService {
 
     private Mono<Result<PaymentIntent, PaymentError>> updateIntentAfterCapture(
             PaymentIntentEntity intent,
+            PaymentAttemptEntity attempt,
             Long amountToCapture) {
         Long newAmountCaptured = (intent.getAmountCaptured() != null 
             ? intent.getAmountCaptured() : 0L) + amountToCapture;
         
-        if (newAmountCaptured >= intent.getAmount()) {
+        if (newAmountCaptured >= capturableAmount(intent, attempt)) {
             intent.setStatus(PaymentStatus.SUCCEEDED.name());
         } else {
             intent.setStatus(PaymentStatus.PARTIALLY_CAPTURED.name());
@@ -1004,7 +1127,8 @@ public class PaymentServiceImpl implements PaymentService {
         intent.setModifiedAt(Instant.now());
         
         return paymentIntentRepository.save(intent)
-            .map(saved -> Result.<PaymentIntent, PaymentError>ok(paymentMapper.toPaymentIntent(saved)));
+            .map(saved -> Result.<PaymentIntent, PaymentError>ok(
+                PaymentMapper.withAttemptAmounts(paymentMapper.toPaymentIntent(saved), attempt)));
     }
 
     private String determinePaymentStatus(ConnectorResponse response) {
@@ -1796,7 +1920,8 @@ public class PaymentServiceImpl implements PaymentService {
             String connectorId,
             String connectorTransactionId,
             PaymentId paymentId) {
-        return connectorService.syncPayment(connectorId, connectorTransactionId)
+        return coalesced(ConnectorReadCoalescer.PAYMENT_SYNC, connectorId, connectorTransactionId,
+                () -> connectorService.syncPayment(connectorId, connectorTransactionId))
             .flatMap(result -> {
                 if (result.isErr()) {
                     return Mono.just(Result.<PaymentIntent, PaymentError>err(result.unwrapErr()));
@@ -2583,7 +2708,8 @@ public class PaymentServiceImpl implements PaymentService {
             String refundId,
             String paymentId,
             String merchantId) {
-        return connectorService.syncRefund(refundId, paymentId, merchantId)
+        return coalesced(ConnectorReadCoalescer.REFUND_SYNC, refund.getConnector(), merchantId + ":" + refundId,
+                () -> connectorService.syncRefund(refundId, paymentId, merchantId))
             .flatMap(connectorResponse -> {
                 if (connectorResponse.isOk()) {
                     return processSuccessfulRefundSync(refund, connectorResponse.unwrap());
@@ -2592,6 +2718,34 @@ public class PaymentServiceImpl implements PaymentService {
             });
     }
     
+    /**
+     * Map the connector transaction ID of a saved attempt back to the payment
+     */
+    private Mono<Void> indexConnectorTransaction(
+            PaymentIntentEntity intent,
+            PaymentAttemptEntity attempt,
+            String connectorName) {
+        if (transactionIndex == null) {
+            return Mono.empty();
+        }
+        return transactionIndex.record(connectorName, attempt.getConnectorTransactionId(),
+            intent.getMerchantId(), intent.getPaymentId(), attempt.getId());
+    }
+
+    /**
+     * Run an idempotent connector read through the coalescer when one is configured
+     */
+    private Mono<Result<ConnectorResponse, PaymentError>> coalesced(
+            String operation,
+            String connectorName,
+            String transactionId,
+            Supplier<Mono<Result<ConnectorResponse, PaymentError>>> call) {
+        if (readCoalescer == null) {
+            return call.get();
+        }
+        return readCoalescer.read(operation, connectorName, transactionId, call);
+    }
+    
     /**
      * Process successful refund sync
      */
@@ -3224,16 +3378,9 @@ public class PaymentServiceImpl implements PaymentService {
             .switchIfEmpty(Mono.error(new RuntimeException(PAYMENT_NOT_FOUND_MSG)))
             .flatMap(entity -> {
                 // Generate session tokens for external SDKs (e.g., Stripe, PayPal)
-                Map<String, String> sessionTokens = generateSessionTokens(entity, request.getConnector());
-                
-                com.hyperswitch.common.dto.PaymentsSessionResponse response = 
-                    new com.hyperswitch.common.dto.PaymentsSessionResponse();
-                response.setPaymentId(paymentId);
-                response.setSessionTokens(sessionTokens);
-                response.setStatus("success");
-                response.setMessage("Session tokens generated successfully");
-                
-                return Mono.just(Result.<com.hyperswitch.common.dto.PaymentsSessionResponse, PaymentError>ok(response));
+                String profileId = entity.getProfileId() != null ? entity.getProfileId() : request.getProfileId();
+                return buildSessionResponse(merchantId, paymentId, profileId, request,
+                    "Session tokens generated successfully");
             })
             .onErrorResume(error -> {
                 if (error instanceof RuntimeException && PAYMENT_NOT_FOUND_MSG.equals(error.getMessage())) {
@@ -3292,16 +3439,68 @@ public class PaymentServiceImpl implements PaymentService {
         log.info("Creating session tokens for merchant: {}", merchantId);
         
         // Generate session tokens for a new payment session
-        Map<String, String> sessionTokens = generateSessionTokens(null, request.getConnector());
-        
-        com.hyperswitch.common.dto.PaymentsSessionResponse response = 
+        return buildSessionResponse(merchantId, request.getPaymentId(), request.getProfileId(), request,
+                "Session tokens created successfully");
+    }
+    
+    /**
+     * Build a session token response for the requested wallets
+     * Wallets are asked in parallel; wallets that miss their deadline are omitted and listed so
+     * the checkout can render the others. The flat session tokens stay those of the connector,
+     * which is always asked along with the wallets, for clients that ask for a single one; if the
+     * connector misses its deadline they fall back to the first wallet that answered.
+     */
+    private Mono<Result<com.hyperswitch.common.dto.PaymentsSessionResponse, PaymentError>> buildSessionResponse(
+            String merchantId,
+            String paymentId,
+            String profileId,
+            com.hyperswitch.common.dto.PaymentsSessionRequest request,
+            String message) {
+        com.hyperswitch.common.dto.PaymentsSessionResponse response =
             new com.hyperswitch.common.dto.PaymentsSessionResponse();
-        response.setPaymentId(request.getPaymentId());
-        response.setSessionTokens(sessionTokens);
-        response.setStatus("success");
-        response.setMessage("Session tokens created successfully");
+        response.setPaymentId(paymentId);
+        
+        List<String> wallets = new ArrayList<>();
+        if (request.getWallets() != null) {
+            request.getWallets().stream().filter(Objects::nonNull).forEach(wallets::add);
+        }
+        if (request.getConnector() != null) {
+            // Duplicates of a requested wallet are dropped by the fan-out
+            wallets.add(request.getConnector());
+        }
+        if (walletSessionTokenService == null || wallets.isEmpty()) {
+            response.setSessionTokens(WalletSessionTokenService.placeholderTokens(request.getConnector()));
+            response.setStatus("success");
+            response.setMessage(message);
+            return Mono.just(Result.ok(response));
+        }
         
-        return Mono.just(Result.<com.hyperswitch.common.dto.PaymentsSessionResponse, PaymentError>ok(response));
+        String primary = (request.getConnector() != null ? request.getConnector() : wallets.get(0))
+            .trim().toLowerCase(Locale.ROOT);
+        return walletSessionTokenService.createSessions(merchantId, profileId, paymentId, wallets)
+            .map(result -> {
+                if (result.isErr()) {
+                    return Result.<com.hyperswitch.common.dto.PaymentsSessionResponse, PaymentError>err(result.unwrapErr());
+                }
+                WalletSessionTokenService.WalletSessions sessions = result.unwrap();
+                Map<String, String> primaryTokens = sessions.tokens().get(primary);
+                if (primaryTokens == null) {
+                    primaryTokens = sessions.tokens().values().stream().findFirst().orElse(Map.of());
+                }
+                response.setSessionTokens(primaryTokens);
+                response.setWalletTokens(sessions.tokens());
+                response.setOmittedWallets(sessions.omitted());
+                if (sessions.omitted().isEmpty()) {
+                    response.setStatus("success");
+                    response.setMessage(message);
+                } else {
+                    response.setStatus("partial");
+                    response.setMessage("Session tokens created for " + sessions.tokens().size() + " of "
+                        + (sessions.tokens().size() + sessions.omitted().size()) + " wallets, omitted: "
+                        + String.join(", ", sessions.omitted()));
+                }
+                return Result.<com.hyperswitch.common.dto.PaymentsSessionResponse, PaymentError>ok(response);
+            });
     }
     
     /**
@@ -3314,35 +3513,6 @@ public class PaymentServiceImpl implements PaymentService {
         return baseUrl + "/redirect/" + entity.getPaymentId() + "/" + entity.getMerchantId();
     }
     
-    /**
-     * Generate session tokens for external SDKs
-     */
-    @SuppressWarnings("unused")
-    private Map<String, String> generateSessionTokens(@SuppressWarnings("unused") PaymentIntentEntity entity, String connector) {
-        Map<String, String> tokens = new HashMap<>();
-        
-        // Generate tokens based on connector type
-        if (connector != null) {
-            switch (connector.toLowerCase()) {
-                case "stripe":
-                    tokens.put("publishable_key", "pk_test_" + UUID.randomUUID().toString().replace("-", ""));
-                    tokens.put("client_secret", "sk_test_" + UUID.randomUUID().toString().replace("-", ""));
-                    break;
-                case "paypal":
-                    tokens.put("client_id", "client_" + UUID.randomUUID().toString().replace("-", ""));
-                    tokens.put("access_token", "token_" + UUID.randomUUID().toString().replace("-", ""));
-                    break;
-                default:
-                    tokens.put("session_token", UUID.randomUUID().toString());
-                    break;
-            }
-        } else {
-            tokens.put("session_token", UUID.randomUUID().toString());
-        }
-        
-        return tokens;
-    }
-    
     // ========== Payment Redirect Flows (v1) ==========
     
     @Override
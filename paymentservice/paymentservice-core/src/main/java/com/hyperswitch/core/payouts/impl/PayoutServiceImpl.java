@@ -7,7 +7,11 @@ import com.hyperswitch.common.types.PayoutId;
 import com.hyperswitch.common.types.PayoutStatus;
 import com.hyperswitch.connectors.ConnectorService;
 import com.hyperswitch.core.payouts.PayoutService;
+import com.hyperswitch.routing.RoutingService;
+import com.hyperswitch.routing.payout.PayoutRoutingInput;
+import com.hyperswitch.storage.entity.PayoutAttemptEntity;
 import com.hyperswitch.storage.entity.PayoutEntity;
+import com.hyperswitch.storage.repository.PayoutAttemptRepository;
 import com.hyperswitch.storage.repository.PayoutRepository;
 import io.vavr.control.Either;
 import org.slf4j.Logger;
@@ -31,10 +35,13 @@ public class PayoutServiceImpl implements PayoutService {
     private static final Logger log = LoggerFactory.getLogger(PayoutServiceImpl.class);
     private static final String PAYOUT_NOT_FOUND = "Payout not found";
     private static final int CURRENCY_MULTIPLIER = 100;
+    private static final String DEFAULT_PAYOUT_CONNECTOR = "stripe";
 
     private final PayoutRepository payoutRepository;
     private final ObjectMapper objectMapper;
     private final ConnectorService connectorService;
+    private RoutingService routingService;
+    private PayoutAttemptRepository payoutAttemptRepository;
 
     @Value("${hyperswitch.payout.link.base-url:https://api.hyperswitch.io}")
     private String payoutLinkBaseUrl;
@@ -49,6 +56,16 @@ public class PayoutServiceImpl implements PayoutService {
         this.connectorService = connectorService;
     }
 
+    @Autowired(required = false)
+    public void setRoutingService(RoutingService routingService) {
+        this.routingService = routingService;
+    }
+
+    @Autowired(required = false)
+    public void setPayoutAttemptRepository(PayoutAttemptRepository payoutAttemptRepository) {
+        this.payoutAttemptRepository = payoutAttemptRepository;
+    }
+
     @Override
     public Mono<Either<PaymentError, PayoutResponse>> createPayout(String merchantId, PayoutRequest request) {
         log.info("Creating payout for merchant: {}", merchantId);
@@ -228,17 +245,16 @@ public class PayoutServiceImpl implements PayoutService {
                             log.error("Failed to route payout to connector: {}", routingResult.getLeft().getMessage());
                             // Still save the payout with pending status
                             // The routing can be retried later
-                        } else {
-                            String connectorName = routingResult.get();
-                            log.info("Payout routed to connector: {}", connectorName);
-                            // In production, this would update payout attempt with connector info
+                            return Mono.just(payout);
                         }
-                        
-                        return payoutRepository.save(payout)
-                            .map(saved -> {
-                                PayoutResponse response = PayoutMapper.toPayoutResponse(saved);
-                                return Either.<PaymentError, PayoutResponse>right(response);
-                            });
+                        String connectorName = routingResult.get();
+                        log.info("Payout routed to connector: {}", connectorName);
+                        return recordPayoutAttempt(payout, connectorName);
+                    })
+                    .flatMap(payoutRepository::save)
+                    .map(saved -> {
+                        PayoutResponse response = PayoutMapper.toPayoutResponse(saved);
+                        return Either.<PaymentError, PayoutResponse>right(response);
                     });
             })
             .switchIfEmpty(Mono.just(Either.left(PaymentError.of("NOT_FOUND", PAYOUT_NOT_FOUND))));
@@ -246,43 +262,122 @@ public class PayoutServiceImpl implements PayoutService {
     
     /**
      * Route payout to appropriate connector
-     * In production, this would use routing service similar to payments
+     * A connector named in the payout metadata wins; otherwise the merchant's payout routing
+     * algorithm picks the first available connector for the payout's destination, method
+     * and priority.
      */
     private Mono<Either<PaymentError, String>> routePayoutToConnector(PayoutEntity payout) {
         log.info("Routing payout: {} to connector", payout.getPayoutId());
         
-        // In production, this would:
-        // 1. Use routing service to select best connector for payout
-        // 2. Consider payout type, currency, amount, etc.
-        // 3. Create payout attempt with selected connector
-        // 4. Call connector's payout API
-        
-        // For now, use a default connector or get from payout metadata
-        String connectorName = "stripe"; // Default connector
-        
-        // Check if connector is specified in metadata
-        if (payout.getMetadata() != null) {
-            try {
-                Map<String, Object> metadata = objectMapper.readValue(
-                    payout.getMetadata(),
-                    new com.fasterxml.jackson.core.type.TypeReference<Map<String, Object>>() {}
-                );
-                if (metadata.containsKey("connector") && metadata.get("connector") instanceof String connector) {
-                    connectorName = connector;
-                }
-            } catch (Exception e) {
-                log.warn("Failed to parse connector from metadata", e);
+        Map<String, Object> metadata = parseMetadata(payout);
+        if (metadata.get("connector") instanceof String connector) {
+            String connectorName = connector.toLowerCase();
+            if (connectorService.getAvailableConnectors().contains(connectorName)) {
+                log.info("Payout {} routed to metadata connector: {}", payout.getPayoutId(), connectorName);
+                return Mono.just(Either.<PaymentError, String>right(connectorName));
             }
+            log.warn("Connector {} not available, falling back to payout routing", connectorName);
         }
         
-        // Verify connector is available
-        if (!connectorService.getAvailableConnectors().contains(connectorName)) {
-            log.warn("Connector {} not available, using default", connectorName);
-            connectorName = "stripe";
+        if (routingService == null) {
+            return Mono.just(Either.<PaymentError, String>right(DEFAULT_PAYOUT_CONNECTOR));
         }
         
-        log.info("Payout {} routed to connector: {}", payout.getPayoutId(), connectorName);
-        return Mono.just(Either.<PaymentError, String>right(connectorName));
+        List<String> available = connectorService.getAvailableConnectors();
+        return routingService.selectPayoutConnectors(payout.getMerchantId(), toRoutingInput(payout, metadata))
+            .map(connectors -> connectors.stream()
+                .map(connector -> connector.name().toLowerCase())
+                .filter(available::contains)
+                .findFirst()
+                .orElse(DEFAULT_PAYOUT_CONNECTOR))
+            .doOnNext(connectorName -> log.info("Payout {} routed to connector: {}", payout.getPayoutId(), connectorName))
+            .map(Either::<PaymentError, String>right)
+            .onErrorResume(error -> {
+                log.error("Error routing payout: {}", payout.getPayoutId(), error);
+                return Mono.just(Either.left(PaymentError.of("PAYOUT_ROUTING_FAILED", error.getMessage())));
+            });
+    }
+    
+    private PayoutRoutingInput toRoutingInput(PayoutEntity payout, Map<String, Object> metadata) {
+        Object country = metadata.getOrDefault("destination_country", metadata.get("country"));
+        return new PayoutRoutingInput(
+            payout.getAmount() != null ? payout.getAmount() : 0L,
+            payout.getDestinationCurrency(),
+            country != null ? country.toString() : null,
+            payout.getPayoutType(),
+            PayoutRoutingInput.Preference.fromPriority(payout.getPriority())
+        );
+    }
+    
+    private Map<String, Object> parseMetadata(PayoutEntity payout) {
+        if (payout.getMetadata() == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(
+                payout.getMetadata(),
+                new com.fasterxml.jackson.core.type.TypeReference<Map<String, Object>>() {}
+            );
+        } catch (Exception e) {
+            log.warn("Failed to parse payout metadata", e);
+            return Map.of();
+        }
+    }
+    
+    /**
+     * Record the routed connector on a payout attempt so the outcome can be attributed on fulfillment
+     * A failed write is logged and the payout is still saved, it only loses its routing feedback.
+     */
+    private Mono<PayoutEntity> recordPayoutAttempt(PayoutEntity payout, String connectorName) {
+        if (payoutAttemptRepository == null) {
+            return Mono.just(payout);
+        }
+        int attemptCount = (payout.getAttemptCount() != null ? payout.getAttemptCount() : 0) + 1;
+        payout.setAttemptCount(attemptCount);
+        Instant now = Instant.now();
+        PayoutAttemptEntity attempt = new PayoutAttemptEntity();
+        attempt.setPayoutAttemptId(payout.getPayoutId() + "_" + attemptCount);
+        attempt.setPayoutId(payout.getPayoutId());
+        attempt.setMerchantId(payout.getMerchantId());
+        attempt.setCustomerId(payout.getCustomerId());
+        attempt.setConnector(connectorName);
+        attempt.setStatus(PayoutStatus.PENDING.name());
+        attempt.setCreatedAt(now);
+        attempt.setLastModifiedAt(now);
+        return payoutAttemptRepository.save(attempt)
+            .thenReturn(payout)
+            .onErrorResume(error -> {
+                log.warn("Failed to record payout attempt for payout: {}", payout.getPayoutId(), error);
+                return Mono.just(payout);
+            });
+    }
+    
+    /**
+     * Feed the payout outcome and latency of the routed connector back to payout routing
+     * Only attempts still pending are settled, so each attempt is counted once.
+     */
+    private Mono<Void> recordPayoutOutcome(PayoutEntity payout, boolean success) {
+        if (payoutAttemptRepository == null || routingService == null) {
+            return Mono.empty();
+        }
+        return payoutAttemptRepository.findByPayoutIdAndMerchantIdAndStatus(
+                payout.getPayoutId(), payout.getMerchantId(), PayoutStatus.PENDING.name())
+            .filter(attempt -> attempt.getConnector() != null)
+            .flatMap(attempt -> {
+                Instant now = Instant.now();
+                long latencyMillis = attempt.getCreatedAt() != null
+                    ? now.toEpochMilli() - attempt.getCreatedAt().toEpochMilli()
+                    : 0L;
+                routingService.recordPayoutOutcome(attempt.getConnector(), success, latencyMillis);
+                attempt.setStatus(success ? PayoutStatus.SUCCESS.name() : PayoutStatus.FAILED.name());
+                attempt.setLastModifiedAt(now);
+                return payoutAttemptRepository.save(attempt);
+            })
+            .onErrorResume(error -> {
+                log.warn("Failed to record payout outcome for payout: {}", payout.getPayoutId(), error);
+                return Mono.empty();
+            })
+            .then();
     }
 
     @Override
@@ -293,7 +388,9 @@ public class PayoutServiceImpl implements PayoutService {
             .flatMap(payout -> {
                 payout.setStatus(PayoutStatus.CANCELLED.name());
                 payout.setLastModifiedAt(Instant.now());
-                return payoutRepository.save(payout)
+                // A routed payout cancelled before completing counts against its connector
+                return recordPayoutOutcome(payout, false)
+                    .then(payoutRepository.save(payout))
                     .map(saved -> {
                         PayoutResponse response = PayoutMapper.toPayoutResponse(saved);
                         return Either.<PaymentError, PayoutResponse>right(response);
@@ -321,7 +418,8 @@ public class PayoutServiceImpl implements PayoutService {
                 payout.setStatus(PayoutStatus.SUCCESS.name());
                 payout.setLastModifiedAt(Instant.now());
                 
-                return payoutRepository.save(payout)
+                return recordPayoutOutcome(payout, true)
+                    .then(payoutRepository.save(payout))
                     .map(saved -> {
                         PayoutResponse response = PayoutMapper.toPayoutResponse(saved);
                         return Either.<PaymentError, PayoutResponse>right(response);
@@ -330,7 +428,20 @@ public class PayoutServiceImpl implements PayoutService {
             .switchIfEmpty(Mono.just(Either.left(PaymentError.of("NOT_FOUND", PAYOUT_NOT_FOUND))))
             .onErrorResume(error -> {
                 log.error("Error fulfilling payout", error);
-                return Mono.just(Either.left(PaymentError.of("FULFILL_FAILED", error.getMessage())));
+                return recordFulfillmentFailure(merchantId, payoutId)
+                    .thenReturn(Either.<PaymentError, PayoutResponse>left(PaymentError.of("FULFILL_FAILED", error.getMessage())));
+            });
+    }
+    
+    /**
+     * Count a fulfillment that errored against the routed connector
+     */
+    private Mono<Void> recordFulfillmentFailure(String merchantId, PayoutId payoutId) {
+        return payoutRepository.findByMerchantIdAndPayoutId(merchantId, payoutId.getValue())
+            .flatMap(payout -> recordPayoutOutcome(payout, false))
+            .onErrorResume(error -> {
+                log.warn("Failed to record fulfillment failure for payout: {}", payoutId.getValue(), error);
+                return Mono.empty();
             });
     }
     
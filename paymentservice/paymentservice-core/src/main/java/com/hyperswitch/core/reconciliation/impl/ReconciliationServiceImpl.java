@@ -9,6 +9,7 @@ import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.ReconciliationId;
 import com.hyperswitch.common.types.ReconStatus;
 import com.hyperswitch.connectors.ConnectorService;
+import com.hyperswitch.core.payments.ConnectorTransactionIndex;
 import com.hyperswitch.core.reconciliation.ReconciliationService;
 import com.hyperswitch.storage.entity.ReconciliationEntity;
 import com.hyperswitch.storage.entity.PaymentIntentEntity;
@@ -42,6 +43,7 @@ public class ReconciliationServiceImpl implements ReconciliationService {
     private final PaymentAttemptRepository paymentAttemptRepository;
     @SuppressWarnings("unused")
     private final ConnectorService connectorService;
+    private ConnectorTransactionIndex transactionIndex;
 
     @Autowired
     public ReconciliationServiceImpl(
@@ -55,6 +57,14 @@ public class ReconciliationServiceImpl implements ReconciliationService {
         this.connectorService = connectorService;
     }
 
+    /**
+     * Optional setter for ConnectorTransactionIndex - bank references are then matched by count only
+     */
+    @Autowired(required = false)
+    public void setTransactionIndex(ConnectorTransactionIndex transactionIndex) {
+        this.transactionIndex = transactionIndex;
+    }
+
     @Override
     public Mono<Either<PaymentError, ReconciliationResponse>> startReconciliation(
         String merchantId,
@@ -294,12 +304,13 @@ public class ReconciliationServiceImpl implements ReconciliationService {
                         // 4. Identify records in internal/connector but not in bank
                         
                         int bankRecordCount = bankRecordMap.size();
-                        int threeWayMatched = twoWayResponse.getMatchedTransactions();
-                        int bankOnlyRecords = Math.max(0, bankRecordCount - threeWayMatched);
                         
                         // Update reconciliation with 3-way results
-                        return reconciliationRepository.findByReconciliationId(reconciliationId)
+                        return matchBankRecords(merchantId, reconciliation.getConnectorId(),
+                                bankRecordMap.keySet(), twoWayResponse.getMatchedTransactions())
+                            .flatMap(threeWayMatched -> reconciliationRepository.findByReconciliationId(reconciliationId)
                             .flatMap(recon -> {
+                                int bankOnlyRecords = Math.max(0, bankRecordCount - threeWayMatched);
                                 recon.setTotalTransactions(
                                     twoWayResponse.getTotalTransactions() + bankOnlyRecords);
                                 recon.setMatchedTransactions(threeWayMatched);
@@ -315,7 +326,7 @@ public class ReconciliationServiceImpl implements ReconciliationService {
                                 metadata.put("reconciliation_type", "3-way");
                                 
                                 return reconciliationRepository.save(recon);
-                            })
+                            }))
                             .map(entity -> ReconciliationMapper.toReconciliationResponse(entity))
                             .map(response -> Either.<PaymentError, ReconciliationResponse>right(response));
                     });
@@ -323,6 +334,25 @@ public class ReconciliationServiceImpl implements ReconciliationService {
             .switchIfEmpty(Mono.just(Either.left(PaymentError.of("NOT_FOUND", RECONCILIATION_NOT_FOUND))));
     }
     
+    /**
+     * Number of bank statement references that are connector transactions of the merchant
+     * References are resolved through the connector transaction index in batched IN lookups;
+     * without the index the 2-way match count is used.
+     */
+    private Mono<Integer> matchBankRecords(
+            String merchantId,
+            String connectorId,
+            Set<String> references,
+            int twoWayMatched) {
+        if (transactionIndex == null || connectorId == null) {
+            return Mono.just(twoWayMatched);
+        }
+        return transactionIndex.resolveAll(connectorId, references)
+            .filter(ref -> merchantId.equals(ref.merchantId()))
+            .count()
+            .map(Long::intValue);
+    }
+    
     /**
      * Parse bank records from CSV or JSON format
      * In production, this would support multiple formats (CSV, OFX, MT940, JSON)
@@ -0,0 +1,15 @@
+package com.hyperswitch.core.webhooks;
+
+/**
+ * Verified connector webhook waiting in the ingest queue
+ */
+public record IncomingWebhook(String connector, String eventId, String paymentId, String payload) {
+
+    /**
+     * Key whose events are processed in order: the payment, or the event itself when the
+     * webhook names no payment
+     */
+    public String orderingKey() {
+        return paymentId != null ? paymentId : String.valueOf(eventId);
+    }
+}
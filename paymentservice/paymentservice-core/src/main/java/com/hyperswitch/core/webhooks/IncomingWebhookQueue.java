@@ -0,0 +1,472 @@
+package com.hyperswitch.core.webhooks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Durable ingest queue for incoming connector webhooks
+ * The HTTP handler only verifies a webhook, drops it if its (connector, event ID) was seen
+ * within the dedupe TTL, appends it to a Redis stream and acknowledges the connector. Workers
+ * read the stream through a consumer group and process events with bounded concurrency,
+ * hashing events onto lanes by payment so the events of one payment are handled in order.
+ * An event is acknowledged only once processed. Failed events stay pending and are claimed
+ * again once idle, by this node or any other. Until a failed event settles, later events of
+ * the same payment are not processed either: they stay pending behind it, on every node, so a
+ * payment never moves past an event that has not been applied. Processing attempts are counted
+ * in Redis; after the maximum number of attempts an event is moved to a dead-letter stream,
+ * its dedupe key is released and the events behind it proceed.
+ */
+@Component
+public class IncomingWebhookQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(IncomingWebhookQueue.class);
+    private static final String DEDUPE_PREFIX = "webhooks:dedupe:";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String BLOCKED_PREFIX = "blocked:";
+
+    // Starts an attempt of event ARGV[2] of payment ARGV[1] unless an earlier failed event of the
+    // payment is unsettled (-1); returns the attempt number
+    static final RedisScript<Long> BEGIN_SCRIPT = RedisScript.of("""
+        local blocker = redis.call('HGET', KEYS[1], 'blocked:' .. ARGV[1])
+        if blocker and blocker ~= ARGV[2] then
+            return -1
+        end
+        return redis.call('HINCRBY', KEYS[1], 'attempts:' .. ARGV[2], 1)
+        """, Long.class);
+
+    // Forgets the attempts of event ARGV[2] and unblocks payment ARGV[1] if the event blocked it
+    static final RedisScript<Long> SETTLE_SCRIPT = RedisScript.of("""
+        redis.call('HDEL', KEYS[1], 'attempts:' .. ARGV[2])
+        if redis.call('HGET', KEYS[1], 'blocked:' .. ARGV[1]) == ARGV[2] then
+            redis.call('HDEL', KEYS[1], 'blocked:' .. ARGV[1])
+        end
+        return 1
+        """, Long.class);
+
+    /**
+     * What happened to an ingested webhook
+     */
+    public enum Outcome {
+        ACCEPTED,
+        DUPLICATE,
+        INLINE
+    }
+
+    private final boolean enabled;
+    private final String streamKey;
+    private final String group;
+    private final String consumerName;
+    private final Duration dedupeTtl;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration claimMinIdle;
+    private final int maxDeliveries;
+    private final String deadLetterKey;
+    // Blocked payments and attempt counts, in one hash so the scripts touch a single key
+    private final String stateKey;
+
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicBoolean reclaiming = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean groupReady;
+
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private Function<IncomingWebhook, Mono<Void>> processor;
+    private MeterRegistry meterRegistry;
+
+    public IncomingWebhookQueue(
+            @Value("${hyperswitch.connectors.webhook-ingest.enabled:true}") boolean enabled,
+            @Value("${hyperswitch.connectors.webhook-ingest.stream-key:webhooks:incoming}") String streamKey,
+            @Value("${hyperswitch.connectors.webhook-ingest.consumer-group:webhook-workers}") String group,
+            @Value("${hyperswitch.connectors.webhook-ingest.consumer-name:${HOSTNAME:}}") String consumerName,
+            @Value("${hyperswitch.connectors.webhook-ingest.dedupe-ttl-seconds:86400}") long dedupeTtlSeconds,
+            @Value("${hyperswitch.connectors.webhook-ingest.batch-size:256}") int batchSize,
+            @Value("${hyperswitch.connectors.webhook-ingest.concurrency:32}") int concurrency,
+            @Value("${hyperswitch.connectors.webhook-ingest.claim-min-idle-ms:60000}") long claimMinIdleMillis,
+            @Value("${hyperswitch.connectors.webhook-ingest.max-deliveries:5}") int maxDeliveries,
+            @Value("${hyperswitch.connectors.webhook-ingest.dead-letter-stream-key:webhooks:incoming:dead}")
+            String deadLetterKey) {
+        this.enabled = enabled;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.consumerName = consumerName.isEmpty() ? hostName() : consumerName;
+        this.dedupeTtl = Duration.ofSeconds(dedupeTtlSeconds);
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.claimMinIdle = Duration.ofMillis(claimMinIdleMillis);
+        this.maxDeliveries = maxDeliveries;
+        this.deadLetterKey = deadLetterKey;
+        this.stateKey = streamKey + ":state";
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - incoming webhooks will be processed inline");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("hyperswitch.webhooks.in_flight", inFlight, AtomicInteger::get)
+            .description("Queued webhooks being processed by this node")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Set how workers process a queued webhook
+     */
+    public void setProcessor(Function<IncomingWebhook, Mono<Void>> processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Whether webhooks go through the queue rather than being processed inline
+     */
+    public boolean isEnabled() {
+        return enabled && redisTemplate != null;
+    }
+
+    /**
+     * Queue a verified webhook unless the same event was already received
+     * Errors when Redis is unavailable, in which case the caller should process inline.
+     */
+    public Mono<Outcome> ingest(IncomingWebhook webhook) {
+        if (!isEnabled()) {
+            return Mono.just(Outcome.INLINE);
+        }
+        String dedupeKey = dedupeKey(webhook);
+        return redisTemplate.opsForValue().setIfAbsent(dedupeKey, "1", dedupeTtl)
+            .flatMap(first -> {
+                if (!Boolean.TRUE.equals(first)) {
+                    log.info("Duplicate webhook {} from connector: {}", webhook.eventId(), webhook.connector());
+                    record(webhook.connector(), "duplicate");
+                    return Mono.just(Outcome.DUPLICATE);
+                }
+                return redisTemplate.<String, String>opsForStream().add(streamKey, toFields(webhook))
+                    .map(recordId -> {
+                        record(webhook.connector(), "accepted");
+                        return Outcome.ACCEPTED;
+                    })
+                    // Let the connector's redelivery through if the event could not be queued
+                    .onErrorResume(error -> redisTemplate.delete(dedupeKey)
+                        .onErrorResume(deleteError -> Mono.empty())
+                        .then(Mono.error(error)));
+            });
+    }
+
+    /**
+     * Drain the stream: read new events until a batch comes back short
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.webhook-ingest.poll-interval-ms:100}")
+    public void poll() {
+        if (!isEnabled() || processor == null || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        ensureGroup()
+            .then(Mono.defer(this::drainBatch))
+            .repeat()
+            .takeUntil(read -> read < batchSize)
+            .doFinally(signal -> polling.set(false))
+            .subscribe(null, error -> log.warn("Error polling incoming webhook stream: {}", error.getMessage()));
+    }
+
+    /**
+     * Claim events that stayed pending longer than the minimum idle time, whichever consumer
+     * they were delivered to, and process them again or dead-letter them
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.connectors.webhook-ingest.claim-interval-ms:30000}")
+    public void reclaim() {
+        if (!isEnabled() || processor == null || !reclaiming.compareAndSet(false, true)) {
+            return;
+        }
+        ensureGroup()
+            .then(Mono.defer(this::reclaimBatch))
+            .doFinally(signal -> reclaiming.set(false))
+            .subscribe(null, error -> log.warn("Error reclaiming pending webhooks: {}", error.getMessage()));
+    }
+
+    /**
+     * Process records on lanes keyed by payment, acknowledging each once processed
+     * Emits the IDs of the records processed; failed records are left pending.
+     */
+    Flux<RecordId> dispatch(Flux<MapRecord<String, String, String>> records) {
+        return records
+            .groupBy(record -> Math.floorMod(fromFields(record.getValue()).orderingKey().hashCode(), concurrency))
+            .flatMap(lane -> lane.concatMap(this::handle), concurrency);
+    }
+
+    /**
+     * Create the consumer group, and the stream with it (MKSTREAM) if nothing was queued yet
+     */
+    Mono<Void> ensureGroup() {
+        if (groupReady) {
+            return Mono.empty();
+        }
+        return redisTemplate.execute(connection -> connection.streamCommands().xGroupCreate(
+                redisTemplate.getSerializationContext().getKeySerializationPair().write(streamKey),
+                group, ReadOffset.from("0"), true))
+            .next()
+            .onErrorResume(error -> error.getMessage() != null && error.getMessage().contains("BUSYGROUP")
+                ? Mono.just("OK")
+                : Mono.error(error))
+            .doOnSuccess(ok -> groupReady = true)
+            .then();
+    }
+
+    private Mono<Integer> drainBatch() {
+        ReactiveStreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        AtomicInteger read = new AtomicInteger();
+        Flux<MapRecord<String, String, String>> batch = streams.read(
+            Consumer.from(group, consumerName),
+            StreamReadOptions.empty().count(batchSize),
+            StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+        return dispatch(batch.doOnNext(record -> read.incrementAndGet()))
+            .then(Mono.fromSupplier(read::get));
+    }
+
+    Mono<Long> reclaimBatch() {
+        ReactiveStreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        return streams.pending(streamKey, group, Range.unbounded(), batchSize)
+            .flatMapMany(pending -> {
+                RecordId[] idle = pending.stream()
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimMinIdle) >= 0)
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+                if (idle.length == 0) {
+                    return Flux.<RecordId>empty();
+                }
+                // XCLAIM only hands over entries still idle, so two nodes never retry the same event.
+                // Entries come back in stream order, so a payment's failed event runs before those behind it
+                return dispatch(streams.claim(streamKey, group, consumerName, claimMinIdle, idle));
+            })
+            .count();
+    }
+
+    private Mono<RecordId> handle(MapRecord<String, String, String> record) {
+        IncomingWebhook webhook = fromFields(record.getValue());
+        return begin(record, webhook)
+            .flatMap(attempt -> {
+                if (attempt < 0) {
+                    log.info("Deferring webhook {} from connector: {} behind an earlier failed event of payment {}",
+                        webhook.eventId(), webhook.connector(), webhook.orderingKey());
+                    record(webhook.connector(), "deferred");
+                    return Mono.empty();
+                }
+                if (attempt > maxDeliveries) {
+                    // Attempts that never reported back, such as a worker dying mid-event
+                    return deadLetter(record).then(Mono.empty());
+                }
+                return process(record, webhook, attempt);
+            })
+            .onErrorResume(error -> {
+                log.warn("Failed to start webhook {}, leaving it pending: {}", webhook.eventId(), error.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    private Mono<RecordId> process(MapRecord<String, String, String> record, IncomingWebhook webhook, long attempt) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        return Mono.defer(() -> processor.apply(webhook))
+            .thenReturn(true)
+            .onErrorResume(error -> {
+                log.error("Error processing webhook {} from connector: {}, leaving it pending",
+                    webhook.eventId(), webhook.connector(), error);
+                record(webhook.connector(), "failed");
+                return Mono.just(false);
+            })
+            .doFinally(signal -> {
+                inFlight.decrementAndGet();
+                if (meterRegistry != null) {
+                    Timer.builder("hyperswitch.webhooks.processing")
+                        .description("Time to process a queued webhook")
+                        .tag("connector", webhook.connector())
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            })
+            .flatMap(processed -> {
+                if (!processed) {
+                    return attempt >= maxDeliveries
+                        ? deadLetter(record).then(Mono.empty())
+                        : block(record, webhook).then(Mono.empty());
+                }
+                record(webhook.connector(), "processed");
+                return remove(record, webhook).thenReturn(record.getId());
+            });
+    }
+
+    /**
+     * Start an attempt of an event: the attempt number, or -1 if the event has to wait behind
+     * an earlier failed event of its payment
+     */
+    private Mono<Long> begin(MapRecord<String, String, String> record, IncomingWebhook webhook) {
+        return redisTemplate.execute(BEGIN_SCRIPT, List.of(stateKey),
+                List.of(webhook.orderingKey(), record.getId().getValue()))
+            .next();
+    }
+
+    /**
+     * Hold back later events of the failed event's payment until it settles. The earliest
+     * failed event keeps the block.
+     */
+    private Mono<Void> block(MapRecord<String, String, String> record, IncomingWebhook webhook) {
+        return redisTemplate.<String, String>opsForHash()
+            .putIfAbsent(stateKey, BLOCKED_PREFIX + webhook.orderingKey(), record.getId().getValue())
+            .onErrorResume(error -> {
+                log.warn("Failed to hold back events behind webhook {}: {}", webhook.eventId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Move an event that failed every delivery out of the stream, and let the connector's
+     * redelivery of it through the dedupe check again
+     */
+    private Mono<Void> deadLetter(MapRecord<String, String, String> record) {
+        IncomingWebhook webhook = fromFields(record.getValue());
+        log.error("Webhook {} from connector: {} failed {} attempts, moving it to {}",
+            webhook.eventId(), webhook.connector(), maxDeliveries, deadLetterKey);
+        record(webhook.connector(), "dead_lettered");
+        return redisTemplate.<String, String>opsForStream().add(deadLetterKey, record.getValue())
+            .then(remove(record, webhook))
+            .then(redisTemplate.delete(dedupeKey(webhook)))
+            .onErrorResume(error -> {
+                log.warn("Failed to dead-letter webhook {}: {}", webhook.eventId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Acknowledge and delete a settled event, forget its attempts and release its payment
+     */
+    private Mono<Void> remove(MapRecord<String, String, String> record, IncomingWebhook webhook) {
+        ReactiveStreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        Mono<Long> settle = redisTemplate.execute(SETTLE_SCRIPT, List.of(stateKey),
+                List.of(webhook.orderingKey(), record.getId().getValue()))
+            .next();
+        return streams.acknowledge(streamKey, group, record.getId())
+            .then(streams.delete(streamKey, record.getId()))
+            .then(settle)
+            .onErrorResume(error -> {
+                log.warn("Failed to acknowledge webhook {}: {}", webhook.eventId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void record(String connector, String outcome) {
+        if (meterRegistry != null) {
+            Counter.builder("hyperswitch.webhooks.ingest")
+                .description("Incoming webhooks by outcome")
+                .tag("connector", connector)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    private static String dedupeKey(IncomingWebhook webhook) {
+        return DEDUPE_PREFIX + webhook.connector() + ":" + webhook.eventId();
+    }
+
+    /**
+     * Host name of the pod, so a restarted worker keeps its consumer and pending entries
+     */
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "worker-" + UUID.randomUUID();
+        }
+    }
+
+    static Map<String, String> toFields(IncomingWebhook webhook) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("connector", webhook.connector());
+        fields.put("event_id", webhook.eventId());
+        if (webhook.paymentId() != null) {
+            fields.put("payment_id", webhook.paymentId());
+        }
+        fields.put("payload", webhook.payload());
+        return fields;
+    }
+
+    static IncomingWebhook fromFields(Map<String, String> fields) {
+        return new IncomingWebhook(fields.get("connector"), fields.get("event_id"),
+            fields.get("payment_id"), fields.get("payload"));
+    }
+
+    /**
+     * Event ID of a webhook body: its top-level id, event_id or eventId field, or else a
+     * digest of the body so identical redeliveries still dedupe
+     */
+    public static String eventId(String payload) {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value.isScalarValue()
+                            && ("id".equals(field) || "event_id".equals(field) || "eventId".equals(field))) {
+                        return parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+            }
+        } catch (Exception _) {
+            // Not JSON; fall back to the digest
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.core.dummyconnector.SimulatedLatency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimit, including a simulation against the dummy
+ * connector latency model
+ */
+@DisplayName("AdaptiveConcurrencyLimit Unit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should grow while round trips stay at the baseline")
+    void testGrowsAtBaseline() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 10, 2.0, 0.2);
+
+        // When - fully used windows at a steady 20ms
+        for (int i = 0; i < 500; i++) {
+            limit.record(20 * MS, limit.limit(), false);
+        }
+
+        // Then
+        assertThat(limit.limit()).isGreaterThan(60).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not grow while the connector is barely used")
+    void testIgnoresAppLimitedWindows() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 10, 2.0, 0.2);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            limit.record(20 * MS, 3, false);
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should shrink when round trips rise above the tolerance and back off on drops")
+    void testShrinks() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 5, 200, 10, 2.0, 0.2);
+        for (int i = 0; i < 10; i++) {
+            limit.record(20 * MS, 100, false);
+        }
+        int atBaseline = limit.limit();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            limit.record(200 * MS, limit.limit(), false);
+        }
+        int slowed = limit.limit();
+        for (int i = 0; i < 10; i++) {
+            limit.record(20 * MS, slowed, i == 0);
+        }
+
+        // Then
+        assertThat(slowed).isLessThan(atBaseline / 2);
+        assertThat(limit.limit()).isLessThan(slowed);
+    }
+
+    @Test
+    @DisplayName("Should reset the baseline when the connector became slower rather than queued")
+    void testResetsStaleBaseline() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 10, 2.0, 0.2);
+        for (int i = 0; i < 10; i++) {
+            limit.record(20 * MS, 20, false);
+        }
+
+        // When - every call now takes 100ms regardless of concurrency
+        for (int i = 0; i < 2_000; i++) {
+            limit.record(100 * MS, limit.limit(), false);
+        }
+
+        // Then
+        assertThat(limit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("Should keep latency low at similar throughput when the connector degrades")
+    void testDegradingConnectorSimulation() {
+        // Given - 1000 calls per second against a connector serving 40 calls at a time,
+        // degrading to 10 after 20 seconds
+        SimulatedLatency latency = SimulatedLatency.lognormal(Duration.ofMillis(20), 0.3);
+
+        // When
+        SimulationResult fixed = simulate(latency, null, 200);
+        SimulationResult adaptive = simulate(latency, new AdaptiveConcurrencyLimit(20, 5, 200, 20, 2.0, 0.2), 200);
+
+        // Then - healthy, the adaptive limit admits the offered load
+        assertThat(adaptive.healthyRejectionRate).isLessThan(0.01);
+        // Degraded, it keeps tail latency far lower without giving up throughput
+        assertThat(adaptive.degradedP99Millis).isLessThan(fixed.degradedP99Millis / 3);
+        assertThat(adaptive.degradedThroughput).isGreaterThan(fixed.degradedThroughput * 0.9);
+    }
+
+    /**
+     * Discrete event simulation of calls against a connector whose round trips stretch once
+     * more calls are in flight than it can serve at a time
+     */
+    private static SimulationResult simulate(SimulatedLatency latency, AdaptiveConcurrencyLimit adaptive,
+                                             int maxConcurrent) {
+        SplittableRandom random = new SplittableRandom(7);
+        long interArrival = MS;
+        long degradeAt = 20_000 * MS;
+        long end = 40_000 * MS;
+        long measureHealthyFrom = 5_000 * MS;
+        long measureDegradedFrom = 25_000 * MS;
+
+        // Completion time and start time of calls in flight
+        PriorityQueue<long[]> inFlight = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        List<Long> degradedLatencies = new ArrayList<>();
+        long healthyOffered = 0;
+        long healthyRejected = 0;
+        long degradedCompleted = 0;
+
+        for (long now = 0; now < end; now += interArrival) {
+            while (!inFlight.isEmpty() && inFlight.peek()[0] <= now) {
+                long[] call = inFlight.poll();
+                long rtt = call[0] - call[1];
+                if (adaptive != null) {
+                    adaptive.record(rtt, inFlight.size() + 1, false);
+                }
+                if (call[1] >= measureDegradedFrom) {
+                    degradedLatencies.add(rtt);
+                    degradedCompleted++;
+                }
+            }
+
+            int limit = adaptive != null ? Math.min(maxConcurrent, adaptive.limit()) : maxConcurrent;
+            boolean admitted = inFlight.size() < limit;
+            if (now >= measureHealthyFrom && now < degradeAt) {
+                healthyOffered++;
+                healthyRejected += admitted ? 0 : 1;
+            }
+            if (admitted) {
+                int capacity = now < degradeAt ? 40 : 10;
+                double stretch = Math.max(1.0, (inFlight.size() + 1) / (double) capacity);
+                long rtt = (long) (latency.sample(random).toNanos() * stretch);
+                inFlight.add(new long[] {now + rtt, now});
+            }
+        }
+
+        Collections.sort(degradedLatencies);
+        long p99 = degradedLatencies.get((int) (degradedLatencies.size() * 0.99));
+        double degradedSeconds = (double) (end - measureDegradedFrom) / (1_000 * MS);
+        return new SimulationResult(
+            (double) healthyRejected / healthyOffered,
+            p99 / (double) MS,
+            degradedCompleted / degradedSeconds);
+    }
+
+    private record SimulationResult(double healthyRejectionRate, double degradedP99Millis, double degradedThroughput) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.hyperswitch.core.connectors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConnectorAdmissionQueue
+ */
+@DisplayName("ConnectorAdmissionQueue Unit Tests")
+class ConnectorAdmissionQueueTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(20);
+
+    private SimpleMeterRegistry meterRegistry;
+    private GcraRateLimit limit;
+    private ConnectorAdmissionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        // One permit per 20ms with no burst
+        meterRegistry = new SimpleMeterRegistry();
+        limit = new GcraRateLimit(1, INTERVAL);
+        queue = new ConnectorAdmissionQueue("stripe", new ConnectorAdmissionQueue.Permits() {
+            @Override
+            public boolean tryAcquire() {
+                return limit.tryAcquire();
+            }
+
+            @Override
+            public long waitNanos() {
+                return limit.waitNanos(System.nanoTime());
+            }
+
+            @Override
+            public long intervalNanos() {
+                return limit.getEmissionIntervalNanos();
+            }
+
+            @Override
+            public void release() {
+                limit.release();
+            }
+        }, 100, Schedulers.parallel(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should admit queued callers in order as permits become available")
+    void testAdmitsInOrderWithoutPolling() {
+        // Given
+        List<Integer> admitted = new CopyOnWriteArrayList<>();
+        List<Mono<Void>> waiters = new ArrayList<>();
+        long start = System.nanoTime();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            waiters.add(queue.acquire("merchant_a", Duration.ofSeconds(1)).doOnSuccess(v -> admitted.add(index)));
+        }
+        StepVerifier.create(Mono.when(waiters)).expectComplete().verify(Duration.ofSeconds(2));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - the first passes immediately and the rest one interval apart
+        assertThat(admitted).containsExactly(0, 1, 2, 3, 4);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(4 * INTERVAL.toMillis() - 5);
+        assertThat(meterRegistry.timer("hyperswitch.connector.admission.wait", "connector", "stripe").count())
+            .isEqualTo(5);
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not let one merchant's burst starve another merchant")
+    void testPerMerchantFairness() {
+        // Given - merchant_a queues a burst before merchant_b arrives
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        List<Mono<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            waiters.add(queue.acquire("merchant_a", Duration.ofSeconds(2)).doOnSuccess(v -> admitted.add("a")));
+        }
+
+        // When
+        waiters.add(queue.acquire("merchant_b", Duration.ofSeconds(2)).doOnSuccess(v -> admitted.add("b")));
+        StepVerifier.create(Mono.when(waiters)).expectComplete().verify(Duration.ofSeconds(3));
+
+        // Then - merchant_b is served within one round robin pass, not after the whole burst
+        assertThat(admitted.indexOf("b")).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject early when the deadline cannot be met")
+    void testEarlyRejection() {
+        // Given - ten callers ahead, roughly 200ms of queued work
+        List<Mono<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            waiters.add(queue.acquire("merchant_a", Duration.ofSeconds(1)));
+        }
+        Mono.when(waiters).subscribe();
+
+        // When / Then
+        long start = System.nanoTime();
+        StepVerifier.create(queue.acquire("merchant_a", Duration.ofMillis(50)))
+            .expectError(ConnectorRateLimitException.class)
+            .verify(Duration.ofSeconds(1));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(40);
+        assertThat(meterRegistry.counter("hyperswitch.connector.admission.rejected",
+            "connector", "stripe", "reason", "deadline").count()).isEqualTo(1.0);
+    }
+}
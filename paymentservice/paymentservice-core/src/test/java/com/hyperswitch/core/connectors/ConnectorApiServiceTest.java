@@ -98,7 +98,7 @@ class ConnectorApiServiceTest {
             .thenReturn(Mono.just(Result.ok(Flux.just(connectorAccount))));
         when(connectorAccountService.getConnectorAccount(anyString(), anyString()))
             .thenReturn(Mono.just(Result.ok(connectorAccount)));
-        when(rateLimiter.waitIfNeeded(anyString())).thenReturn(Mono.empty());
+        when(rateLimiter.waitIfNeeded(anyString(), anyString())).thenReturn(Mono.empty());
         when(retryService.executeWithRetry(any(), anyString(), anyString()))
             .thenAnswer(invocation -> {
                 @SuppressWarnings("unchecked")
@@ -106,7 +106,7 @@ class ConnectorApiServiceTest {
                     invocation.getArgument(0);
                 return apiCall.apply(null);
             });
-        when(httpClient.post(anyString(), any(), any(), anyString()))
+        when(httpClient.post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class)))
             .thenReturn(Mono.just(Result.ok(apiResponse)));
         when(httpClient.getConnectorBaseUrl(anyString())).thenReturn("https://api.stripe.com/v1");
         when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(credentials);
@@ -157,15 +157,15 @@ class ConnectorApiServiceTest {
             .thenReturn(Mono.just(Result.ok(Flux.just(connectorAccount))));
         when(connectorAccountService.getConnectorAccount(anyString(), anyString()))
             .thenReturn(Mono.just(Result.ok(connectorAccount)));
-        when(rateLimiter.waitIfNeeded(anyString())).thenReturn(Mono.empty());
-        when(retryService.executeWithRetry(any(), anyString(), anyString()))
+        when(rateLimiter.waitIfNeeded(anyString(), anyString())).thenReturn(Mono.empty());
+        when(retryService.executeWithRetry(any(), anyString(), anyString(), anyBoolean()))
             .thenAnswer(invocation -> {
                 @SuppressWarnings("unchecked")
                 java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
                     invocation.getArgument(0);
                 return apiCall.apply(null);
             });
-        when(httpClient.post(anyString(), any(), any(), anyString()))
+        when(httpClient.post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class)))
             .thenReturn(Mono.just(Result.ok(apiResponse)));
         when(httpClient.getConnectorBaseUrl(anyString())).thenReturn("https://api.stripe.com/v1");
         when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(credentials);
@@ -213,15 +213,15 @@ class ConnectorApiServiceTest {
             .thenReturn(Mono.just(Result.ok(Flux.just(connectorAccount))));
         when(connectorAccountService.getConnectorAccount(anyString(), anyString()))
             .thenReturn(Mono.just(Result.ok(connectorAccount)));
-        when(rateLimiter.waitIfNeeded(anyString())).thenReturn(Mono.empty());
-        when(retryService.executeWithRetry(any(), anyString(), anyString()))
+        when(rateLimiter.waitIfNeeded(anyString(), anyString())).thenReturn(Mono.empty());
+        when(retryService.executeWithRetry(any(), anyString(), anyString(), anyBoolean()))
             .thenAnswer(invocation -> {
                 @SuppressWarnings("unchecked")
                 java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
                     invocation.getArgument(0);
                 return apiCall.apply(null);
             });
-        when(httpClient.post(anyString(), any(), any(), anyString()))
+        when(httpClient.post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class)))
             .thenReturn(Mono.just(Result.err(PaymentError.of("CONNECTOR_ERROR", "Connector API error"))));
         when(httpClient.getConnectorBaseUrl(anyString())).thenReturn("https://api.stripe.com/v1");
         when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(credentials);
@@ -239,5 +239,173 @@ class ConnectorApiServiceTest {
             })
             .verifyComplete();
     }
-}
+    
+    @Test
+    @DisplayName("Should rate limit connector calls on behalf of the payment's merchant")
+    void testExecutePayment_RateLimitsPerMerchant() {
+        // Given - credentials come from the credential cache for the payment's merchant
+        ConnectorCredentialCache credentialCache = mock(ConnectorCredentialCache.class);
+        connectorApiService.setCredentialCache(credentialCache);
+        ConnectorPaymentRequest request = TestDataBuilders.connectorPaymentRequest();
+        
+        PaymentIntentEntity paymentIntent = new PaymentIntentEntity();
+        paymentIntent.setPaymentId(testPaymentId);
+        paymentIntent.setMerchantId("merchant_limited");
+        when(paymentIntentRepository.findByPaymentId(testPaymentId))
+            .thenReturn(Mono.just(paymentIntent));
+        when(credentialCache.get("merchant_limited", testConnectorName))
+            .thenReturn(Mono.just(Map.of("api_key", "test_api_key")));
+        when(httpClient.getConnectorBaseUrl(anyString())).thenReturn("https://api.stripe.com/v1");
+        when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(new HashMap<>());
+        when(rateLimiter.waitIfNeeded(testConnectorName, "merchant_limited"))
+            .thenReturn(Mono.error(new ConnectorRateLimitException(
+                testConnectorName, "merchant rate limit exceeded")));
+        when(retryService.executeWithRetry(any(), anyString(), anyString(), anyBoolean()))
+            .thenAnswer(invocation -> Mono.defer(() -> {
+                @SuppressWarnings("unchecked")
+                java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
+                    invocation.getArgument(0);
+                return apiCall.apply(null);
+            }));
+        
+        // When
+        Mono<Result<ConnectorPaymentResponse, PaymentError>> result = 
+            connectorApiService.executePayment(testPaymentId, request);
+        
+        // Then - the merchant's limit rejects the call before it reaches the connector
+        StepVerifier.create(result)
+            .assertNext(resultValue -> {
+                assertThat(resultValue.isErr()).isTrue();
+                assertThat(resultValue.unwrapErr().getMessage()).contains("merchant rate limit exceeded");
+            })
+            .verifyComplete();
+        verify(rateLimiter).waitIfNeeded(testConnectorName, "merchant_limited");
+        verify(rateLimiter, never()).waitIfNeeded(anyString());
+        verify(httpClient, never()).post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class));
+    }
+    
+    @Test
+    @DisplayName("Should send payments of a simulated connector to the dummy connector")
+    void testExecutePayment_RoutesToDummyConnector() {
+        // Given - stripe is simulated by the dummy connector
+        ConnectorCredentialCache credentialCache = mock(ConnectorCredentialCache.class);
+        connectorApiService.setCredentialCache(credentialCache);
+        ConnectorPaymentRequest request = TestDataBuilders.connectorPaymentRequest();
+        
+        PaymentIntentEntity paymentIntent = new PaymentIntentEntity();
+        paymentIntent.setPaymentId(testPaymentId);
+        paymentIntent.setMerchantId("test_merchant_id");
+        when(paymentIntentRepository.findByPaymentId(testPaymentId))
+            .thenReturn(Mono.just(paymentIntent));
+        when(credentialCache.get("test_merchant_id", testConnectorName))
+            .thenReturn(Mono.just(Map.of("api_key", "test_api_key")));
+        when(httpClient.routesToDummy(testConnectorName)).thenReturn(true);
+        when(httpClient.getConnectorBaseUrl(testConnectorName)).thenReturn("http://localhost:8080/api/dummy-connector");
+        when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(new HashMap<>());
+        when(rateLimiter.waitIfNeeded(anyString(), anyString())).thenReturn(Mono.empty());
+        when(retryService.executeWithRetry(any(), anyString(), anyString(), anyBoolean()))
+            .thenAnswer(invocation -> Mono.defer(() -> {
+                @SuppressWarnings("unchecked")
+                java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
+                    invocation.getArgument(0);
+                return apiCall.apply(null);
+            }));
+        when(httpClient.post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class)))
+            .thenReturn(Mono.just(Result.ok(Map.of("id", "pay_dummy", "status", "processing"))));
+        when(cacheService.generateKey(anyString(), anyString(), anyString())).thenReturn("cache_key");
+        
+        // When
+        Mono<Result<ConnectorPaymentResponse, PaymentError>> result = 
+            connectorApiService.executePayment(testPaymentId, request);
+        
+        // Then - the dummy connector is asked to apply the stripe simulation
+        StepVerifier.create(result)
+            .assertNext(resultValue -> assertThat(resultValue.unwrap().getConnectorTransactionId()).isEqualTo("pay_dummy"))
+            .verifyComplete();
+        verify(httpClient).post(eq("http://localhost:8080/api/dummy-connector/payment"),
+            argThat(body -> testConnectorName.equals(body.get("connector")) && body.containsKey("amount")),
+            any(), eq(testConnectorName), eq(ConnectorEndpointClass.PAYMENT));
+    }
 
+    @Test
+    @DisplayName("Should refund a simulated connector's payment under the dummy connector's payment ID")
+    void testProcessRefund_RoutesToDummyConnector() {
+        // Given
+        routeToDummyConnector();
+        when(retryService.executeWithRetry(any(), anyString(), anyString(), anyBoolean()))
+            .thenAnswer(invocation -> Mono.defer(() -> {
+                @SuppressWarnings("unchecked")
+                java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
+                    invocation.getArgument(0);
+                return apiCall.apply(null);
+            }));
+        when(httpClient.post(anyString(), any(), any(), anyString(), any(ConnectorEndpointClass.class),
+                eq(ConnectorTransactionResponse.class)))
+            .thenReturn(Mono.just(Result.ok(new ConnectorTransactionResponse("refund_dummy", "succeeded"))));
+        ConnectorRefundRequest request = new ConnectorRefundRequest();
+        request.setConnectorName(testConnectorName);
+        request.setPaymentId(testPaymentId);
+        request.setAmount(500L);
+        
+        // When
+        Mono<Result<ConnectorRefundResponse, PaymentError>> result =
+            connectorApiService.processRefund("ref_1", request);
+        
+        // Then - the refund goes to the payment, not to the refund ID
+        StepVerifier.create(result)
+            .assertNext(resultValue -> assertThat(resultValue.unwrap().getConnectorRefundId()).isEqualTo("refund_dummy"))
+            .verifyComplete();
+        verify(httpClient).post(eq("http://localhost:8080/api/dummy-connector/payments/" + testPaymentId + "/refund"),
+            argThat(body -> Long.valueOf(500L).equals(body.get("amount"))),
+            any(), eq(testConnectorName), eq(ConnectorEndpointClass.REFUND), eq(ConnectorTransactionResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Should look up the status of a simulated connector's payment on the dummy connector")
+    void testGetPaymentStatus_RoutesToDummyConnector() {
+        // Given
+        routeToDummyConnector();
+        when(cacheService.generateKey(anyString(), anyString(), anyString())).thenReturn("cache_key");
+        when(cacheService.getCached("cache_key", ConnectorPaymentStatusResponse.class)).thenReturn(Mono.empty());
+        when(retryService.executeWithRetry(any(), anyString(), anyString()))
+            .thenAnswer(invocation -> Mono.defer(() -> {
+                @SuppressWarnings("unchecked")
+                java.util.function.Function<Void, Mono<Result<Map<String, Object>, PaymentError>>> apiCall = 
+                    invocation.getArgument(0);
+                return apiCall.apply(null);
+            }));
+        when(httpClient.get(anyString(), any(), anyString(), eq(ConnectorEndpointClass.SYNC),
+                eq(ConnectorTransactionResponse.class)))
+            .thenReturn(Mono.just(Result.ok(new ConnectorTransactionResponse(testPaymentId, "succeeded"))));
+        
+        // When
+        Mono<Result<ConnectorPaymentStatusResponse, PaymentError>> result =
+            connectorApiService.getPaymentStatus(testPaymentId, testConnectorName);
+        
+        // Then
+        StepVerifier.create(result)
+            .assertNext(resultValue -> assertThat(resultValue.unwrap().getStatus()).isEqualTo("succeeded"))
+            .verifyComplete();
+        verify(httpClient).get(eq("http://localhost:8080/api/dummy-connector/payments/" + testPaymentId),
+            any(), eq(testConnectorName), eq(ConnectorEndpointClass.SYNC), eq(ConnectorTransactionResponse.class));
+    }
+    
+    /**
+     * Stripe simulated by the dummy connector, with credentials of the payment's merchant
+     */
+    private void routeToDummyConnector() {
+        ConnectorCredentialCache credentialCache = mock(ConnectorCredentialCache.class);
+        connectorApiService.setCredentialCache(credentialCache);
+        PaymentIntentEntity paymentIntent = new PaymentIntentEntity();
+        paymentIntent.setPaymentId(testPaymentId);
+        paymentIntent.setMerchantId("test_merchant_id");
+        when(paymentIntentRepository.findByPaymentId(testPaymentId))
+            .thenReturn(Mono.just(paymentIntent));
+        when(credentialCache.get("test_merchant_id", testConnectorName))
+            .thenReturn(Mono.just(Map.of("api_key", "test_api_key")));
+        when(httpClient.routesToDummy(testConnectorName)).thenReturn(true);
+        when(httpClient.getConnectorBaseUrl(testConnectorName)).thenReturn("http://localhost:8080/api/dummy-connector");
+        when(httpClient.buildAuthHeaders(anyString(), any())).thenReturn(new HashMap<>());
+        when(rateLimiter.waitIfNeeded(anyString(), anyString())).thenReturn(Mono.empty());
+    }
+}
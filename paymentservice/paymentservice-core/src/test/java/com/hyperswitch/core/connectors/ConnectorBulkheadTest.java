@@ -0,0 +1,155 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConnectorBulkhead
+ */
+@DisplayName("ConnectorBulkhead Unit Tests")
+class ConnectorBulkheadTest {
+
+    private ConnectorBulkhead bulkhead;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger connectorCalls;
+    private List<Sinks.One<Result<String, PaymentError>>> pending;
+
+    @BeforeEach
+    void setUp() {
+        // 2 calls in flight, 1 queued, queued calls wait at most 200ms, static limits
+        bulkhead = new ConnectorBulkhead(true, 2, 1, 200, false, 20, 5, 20, 2.0, 0.2);
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead.setMeterRegistry(meterRegistry);
+        connectorCalls = new AtomicInteger();
+        pending = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should queue past the in-flight limit and reject fast once the queue is full")
+    void testQueuesAndRejects() {
+        // Given
+        AtomicReference<Result<String, PaymentError>> first = subscribe("stripe");
+        subscribe("stripe");
+        AtomicReference<Result<String, PaymentError>> queued = subscribe("stripe");
+
+        // When
+        AtomicReference<Result<String, PaymentError>> rejected = subscribe("stripe");
+
+        // Then
+        assertThat(connectorCalls.get()).isEqualTo(2);
+        assertThat(bulkhead.queued("stripe")).isEqualTo(1);
+        assertThat(rejected.get().unwrapErr().getCode()).isEqualTo("CONNECTOR_BULKHEAD_FULL");
+        assertThat(meterRegistry.counter("hyperswitch.connector.bulkhead.rejected",
+            "connector", "stripe", "reason", "queue_full").count()).isEqualTo(1.0);
+
+        // A finished call hands its slot to the queued one
+        complete(0);
+        assertThat(first.get().isOk()).isTrue();
+        assertThat(connectorCalls.get()).isEqualTo(3);
+        assertThat(bulkhead.queued("stripe")).isZero();
+        assertThat(bulkhead.inFlight("stripe")).isEqualTo(2);
+        complete(2);
+        assertThat(queued.get().isOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep connectors isolated and report saturation to routing")
+    void testIsolationAndSaturation() {
+        // Given
+        subscribe("stripe");
+        subscribe("stripe");
+
+        // Then
+        assertThat(bulkhead.isSaturated(Connector.STRIPE)).isTrue();
+        assertThat(bulkhead.isSaturated(Connector.ADYEN)).isFalse();
+        assertThat(subscribe("adyen").get()).isNull();
+        assertThat(connectorCalls.get()).isEqualTo(3);
+
+        complete(0);
+        assertThat(bulkhead.isSaturated(Connector.STRIPE)).isFalse();
+        assertThat(meterRegistry.get("hyperswitch.connector.bulkhead.in_flight")
+            .tag("connector", "stripe").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a queued call whose wait exceeds the maximum")
+    void testQueueDeadline() throws InterruptedException {
+        // Given
+        subscribe("stripe");
+        subscribe("stripe");
+        AtomicReference<Result<String, PaymentError>> queued = subscribe("stripe");
+
+        // When
+        Thread.sleep(300);
+
+        // Then
+        assertThat(queued.get().unwrapErr().getCode()).isEqualTo("CONNECTOR_BULKHEAD_FULL");
+        assertThat(bulkhead.queued("stripe")).isZero();
+        assertThat(connectorCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should free the slot of a cancelled call")
+    void testCancelReleases() {
+        // Given
+        Mono<Result<String, PaymentError>> call = bulkhead.execute("stripe", Mono.never());
+
+        // When
+        call.subscribe().dispose();
+
+        // Then
+        assertThat(bulkhead.inFlight("stripe")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should admit queued calls when limits are raised at runtime")
+    void testRuntimeResize() {
+        // Given
+        subscribe("stripe");
+        subscribe("stripe");
+        subscribe("stripe");
+
+        // When
+        bulkhead.updateLimits("stripe", 3, 1);
+
+        // Then
+        assertThat(connectorCalls.get()).isEqualTo(3);
+        assertThat(bulkhead.getLimits().get("stripe")).isEqualTo(new ConnectorBulkhead.Limits(3, 1));
+
+        // Limits removed on other nodes fall back to the defaults
+        bulkhead.applyLimits(Map.of());
+        assertThat(bulkhead.getLimits()).containsOnlyKeys("default");
+        assertThat(bulkhead.isSaturated(Connector.STRIPE)).isTrue();
+    }
+
+    private AtomicReference<Result<String, PaymentError>> subscribe(String connector) {
+        Sinks.One<Result<String, PaymentError>> sink = Sinks.one();
+        AtomicReference<Result<String, PaymentError>> result = new AtomicReference<>();
+        bulkhead.execute(connector, Mono.defer(() -> {
+            connectorCalls.incrementAndGet();
+            pending.add(sink);
+            return sink.asMono();
+        })).subscribe(result::set);
+        return result;
+    }
+
+    private void complete(int index) {
+        pending.get(index).tryEmitValue(Result.ok("ok"));
+    }
+}
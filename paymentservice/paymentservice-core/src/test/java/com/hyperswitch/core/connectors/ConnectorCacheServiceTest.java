@@ -1,24 +1,24 @@
 package com.hyperswitch.core.connectors;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Unit tests for ConnectorCacheService
  */
-@ExtendWith(MockitoExtension.class)
 @DisplayName("ConnectorCacheService Unit Tests")
 class ConnectorCacheServiceTest {
     
-    @InjectMocks
     private ConnectorCacheService cacheService;
     
     private String testKey;
@@ -26,6 +26,7 @@ class ConnectorCacheServiceTest {
     
     @BeforeEach
     void setUp() {
+        cacheService = new ConnectorCacheService();
         testKey = "test_key";
         testValue = "test_value";
     }
@@ -105,5 +106,145 @@ class ConnectorCacheServiceTest {
             .assertNext(value -> assertThat(value).isEqualTo("value3"))
             .verifyComplete();
     }
+    
+    @Test
+    @DisplayName("Should drop expired and invalidated keys from the connector index")
+    void testConnectorIndexFollowsRemovals() {
+        // Given
+        AtomicLong ticker = new AtomicLong();
+        ConnectorCacheService tickingService = new ConnectorCacheService(1024 * 1024, ticker::get);
+        tickingService.put("connector:stripe:status:pay_1", "value", Duration.ofSeconds(2));
+        tickingService.put("connector:stripe:status:pay_2", "value", Duration.ofMinutes(5));
+        tickingService.put("connector:paypal:status:pay_3", "value", Duration.ofMinutes(5));
+        tickingService.put("connector:paypal:status:pay_3", "replaced", Duration.ofMinutes(5));
+        tickingService.put("unrelated_key", "value");
+        assertThat(tickingService.indexedKeyCount()).isEqualTo(3);
+        
+        // When / Then
+        ticker.addAndGet(Duration.ofSeconds(3).toNanos());
+        tickingService.cleanUp();
+        assertThat(tickingService.indexedKeyCount()).isEqualTo(2);
+        
+        tickingService.invalidate("connector:stripe:status:pay_2");
+        assertThat(tickingService.indexedKeyCount()).isEqualTo(1);
+        assertThat(tickingService.indexedConnectorCount()).isEqualTo(1);
+        
+        tickingService.invalidateConnector("PayPal");
+        assertThat(tickingService.indexedKeyCount()).isZero();
+        assertThat(tickingService.indexedConnectorCount()).isZero();
+        StepVerifier.create(tickingService.getCached("unrelated_key", String.class))
+            .assertNext(value -> assertThat(value).isEqualTo("value"))
+            .verifyComplete();
+    }
+    
+    @Test
+    @DisplayName("Should bound the estimated weight of entries")
+    void testWeightBound() {
+        // Given - room for about ten status entries
+        ConnectorCacheService boundedService = new ConnectorCacheService(10 * ConnectorCacheService.weigh(
+            "connector:stripe:status:pay_00", "value"), System::nanoTime);
+        
+        // When
+        for (int i = 0; i < 100; i++) {
+            boundedService.put(String.format("connector:stripe:status:pay_%02d", i), "value");
+        }
+        boundedService.cleanUp();
+        
+        // Then
+        assertThat(boundedService.cache().estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat((long) boundedService.indexedKeyCount()).isEqualTo(boundedService.cache().estimatedSize());
+    }
+    
+    @Test
+    @DisplayName("Should expire each entry after its own TTL")
+    void testPerEntryExpiry() {
+        // Given
+        AtomicLong ticker = new AtomicLong();
+        ConnectorCacheService tickingService = new ConnectorCacheService(1024 * 1024, ticker::get);
+        tickingService.put("connector:stripe:status:pay_1", "seconds", Duration.ofSeconds(2));
+        tickingService.put("connector:stripe:status:pay_2", "minutes", Duration.ofSeconds(90));
+        tickingService.put("connector:paypal:status:pay_3", "hours", Duration.ofHours(2));
+        
+        // When / Then
+        ticker.addAndGet(Duration.ofSeconds(3).toNanos());
+        tickingService.cleanUp();
+        assertThat(tickingService.cache().estimatedSize()).isEqualTo(2);
+        StepVerifier.create(tickingService.getCached("connector:stripe:status:pay_1", String.class)).verifyComplete();
+        
+        ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+        tickingService.cleanUp();
+        assertThat(tickingService.cache().estimatedSize()).isEqualTo(1);
+        StepVerifier.create(tickingService.getCached("connector:paypal:status:pay_3", String.class))
+            .assertNext(value -> assertThat(value).isEqualTo("hours"))
+            .verifyComplete();
+        
+        ticker.addAndGet(Duration.ofHours(3).toNanos());
+        tickingService.cleanUp();
+        assertThat(tickingService.cache().estimatedSize()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should publish hit, miss and eviction metrics")
+    void testMetrics() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cacheService.setMeterRegistry(meterRegistry);
+        cacheService.put(testKey, testValue);
+        
+        // When
+        cacheService.getCached(testKey, String.class).block();
+        cacheService.getCached("non_existent", String.class).block();
+        
+        // Then
+        assertThat(meterRegistry.get("hyperswitch.connector.cache.requests").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.cache.requests").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.cache.size").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.cache.evictions").tag("cause", "size")
+            .functionCounter().count()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Soak: heap and bookkeeping stay flat under a long stream of distinct keys")
+    void testSoakHeapStaysFlat() {
+        // Given - one simulated millisecond per operation, TTLs of up to a minute
+        AtomicLong ticker = new AtomicLong();
+        long maximumWeight = 4L * 1024 * 1024;
+        ConnectorCacheService soakService = new ConnectorCacheService(maximumWeight, ticker::get);
+        Random random = new Random(42);
+        String payload = "x".repeat(200);
+        int operations = 2_000_000;
+        long[] usedHeap = new long[2];
+        
+        // When
+        for (int i = 0; i < operations; i++) {
+            ticker.addAndGet(1_000_000L);
+            soakService.put("connector:c" + random.nextInt(20) + ":status:pay_" + i, payload,
+                Duration.ofMillis(1 + random.nextInt(60_000)));
+            soakService.getCached("connector:c" + random.nextInt(20) + ":status:pay_" + random.nextInt(i + 1),
+                String.class);
+            if (i % 100_000 == 0) {
+                soakService.invalidateConnector("c" + random.nextInt(20));
+            }
+            if (i == operations / 4 || i == operations - 1) {
+                soakService.cleanUp();
+                usedHeap[i == operations - 1 ? 1 : 0] = usedHeapAfterGc();
+            }
+        }
+        
+        // Then - the index holds exactly the live keys and heap does not grow with the key count
+        soakService.cleanUp();
+        assertThat(soakService.cache().policy().eviction().orElseThrow().weightedSize().orElseThrow())
+            .isLessThanOrEqualTo(maximumWeight);
+        assertThat(soakService.indexedConnectorCount()).isLessThanOrEqualTo(20);
+        assertThat((long) soakService.indexedKeyCount()).isEqualTo(soakService.cache().estimatedSize());
+        assertThat(usedHeap[1] - usedHeap[0]).isLessThan(32L * 1024 * 1024);
+    }
+    
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
 }
-
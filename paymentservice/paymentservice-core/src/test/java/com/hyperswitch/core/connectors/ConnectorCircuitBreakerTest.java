@@ -0,0 +1,187 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.dto.DummyConnectorPaymentRequest;
+import com.hyperswitch.common.dto.DummyConnectorPaymentResponse;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.dummyconnector.impl.DummyConnectorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectorCircuitBreaker, with failures injected through the dummy connector
+ */
+@DisplayName("ConnectorCircuitBreaker Unit Tests")
+class ConnectorCircuitBreakerTest {
+
+    private DummyConnectorServiceImpl dummyConnector;
+    private ConnectorCircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger connectorCalls;
+
+    @BeforeEach
+    void setUp() {
+        // Window of 10 calls, evaluated from 5, open for 100ms, 2 probes to close
+        dummyConnector = new DummyConnectorServiceImpl();
+        circuitBreaker = new ConnectorCircuitBreaker(true, 10, 5, 0.5, 50, 0.5, 100, 2);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker.setMeterRegistry(meterRegistry);
+        connectorCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should open on failure rate and fail fast without calling the connector")
+    void testOpensOnFailureRate() {
+        // Given
+        dummyConnector.injectFaults(1.0, Duration.ZERO);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(call(ConnectorEndpointClass.PAYMENT).isOk()).isFalse();
+        }
+        Result<DummyConnectorPaymentResponse, PaymentError> rejected = call(ConnectorEndpointClass.PAYMENT);
+
+        // Then
+        assertThat(connectorCalls.get()).isEqualTo(5);
+        assertThat(rejected.unwrapErr().getCode()).isEqualTo("CONNECTOR_CIRCUIT_OPEN");
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.PAYMENT))
+            .isEqualTo(ConnectorCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isOpen(Connector.STRIPE)).isTrue();
+        assertThat(circuitBreaker.isOpen(Connector.ADYEN)).isFalse();
+        assertThat(meterRegistry.counter("hyperswitch.connector.circuit.events",
+            "connector", "stripe", "endpoint", "payment", "event", "rejected").count()).isEqualTo(1.0);
+
+        // Other endpoint classes of the connector keep their own breaker
+        dummyConnector.clearFaults();
+        assertThat(call(ConnectorEndpointClass.REFUND).isOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should close after successful half open probes")
+    void testHalfOpenProbesClose() throws InterruptedException {
+        // Given
+        dummyConnector.injectFaults(1.0, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            call(ConnectorEndpointClass.PAYMENT);
+        }
+        dummyConnector.clearFaults();
+
+        // When
+        Thread.sleep(150);
+        assertThat(circuitBreaker.isOpen(Connector.STRIPE)).isFalse();
+        assertThat(call(ConnectorEndpointClass.PAYMENT).isOk()).isTrue();
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.PAYMENT))
+            .isEqualTo(ConnectorCircuitBreaker.State.HALF_OPEN);
+        assertThat(call(ConnectorEndpointClass.PAYMENT).isOk()).isTrue();
+
+        // Then
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.PAYMENT))
+            .isEqualTo(ConnectorCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a half open probe fails")
+    void testFailedProbeReopens() throws InterruptedException {
+        // Given
+        dummyConnector.injectFaults(1.0, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            call(ConnectorEndpointClass.PAYMENT);
+        }
+
+        // When
+        Thread.sleep(150);
+        call(ConnectorEndpointClass.PAYMENT);
+
+        // Then
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.PAYMENT))
+            .isEqualTo(ConnectorCircuitBreaker.State.OPEN);
+        assertThat(connectorCalls.get()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should open on slow call rate")
+    void testOpensOnSlowCallRate() {
+        // Given - successful but slower than the 50ms slow call threshold
+        dummyConnector.injectFaults(0.0, Duration.ofMillis(60));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(call(ConnectorEndpointClass.AUTHORIZE).isOk()).isTrue();
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.AUTHORIZE))
+            .isEqualTo(ConnectorCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isOpen(Connector.STRIPE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should share open breakers with other nodes through Redis")
+    @SuppressWarnings("unchecked")
+    void testSharesStateThroughRedis() {
+        // Given
+        ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveHashOperations<String, Object, Object> hashOperations = mock(ReactiveHashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.put(eq("connector:circuit:open"), eq("stripe|payment"), anyLong()))
+            .thenReturn(Mono.just(true));
+        circuitBreaker.setRedisTemplate(redisTemplate);
+        dummyConnector.injectFaults(1.0, Duration.ZERO);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            call(ConnectorEndpointClass.PAYMENT);
+        }
+        circuitBreaker.applyRemote("adyen|authorize", System.currentTimeMillis() + 60_000);
+
+        // Then
+        verify(hashOperations).put(eq("connector:circuit:open"), eq("stripe|payment"), anyLong());
+        assertThat(circuitBreaker.isOpen(Connector.ADYEN)).isTrue();
+        assertThat(circuitBreaker.getState("adyen", ConnectorEndpointClass.AUTHORIZE))
+            .isEqualTo(ConnectorCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should not count declines and rejected requests as connector failures")
+    void testDeclinesDoNotOpen() {
+        // When - a burst of 4xx rejections and soft declines
+        for (int i = 0; i < 10; i++) {
+            String code = i % 2 == 0 ? "CONNECTOR_REQUEST_REJECTED" : "CONNECTOR_SOFT_DECLINE";
+            Result<Object, PaymentError> result = circuitBreaker.execute("stripe", ConnectorEndpointClass.PAYMENT,
+                Mono.just(Result.<Object, PaymentError>err(PaymentError.of(code, "declined")))).block();
+            assertThat(result.unwrapErr().getCode()).isEqualTo(code);
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState("stripe", ConnectorEndpointClass.PAYMENT))
+            .isEqualTo(ConnectorCircuitBreaker.State.CLOSED);
+        assertThat(call(ConnectorEndpointClass.PAYMENT).isOk()).isTrue();
+    }
+
+    private Result<DummyConnectorPaymentResponse, PaymentError> call(ConnectorEndpointClass endpointClass) {
+        DummyConnectorPaymentRequest request = new DummyConnectorPaymentRequest();
+        request.setAmount(1000L);
+        request.setCurrency("USD");
+        request.setConnector("stripe");
+        return circuitBreaker.execute("stripe", endpointClass, Mono.defer(() -> {
+            connectorCalls.incrementAndGet();
+            return dummyConnector.createPayment(request);
+        })).block(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,182 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.storage.entity.MerchantConnectorAccountEntity;
+import com.hyperswitch.storage.repository.MerchantConnectorAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectorCredentialCache
+ */
+@DisplayName("ConnectorCredentialCache Unit Tests")
+class ConnectorCredentialCacheTest {
+
+    private MerchantConnectorAccountRepository repository;
+    private ConnectorCredentialCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong ticker;
+    private AtomicInteger lookups;
+    private String apiKey;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MerchantConnectorAccountRepository.class);
+        ticker = new AtomicLong();
+        lookups = new AtomicInteger();
+        apiKey = "sk_test_1";
+        when(repository.findByMerchantIdAndConnectorName(anyString(), anyString()))
+            .thenAnswer(invocation -> Flux.defer(() -> {
+                lookups.incrementAndGet();
+                return Flux.just(account(invocation.getArgument(0), invocation.getArgument(1)));
+            }).delayElements(Duration.ofMillis(20)));
+        cache = new ConnectorCredentialCache(repository, 60_000, 100, ticker::get);
+        meterRegistry = new SimpleMeterRegistry();
+        cache.setMeterRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should load credentials once and serve them until the TTL expires")
+    void testHitsAndExpiry() {
+        // Given
+        List<Map<String, String>> concurrent = Flux.range(0, 5)
+            .flatMap(i -> cache.get("merchant_1", "stripe"))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // When
+        Map<String, String> cached = cache.get("merchant_1", "Stripe").block(Duration.ofSeconds(5));
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        apiKey = "sk_test_2";
+        Map<String, String> reloaded = cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(concurrent).hasSize(5).allSatisfy(credentials ->
+            assertThat(credentials).containsEntry("api_key", "sk_test_1").containsEntry("key1", "acct_1"));
+        assertThat(cached).containsEntry("api_key", "sk_test_1").containsEntry("webhook_secret", "whsec_1");
+        assertThat(reloaded).containsEntry("api_key", "sk_test_2");
+        assertThat(lookups.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("hyperswitch.connector.credentials.requests").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.credentials.evictions").tag("cause", "expired")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.credentials.load").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload credentials after the account is rotated")
+    void testInvalidate() {
+        // Given
+        cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+
+        // When
+        apiKey = "sk_test_rotated";
+        cache.invalidate("merchant_1", "stripe");
+        Map<String, String> rotated = cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(rotated).containsEntry("api_key", "sk_test_rotated");
+        assertThat(lookups.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("hyperswitch.connector.credentials.evictions").tag("cause", "invalidated")
+            .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should hand out the cached credentials without copying them")
+    void testHitsShareImmutableCredentials() {
+        // Given
+        Map<String, String> loaded = cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+
+        // When
+        Map<String, String> hit = cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(hit).isSameAs(loaded);
+        assertThatThrownBy(() -> hit.put("api_key", "tampered")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop credentials changed on another node and publish local changes")
+    void testSharedInvalidation() {
+        // Given
+        @SuppressWarnings("unchecked")
+        ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ReactiveHashOperations<String, Object, Object> hashOperations = mock(ReactiveHashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.put(anyString(), any(), any())).thenReturn(Mono.just(true));
+        when(hashOperations.remove(anyString(), any())).thenReturn(Mono.just(1L));
+        cache.setRedisTemplate(redisTemplate);
+        cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+        cache.get("merchant_2", "stripe").block(Duration.ofSeconds(5));
+
+        // When - merchant_1 was rotated on another node after it was loaded here
+        apiKey = "sk_test_rotated";
+        long now = System.currentTimeMillis();
+        cache.applyInvalidations(Map.of(
+            "merchant_1|stripe", String.valueOf(now + 1_000),
+            "merchant_2|stripe", String.valueOf(now - 120_000)));
+
+        // Then - changes older than the TTL no longer matter and are pruned
+        assertThat(cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5)))
+            .containsEntry("api_key", "sk_test_rotated");
+        assertThat(cache.get("merchant_2", "stripe").block(Duration.ofSeconds(5)))
+            .containsEntry("api_key", "sk_test_1");
+        assertThat(lookups.get()).isEqualTo(3);
+        verify(hashOperations).remove("connector:credentials:changed", "merchant_2|stripe");
+
+        cache.invalidate("merchant_2", "Stripe");
+        verify(hashOperations).put(eq("connector:credentials:changed"), eq("merchant_2|stripe"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict the credentials closest to expiring when full")
+    void testMaximumSize() {
+        // Given
+        cache = new ConnectorCredentialCache(repository, 60_000, 2, ticker::get);
+        cache.get("merchant_1", "stripe").block(Duration.ofSeconds(5));
+        ticker.addAndGet(1);
+        cache.get("merchant_2", "stripe").block(Duration.ofSeconds(5));
+
+        // When
+        cache.get("merchant_3", "adyen").block(Duration.ofSeconds(5));
+        cache.get("merchant_2", "stripe").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(lookups.get()).isEqualTo(3);
+    }
+
+    private MerchantConnectorAccountEntity account(String merchantId, String connectorName) {
+        MerchantConnectorAccountEntity entity = new MerchantConnectorAccountEntity();
+        entity.setMerchantId(merchantId);
+        entity.setConnectorName(connectorName);
+        entity.setMerchantConnectorId(merchantId + "_" + connectorName);
+        entity.setMetadata(Map.of("api_key", apiKey, "webhook_secret", "whsec_1"));
+        entity.setConnectorAccountDetails("{\"auth_type\":\"BodyKey\",\"key1\":\"acct_1\"}"
+            .getBytes(StandardCharsets.UTF_8));
+        return entity;
+    }
+}
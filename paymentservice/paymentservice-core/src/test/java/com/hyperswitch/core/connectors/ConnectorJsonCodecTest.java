@@ -0,0 +1,179 @@
+package com.hyperswitch.core.connectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConnectorJsonCodec
+ */
+@DisplayName("ConnectorJsonCodec Unit Tests")
+class ConnectorJsonCodecTest {
+
+    private static final String CHARGE = """
+        {"id":"ch_3Pq","object":"charge","amount":1000,"captured":true,
+         "billing_details":{"address":{"city":"Berlin","country":"DE","line1":"Unter den Linden 1"},
+           "email":"jenny@example.com","name":"Jenny Rosen"},
+         "outcome":{"network_status":"approved_by_network","risk_level":"normal","risk_score":32},
+         "payment_method_details":{"card":{"brand":"visa","country":"US","exp_month":8,"exp_year":2030,
+           "fingerprint":"Xt5EWLLDS7FJjR1c","funding":"credit","last4":"4242"}},
+         "metadata":{"order_id":"6735","note":"gift wrap"},
+         "refunds":{"data":[],"has_more":false,"total_count":0},
+         "status":"succeeded","error":{"code":null}}
+        """;
+
+    private NettyDataBufferFactory bufferFactory;
+    private ConnectorJsonCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        codec = new ConnectorJsonCodec();
+    }
+
+    @Test
+    @DisplayName("Should write request objects into pooled buffers")
+    void testEncodeIntoPooledBuffer() throws Exception {
+        // When
+        DataBuffer buffer = codec.write(Map.of("amount", 1000, "currency", "usd"), bufferFactory);
+
+        // Then
+        assertThat(((NettyDataBuffer) buffer).getNativeBuffer().alloc()).isSameAs(PooledByteBufAllocator.DEFAULT);
+        Map<String, Object> decoded = new ObjectMapper().readValue(buffer.toString(StandardCharsets.UTF_8),
+            new TypeReference<Map<String, Object>>() {});
+        assertThat(decoded).containsEntry("amount", 1000).containsEntry("currency", "usd");
+        assertThat(buffer.toString(StandardCharsets.UTF_8)).doesNotContain(" ");
+        DataBufferUtils.release(buffer);
+        assertThat(((NettyDataBuffer) buffer).getNativeBuffer().refCnt()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should extract only the requested fields from a response split across chunks")
+    void testDecodeFieldsAcrossChunks() {
+        // Given - chunks split mid token
+        List<DataBuffer> chunks = chunks(CHARGE, 7);
+
+        // When
+        Mono<Map<String, Object>> fields = codec.decodeFields(Flux.fromIterable(chunks),
+            Set.of("id", "status", "amount", "outcome.risk_score", "payment_method_details.card.last4", "error.code"));
+
+        // Then
+        StepVerifier.create(fields)
+            .assertNext(values -> assertThat(values)
+                .hasSize(5)
+                .containsEntry("id", "ch_3Pq")
+                .containsEntry("status", "succeeded")
+                .containsEntry("amount", 1000)
+                .containsEntry("outcome.risk_score", 32)
+                .containsEntry("payment_method_details.card.last4", "4242"))
+            .verifyComplete();
+        assertReleased(chunks);
+    }
+
+    @Test
+    @DisplayName("Should release buffers of malformed responses")
+    void testMalformedResponse() {
+        // Given
+        List<DataBuffer> chunks = chunks("{\"id\":\"ch_1\",\"status\":}", 5);
+
+        // When
+        Mono<Map<String, Object>> fields = codec.decodeFields(Flux.fromIterable(chunks), Set.of("id", "status"));
+
+        // Then
+        StepVerifier.create(fields).expectError(DecodingException.class).verify();
+        assertReleased(chunks);
+        assertThat(ConnectorErrorClass.fromThrowable(new DecodingException("bad", null)))
+            .isEqualTo(ConnectorErrorClass.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should reduce only registered connector endpoints to their fields")
+    void testResponseFieldRegistration() {
+        // Then
+        assertThat(codec.responseFields("Stripe", ConnectorEndpointClass.REFUND)).containsExactlyInAnyOrder("id", "status");
+        assertThat(codec.responseFields("stripe", ConnectorEndpointClass.PAYMENT)).isNull();
+        assertThat(codec.responseFields("stripe", ConnectorEndpointClass.SESSION)).isNull();
+        assertThat(codec.responseFields("checkout", ConnectorEndpointClass.REFUND)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stream connector calls through the codec")
+    void testConnectorCallThroughCodec() {
+        // Given
+        DisposableServer server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.post("/charges", (request, response) -> request.receive().aggregate()
+                .asString()
+                .flatMap(body -> response.header("Content-Type", "application/json")
+                    .sendString(Mono.just(body.contains("\"amount\":1000") ? CHARGE : "{}"))
+                    .then())))
+            .bindNow();
+        ConnectorHttpClient httpClient = new ConnectorHttpClient();
+        httpClient.setJsonCodec(codec);
+
+        try {
+            // When
+            String url = "http://localhost:" + server.port() + "/charges";
+            Result<Map<String, Object>, PaymentError> refund = httpClient.post(
+                url, Map.of("amount", 1000), Map.of(), "stripe", ConnectorEndpointClass.REFUND)
+                .block(Duration.ofSeconds(5));
+            Result<Map<String, Object>, PaymentError> payment = httpClient.post(
+                url, Map.of("amount", 1000), Map.of(), "stripe", ConnectorEndpointClass.PAYMENT)
+                .block(Duration.ofSeconds(5));
+
+            Result<ConnectorTransactionResponse, PaymentError> capture = httpClient.post(
+                url, Map.of("amount", 1000), Map.of(), "stripe", ConnectorEndpointClass.CAPTURE,
+                ConnectorTransactionResponse.class)
+                .block(Duration.ofSeconds(5));
+
+            // Then - only the refund is cut down, the payment response reaches clients in full
+            assertThat(refund.unwrap()).isEqualTo(Map.of("id", "ch_3Pq", "status", "succeeded"));
+            assertThat(payment.unwrap()).containsKeys("id", "status", "billing_details", "metadata", "outcome");
+            // Typed calls bind the streamed fields
+            assertThat(capture.unwrap()).isEqualTo(new ConnectorTransactionResponse("ch_3Pq", "succeeded"));
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private List<DataBuffer> chunks(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            DataBuffer chunk = bufferFactory.allocateBuffer(length);
+            chunk.write(bytes, offset, length);
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static void assertReleased(List<DataBuffer> chunks) {
+        assertThat(chunks).allSatisfy(chunk ->
+            assertThat(((NettyDataBuffer) chunk).getNativeBuffer().refCnt()).isZero());
+    }
+}
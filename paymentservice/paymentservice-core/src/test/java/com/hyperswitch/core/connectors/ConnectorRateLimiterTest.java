@@ -79,5 +79,41 @@ class ConnectorRateLimiterTest {
             })
             .verifyComplete();
     }
-}
 
+    @Test
+    @DisplayName("Should enforce merchant limit within the connector limit")
+    void testMerchantRateLimit() {
+        // Given
+        rateLimiter.updateRateLimit("adyen", "merchant_1", 2, java.time.Duration.ofMinutes(1));
+
+        // When / Then - merchant_1 is capped, other merchants use the connector limit
+        StepVerifier.create(rateLimiter.isAllowed("adyen", "merchant_1")).expectNext(true).verifyComplete();
+        StepVerifier.create(rateLimiter.isAllowed("adyen", "merchant_1")).expectNext(true).verifyComplete();
+        StepVerifier.create(rateLimiter.isAllowed("adyen", "merchant_1")).expectNext(false).verifyComplete();
+        StepVerifier.create(rateLimiter.isAllowed("adyen", "merchant_2")).expectNext(true).verifyComplete();
+        assertThat(rateLimiter.getRateLimits()).containsKey("adyen|merchant_1");
+    }
+
+    @Test
+    @DisplayName("Should give the merchant permit back when the connector permit is not granted")
+    void testMerchantPermitReleasedOnConnectorRejection() {
+        // Given - the connector allows one call a minute, merchant_1 two
+        rateLimiter.updateRateLimit("adyen", 1, java.time.Duration.ofMinutes(1));
+        rateLimiter.updateRateLimit("adyen", "merchant_1", 2, java.time.Duration.ofMinutes(1));
+        java.time.Duration maxWait = java.time.Duration.ofMillis(50);
+        StepVerifier.create(rateLimiter.waitIfNeeded("adyen", "merchant_1", maxWait)).verifyComplete();
+
+        // When - the connector is exhausted, so the admission queue rejects
+        StepVerifier.create(rateLimiter.waitIfNeeded("adyen", "merchant_1", maxWait))
+            .expectError(ConnectorRateLimitException.class)
+            .verify();
+
+        // Then - once the connector has room, merchant_1 still has its second permit
+        rateLimiter.updateRateLimit("adyen", 100, java.time.Duration.ofMinutes(1));
+        StepVerifier.create(rateLimiter.waitIfNeeded("adyen", "merchant_1", maxWait)).verifyComplete();
+        StepVerifier.create(rateLimiter.waitIfNeeded("adyen", "merchant_1", maxWait))
+            .expectErrorSatisfies(error -> assertThat(((ConnectorRateLimitException) error).getReason())
+                .isEqualTo("merchant rate limit exceeded"))
+            .verify();
+    }
+}
@@ -0,0 +1,98 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConnectorReadCoalescer
+ */
+@DisplayName("ConnectorReadCoalescer Unit Tests")
+class ConnectorReadCoalescerTest {
+
+    private ConnectorReadCoalescer coalescer;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger connectorCalls;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ConnectorReadCoalescer(200, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer.setMeterRegistry(meterRegistry);
+        connectorCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight connector call between concurrent reads")
+    void testConcurrentReadsShareCall() {
+        // When
+        List<Result<String, PaymentError>> results = Flux.range(0, 10)
+            .flatMap(i -> psync("pi_123"))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(connectorCalls.get()).isEqualTo(1);
+        assertThat(results).hasSize(10).allSatisfy(result -> assertThat(result.unwrap()).isEqualTo("succeeded_1"));
+        assertThat(coalescer.coalescingRatio(ConnectorReadCoalescer.PAYMENT_SYNC)).isEqualTo(0.9);
+        assertThat(meterRegistry.counter("hyperswitch.connector.coalescing.reads",
+            "operation", "psync", "outcome", "joined").count()).isEqualTo(9.0);
+        assertThat(meterRegistry.get("hyperswitch.connector.coalescing.ratio").tag("operation", "psync")
+            .gauge().value()).isEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("Should serve reads from the memo until it expires")
+    void testMemo() throws InterruptedException {
+        // Given
+        psync("pi_123").block(Duration.ofSeconds(5));
+
+        // When
+        Result<String, PaymentError> memoized = psync("pi_123").block(Duration.ofSeconds(5));
+        Thread.sleep(250);
+        Result<String, PaymentError> fresh = psync("pi_123").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(memoized.unwrap()).isEqualTo("succeeded_1");
+        assertThat(fresh.unwrap()).isEqualTo("succeeded_2");
+        assertThat(meterRegistry.counter("hyperswitch.connector.coalescing.reads",
+            "operation", "psync", "outcome", "memo").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not coalesce different transactions nor remember failures")
+    void testKeysAndFailures() {
+        // Given
+        psync("pi_1").block(Duration.ofSeconds(5));
+        psync("pi_2").block(Duration.ofSeconds(5));
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            coalescer.<String>read(ConnectorReadCoalescer.REFUND_SYNC, "stripe", "re_1", () -> {
+                connectorCalls.incrementAndGet();
+                return Mono.just(Result.err(PaymentError.of("CONNECTOR_TIMEOUT", "timed out")));
+            }).block(Duration.ofSeconds(5));
+        }
+
+        // Then
+        assertThat(connectorCalls.get()).isEqualTo(4);
+        assertThat(coalescer.coalescingRatio(ConnectorReadCoalescer.REFUND_SYNC)).isZero();
+    }
+
+    private Mono<Result<String, PaymentError>> psync(String transactionId) {
+        return coalescer.read(ConnectorReadCoalescer.PAYMENT_SYNC, "Stripe", transactionId,
+            () -> Mono.delay(Duration.ofMillis(50))
+                .map(tick -> Result.<String, PaymentError>ok("succeeded_" + connectorCalls.incrementAndGet())));
+    }
+}
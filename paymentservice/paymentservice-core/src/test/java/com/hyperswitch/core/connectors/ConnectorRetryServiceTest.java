@@ -2,6 +2,9 @@ package com.hyperswitch.core.connectors;
 
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.gsm.GsmService;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +14,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for ConnectorRetryService
@@ -104,5 +110,114 @@ class ConnectorRetryServiceTest {
             })
             .verifyComplete();
     }
+    
+    @Test
+    @DisplayName("Should classify typed connector failures")
+    void testTypedClassification() {
+        assertThat(ConnectorErrorClass.fromThrowable(ReadTimeoutException.INSTANCE))
+            .isEqualTo(ConnectorErrorClass.TIMEOUT);
+        assertThat(ConnectorErrorClass.fromThrowable(new RuntimeException(new ConnectTimeoutException("connect"))))
+            .isEqualTo(ConnectorErrorClass.CONNECTION_FAILED);
+        assertThat(ConnectorErrorClass.fromStatus(429)).isEqualTo(ConnectorErrorClass.RATE_LIMITED);
+        assertThat(ConnectorErrorClass.fromStatus(502)).isEqualTo(ConnectorErrorClass.SERVER_ERROR);
+        assertThat(ConnectorErrorClass.fromStatus(402).isRetryable()).isFalse();
+        assertThat(retryService.classify(PaymentError.of("INVALID_REQUEST", "Bad request"), "stripe", "authorize"))
+            .isEqualTo(ConnectorErrorClass.UNKNOWN);
+    }
+    
+    @Test
+    @DisplayName("Should not retry a non-idempotent call the connector may have processed")
+    void testNoRetryOfNonIdempotentTimeout() {
+        // Given
+        Function<Void, Mono<Result<String, PaymentError>>> apiCall = unused -> {
+            attemptCount++;
+            return Mono.just(Result.err(PaymentError.of(ConnectorErrorClass.TIMEOUT.errorCode(), "Read timed out")));
+        };
+        
+        // When
+        Mono<Result<String, PaymentError>> result = retryService.executeWithRetry(
+            apiCall, "stripe", "authorize", false);
+        
+        // Then - the typed error is returned after a single attempt
+        StepVerifier.create(result)
+            .assertNext(resultValue -> {
+                assertThat(resultValue.unwrapErr().getCode()).isEqualTo("CONNECTOR_TIMEOUT");
+                assertThat(attemptCount).isEqualTo(1);
+            })
+            .verifyComplete();
+    }
+    
+    @Test
+    @DisplayName("Should retry a non-idempotent call that never reached the connector")
+    void testRetryOfNonIdempotentConnectFailure() {
+        // Given
+        Function<Void, Mono<Result<String, PaymentError>>> apiCall = unused -> {
+            attemptCount++;
+            if (attemptCount < 2) {
+                return Mono.just(Result.err(PaymentError.of(
+                    ConnectorErrorClass.CONNECTION_FAILED.errorCode(), "Connection refused")));
+            }
+            return Mono.just(Result.ok("success"));
+        };
+        
+        // When
+        Mono<Result<String, PaymentError>> result = retryService.executeWithRetry(
+            apiCall, "stripe", "authorize", false);
+        
+        // Then
+        StepVerifier.create(result)
+            .assertNext(resultValue -> assertThat(resultValue.isOk()).isTrue())
+            .verifyComplete();
+        assertThat(attemptCount).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should retry connector error codes that GSM maps to retry")
+    void testRetryOnGsmDecision() {
+        // Given
+        GsmService gsmService = mock(GsmService.class);
+        when(gsmService.findDecision("adyen", "authorize", GsmService.DEFAULT_SUB_FLOW, "issuer_unavailable"))
+            .thenReturn("retry");
+        retryService.setGsmService(gsmService);
+        Function<Void, Mono<Result<String, PaymentError>>> apiCall = unused -> {
+            attemptCount++;
+            if (attemptCount < 2) {
+                return Mono.just(Result.err(PaymentError.connectorError(
+                    ConnectorErrorClass.CLIENT_ERROR.errorCode(), "Declined", "issuer_unavailable")));
+            }
+            return Mono.just(Result.ok("success"));
+        };
+        
+        // When
+        Mono<Result<String, PaymentError>> result = retryService.executeWithCustomRetry(
+            apiCall, 3, Duration.ofMillis(1), Duration.ofMillis(5), "adyen", "authorize");
+        
+        // Then
+        StepVerifier.create(result)
+            .assertNext(resultValue -> assertThat(resultValue.isOk()).isTrue())
+            .verifyComplete();
+        assertThat(attemptCount).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should cap retries at the retry budget during an outage")
+    void testRetryBudget() {
+        // Given - every call fails with a retryable server error
+        Function<Void, Mono<Result<String, PaymentError>>> apiCall = unused -> {
+            attemptCount++;
+            return Mono.just(Result.err(PaymentError.of(ConnectorErrorClass.SERVER_ERROR.errorCode(), "Bad gateway")));
+        };
+        int calls = 50;
+        
+        // When
+        for (int i = 0; i < calls; i++) {
+            retryService.executeWithCustomRetry(apiCall, 3, Duration.ofMillis(1), Duration.ofMillis(2),
+                "paypal", "sync").block(Duration.ofSeconds(5));
+        }
+        
+        // Then - 10 initial tokens plus 10% of traffic instead of 3 retries per call
+        int retries = attemptCount - calls;
+        assertThat(retries).isLessThanOrEqualTo(10 + calls / 10);
+        assertThat(retries).isGreaterThanOrEqualTo(10);
+    }
 }
-
@@ -0,0 +1,142 @@
+package com.hyperswitch.core.connectors;
+
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConnectorWebClientRegistry against a local HTTP server
+ */
+@DisplayName("ConnectorWebClientRegistry Unit Tests")
+class ConnectorWebClientRegistryTest {
+
+    private DisposableServer server;
+    private ConnectorWebClientRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectorHttpClient httpClient;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .post("/charges", (request, response) -> response
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just("{\"id\":\"ch_1\",\"status\":\"succeeded\",\"amount\":1000}")))
+                .get("/charges/ch_1", (request, response) -> response
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just("{\"id\":\"ch_1\",\"status\":\"succeeded\",\"amount\":1000}"))))
+            .bindNow();
+        baseUrl = "http://localhost:" + server.port();
+
+        registry = new ConnectorWebClientRegistry(4, 8, 1000, 30000, 300000, 10000, false, 100, 5000, 64, 3600);
+        meterRegistry = new SimpleMeterRegistry();
+        registry.setMeterRegistry(meterRegistry);
+        httpClient = new ConnectorHttpClient();
+        httpClient.setClientRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should decode connector responses into the caller's response type")
+    void testTypedDecoding() {
+        // When
+        Result<ConnectorTransactionResponse, PaymentError> result = httpClient.post(baseUrl + "/charges",
+            Map.of("amount", 1000), Map.of(), "stripe", ConnectorEndpointClass.CAPTURE,
+            ConnectorTransactionResponse.class).block(Duration.ofSeconds(5));
+
+        // Then - fields the type does not declare are skipped
+        assertThat(result.isOk()).isTrue();
+        assertThat(result.unwrap()).isEqualTo(new ConnectorTransactionResponse("ch_1", "succeeded"));
+    }
+
+    @Test
+    @DisplayName("Should keep decoding untyped calls into maps")
+    void testUntypedDecoding() {
+        // When
+        Result<Map<String, Object>, PaymentError> result = httpClient.get(baseUrl + "/charges/ch_1",
+            Map.of(), "stripe").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(result.isOk()).isTrue();
+        assertThat(result.unwrap()).containsEntry("status", "succeeded");
+    }
+
+    @Test
+    @DisplayName("Should give each connector its own pool and publish pool metrics per connector")
+    void testPoolPerConnector() {
+        // When
+        httpClient.get(baseUrl + "/charges/ch_1", Map.of(), "stripe").block(Duration.ofSeconds(5));
+        httpClient.get(baseUrl + "/charges/ch_1", Map.of(), "adyen").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(registry.client("stripe")).isSameAs(registry.client("STRIPE"));
+        assertThat(registry.client("stripe")).isNotSameAs(registry.client("adyen"));
+        assertThat(meterRegistry.find("hyperswitch.connector.pool.max").tag("connector", "stripe").gauge())
+            .isNotNull();
+        assertThat(meterRegistry.find("hyperswitch.connector.pool.max").tag("connector", "adyen").gauge()
+            .value()).isEqualTo(4.0);
+        assertThat(meterRegistry.find("hyperswitch.connector.pool.allocated").tag("connector", "adyen").gauge()
+            .value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should apply per connector overrides to a fresh pool")
+    void testConfigureOverride() {
+        // Given
+        var before = registry.client("paypal");
+        var settings = new ConnectorWebClientRegistry.PoolSettings(16, 32, Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10), true, 50, Duration.ofSeconds(5));
+
+        // When
+        registry.configure("paypal", settings);
+
+        // Then
+        assertThat(registry.settings("PayPal")).isEqualTo(settings);
+        assertThat(registry.client("paypal")).isNotSameAs(before);
+        assertThat(registry.settings("stripe").maxConnections()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should apply pool settings published by other nodes and drop removed ones")
+    void testPublishedSettings() {
+        // Given
+        var settings = new ConnectorWebClientRegistry.PoolSettings(16, 32, Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10), true, 50, Duration.ofSeconds(5));
+        var before = registry.client("paypal");
+
+        // When
+        registry.applySettings(Map.of("paypal", settings.format(), "adyen", "not,valid"));
+
+        // Then
+        assertThat(registry.settings("paypal")).isEqualTo(settings);
+        assertThat(registry.settings("adyen").maxConnections()).isEqualTo(4);
+        var reconfigured = registry.client("paypal");
+        assertThat(reconfigured).isNotSameAs(before);
+
+        // Unchanged settings keep the pool, removed ones fall back to the defaults
+        registry.applySettings(Map.of("paypal", settings.format()));
+        assertThat(registry.client("paypal")).isSameAs(reconfigured);
+        registry.applySettings(Map.of());
+        assertThat(registry.settings("paypal").maxConnections()).isEqualTo(4);
+        assertThat(registry.client("paypal")).isNotSameAs(reconfigured);
+    }
+}
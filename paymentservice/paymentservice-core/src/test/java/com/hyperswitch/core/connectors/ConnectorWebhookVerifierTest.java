@@ -1,13 +1,23 @@
 package com.hyperswitch.core.connectors;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -91,6 +101,65 @@ class ConnectorWebhookVerifierTest {
         assertThat(secret).isEqualTo(testSecret);
     }
     
+    @Test
+    @DisplayName("Should verify the raw body buffers and release them")
+    void testVerifyDataBuffers() {
+        // Given
+        long timestamp = System.currentTimeMillis() / 1000;
+        String stripeSignature = "t=" + timestamp + ",v1=" + computeTestSignature(timestamp + "." + testPayload, testSecret);
+        List<DataBuffer> chunks = chunks(testPayload, 8);
+        
+        // When
+        Boolean verified = webhookVerifier.verifyWebhookSignature(
+            "stripe", Flux.fromIterable(chunks), stripeSignature, testSecret).block(Duration.ofSeconds(5));
+        Boolean tampered = webhookVerifier.verifyWebhookSignature(
+            "stripe", Flux.fromIterable(chunks(testPayload.replace("123", "124"), 8)), stripeSignature, testSecret)
+            .block(Duration.ofSeconds(5));
+        
+        // Then
+        assertThat(verified).isTrue();
+        assertThat(tampered).isFalse();
+        assertThat(chunks).allSatisfy(chunk ->
+            assertThat(((NettyDataBuffer) chunk).getNativeBuffer().refCnt()).isZero());
+    }
+    
+    @Test
+    @DisplayName("Should verify with a registered connector signature scheme")
+    void testRegisteredScheme() throws Exception {
+        // Given
+        webhookVerifier.registerScheme("acme", WebhookSignatureScheme.base64("HmacSHA512"));
+        javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA512");
+        mac.init(new javax.crypto.spec.SecretKeySpec(testSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        String signature = Base64.getEncoder().encodeToString(mac.doFinal(testPayload.getBytes(StandardCharsets.UTF_8)));
+        
+        // When
+        boolean verified = webhookVerifier.verifyWebhookSignature("acme", testPayload, signature, testSecret);
+        boolean hexRejected = webhookVerifier.verifyWebhookSignature(
+            "acme", testPayload, computeTestSignature(testPayload, testSecret), testSecret);
+        boolean malformedRejected = webhookVerifier.verifyWebhookSignature("paypal", testPayload, "zz", testSecret);
+        
+        // Then
+        assertThat(verified).isTrue();
+        assertThat(hexRejected).isFalse();
+        assertThat(malformedRejected).isFalse();
+    }
+    
+    private List<DataBuffer> chunks(String payload, int chunkSize) {
+        return chunks(payload.getBytes(StandardCharsets.UTF_8), chunkSize);
+    }
+    
+    private List<DataBuffer> chunks(byte[] bytes, int chunkSize) {
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            DataBuffer chunk = bufferFactory.allocateBuffer(length);
+            chunk.write(bytes, offset, length);
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+    
     /**
      * Compute test signature (simplified for testing)
      */
@@ -0,0 +1,110 @@
+package com.hyperswitch.core.connectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GcraRateLimit
+ */
+@DisplayName("GcraRateLimit Unit Tests")
+class GcraRateLimitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a full burst and then one permit per emission interval")
+    void testBurstThenSteadyRate() {
+        // Given - 10 per second, one permit every 100ms
+        long now = 1_000 * SECOND;
+        GcraRateLimit limit = new GcraRateLimit(10, Duration.ofSeconds(1), now);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire(now)).isTrue();
+        }
+        assertThat(limit.tryAcquire(now)).isFalse();
+        assertThat(limit.waitNanos(now)).isEqualTo(SECOND / 10);
+
+        assertThat(limit.tryAcquire(now + SECOND / 10 - 1)).isFalse();
+        assertThat(limit.tryAcquire(now + SECOND / 10)).isTrue();
+        assertThat(limit.tryAcquire(now + SECOND / 10)).isFalse();
+
+        // An idle window restores the full burst, never more
+        long later = now + 5 * SECOND;
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limit.tryAcquire(later)) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should return released permits")
+    void testRelease() {
+        // Given
+        long now = 1_000 * SECOND;
+        GcraRateLimit limit = new GcraRateLimit(2, Duration.ofSeconds(1), now);
+        limit.tryAcquire(now);
+        limit.tryAcquire(now);
+
+        // When
+        limit.release();
+
+        // Then
+        assertThat(limit.tryAcquire(now)).isTrue();
+        assertThat(limit.tryAcquire(now)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never grant more than the limit under contention")
+    void testNoOverGrantUnderContention() throws InterruptedException {
+        // Given - a frozen clock, so exactly the burst may be granted across all threads
+        int threads = 8;
+        int rounds = 200;
+        int permits = 1_000;
+        for (int round = 0; round < rounds; round++) {
+            long now = 1_000 * SECOND;
+            GcraRateLimit limit = new GcraRateLimit(permits, Duration.ofSeconds(60), now);
+            AtomicInteger granted = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException _) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < permits; i++) {
+                        if (limit.tryAcquire(now)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+
+            // When
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            // Then
+            assertThat(granted.get()).isEqualTo(permits);
+        }
+    }
+}
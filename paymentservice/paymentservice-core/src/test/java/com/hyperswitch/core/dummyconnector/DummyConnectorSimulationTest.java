@@ -0,0 +1,190 @@
+package com.hyperswitch.core.dummyconnector;
+
+import com.hyperswitch.common.dto.DummyConnectorPaymentRequest;
+import com.hyperswitch.common.dto.DummyConnectorPaymentResponse;
+import com.hyperswitch.common.dto.DummyConnectorRefundRequest;
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.core.dummyconnector.impl.DummyConnectorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the dummy connector simulation
+ */
+@DisplayName("Dummy Connector Simulation Unit Tests")
+class DummyConnectorSimulationTest {
+
+    private DummyConnectorServiceImpl dummyConnector;
+
+    @BeforeEach
+    void setUp() {
+        dummyConnector = new DummyConnectorServiceImpl();
+    }
+
+    @Test
+    @DisplayName("Should sample lognormal latency around its median")
+    void testLognormalMedian() {
+        // Given
+        SimulatedLatency latency = SimulatedLatency.fromMap(
+            Map.of("distribution", "lognormal", "median_ms", 200, "sigma", 0.8));
+        SplittableRandom random = new SplittableRandom(42);
+
+        // When
+        int belowMedian = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (latency.sample(random).toMillis() < 200) {
+                belowMedian++;
+            }
+        }
+
+        // Then
+        assertThat(belowMedian).isBetween(4_700, 5_300);
+    }
+
+    @Test
+    @DisplayName("Should activate repeating outage windows relative to when the simulation was applied")
+    void testRepeatingOutage() {
+        // Given
+        Instant appliedAt = Instant.parse("2026-01-01T00:00:00Z");
+        ConnectorSimulation simulation = ConnectorSimulation.fromMap(Map.of("outages", List.of(
+            Map.of("start_after_ms", 60_000, "duration_ms", 10_000, "repeat_every_ms", 120_000))), appliedAt);
+
+        // Then
+        assertThat(simulation.inOutage(appliedAt.plusSeconds(30))).isFalse();
+        assertThat(simulation.inOutage(appliedAt.plusSeconds(65))).isTrue();
+        assertThat(simulation.inOutage(appliedAt.plusSeconds(75))).isFalse();
+        assertThat(simulation.inOutage(appliedAt.plusSeconds(185))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void testInvalidSettings() {
+        assertThatThrownBy(() -> ConnectorSimulation.fromMap(
+            Map.of("error_rate", 0.7, "timeout_rate", 0.5), Instant.now()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SimulatedLatency.fromMap(Map.of("distribution", "pareto")))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        Result<Map<String, Object>, PaymentError> result =
+            dummyConnector.applySimulation("stripe", Map.of("error_rate", 2)).block();
+        assertThat(result.unwrapErr().getCode()).isEqualTo("INVALID_REQUEST");
+    }
+
+    @Test
+    @DisplayName("Should answer with rate limits once the per second limit is exceeded")
+    void testRateLimit() {
+        // Given
+        dummyConnector.applySimulation("stripe", Map.of("rate_limit_per_second", 3)).block();
+
+        // When
+        int rateLimited = 0;
+        for (int i = 0; i < 5; i++) {
+            Result<DummyConnectorPaymentResponse, PaymentError> result = pay("stripe");
+            if (result.isErr()) {
+                assertThat(result.unwrapErr().getCode()).isEqualTo("CONNECTOR_RATE_LIMITED");
+                rateLimited++;
+            }
+        }
+
+        // Then - unless the calls straddled a second boundary; other connectors are unaffected
+        assertThat(rateLimited).isBetween(1, 2);
+        assertThat(pay("adyen").isOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail every call of the connector during an outage and recover when cleared")
+    void testOutage() {
+        // Given
+        dummyConnector.applySimulation("stripe", Map.of("outages", List.of(
+            Map.of("start_after_ms", 0, "duration_ms", 60_000)))).block();
+
+        // Then
+        assertThat(pay("stripe").unwrapErr().getCode()).isEqualTo("CONNECTOR_UNAVAILABLE");
+        assertThat(dummyConnector.getSimulations().block().unwrap()).containsOnlyKeys("stripe");
+
+        dummyConnector.clearSimulation("stripe").block();
+        assertThat(pay("stripe").isOk()).isTrue();
+        assertThat(dummyConnector.clearSimulation("stripe").block().unwrapErr().getCode())
+            .isEqualTo("SIMULATION_NOT_FOUND");
+    }
+
+    @Test
+    @DisplayName("Should time out calls after the configured timeout")
+    void testTimeout() {
+        // Given
+        dummyConnector.applySimulation("*", Map.of("timeout_rate", 1.0, "timeout_ms", 50)).block();
+
+        // When
+        long start = System.nanoTime();
+        Result<DummyConnectorPaymentResponse, PaymentError> result = pay("stripe");
+
+        // Then
+        assertThat(result.unwrapErr().getCode()).isEqualTo("CONNECTOR_TIMEOUT");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should report the outcome of a completed payment after the webhook delay")
+    void testSlowWebhook() throws InterruptedException {
+        // Given
+        dummyConnector.applySimulation("stripe", Map.of("webhook_delay", Map.of("ms", 100))).block();
+        DummyConnectorPaymentResponse payment = pay("stripe").unwrap();
+        String nextUrl = String.valueOf(payment.getNextAction().get("url"));
+        String attemptId = nextUrl.substring(nextUrl.lastIndexOf('/') + 1);
+
+        // When
+        dummyConnector.completePayment(attemptId, true).block();
+
+        // Then
+        assertThat(dummyConnector.getPaymentData(payment.getId()).block().unwrap().getStatus())
+            .isEqualTo("processing");
+        Thread.sleep(150);
+        assertThat(dummyConnector.getPaymentData(payment.getId()).block().unwrap().getStatus())
+            .isEqualTo("succeeded");
+    }
+
+    @Test
+    @DisplayName("Should keep payments under the caller's ID so captures and refunds can find them")
+    void testCallerPaymentId() {
+        // Given
+        DummyConnectorPaymentRequest request = new DummyConnectorPaymentRequest();
+        request.setPaymentId("pay_caller_1");
+        request.setAmount(1000L);
+        request.setCurrency("USD");
+        request.setConnector("stripe");
+        DummyConnectorPaymentResponse payment = dummyConnector.createPayment(request).block().unwrap();
+
+        // When - a retried create returns the same payment
+        DummyConnectorPaymentResponse retried = dummyConnector.createPayment(request).block().unwrap();
+        dummyConnector.capturePayment("pay_caller_1").block();
+        DummyConnectorRefundRequest refund = new DummyConnectorRefundRequest();
+        Result<?, PaymentError> refunded = dummyConnector.createRefund("pay_caller_1", refund).block();
+
+        // Then - a refund without an amount refunds the whole payment
+        assertThat(payment.getId()).isEqualTo("pay_caller_1");
+        assertThat(retried).isSameAs(payment);
+        assertThat(dummyConnector.getPaymentData("pay_caller_1").block().unwrap().getStatus()).isEqualTo("succeeded");
+        assertThat(refunded.isOk()).isTrue();
+        assertThat(dummyConnector.capturePayment("pay_unknown").block().unwrapErr().getCode())
+            .isEqualTo("PAYMENT_NOT_FOUND");
+    }
+
+    private Result<DummyConnectorPaymentResponse, PaymentError> pay(String connector) {
+        DummyConnectorPaymentRequest request = new DummyConnectorPaymentRequest();
+        request.setAmount(1000L);
+        request.setCurrency("USD");
+        request.setConnector(connector);
+        return dummyConnector.createPayment(request).block(Duration.ofSeconds(1));
+    }
+}
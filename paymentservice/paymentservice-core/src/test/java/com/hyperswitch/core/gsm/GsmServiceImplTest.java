@@ -0,0 +1,130 @@
+package com.hyperswitch.core.gsm;
+
+import com.hyperswitch.common.dto.GsmCreateRequest;
+import com.hyperswitch.common.dto.GsmDeleteRequest;
+import com.hyperswitch.core.gsm.impl.GsmServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GsmServiceImpl
+ */
+@DisplayName("GsmServiceImpl Unit Tests")
+class GsmServiceImplTest {
+
+    private GsmServiceImpl gsmService;
+    // Contents of the shared rules hash
+    private Map<String, String> published;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        published = new ConcurrentHashMap<>();
+        ReactiveRedisTemplate<String, String> redisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveHashOperations<String, String, String> hashOperations = mock(ReactiveHashOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.put(eq("gsm:rules"), anyString(), anyString())).thenAnswer(invocation -> {
+            published.put(invocation.getArgument(1), invocation.getArgument(2));
+            return Mono.just(true);
+        });
+        when(hashOperations.remove(eq("gsm:rules"), anyString())).thenAnswer(invocation ->
+            Mono.just(published.remove(invocation.<String>getArgument(1)) != null ? 1L : 0L));
+        when(hashOperations.entries("gsm:rules")).thenAnswer(invocation ->
+            Flux.fromIterable(Map.copyOf(published).entrySet()));
+
+        gsmService = new GsmServiceImpl();
+        gsmService.setRedisTemplate(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should find the decision of a code in its own flow and sub flow only")
+    void testFindDecisionByFlow() {
+        // Given - the same code retried on authorize but not on refund
+        create("adyen", "authorize", null, "issuer_unavailable", "retry");
+        create("adyen", "refund", null, "issuer_unavailable", "do_default");
+        create("adyen", "authorize", "3ds", "issuer_unavailable", "requeue");
+
+        // When / Then
+        assertThat(gsmService.findDecision("ADYEN", "Authorize", GsmService.DEFAULT_SUB_FLOW, "issuer_unavailable"))
+            .isEqualTo("retry");
+        assertThat(gsmService.findDecision("adyen", "authorize", null, "issuer_unavailable")).isEqualTo("retry");
+        assertThat(gsmService.findDecision("adyen", "refund", null, "issuer_unavailable")).isEqualTo("do_default");
+        assertThat(gsmService.findDecision("adyen", "authorize", "3ds", "issuer_unavailable")).isEqualTo("requeue");
+        assertThat(gsmService.findDecision("adyen", "capture", null, "issuer_unavailable")).isNull();
+        assertThat(gsmService.findDecision("stripe", "authorize", null, "issuer_unavailable")).isNull();
+
+        // Deleting a rule removes its decision
+        gsmService.deleteGsmRule(delete("adyen", "authorize", "issuer_unavailable")).block(Duration.ofSeconds(5));
+        assertThat(gsmService.findDecision("adyen", "authorize", null, "issuer_unavailable")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pick up rules created and deleted through another node")
+    void testPublishedRules() {
+        // Given - a second node sharing the rules hash
+        GsmServiceImpl otherNode = new GsmServiceImpl();
+        otherNode.setRedisTemplate(sharedTemplate());
+        create("checkout", "authorize", null, "20005", "retry");
+        assertThat(otherNode.findDecision("checkout", "authorize", null, "20005")).isNull();
+
+        // When
+        otherNode.refreshRules();
+
+        // Then
+        assertThat(otherNode.findDecision("checkout", "authorize", null, "20005")).isEqualTo("retry");
+
+        // When - the rule is deleted on the first node
+        gsmService.deleteGsmRule(delete("checkout", "authorize", "20005")).block(Duration.ofSeconds(5));
+        otherNode.refreshRules();
+
+        // Then
+        assertThat(otherNode.findDecision("checkout", "authorize", null, "20005")).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReactiveRedisTemplate<String, String> sharedTemplate() {
+        ReactiveRedisTemplate<String, String> redisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveHashOperations<String, String, String> hashOperations = mock(ReactiveHashOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.entries("gsm:rules")).thenAnswer(invocation ->
+            Flux.fromIterable(Map.copyOf(published).entrySet()));
+        return redisTemplate;
+    }
+
+    private void create(String connector, String flow, String subFlow, String code, String decision) {
+        GsmCreateRequest request = new GsmCreateRequest();
+        request.setConnector(connector);
+        request.setFlow(flow);
+        request.setSubFlow(subFlow);
+        request.setCode(code);
+        request.setMessage("Issuer unavailable");
+        request.setStatus("failed");
+        request.setDecision(decision);
+        gsmService.createGsmRule(request).block(Duration.ofSeconds(5));
+    }
+
+    private static GsmDeleteRequest delete(String connector, String flow, String code) {
+        GsmDeleteRequest request = new GsmDeleteRequest();
+        request.setConnector(connector);
+        request.setFlow(flow);
+        request.setCode(code);
+        request.setMessage("Issuer unavailable");
+        return request;
+    }
+}
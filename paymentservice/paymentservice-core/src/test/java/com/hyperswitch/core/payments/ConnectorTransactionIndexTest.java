@@ -0,0 +1,127 @@
+package com.hyperswitch.core.payments;
+
+import com.hyperswitch.storage.entity.ConnectorTransactionMapEntity;
+import com.hyperswitch.storage.repository.ConnectorTransactionMapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectorTransactionIndex
+ */
+@DisplayName("ConnectorTransactionIndex Unit Tests")
+class ConnectorTransactionIndexTest {
+
+    private ConnectorTransactionMapRepository repository;
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private Map<String, String> redis;
+    private ConnectorTransactionIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(ConnectorTransactionMapRepository.class);
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        redis = new ConcurrentHashMap<>();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString()))
+            .thenAnswer(invocation -> Mono.justOrEmpty(redis.get(invocation.<String>getArgument(0))));
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            return Mono.just(true);
+        });
+        index = new ConnectorTransactionIndex(repository, 604800, 500);
+        index.setRedisTemplate(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should write the mapping with the attempt and resolve it from Redis")
+    void testRecordAndResolve() {
+        // Given
+        when(repository.upsert("stripe", "pi_3Pq", "merchant_1", "pay_1", "att_1")).thenReturn(Mono.just(1));
+        index.record("Stripe", "pi_3Pq", "merchant_1", "pay_1", "att_1").block(Duration.ofSeconds(5));
+
+        // When
+        ConnectorTransactionIndex.TransactionRef ref = index.resolve("stripe", "pi_3Pq").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(ref).isEqualTo(new ConnectorTransactionIndex.TransactionRef(
+            "stripe", "pi_3Pq", "merchant_1", "pay_1", "att_1"));
+        verify(repository, never()).findByConnectorAndConnectorTransactionId(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to one point lookup and cache the result")
+    void testResolveMiss() {
+        // Given
+        when(repository.findByConnectorAndConnectorTransactionId("adyen", "8535"))
+            .thenReturn(Mono.just(entity("adyen", "8535")));
+        when(repository.findByConnectorAndConnectorTransactionId("adyen", "unknown")).thenReturn(Mono.empty());
+
+        // When
+        ConnectorTransactionIndex.TransactionRef ref = index.resolve("Adyen", "8535").block(Duration.ofSeconds(5));
+        ConnectorTransactionIndex.TransactionRef unknown = index.resolve("adyen", "unknown").block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(ref.paymentId()).isEqualTo("pay_8535");
+        assertThat(unknown).isNull();
+        assertThat(redis).containsEntry("conntxn:adyen:8535", "merchant_1|pay_8535|att_8535");
+    }
+
+    @Test
+    @DisplayName("Should resolve many transactions in batched IN lookups")
+    @SuppressWarnings("unchecked")
+    void testResolveAll() {
+        // Given
+        List<Integer> batchSizes = new ArrayList<>();
+        when(repository.findByConnectorAndConnectorTransactionIdIn(eq("stripe"), anyCollection()))
+            .thenAnswer(invocation -> {
+                Collection<String> ids = invocation.getArgument(1);
+                batchSizes.add(ids.size());
+                return Flux.fromIterable(ids).filter(id -> !id.endsWith("7")).map(id -> entity("stripe", id));
+            });
+        List<String> ids = IntStream.range(0, 1200).mapToObj(i -> "ch_" + i).toList();
+
+        // When
+        List<ConnectorTransactionIndex.TransactionRef> refs = index.resolveAll("stripe", ids)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(batchSizes).containsExactly(500, 500, 200);
+        assertThat(refs).hasSize(1080);
+    }
+
+    private static ConnectorTransactionMapEntity entity(String connector, String connectorTransactionId) {
+        ConnectorTransactionMapEntity entity = new ConnectorTransactionMapEntity();
+        entity.setConnector(connector);
+        entity.setConnectorTransactionId(connectorTransactionId);
+        entity.setMerchantId("merchant_1");
+        entity.setPaymentId("pay_" + connectorTransactionId);
+        entity.setAttemptId("att_" + connectorTransactionId);
+        return entity;
+    }
+}
@@ -432,6 +432,57 @@ class PaymentServiceComprehensiveTest {
             .verifyComplete();
     }
     
+    @Test
+    @DisplayName("Should capture the authorized total including surcharge and tax on surcharge")
+    void testCapturePayment_WithSurcharge_CapturesAuthorizedTotal() {
+        // Given - 10.00 USD authorized with a 0.25 surcharge and 0.05 tax on it
+        PaymentId paymentId = PaymentId.of(testPaymentId);
+        PaymentIntentEntity existingEntity = createMockPaymentEntity();
+        existingEntity.setStatus(com.hyperswitch.common.enums.PaymentStatus.REQUIRES_CAPTURE.name());
+        PaymentAttemptEntity attempt = createMockPaymentAttempt();
+        attempt.setSurchargeAmount(25L);
+        attempt.setTaxAmount(5L);
+        attempt.setAmountCapturable(1030L);
+        existingEntity.setActiveAttemptId(attempt.getId());
+        
+        when(paymentIntentRepository.findByPaymentId(testPaymentId))
+            .thenReturn(Mono.just(existingEntity));
+        when(paymentAttemptRepository.findById(attempt.getId()))
+            .thenReturn(Mono.just(attempt));
+        when(connectorService.capture(anyString(), anyLong(), anyString(), anyString(), anyString()))
+            .thenReturn(Mono.just(Result.ok(createMockConnectorResponse())));
+        when(paymentIntentRepository.save(any(PaymentIntentEntity.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(paymentMapper.toPaymentIntent(any(PaymentIntentEntity.class)))
+            .thenAnswer(invocation -> {
+                PaymentIntentEntity entity = invocation.getArgument(0);
+                return PaymentIntent.builder()
+                    .paymentId(PaymentId.of(entity.getPaymentId()))
+                    .merchantId(entity.getMerchantId())
+                    .status(com.hyperswitch.common.enums.PaymentStatus.valueOf(entity.getStatus()))
+                    .amount(Amount.of(java.math.BigDecimal.valueOf(entity.getAmount()).divide(java.math.BigDecimal.valueOf(100)), entity.getCurrency()))
+                    .build();
+            });
+        
+        // When
+        Mono<Result<PaymentIntent, PaymentError>> result =
+            paymentService.capturePayment(paymentId, new CapturePaymentRequest());
+        
+        // Then
+        StepVerifier.create(result)
+            .assertNext(resultValue -> {
+                assertThat(resultValue.isOk()).isTrue();
+                PaymentIntent paymentIntent = resultValue.unwrap();
+                assertThat(paymentIntent.getStatus()).isEqualTo(com.hyperswitch.common.enums.PaymentStatus.SUCCEEDED);
+                assertThat(paymentIntent.getSurchargeAmount().getValue()).isEqualByComparingTo("0.25");
+                assertThat(paymentIntent.getTaxAmount().getValue()).isEqualByComparingTo("0.05");
+                assertThat(paymentIntent.getAmountCapturable().getValue()).isEqualByComparingTo("10.30");
+            })
+            .verifyComplete();
+        verify(connectorService).capture(testPaymentId, 1030L, "USD", "stripe", "txn_123");
+        assertThat(existingEntity.getAmountCaptured()).isEqualTo(1030L);
+    }
+    
     // ========== GET PAYMENT TESTS ==========
     
     @Test
@@ -27,10 +27,17 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -73,6 +80,9 @@ class PaymentServiceTest {
     @Mock
     private org.springframework.transaction.reactive.TransactionalOperator transactionalOperator;
     
+    @Mock
+    private WalletSessionTokenService walletSessionTokenService;
+    
     @InjectMocks
     private PaymentServiceImpl paymentService;
     
@@ -85,7 +95,7 @@ class PaymentServiceTest {
         testPaymentId = TestUtils.generateTestPaymentId();
         
         // Setup TransactionalOperator to pass through the Mono
-        when(transactionalOperator.transactional(any(reactor.core.publisher.Mono.class)))
+        lenient().when(transactionalOperator.transactional(any(reactor.core.publisher.Mono.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
     }
     
@@ -152,6 +162,52 @@ class PaymentServiceTest {
             .verifyComplete();
     }
     
+    @Test
+    @DisplayName("Should ask the connector along with the wallets for the flat session tokens")
+    void testCreateSessionTokens_ConnectorTokens() {
+        // Given
+        paymentService.setWalletSessionTokenService(walletSessionTokenService);
+        when(walletSessionTokenService.createSessions(eq(testMerchantId), isNull(), anyString(), any()))
+            .thenReturn(Mono.just(Result.ok(new WalletSessionTokenService.WalletSessions(
+                Map.of("apple_pay", Map.of("merchant_session", "apple"), "stripe", Map.of("client_secret", "stripe")),
+                List.of()))));
+        
+        // When / Then
+        StepVerifier.create(paymentService.createSessionTokens(testMerchantId, sessionRequest("Stripe", "apple_pay")))
+            .assertNext(result -> {
+                assertThat(result.isOk()).isTrue();
+                assertThat(result.unwrap().getSessionTokens()).containsEntry("client_secret", "stripe");
+            })
+            .verifyComplete();
+        verify(walletSessionTokenService).createSessions(testMerchantId, null, testPaymentId, List.of("apple_pay", "Stripe"));
+    }
+    
+    @Test
+    @DisplayName("Should fall back to the first wallet's tokens when the connector missed its deadline")
+    void testCreateSessionTokens_ConnectorOmitted() {
+        // Given
+        paymentService.setWalletSessionTokenService(walletSessionTokenService);
+        when(walletSessionTokenService.createSessions(eq(testMerchantId), isNull(), anyString(), any()))
+            .thenReturn(Mono.just(Result.ok(new WalletSessionTokenService.WalletSessions(
+                Map.of("apple_pay", Map.of("merchant_session", "apple")), List.of("stripe")))));
+        
+        // When / Then
+        StepVerifier.create(paymentService.createSessionTokens(testMerchantId, sessionRequest("stripe", "apple_pay")))
+            .assertNext(result -> {
+                assertThat(result.unwrap().getSessionTokens()).containsEntry("merchant_session", "apple");
+                assertThat(result.unwrap().getStatus()).isEqualTo("partial");
+            })
+            .verifyComplete();
+    }
+    
+    private com.hyperswitch.common.dto.PaymentsSessionRequest sessionRequest(String connector, String... wallets) {
+        com.hyperswitch.common.dto.PaymentsSessionRequest request = new com.hyperswitch.common.dto.PaymentsSessionRequest();
+        request.setPaymentId(testPaymentId);
+        request.setConnector(connector);
+        request.setWallets(List.of(wallets));
+        return request;
+    }
+    
     // Helper method to create mock payment entity
     private PaymentIntentEntity createMockPaymentEntity() {
         PaymentIntentEntity entity = new PaymentIntentEntity();
@@ -0,0 +1,162 @@
+package com.hyperswitch.core.payments;
+
+import com.hyperswitch.common.errors.PaymentError;
+import com.hyperswitch.common.types.Result;
+import com.hyperswitch.storage.entity.BusinessProfileEntity;
+import com.hyperswitch.storage.repository.BusinessProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WalletSessionTokenService
+ */
+@DisplayName("WalletSessionTokenService Unit Tests")
+class WalletSessionTokenServiceTest {
+
+    private static final String MERCHANT = "merchant_wallets";
+
+    private WalletSessionTokenService service;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private AtomicInteger googlePayCalls;
+
+    @BeforeEach
+    void setUp() {
+        // 300ms per wallet, reusable material cached for 60s, up to 5 wallets asked 4 at a time
+        now = new AtomicLong();
+        BusinessProfileRepository profileRepository = mock(BusinessProfileRepository.class);
+        when(profileRepository.findByProfileIdAndMerchantId(anyString(), anyString())).thenReturn(Mono.empty());
+        for (String profileId : List.of("pro_1", "pro_2")) {
+            BusinessProfileEntity profile = new BusinessProfileEntity();
+            profile.setProfileId(profileId);
+            profile.setMerchantId(MERCHANT);
+            when(profileRepository.findByProfileIdAndMerchantId(profileId, MERCHANT)).thenReturn(Mono.just(profile));
+        }
+        service = new WalletSessionTokenService(profileRepository, 300, 60_000, 100, 5, 4, now::get);
+        meterRegistry = new SimpleMeterRegistry();
+        service.setMeterRegistry(meterRegistry);
+        googlePayCalls = new AtomicInteger();
+        service.setProviders(List.of(
+            WalletSessionProvider.of("apple_pay", false, (profileId, paymentId) ->
+                Mono.delay(Duration.ofMillis(20)).thenReturn(Map.of("merchant_session", "session_" + paymentId))),
+            WalletSessionProvider.of("google_pay", true, (profileId, paymentId) -> {
+                googlePayCalls.incrementAndGet();
+                return Mono.delay(Duration.ofMillis(20)).thenReturn(Map.of("merchant_id", "merchant_" + profileId));
+            }),
+            WalletSessionProvider.of("slow_pay", false, (profileId, paymentId) ->
+                Mono.delay(Duration.ofSeconds(5)).thenReturn(Map.of("token", "late"))),
+            WalletSessionProvider.of("broken_pay", false, (profileId, paymentId) ->
+                Mono.error(new IllegalStateException("provider down")))));
+    }
+
+    @Test
+    @DisplayName("Should ask wallets in parallel and omit those that miss their deadline or fail")
+    void testPartialResults() {
+        // When
+        long start = System.nanoTime();
+        WalletSessionTokenService.WalletSessions sessions = sessions("pro_1", "pay_1",
+            List.of("Apple_Pay", "slow_pay", "google_pay", "broken_pay", "stripe"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then - bounded by the deadline of one wallet, not the sum or the slowest wallet
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1_000));
+        assertThat(sessions.tokens()).containsOnlyKeys("apple_pay", "google_pay", "stripe");
+        assertThat(sessions.tokens().get("apple_pay")).containsEntry("merchant_session", "session_pay_1");
+        assertThat(sessions.tokens().get("stripe")).containsKeys("publishable_key", "client_secret");
+        assertThat(sessions.omitted()).containsExactly("slow_pay", "broken_pay");
+        assertThat(meterRegistry.get("hyperswitch.payments.wallet_session.latency")
+            .tag("wallet", "slow_pay").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("hyperswitch.payments.wallet_session.latency")
+            .tag("wallet", "broken_pay").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cache reusable wallet material per merchant profile until it expires")
+    void testProfileCache() {
+        // Given
+        sessions("pro_1", "pay_1", List.of("google_pay"));
+
+        // When
+        WalletSessionTokenService.WalletSessions cached = sessions("pro_1", "pay_2", List.of("google_pay", "apple_pay"));
+        sessions("pro_2", "pay_3", List.of("google_pay"));
+
+        // Then
+        assertThat(cached.tokens().get("google_pay")).containsEntry("merchant_id", "merchant_pro_1");
+        assertThat(cached.tokens().get("apple_pay")).containsEntry("merchant_session", "session_pay_2");
+        assertThat(googlePayCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("hyperswitch.payments.wallet_session.latency")
+            .tag("wallet", "google_pay").tag("outcome", "cached").timer().count()).isEqualTo(1);
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        sessions("pro_1", "pay_4", List.of("google_pay"));
+        assertThat(googlePayCalls.get()).isEqualTo(3);
+
+        service.invalidateProfile(MERCHANT, "pro_1");
+        sessions("pro_1", "pay_5", List.of("google_pay"));
+        assertThat(googlePayCalls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should refuse a profile of another merchant without touching its cached material")
+    void testProfileOwnership() {
+        // Given
+        sessions("pro_1", "pay_1", List.of("google_pay"));
+
+        // When
+        Result<WalletSessionTokenService.WalletSessions, PaymentError> result =
+            service.createSessions("merchant_other", "pro_1", "pay_2", List.of("google_pay")).block();
+
+        // Then
+        assertThat(result.isErr()).isTrue();
+        assertThat(result.unwrapErr().getCode()).isEqualTo("PROFILE_NOT_FOUND");
+        assertThat(googlePayCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown wallets and more wallets than allowed")
+    void testRejectsUnknownAndTooManyWallets() {
+        // When
+        Result<WalletSessionTokenService.WalletSessions, PaymentError> unknown =
+            service.createSessions(MERCHANT, null, "pay_1", List.of("apple_pay", "made_up_pay")).block();
+        List<String> many = new ArrayList<>(List.of("apple_pay", "google_pay", "stripe", "paypal", "adyen", "klarna"));
+        Result<WalletSessionTokenService.WalletSessions, PaymentError> tooMany =
+            service.createSessions(MERCHANT, null, "pay_1", many).block();
+
+        // Then - nothing is asked and no meter is created for the client's wallet names
+        assertThat(unknown.unwrapErr().getMessage()).isEqualTo("Unknown wallet: made_up_pay");
+        assertThat(tooMany.unwrapErr().getCode()).isEqualTo("INVALID_REQUEST");
+        assertThat(meterRegistry.find("hyperswitch.payments.wallet_session.latency").timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should give connectors without a provider an opaque session token")
+    void testFallback() {
+        // When
+        WalletSessionTokenService.WalletSessions sessions = sessions(null, null, List.of("adyen"));
+
+        // Then
+        assertThat(sessions.tokens().get("adyen")).containsOnlyKeys("session_token");
+        assertThat(sessions.omitted()).isEmpty();
+    }
+
+    private WalletSessionTokenService.WalletSessions sessions(String profileId, String paymentId,
+                                                              Collection<String> wallets) {
+        return service.createSessions(MERCHANT, profileId, paymentId, wallets).block().unwrap();
+    }
+}
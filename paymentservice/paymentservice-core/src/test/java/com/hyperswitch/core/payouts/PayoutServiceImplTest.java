@@ -0,0 +1,136 @@
+package com.hyperswitch.core.payouts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.types.PayoutId;
+import com.hyperswitch.common.types.PayoutStatus;
+import com.hyperswitch.connectors.ConnectorService;
+import com.hyperswitch.core.payouts.impl.PayoutServiceImpl;
+import com.hyperswitch.routing.RoutingService;
+import com.hyperswitch.storage.entity.PayoutAttemptEntity;
+import com.hyperswitch.storage.entity.PayoutEntity;
+import com.hyperswitch.storage.repository.PayoutAttemptRepository;
+import com.hyperswitch.storage.repository.PayoutRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the payout routing feedback of PayoutServiceImpl
+ */
+@DisplayName("PayoutServiceImpl Routing Feedback Tests")
+class PayoutServiceImplTest {
+
+    private static final String MERCHANT = "merchant_payouts";
+    private static final String PAYOUT_ID = "payout_1";
+
+    private PayoutRepository payoutRepository;
+    private PayoutAttemptRepository payoutAttemptRepository;
+    private RoutingService routingService;
+    private PayoutServiceImpl payoutService;
+    private PayoutEntity payout;
+
+    @BeforeEach
+    void setUp() {
+        payoutRepository = mock(PayoutRepository.class);
+        payoutAttemptRepository = mock(PayoutAttemptRepository.class);
+        routingService = mock(RoutingService.class);
+        ConnectorService connectorService = mock(ConnectorService.class);
+        when(connectorService.getAvailableConnectors()).thenReturn(List.of("stripe", "adyen"));
+        payoutService = new PayoutServiceImpl(payoutRepository, new ObjectMapper(), connectorService);
+        payoutService.setRoutingService(routingService);
+        payoutService.setPayoutAttemptRepository(payoutAttemptRepository);
+
+        payout = new PayoutEntity();
+        payout.setPayoutId(PAYOUT_ID);
+        payout.setMerchantId(MERCHANT);
+        payout.setAmount(5_000L);
+        payout.setDestinationCurrency("EUR");
+        payout.setStatus(PayoutStatus.REQUIRES_CREATION.name());
+        payout.setAttemptCount(0);
+        when(payoutRepository.findByMerchantIdAndPayoutId(MERCHANT, PAYOUT_ID)).thenReturn(Mono.just(payout));
+        when(payoutRepository.save(any(PayoutEntity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Should write the routed attempt before the confirmed payout and keep going if it fails")
+    void testConfirmRecordsAttemptInPipeline() {
+        // Given
+        when(routingService.selectPayoutConnectors(eq(MERCHANT), any())).thenReturn(Mono.just(List.of(Connector.ADYEN)));
+        when(payoutAttemptRepository.save(any(PayoutAttemptEntity.class)))
+            .thenReturn(Mono.error(new IllegalStateException("database unavailable")));
+
+        // When
+        var result = payoutService.confirmPayout(MERCHANT, PayoutId.of(PAYOUT_ID), null).block();
+
+        // Then
+        assertThat(result.isRight()).isTrue();
+        assertThat(result.get().getAttemptCount()).isEqualTo(1);
+        InOrder order = inOrder(payoutAttemptRepository, payoutRepository);
+        order.verify(payoutAttemptRepository).save(any(PayoutAttemptEntity.class));
+        order.verify(payoutRepository).save(payout);
+    }
+
+    @Test
+    @DisplayName("Should count a cancelled pending payout as a failure of its connector")
+    void testCancelRecordsFailure() {
+        // Given
+        PayoutAttemptEntity attempt = pendingAttempt("adyen");
+        when(payoutAttemptRepository.findByPayoutIdAndMerchantIdAndStatus(PAYOUT_ID, MERCHANT, PayoutStatus.PENDING.name()))
+            .thenReturn(Flux.just(attempt));
+        when(payoutAttemptRepository.save(attempt)).thenReturn(Mono.just(attempt));
+
+        // When
+        payoutService.cancelPayout(MERCHANT, PayoutId.of(PAYOUT_ID)).block();
+
+        // Then
+        verify(routingService).recordPayoutOutcome(eq("adyen"), eq(false), anyLong());
+        assertThat(attempt.getStatus()).isEqualTo(PayoutStatus.FAILED.name());
+    }
+
+    @Test
+    @DisplayName("Should count a fulfilled payout as a success and settle each attempt once")
+    void testFulfillRecordsSuccessOnce() {
+        // Given - no attempt is pending any more after the first fulfillment
+        payout.setStatus(PayoutStatus.PENDING.name());
+        PayoutAttemptEntity attempt = pendingAttempt("stripe");
+        when(payoutAttemptRepository.findByPayoutIdAndMerchantIdAndStatus(PAYOUT_ID, MERCHANT, PayoutStatus.PENDING.name()))
+            .thenReturn(Flux.just(attempt), Flux.empty());
+        when(payoutAttemptRepository.save(attempt)).thenReturn(Mono.just(attempt));
+
+        // When
+        payoutService.fulfillPayout(MERCHANT, PayoutId.of(PAYOUT_ID)).block();
+        payoutService.cancelPayout(MERCHANT, PayoutId.of(PAYOUT_ID)).block();
+
+        // Then
+        verify(routingService).recordPayoutOutcome(eq("stripe"), eq(true), anyLong());
+        verify(routingService, never()).recordPayoutOutcome(any(), eq(false), anyLong());
+    }
+
+    private static PayoutAttemptEntity pendingAttempt(String connector) {
+        PayoutAttemptEntity attempt = new PayoutAttemptEntity();
+        attempt.setPayoutAttemptId(PAYOUT_ID + "_1");
+        attempt.setPayoutId(PAYOUT_ID);
+        attempt.setMerchantId(MERCHANT);
+        attempt.setConnector(connector);
+        attempt.setStatus(PayoutStatus.PENDING.name());
+        attempt.setCreatedAt(Instant.now().minusSeconds(5));
+        return attempt;
+    }
+}
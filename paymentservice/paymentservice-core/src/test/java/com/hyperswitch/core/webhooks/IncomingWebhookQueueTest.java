@@ -0,0 +1,352 @@
+package com.hyperswitch.core.webhooks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IncomingWebhookQueue
+ */
+@DisplayName("IncomingWebhookQueue Unit Tests")
+class IncomingWebhookQueueTest {
+
+    private static final int CONCURRENCY = 32;
+
+    private IncomingWebhookQueue queue;
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private ReactiveValueOperations<String, String> valueOperations;
+    private ReactiveStreamOperations<String, String, String> streamOperations;
+    private ReactiveHashOperations<String, String, String> hashOperations;
+    private SimpleMeterRegistry meterRegistry;
+    // Fields of the queue's state hash, updated the way the scripts do
+    private Map<String, String> state;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        streamOperations = mock(ReactiveStreamOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        when(streamOperations.acknowledge(anyString(), anyString(), any(RecordId.class))).thenReturn(Mono.just(1L));
+        when(streamOperations.delete(anyString(), any(RecordId.class))).thenReturn(Mono.just(1L));
+        state = new ConcurrentHashMap<>();
+        hashOperations = mock(ReactiveHashOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        when(hashOperations.putIfAbsent(eq("webhooks:incoming:state"), anyString(), anyString()))
+            .thenAnswer(invocation -> Mono.just(
+                state.putIfAbsent(invocation.getArgument(1), invocation.getArgument(2)) == null));
+        doAnswer(invocation -> {
+            List<String> args = invocation.getArgument(2);
+            String blocker = state.get("blocked:" + args.get(0));
+            if (blocker != null && !blocker.equals(args.get(1))) {
+                return Flux.just(-1L);
+            }
+            return Flux.just(Long.parseLong(state.merge("attempts:" + args.get(1), "1",
+                (current, one) -> String.valueOf(Long.parseLong(current) + 1))));
+        }).when(redisTemplate).execute(eq(IncomingWebhookQueue.BEGIN_SCRIPT), anyList(), anyList());
+        doAnswer(invocation -> {
+            List<String> args = invocation.getArgument(2);
+            state.remove("attempts:" + args.get(1));
+            state.remove("blocked:" + args.get(0), args.get(1));
+            return Flux.just(1L);
+        }).when(redisTemplate).execute(eq(IncomingWebhookQueue.SETTLE_SCRIPT), anyList(), anyList());
+
+        queue = new IncomingWebhookQueue(true, "webhooks:incoming", "webhook-workers", "worker-1",
+            86400, 256, CONCURRENCY, 60_000, 3, "webhooks:incoming:dead");
+        queue.setRedisTemplate(redisTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        queue.setMeterRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should queue an event once and drop redeliveries")
+    void testDedupe() {
+        // Given
+        Map<String, Boolean> seen = new ConcurrentHashMap<>();
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+            .thenAnswer(invocation -> Mono.just(seen.putIfAbsent(invocation.getArgument(0), true) == null));
+        when(streamOperations.add(anyString(), anyMap())).thenReturn(Mono.just(RecordId.of("1-0")));
+        IncomingWebhook webhook = new IncomingWebhook("stripe", "evt_1", "pi_1", "{\"id\":\"evt_1\"}");
+
+        // When
+        IncomingWebhookQueue.Outcome first = queue.ingest(webhook).block(Duration.ofSeconds(5));
+        IncomingWebhookQueue.Outcome second = queue.ingest(webhook).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(first).isEqualTo(IncomingWebhookQueue.Outcome.ACCEPTED);
+        assertThat(second).isEqualTo(IncomingWebhookQueue.Outcome.DUPLICATE);
+        verify(streamOperations).add(anyString(), anyMap());
+        assertThat(meterRegistry.counter("hyperswitch.webhooks.ingest",
+            "connector", "stripe", "outcome", "duplicate").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should release the dedupe key when the event cannot be queued")
+    void testAppendFailure() {
+        // Given
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(streamOperations.add(anyString(), anyMap())).thenReturn(Mono.error(new IllegalStateException("READONLY")));
+        when(redisTemplate.delete(anyString())).thenReturn(Mono.just(1L));
+
+        // When
+        Throwable error = queue.ingest(new IncomingWebhook("adyen", "evt_2", "pi_2", "{}"))
+            .then(Mono.<Throwable>empty())
+            .onErrorResume(Mono::just)
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(error).hasMessage("READONLY");
+        verify(redisTemplate).delete("webhooks:dedupe:adyen:evt_2");
+    }
+
+    @Test
+    @DisplayName("Should process a webhook storm in payment order with bounded concurrency")
+    void testStorm() {
+        // Given
+        int payments = 100;
+        int eventsPerPayment = 10;
+        List<MapRecord<String, String, String>> records = new ArrayList<>();
+        for (int sequence = 0; sequence < eventsPerPayment; sequence++) {
+            for (int payment = 0; payment < payments; payment++) {
+                IncomingWebhook webhook = new IncomingWebhook("stripe", "evt_" + payment + "_" + sequence,
+                    "pi_" + payment, String.valueOf(sequence));
+                records.add(StreamRecords.newRecord()
+                    .in("webhooks:incoming")
+                    .withId(RecordId.of(records.size() + 1L, 0))
+                    .ofMap(IncomingWebhookQueue.toFields(webhook)));
+            }
+        }
+        Map<String, Integer> lastSequence = new ConcurrentHashMap<>();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        queue.setProcessor(webhook -> Mono.defer(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            int sequence = Integer.parseInt(webhook.payload());
+            Integer previous = lastSequence.put(webhook.paymentId(), sequence);
+            if (previous != null && previous != sequence - 1) {
+                outOfOrder.incrementAndGet();
+            }
+            return Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(2)))
+                .doFinally(signal -> running.decrementAndGet())
+                .then();
+        }));
+
+        // When
+        Long processed = queue.dispatch(Flux.fromIterable(records)).count().block(Duration.ofSeconds(30));
+
+        // Then
+        assertThat(processed).isEqualTo((long) records.size());
+        assertThat(outOfOrder.get()).isZero();
+        assertThat(lastSequence).hasSize(payments).allSatisfy((payment, sequence) ->
+            assertThat(sequence).isEqualTo(eventsPerPayment - 1));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(CONCURRENCY);
+        verify(streamOperations, never()).add(anyString(), anyMap());
+        assertThat(state).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave failed events pending and acknowledge only processed ones")
+    void testFailureLeavesPending() {
+        // Given
+        queue.setProcessor(webhook -> "evt_bad".equals(webhook.eventId())
+            ? Mono.error(new IllegalStateException("payment locked"))
+            : Mono.empty());
+
+        // When
+        List<RecordId> processed = queue.dispatch(Flux.just(
+                record("1-0", new IncomingWebhook("stripe", "evt_ok", "pi_1", "{}")),
+                record("2-0", new IncomingWebhook("stripe", "evt_bad", "pi_2", "{}"))))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(processed).containsExactly(RecordId.of("1-0"));
+        verify(streamOperations).acknowledge("webhooks:incoming", "webhook-workers", RecordId.of("1-0"));
+        verify(streamOperations, never()).acknowledge("webhooks:incoming", "webhook-workers", RecordId.of("2-0"));
+        verify(streamOperations, never()).delete("webhooks:incoming", RecordId.of("2-0"));
+        verify(redisTemplate, never()).delete(anyString());
+        assertThat(meterRegistry.counter("hyperswitch.webhooks.ingest",
+            "connector", "stripe", "outcome", "failed").count()).isEqualTo(1.0);
+        assertThat(state).containsEntry("blocked:pi_2", "2-0").containsEntry("attempts:2-0", "1");
+    }
+
+    @Test
+    @DisplayName("Should hold later events of a payment behind its failed event until it settles")
+    void testFailureBlocksPayment() {
+        // Given - the first event of pi_1 fails once
+        AtomicInteger failures = new AtomicInteger(1);
+        List<String> processed = new ArrayList<>();
+        queue.setProcessor(webhook -> "evt_1".equals(webhook.eventId()) && failures.getAndDecrement() > 0
+            ? Mono.error(new IllegalStateException("payment locked"))
+            : Mono.fromRunnable(() -> processed.add(webhook.eventId())));
+        MapRecord<String, String, String> first = record("1-0", new IncomingWebhook("stripe", "evt_1", "pi_1", "{}"));
+        MapRecord<String, String, String> second = record("2-0", new IncomingWebhook("stripe", "evt_2", "pi_1", "{}"));
+        MapRecord<String, String, String> other = record("3-0", new IncomingWebhook("stripe", "evt_3", "pi_3", "{}"));
+
+        // When - the failed event blocks its payment only
+        List<RecordId> firstPass = queue.dispatch(Flux.just(first, second, other))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(firstPass).containsExactly(RecordId.of("3-0"));
+        assertThat(processed).containsExactly("evt_3");
+        verify(streamOperations, never()).acknowledge("webhooks:incoming", "webhook-workers", RecordId.of("2-0"));
+        assertThat(state).containsEntry("blocked:pi_1", "1-0").doesNotContainKey("attempts:2-0");
+        assertThat(meterRegistry.counter("hyperswitch.webhooks.ingest",
+            "connector", "stripe", "outcome", "deferred").count()).isEqualTo(1.0);
+
+        // When - a later delivery of the blocked event alone still waits, whichever node gets it
+        List<RecordId> early = queue.dispatch(Flux.just(second)).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(early).isEmpty();
+
+        // When - both are reclaimed, in stream order
+        List<RecordId> retried = queue.dispatch(Flux.just(first, second))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(retried).containsExactly(RecordId.of("1-0"), RecordId.of("2-0"));
+        assertThat(processed).containsExactly("evt_3", "evt_1", "evt_2");
+        assertThat(state).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should create the stream together with the consumer group")
+    @SuppressWarnings("unchecked")
+    void testEnsureGroupCreatesStream() {
+        // Given
+        ReactiveRedisConnection connection = mock(ReactiveRedisConnection.class);
+        ReactiveStreamCommands streamCommands = mock(ReactiveStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        when(streamCommands.xGroupCreate(any(ByteBuffer.class), anyString(), any(ReadOffset.class), anyBoolean()))
+            .thenReturn(Mono.just("OK"));
+        when(redisTemplate.getSerializationContext()).thenReturn(RedisSerializationContext.string());
+        when(redisTemplate.execute(any(ReactiveRedisCallback.class))).thenAnswer(invocation ->
+            Flux.from(invocation.<ReactiveRedisCallback<String>>getArgument(0).doInRedis(connection)));
+
+        // When
+        queue.ensureGroup().block(Duration.ofSeconds(5));
+        queue.ensureGroup().block(Duration.ofSeconds(5));
+
+        // Then - MKSTREAM, so polling an empty queue does not fail until the first event arrives
+        verify(streamCommands, times(1)).xGroupCreate(
+            ByteBuffer.wrap("webhooks:incoming".getBytes(StandardCharsets.UTF_8)),
+            "webhook-workers", ReadOffset.from("0"), true);
+    }
+
+    @Test
+    @DisplayName("Should retry idle pending events and dead-letter those out of attempts")
+    void testReclaim() {
+        // Given - one event idle after a lost worker, one failing its last attempt, one still being worked on
+        PendingMessages pending = new PendingMessages("webhook-workers", List.of(
+            new PendingMessage(RecordId.of("1-0"), Consumer.from("webhook-workers", "worker-gone"),
+                Duration.ofMinutes(2), 1),
+            new PendingMessage(RecordId.of("2-0"), Consumer.from("webhook-workers", "worker-gone"),
+                Duration.ofMinutes(2), 3),
+            new PendingMessage(RecordId.of("3-0"), Consumer.from("webhook-workers", "worker-2"),
+                Duration.ofSeconds(5), 1)));
+        when(streamOperations.pending(eq("webhooks:incoming"), eq("webhook-workers"), any(Range.class), eq(256L)))
+            .thenReturn(Mono.just(pending));
+        when(streamOperations.claim(eq("webhooks:incoming"), eq("webhook-workers"), eq("worker-1"),
+                eq(Duration.ofMinutes(1)), any(RecordId[].class)))
+            .thenReturn(Flux.just(
+                record("1-0", new IncomingWebhook("stripe", "evt_retry", "pi_1", "{}")),
+                record("2-0", new IncomingWebhook("adyen", "evt_dead", "pi_2", "{}"))));
+        when(streamOperations.add(anyString(), anyMap())).thenReturn(Mono.just(RecordId.of("9-0")));
+        when(redisTemplate.delete(anyString())).thenReturn(Mono.just(1L));
+        state.put("attempts:2-0", "2");
+        state.put("blocked:pi_2", "2-0");
+        List<String> processed = new ArrayList<>();
+        queue.setProcessor(webhook -> "evt_dead".equals(webhook.eventId())
+            ? Mono.error(new IllegalStateException("unknown payment"))
+            : Mono.fromRunnable(() -> processed.add(webhook.eventId())));
+
+        // When
+        Long reprocessed = queue.reclaimBatch().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(reprocessed).isEqualTo(1L);
+        assertThat(processed).containsExactly("evt_retry");
+        ArgumentCaptor<RecordId[]> claimed = ArgumentCaptor.forClass(RecordId[].class);
+        verify(streamOperations).claim(eq("webhooks:incoming"), eq("webhook-workers"), eq("worker-1"),
+            eq(Duration.ofMinutes(1)), claimed.capture());
+        assertThat(claimed.getValue()).containsExactlyInAnyOrder(RecordId.of("1-0"), RecordId.of("2-0"));
+        verify(streamOperations).add(eq("webhooks:incoming:dead"), anyMap());
+        verify(streamOperations).acknowledge("webhooks:incoming", "webhook-workers", RecordId.of("2-0"));
+        verify(redisTemplate).delete("webhooks:dedupe:adyen:evt_dead");
+        assertThat(meterRegistry.counter("hyperswitch.webhooks.ingest",
+            "connector", "adyen", "outcome", "dead_lettered").count()).isEqualTo(1.0);
+        assertThat(state).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should take the event ID from the body or a digest of it")
+    void testEventId() {
+        // When / Then
+        assertThat(IncomingWebhookQueue.eventId(
+            "{\"data\":{\"object\":{\"id\":\"pi_1\"}},\"id\":\"evt_1\",\"type\":\"payment_intent.succeeded\"}"))
+            .isEqualTo("evt_1");
+        assertThat(IncomingWebhookQueue.eventId("{\"event_id\":\"wh_9\"}")).isEqualTo("wh_9");
+        assertThat(IncomingWebhookQueue.eventId("notification=1"))
+            .startsWith("sha256:")
+            .isEqualTo(IncomingWebhookQueue.eventId("notification=1"));
+    }
+
+    private static MapRecord<String, String, String> record(String id, IncomingWebhook webhook) {
+        return StreamRecords.newRecord()
+            .in("webhooks:incoming")
+            .withId(RecordId.of(id))
+            .ofMap(IncomingWebhookQueue.toFields(webhook));
+    }
+}
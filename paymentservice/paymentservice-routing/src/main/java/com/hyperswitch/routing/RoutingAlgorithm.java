@@ -27,6 +27,16 @@ public enum RoutingAlgorithm {
     /**
      * Contract-based routing
      */
-    CONTRACT_BASED
+    CONTRACT_BASED,
+    
+    /**
+     * Thompson-sampling bandit over per-connector success posteriors
+     */
+    BANDIT,
+    
+    /**
+     * Latency-aware routing over EWMA latency and success with power-of-two-choices
+     */
+    LATENCY_BASED
 }
 
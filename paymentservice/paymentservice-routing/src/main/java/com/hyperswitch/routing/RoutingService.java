@@ -5,6 +5,7 @@ import com.hyperswitch.common.dto.CreatePaymentRequest;
 import com.hyperswitch.common.dto.*;
 import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
+import com.hyperswitch.routing.payout.PayoutRoutingInput;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -167,6 +168,18 @@ public interface RoutingService {
         RoutingEvaluationRequest request
     );
     
+    /**
+     * Record the outcome and latency of a connector call for adaptive routing
+     */
+    void recordConnectorOutcome(
+        String merchantId,
+        String connectorName,
+        String paymentMethod,
+        String currency,
+        boolean success,
+        long latencyMillis
+    );
+    
     /**
      * Update gateway score (feedback)
      */
@@ -241,6 +254,16 @@ public interface RoutingService {
      */
     Mono<Result<Flux<PayoutRoutingResponse>, PaymentError>> getDefaultPayoutRoutingForProfiles(String merchantId);
     
+    /**
+     * Select ordered connectors for a payout
+     */
+    Mono<List<Connector>> selectPayoutConnectors(String merchantId, PayoutRoutingInput input);
+    
+    /**
+     * Record the outcome and end-to-end latency of a payout on a connector
+     */
+    void recordPayoutOutcome(String connector, boolean success, long latencyMillis);
+
     /**
      * Create routing algorithm (v2 API)
      */
@@ -306,6 +329,7 @@ public interface RoutingService {
     
     /**
      * Update contract-based routing config
+     * A "fees" list in the config replaces the merchant's connector fee schedule.
      */
     Mono<Result<DynamicRoutingResponse, PaymentError>> updateContractBasedRoutingConfig(
         String accountId,
@@ -314,6 +338,17 @@ public interface RoutingService {
         DynamicRoutingRequest request
     );
     
+    /**
+     * Report the processing cost of past routing decisions against the least-cost eligible connector
+     * Decisions and routing configs are limited to the profile when one is given.
+     */
+    Mono<Result<ContractCostSavingsResponse, PaymentError>> getContractCostSavings(
+        String merchantId,
+        String profileId,
+        java.time.Instant from,
+        java.time.Instant to
+    );
+    
     /**
      * Set volume split
      */
@@ -0,0 +1,184 @@
+package com.hyperswitch.routing.bandit;
+
+import com.hyperswitch.common.enums.Connector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * Thompson-sampling bandit for connector selection
+ * Keeps a time-decayed Beta posterior of the success probability per
+ * (merchant, connector, payment method, currency) and orders candidate connectors
+ * by a sample drawn from each posterior, so traffic keeps exploring and adapts to shifts.
+ */
+@Component
+public class ThompsonSamplingRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThompsonSamplingRouter.class);
+    private static final int CONNECTOR_COUNT = Connector.values().length;
+
+    private final double priorAlpha;
+    private final double priorBeta;
+    private final double halfLifeMillis;
+    private final int maxKeys;
+
+    // merchant|payment method|currency -> posterior per connector ordinal
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Posterior>> posteriors = new ConcurrentHashMap<>();
+
+    public ThompsonSamplingRouter(
+            @Value("${hyperswitch.routing.bandit.prior-alpha:1.0}") double priorAlpha,
+            @Value("${hyperswitch.routing.bandit.prior-beta:1.0}") double priorBeta,
+            @Value("${hyperswitch.routing.bandit.half-life-minutes:60}") long halfLifeMinutes,
+            @Value("${hyperswitch.routing.bandit.max-keys:100000}") int maxKeys) {
+        this.priorAlpha = priorAlpha;
+        this.priorBeta = priorBeta;
+        this.halfLifeMillis = halfLifeMinutes * 60_000.0;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Order candidate connectors by a Thompson sample of their success probability
+     */
+    public List<Connector> rank(String merchantId, String paymentMethod, String currency, List<Connector> candidates) {
+        return rank(merchantId, paymentMethod, currency, candidates, System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    List<Connector> rank(String merchantId, String paymentMethod, String currency, List<Connector> candidates,
+                         long now, RandomGenerator random) {
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+        AtomicReferenceArray<Posterior> state = posteriors.get(key(merchantId, paymentMethod, currency));
+
+        List<SampledConnector> sampled = new ArrayList<>(candidates.size());
+        for (Connector connector : candidates) {
+            Posterior posterior = state != null ? state.get(connector.ordinal()) : null;
+            double alpha = priorAlpha;
+            double beta = priorBeta;
+            if (posterior != null) {
+                double decay = decay(posterior.updatedAt, now);
+                alpha = priorAlpha + (posterior.alpha - priorAlpha) * decay;
+                beta = priorBeta + (posterior.beta - priorBeta) * decay;
+            }
+            sampled.add(new SampledConnector(connector, sampleBeta(alpha, beta, random)));
+        }
+        sampled.sort(Comparator.comparingDouble(SampledConnector::theta).reversed());
+
+        List<Connector> ranked = new ArrayList<>(sampled.size());
+        for (SampledConnector s : sampled) {
+            ranked.add(s.connector);
+        }
+        return ranked;
+    }
+
+    /**
+     * Record an attempt outcome. The posterior is updated off the caller's thread.
+     */
+    public void recordOutcome(String merchantId, String connectorName, String paymentMethod,
+                              String currency, boolean success) {
+        if (connectorName == null) {
+            return;
+        }
+        Connector connector;
+        try {
+            connector = Connector.valueOf(connectorName.toUpperCase());
+        } catch (IllegalArgumentException _) {
+            return;
+        }
+        Mono.fromRunnable(() -> update(merchantId, connector, paymentMethod, currency, success, System.currentTimeMillis()))
+            .subscribeOn(Schedulers.parallel())
+            .subscribe(null, error -> log.warn("Failed to update bandit posterior for connector {}", connectorName, error));
+    }
+
+    void update(String merchantId, Connector connector, String paymentMethod, String currency,
+                boolean success, long now) {
+        String key = key(merchantId, paymentMethod, currency);
+        AtomicReferenceArray<Posterior> state = posteriors.get(key);
+        if (state == null) {
+            if (posteriors.size() >= maxKeys) {
+                log.debug("Bandit posterior table full, ignoring outcome for {}", key);
+                return;
+            }
+            state = posteriors.computeIfAbsent(key, k -> new AtomicReferenceArray<>(CONNECTOR_COUNT));
+        }
+
+        int index = connector.ordinal();
+        while (true) {
+            Posterior current = state.get(index);
+            double alpha = priorAlpha;
+            double beta = priorBeta;
+            if (current != null) {
+                double decay = decay(current.updatedAt, now);
+                alpha = priorAlpha + (current.alpha - priorAlpha) * decay;
+                beta = priorBeta + (current.beta - priorBeta) * decay;
+            }
+            Posterior next = success
+                ? new Posterior(alpha + 1.0, beta, now)
+                : new Posterior(alpha, beta + 1.0, now);
+            if (state.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private double decay(long updatedAt, long now) {
+        long elapsed = now - updatedAt;
+        return elapsed <= 0 ? 1.0 : Math.pow(0.5, elapsed / halfLifeMillis);
+    }
+
+    private static String key(String merchantId, String paymentMethod, String currency) {
+        return merchantId + "|" + (paymentMethod != null ? paymentMethod : "unknown")
+            + "|" + (currency != null ? currency : "unknown");
+    }
+
+    /**
+     * Sample Beta(alpha, beta) as X / (X + Y) with X ~ Gamma(alpha), Y ~ Gamma(beta)
+     */
+    static double sampleBeta(double alpha, double beta, RandomGenerator random) {
+        double x = sampleGamma(alpha, random);
+        double y = sampleGamma(beta, random);
+        return x / (x + y);
+    }
+
+    /**
+     * Marsaglia-Tsang gamma sampler with unit scale
+     */
+    static double sampleGamma(double shape, RandomGenerator random) {
+        if (shape < 1.0) {
+            // Boost: Gamma(a) = Gamma(a + 1) * U^(1/a)
+            return sampleGamma(shape + 1.0, random) * Math.pow(random.nextDouble(), 1.0 / shape);
+        }
+        double d = shape - 1.0 / 3.0;
+        double c = 1.0 / Math.sqrt(9.0 * d);
+        while (true) {
+            double x = random.nextGaussian();
+            double v = 1.0 + c * x;
+            if (v <= 0.0) {
+                continue;
+            }
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (u < 1.0 - 0.0331 * x * x * x * x
+                || Math.log(u) < 0.5 * x * x + d * (1.0 - v + Math.log(v))) {
+                return d * v;
+            }
+        }
+    }
+
+    private record Posterior(double alpha, double beta, long updatedAt) {
+    }
+
+    private record SampledConnector(Connector connector, double theta) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.hyperswitch.routing.cache;
+
+import com.hyperswitch.common.dto.CreatePaymentRequest;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.storage.entity.RoutingConfigEntity;
+import com.hyperswitch.storage.repository.RoutingConfigRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of routing decisions keyed by a normalized request fingerprint
+ * Payments with the same (merchant, profile, amount bucket, currency, payment method)
+ * shape reuse the connector list computed for the first one. Amount buckets are derived
+ * from the merchant's configured amount ranges, so two amounts share a bucket only if
+ * they match exactly the same routing configs.
+ */
+@Component
+public class RoutingDecisionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingDecisionCache.class);
+
+    private final RoutingConfigRepository routingConfigRepository;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long boundariesTtlMillis;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<RoutingFingerprint, CachedDecision> decisions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AmountBoundaries> boundaries = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    public RoutingDecisionCache(
+            RoutingConfigRepository routingConfigRepository,
+            @Value("${hyperswitch.routing.decision-cache.enabled:true}") boolean enabled,
+            @Value("${hyperswitch.routing.decision-cache.ttl-ms:2000}") long ttlMillis,
+            @Value("${hyperswitch.routing.decision-cache.boundaries-ttl-ms:30000}") long boundariesTtlMillis,
+            @Value("${hyperswitch.routing.decision-cache.max-entries:10000}") int maxEntries) {
+        this.routingConfigRepository = routingConfigRepository;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.boundariesTtlMillis = boundariesTtlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        this.hitCounter = Counter.builder("hyperswitch.routing.decision_cache.requests")
+            .description("Routing decision cache lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("hyperswitch.routing.decision_cache.requests")
+            .description("Routing decision cache lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached decision for the request shape or compute and cache it.
+     * Entries computed under a different connector health version are treated as stale.
+     */
+    public List<Connector> getOrCompute(CreatePaymentRequest request, String merchantId, RoutingAlgorithm algorithm,
+                                        long healthVersion, Supplier<List<Connector>> compute) {
+        return getOrCompute(request, merchantId, algorithm, healthVersion, compute, System.currentTimeMillis());
+    }
+
+    List<Connector> getOrCompute(CreatePaymentRequest request, String merchantId, RoutingAlgorithm algorithm,
+                                 long healthVersion, Supplier<List<Connector>> compute, long now) {
+        if (!enabled || !isCacheable(algorithm)) {
+            return compute.get();
+        }
+
+        RoutingFingerprint fingerprint = fingerprint(request, merchantId, algorithm, now);
+        CachedDecision cached = decisions.get(fingerprint);
+        if (cached != null && cached.expiresAt > now && cached.healthVersion == healthVersion) {
+            if (hitCounter != null) {
+                hitCounter.increment();
+            }
+            return cached.connectors;
+        }
+
+        if (missCounter != null) {
+            missCounter.increment();
+        }
+        List<Connector> connectors = List.copyOf(compute.get());
+        if (decisions.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        if (decisions.size() < maxEntries) {
+            decisions.put(fingerprint, new CachedDecision(connectors, now + ttlMillis, healthVersion));
+        }
+        return connectors;
+    }
+
+    /**
+     * Drop all cached decisions for a merchant after its routing configuration changed
+     */
+    public void invalidateMerchant(String merchantId) {
+        if (merchantId == null) {
+            return;
+        }
+        boundaries.remove(merchantId);
+        decisions.keySet().removeIf(key -> merchantId.equals(key.merchantId()));
+        log.debug("Invalidated routing decision cache for merchant: {}", merchantId);
+    }
+
+    /**
+     * Drop all cached decisions
+     */
+    public void invalidateAll() {
+        boundaries.clear();
+        decisions.clear();
+    }
+
+    private static boolean isCacheable(RoutingAlgorithm algorithm) {
+        // Volume split, bandit and latency decisions are randomized per payment and must not be reused.
+        // Least-cost order depends on the exact amount, since percentage and fixed fees cross over
+        // within an amount bucket.
+        return algorithm != RoutingAlgorithm.VOLUME_BASED
+            && algorithm != RoutingAlgorithm.BANDIT
+            && algorithm != RoutingAlgorithm.LATENCY_BASED
+            && algorithm != RoutingAlgorithm.CONTRACT_BASED;
+    }
+
+    private RoutingFingerprint fingerprint(CreatePaymentRequest request, String merchantId,
+                                           RoutingAlgorithm algorithm, long now) {
+        String profileId = request.getMetadata() != null
+            ? (String) request.getMetadata().getOrDefault("profile_id", null)
+            : null;
+        String paymentMethod = request.getPaymentMethod() != null ? request.getPaymentMethod().name() : null;
+        return new RoutingFingerprint(
+            merchantId,
+            profileId,
+            algorithm,
+            amountBoundaries(merchantId, now).bucketOf(request.getAmount().getValue()),
+            request.getAmount().getCurrencyCode(),
+            paymentMethod);
+    }
+
+    private AmountBoundaries amountBoundaries(String merchantId, long now) {
+        AmountBoundaries current = boundaries.get(merchantId);
+        if (current != null && current.expiresAt > now) {
+            return current;
+        }
+        List<RoutingConfigEntity> configs = routingConfigRepository
+            .findByMerchantIdAndEnabledTrue(merchantId)
+            .collectList()
+            .blockOptional()
+            .orElse(List.of());
+        AmountBoundaries loaded = AmountBoundaries.of(configs, now + boundariesTtlMillis);
+        boundaries.put(merchantId, loaded);
+        return loaded;
+    }
+
+    private void evictExpired(long now) {
+        decisions.values().removeIf(entry -> entry.expiresAt <= now);
+        if (decisions.size() >= maxEntries) {
+            log.debug("Routing decision cache full with live entries, clearing");
+            decisions.clear();
+        }
+    }
+
+    private record RoutingFingerprint(
+        String merchantId,
+        String profileId,
+        RoutingAlgorithm algorithm,
+        long amountBucket,
+        String currency,
+        String paymentMethod
+    ) {
+    }
+
+    private record CachedDecision(List<Connector> connectors, long expiresAt, long healthVersion) {
+    }
+
+    /**
+     * Sorted min and max amounts of a merchant's routing configs
+     */
+    private record AmountBoundaries(long[] minAmounts, long[] maxAmounts, long expiresAt) {
+
+        static AmountBoundaries of(List<RoutingConfigEntity> configs, long expiresAt) {
+            long[] mins = configs.stream()
+                .filter(c -> c.getMinAmount() != null)
+                .mapToLong(RoutingConfigEntity::getMinAmount)
+                .distinct()
+                .sorted()
+                .toArray();
+            long[] maxs = configs.stream()
+                .filter(c -> c.getMaxAmount() != null)
+                .mapToLong(RoutingConfigEntity::getMaxAmount)
+                .distinct()
+                .sorted()
+                .toArray();
+            return new AmountBoundaries(mins, maxs, expiresAt);
+        }
+
+        /**
+         * Amounts with the same number of satisfied min bounds and violated max bounds
+         * match the same set of configs
+         */
+        long bucketOf(BigDecimal amount) {
+            int minsSatisfied = 0;
+            while (minsSatisfied < minAmounts.length
+                && amount.compareTo(BigDecimal.valueOf(minAmounts[minsSatisfied])) >= 0) {
+                minsSatisfied++;
+            }
+            int maxsExceeded = 0;
+            while (maxsExceeded < maxAmounts.length
+                && amount.compareTo(BigDecimal.valueOf(maxAmounts[maxsExceeded])) > 0) {
+                maxsExceeded++;
+            }
+            return (long) minsSatisfied * (maxAmounts.length + 1) + maxsExceeded;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.hyperswitch.routing.contract;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.storage.entity.ConnectorFeeScheduleEntity;
+import com.hyperswitch.storage.entity.ConnectorSuccessRateEntity;
+import com.hyperswitch.storage.repository.ConnectorFeeScheduleRepository;
+import com.hyperswitch.storage.repository.ConnectorSuccessRateRepository;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory lookup of merchant connector fee schedules for contract-based routing
+ * Fee schedules, month-to-date volumes and success rates are loaded from Postgres into
+ * per-merchant snapshots, so expected cost lookups on the routing path touch no I/O.
+ * Snapshots are refreshed in the background once they are older than the refresh interval.
+ * Fee schedule changes are published to Redis, so every node drops the merchant's snapshot
+ * within the invalidation sync interval rather than waiting for the refresh.
+ */
+@Component
+public class ConnectorFeeTable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorFeeTable.class);
+    private static final Connector[] CONNECTORS = Connector.values();
+    private static final int CONNECTOR_COUNT = CONNECTORS.length;
+    private static final String INVALIDATION_KEY = "routing:contract:fee_versions";
+
+    private final ConnectorFeeScheduleRepository feeScheduleRepository;
+    private final ConnectorSuccessRateRepository successRateRepository;
+    private final RoutingDecisionLogRepository decisionLogRepository;
+    private final double successRateFloor;
+    private final long refreshMillis;
+
+    private final ConcurrentHashMap<String, MerchantFees> snapshots = new ConcurrentHashMap<>();
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    public ConnectorFeeTable(
+            ConnectorFeeScheduleRepository feeScheduleRepository,
+            ConnectorSuccessRateRepository successRateRepository,
+            RoutingDecisionLogRepository decisionLogRepository,
+            @Value("${hyperswitch.routing.contract.success-rate-floor:0.85}") double successRateFloor,
+            @Value("${hyperswitch.routing.contract.refresh-seconds:300}") long refreshSeconds) {
+        this.feeScheduleRepository = feeScheduleRepository;
+        this.successRateRepository = successRateRepository;
+        this.decisionLogRepository = decisionLogRepository;
+        this.successRateFloor = successRateFloor;
+        this.refreshMillis = refreshSeconds * 1000L;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - fee schedule changes will only reach other nodes on refresh");
+        }
+    }
+
+    /**
+     * Order candidates for least-cost routing: the cheapest connectors meeting the
+     * success-rate floor first, then connectors below the floor, then connectors
+     * without a fee schedule, each group by ascending expected cost
+     */
+    public List<Connector> rank(String merchantId, List<Connector> candidates, long amount,
+                                FeeContext context) {
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+        MerchantFees fees = snapshot(merchantId);
+        List<RankedConnector> ranked = new ArrayList<>(candidates.size());
+        for (Connector connector : candidates) {
+            double cost = fees.expectedCost(connector, amount, context);
+            int group;
+            if (Double.isNaN(cost)) {
+                group = 2;
+            } else if (fees.meetsFloor(connector, context, successRateFloor)) {
+                group = 0;
+            } else {
+                group = 1;
+            }
+            ranked.add(new RankedConnector(connector, group, Double.isNaN(cost) ? Double.MAX_VALUE : cost));
+        }
+        ranked.sort(Comparator.comparingInt(RankedConnector::group).thenComparingDouble(RankedConnector::cost));
+
+        List<Connector> result = new ArrayList<>(ranked.size());
+        for (RankedConnector r : ranked) {
+            result.add(r.connector());
+        }
+        return result;
+    }
+
+    /**
+     * Expected processing cost in minor units, or NaN if the connector has no matching fee schedule
+     */
+    public double expectedCost(String merchantId, Connector connector, long amount, FeeContext context) {
+        return snapshot(merchantId).expectedCost(connector, amount, context);
+    }
+
+    /**
+     * Whether a connector's known success rate meets the configured floor
+     */
+    public boolean meetsFloor(String merchantId, Connector connector, FeeContext context) {
+        return snapshot(merchantId).meetsFloor(connector, context, successRateFloor);
+    }
+
+    /**
+     * Drop the cached snapshot for a merchant after its fee schedule changed, on every node
+     */
+    public void invalidate(String merchantId) {
+        long changedAt = System.currentTimeMillis();
+        snapshots.remove(merchantId);
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(INVALIDATION_KEY, merchantId, String.valueOf(changedAt))
+                .subscribe(null, error -> log.warn("Failed to publish fee schedule change for {} to Redis", merchantId, error));
+        }
+    }
+
+    /**
+     * Pick up fee schedule changes made on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.routing.contract.invalidation-sync-ms:5000}")
+    public void syncInvalidations() {
+        if (redisTemplate == null || snapshots.isEmpty()) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(INVALIDATION_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applyInvalidations,
+                error -> log.debug("Failed to read fee schedule changes from Redis", error));
+    }
+
+    void applyInvalidations(Map<String, String> changedAt) {
+        changedAt.forEach((merchantId, value) -> {
+            MerchantFees current = snapshots.get(merchantId);
+            try {
+                if (current != null && current.loadedAt <= Long.parseLong(value)) {
+                    snapshots.remove(merchantId, current);
+                }
+            } catch (NumberFormatException _) {
+                log.warn("Ignoring invalid fee schedule change time for {}: {}", merchantId, value);
+            }
+        });
+    }
+
+    private MerchantFees snapshot(String merchantId) {
+        long now = System.currentTimeMillis();
+        MerchantFees current = snapshots.get(merchantId);
+        if (current == null) {
+            MerchantFees loaded = load(merchantId, now)
+                .onErrorResume(error -> {
+                    log.warn("Failed to load fee schedule for merchant {}", merchantId, error);
+                    return Mono.empty();
+                })
+                .blockOptional()
+                .orElseGet(() -> MerchantFees.empty(now));
+            snapshots.put(merchantId, loaded);
+            return loaded;
+        }
+        if (now - current.loadedAt > refreshMillis && current.refreshing.compareAndSet(false, true)) {
+            load(merchantId, now)
+                .subscribe(
+                    loaded -> snapshots.put(merchantId, loaded),
+                    error -> {
+                        current.refreshing.set(false);
+                        log.warn("Failed to refresh fee schedule for merchant {}", merchantId, error);
+                    });
+        }
+        return current;
+    }
+
+    private Mono<MerchantFees> load(String merchantId, long now) {
+        Instant monthStart = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        Mono<List<ConnectorFeeScheduleEntity>> schedules = feeScheduleRepository
+            .findByMerchantIdAndEnabledTrue(merchantId)
+            .collectList();
+        Mono<List<ConnectorSuccessRateEntity>> rates = successRateRepository
+            .findByMerchantId(merchantId)
+            .collectList();
+
+        return Mono.zip(schedules, rates)
+            .flatMap(tuple -> Flux.fromIterable(tuple.getT1())
+                .map(schedule -> schedule.getConnector().toUpperCase())
+                .distinct()
+                .flatMap(connector -> decisionLogRepository
+                    .sumSuccessfulAmountSince(merchantId, connector, monthStart)
+                    .defaultIfEmpty(0L)
+                    .map(volume -> Map.entry(connector, volume)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(volumes -> MerchantFees.build(tuple.getT1(), tuple.getT2(), volumes, now)))
+            .doOnNext(fees -> log.debug("Loaded fee schedule for merchant {}", merchantId));
+    }
+
+    /**
+     * Attributes of a payment that select a fee schedule entry
+     *
+     * @param cardNetwork card network, or null if unknown
+     * @param region issuing region, or null if unknown
+     * @param paymentMethod payment method, or null if unknown
+     * @param currency payment currency, used for success-rate lookups
+     */
+    public record FeeContext(String cardNetwork, String region, String paymentMethod, String currency) {
+    }
+
+    private record RankedConnector(Connector connector, int group, double cost) {
+    }
+
+    /**
+     * A fee rule compiled for matching; null fields match any value
+     */
+    private record FeeRule(String cardNetwork, String region, String paymentMethod,
+                           double percentage, long fixed, int specificity) {
+
+        boolean matches(FeeContext context) {
+            return (cardNetwork == null || cardNetwork.equalsIgnoreCase(context.cardNetwork()))
+                && (region == null || region.equalsIgnoreCase(context.region()))
+                && (paymentMethod == null || paymentMethod.equalsIgnoreCase(context.paymentMethod()));
+        }
+    }
+
+    /**
+     * Immutable per-merchant snapshot
+     */
+    private static final class MerchantFees {
+        // Active fee rules per connector ordinal, most specific first
+        private final FeeRule[][] rules;
+        // connector|payment method|currency and connector -> success rate
+        private final Map<String, Double> successRates;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private MerchantFees(FeeRule[][] rules, Map<String, Double> successRates, long loadedAt) {
+            this.rules = rules;
+            this.successRates = successRates;
+            this.loadedAt = loadedAt;
+        }
+
+        static MerchantFees empty(long loadedAt) {
+            return new MerchantFees(new FeeRule[CONNECTOR_COUNT][], Map.of(), loadedAt);
+        }
+
+        static MerchantFees build(List<ConnectorFeeScheduleEntity> schedules,
+                                  List<ConnectorSuccessRateEntity> rates,
+                                  Map<String, Long> monthlyVolumes,
+                                  long loadedAt) {
+            Map<Integer, List<ConnectorFeeScheduleEntity>> byConnector = new HashMap<>();
+            for (ConnectorFeeScheduleEntity schedule : schedules) {
+                try {
+                    int ordinal = Connector.valueOf(schedule.getConnector().toUpperCase()).ordinal();
+                    byConnector.computeIfAbsent(ordinal, k -> new ArrayList<>()).add(schedule);
+                } catch (IllegalArgumentException _) {
+                    log.warn("Ignoring fee schedule for unknown connector: {}", schedule.getConnector());
+                }
+            }
+
+            FeeRule[][] rules = new FeeRule[CONNECTOR_COUNT][];
+            byConnector.forEach((ordinal, entries) -> {
+                long volume = monthlyVolumes.getOrDefault(CONNECTORS[ordinal].name(), 0L);
+                rules[ordinal] = activeTier(entries, volume);
+            });
+
+            Map<String, long[]> attempts = new HashMap<>();
+            Map<String, Double> fallbackRates = new HashMap<>();
+            for (ConnectorSuccessRateEntity rate : rates) {
+                if (rate.getConnector() == null) {
+                    continue;
+                }
+                String connector = rate.getConnector().toUpperCase();
+                long total = rate.getTotalAttempts() != null ? rate.getTotalAttempts() : 0L;
+                long successful = rate.getSuccessfulAttempts() != null ? rate.getSuccessfulAttempts() : 0L;
+                for (String key : List.of(connector + "|" + rate.getPaymentMethod() + "|" + rate.getCurrency(), connector)) {
+                    long[] counts = attempts.computeIfAbsent(key, k -> new long[2]);
+                    counts[0] += successful;
+                    counts[1] += total;
+                    if (rate.getSuccessRate() != null) {
+                        fallbackRates.putIfAbsent(key, rate.getSuccessRate().doubleValue());
+                    }
+                }
+            }
+            Map<String, Double> successRates = new HashMap<>(fallbackRates);
+            attempts.forEach((key, counts) -> {
+                if (counts[1] > 0) {
+                    successRates.put(key, (double) counts[0] / counts[1]);
+                }
+            });
+
+            return new MerchantFees(rules, successRates, loadedAt);
+        }
+
+        /**
+         * Keep, for every (network, region, payment method) scope, the highest tier
+         * whose volume threshold has been reached
+         */
+        private static FeeRule[] activeTier(List<ConnectorFeeScheduleEntity> entries, long monthlyVolume) {
+            Map<String, ConnectorFeeScheduleEntity> best = new HashMap<>();
+            for (ConnectorFeeScheduleEntity entry : entries) {
+                long threshold = entry.getMinMonthlyVolume() != null ? entry.getMinMonthlyVolume() : 0L;
+                if (threshold > monthlyVolume) {
+                    continue;
+                }
+                String scope = entry.getCardNetwork() + "|" + entry.getRegion() + "|" + entry.getPaymentMethod();
+                best.merge(scope, entry, (a, b) ->
+                    (a.getMinMonthlyVolume() != null ? a.getMinMonthlyVolume() : 0L)
+                        >= (b.getMinMonthlyVolume() != null ? b.getMinMonthlyVolume() : 0L) ? a : b);
+            }
+            return best.values().stream()
+                .map(entry -> new FeeRule(
+                    entry.getCardNetwork(),
+                    entry.getRegion(),
+                    entry.getPaymentMethod(),
+                    (entry.getPercentageFee() != null ? entry.getPercentageFee() : BigDecimal.ZERO).doubleValue() / 100.0,
+                    entry.getFixedFee() != null ? entry.getFixedFee() : 0L,
+                    (entry.getCardNetwork() != null ? 1 : 0)
+                        + (entry.getRegion() != null ? 1 : 0)
+                        + (entry.getPaymentMethod() != null ? 1 : 0)))
+                .sorted(Comparator.comparingInt(FeeRule::specificity).reversed())
+                .toArray(FeeRule[]::new);
+        }
+
+        double expectedCost(Connector connector, long amount, FeeContext context) {
+            FeeRule[] connectorRules = rules[connector.ordinal()];
+            if (connectorRules == null) {
+                return Double.NaN;
+            }
+            for (FeeRule rule : connectorRules) {
+                if (rule.matches(context)) {
+                    return amount * rule.percentage() + rule.fixed();
+                }
+            }
+            return Double.NaN;
+        }
+
+        boolean meetsFloor(Connector connector, FeeContext context, double floor) {
+            Double rate = successRates.get(connector.name() + "|" + context.paymentMethod() + "|" + context.currency());
+            if (rate == null) {
+                rate = successRates.get(connector.name());
+            }
+            // Connectors without history are given the benefit of the doubt
+            return rate == null || rate >= floor;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hyperswitch.routing.elimination;
+
+import com.hyperswitch.common.enums.Connector;
+
+/**
+ * View of connector bulkheads consulted by routing
+ * Implemented where connector calls are made; routing tries saturated connectors last.
+ */
+public interface ConnectorCapacity {
+
+    /**
+     * Whether every in-flight slot of this connector is taken, so a new call would have to queue
+     */
+    boolean isSaturated(Connector connector);
+}
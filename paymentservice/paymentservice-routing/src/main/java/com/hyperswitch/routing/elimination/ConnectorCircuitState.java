@@ -0,0 +1,15 @@
+package com.hyperswitch.routing.elimination;
+
+import com.hyperswitch.common.enums.Connector;
+
+/**
+ * View of connector circuit breakers consulted by routing
+ * Implemented where connector calls are made; routing skips connectors whose circuit is open.
+ */
+public interface ConnectorCircuitState {
+
+    /**
+     * Whether calls that start a payment on this connector are currently short-circuited
+     */
+    boolean isOpen(Connector connector);
+}
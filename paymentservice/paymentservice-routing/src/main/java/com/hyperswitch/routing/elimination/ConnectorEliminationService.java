@@ -0,0 +1,508 @@
+package com.hyperswitch.routing.elimination;
+
+import com.hyperswitch.common.enums.Connector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+/**
+ * Health-based connector elimination for routing
+ * Tracks per-connector error and latency signals in rolling windows, removes
+ * unhealthy connectors for a cooldown period and re-admits them through probe traffic.
+ * Elimination state is shared across nodes through Redis with a local fallback.
+ */
+@Component
+public class ConnectorEliminationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorEliminationService.class);
+    private static final String REDIS_KEY_PREFIX = "routing:elimination:";
+    private static final String METRIC_PREFIX = "hyperswitch.routing.elimination";
+    private static final int WINDOW_BUCKETS = 10;
+
+    /**
+     * Connector health state as seen by routing
+     */
+    public enum State {
+        HEALTHY,
+        ELIMINATED,
+        PROBING
+    }
+
+    private final boolean enabled;
+    private final long bucketMillis;
+    private final int minRequests;
+    private final double errorRateThreshold;
+    private final long slowCallThresholdMillis;
+    private final double slowCallRateThreshold;
+    private final long cooldownMillis;
+    private final double probeRatio;
+    private final int probeSuccessesToReadmit;
+    private final long syncIntervalMillis;
+
+    // Indexed by Connector ordinal
+    private final ConnectorHealth[] health;
+    private final AtomicLong lastRemoteSync = new AtomicLong();
+    private final AtomicLong stateVersion = new AtomicLong();
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    private MeterRegistry meterRegistry;
+    private ConnectorCircuitState circuitState;
+    private ConnectorCapacity capacity;
+
+    public ConnectorEliminationService(
+            @Value("${hyperswitch.routing.elimination.enabled:true}") boolean enabled,
+            @Value("${hyperswitch.routing.elimination.window-seconds:60}") int windowSeconds,
+            @Value("${hyperswitch.routing.elimination.min-requests:20}") int minRequests,
+            @Value("${hyperswitch.routing.elimination.error-rate-threshold:0.5}") double errorRateThreshold,
+            @Value("${hyperswitch.routing.elimination.slow-call-threshold-ms:5000}") long slowCallThresholdMillis,
+            @Value("${hyperswitch.routing.elimination.slow-call-rate-threshold:0.5}") double slowCallRateThreshold,
+            @Value("${hyperswitch.routing.elimination.cooldown-seconds:30}") int cooldownSeconds,
+            @Value("${hyperswitch.routing.elimination.probe-ratio:0.05}") double probeRatio,
+            @Value("${hyperswitch.routing.elimination.probe-successes-to-readmit:5}") int probeSuccessesToReadmit,
+            @Value("${hyperswitch.routing.elimination.sync-interval-ms:1000}") long syncIntervalMillis) {
+        this.enabled = enabled;
+        this.bucketMillis = Math.max(1L, windowSeconds * 1000L / WINDOW_BUCKETS);
+        this.minRequests = minRequests;
+        this.errorRateThreshold = errorRateThreshold;
+        this.slowCallThresholdMillis = slowCallThresholdMillis;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.cooldownMillis = cooldownSeconds * 1000L;
+        this.probeRatio = probeRatio;
+        this.probeSuccessesToReadmit = probeSuccessesToReadmit;
+        this.syncIntervalMillis = syncIntervalMillis;
+
+        Connector[] connectors = Connector.values();
+        this.health = new ConnectorHealth[connectors.length];
+        for (Connector connector : connectors) {
+            health[connector.ordinal()] = new ConnectorHealth(bucketMillis);
+        }
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - connector elimination state will be node-local");
+        }
+    }
+
+    @Autowired(required = false)
+    public void setCircuitState(ConnectorCircuitState circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    @Autowired(required = false)
+    public void setCapacity(ConnectorCapacity capacity) {
+        this.capacity = capacity;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry == null) {
+            return;
+        }
+        for (Connector connector : Connector.values()) {
+            ConnectorHealth h = health[connector.ordinal()];
+            String tag = connector.name().toLowerCase();
+            Gauge.builder(METRIC_PREFIX + ".state", h, ConnectorHealth::stateOrdinal)
+                .description("Connector elimination state (0=healthy, 1=eliminated, 2=probing)")
+                .tag("connector", tag)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".error_rate", h, x -> x.window.snapshot(System.currentTimeMillis()).errorRate())
+                .description("Connector error rate over the rolling window")
+                .tag("connector", tag)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".slow_call_rate", h, x -> x.window.snapshot(System.currentTimeMillis()).slowRate())
+                .description("Connector slow call rate over the rolling window")
+                .tag("connector", tag)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Remove eliminated connectors from a routing candidate list.
+     * Probing connectors receive only a small share of traffic and are otherwise
+     * moved to the end of the list. Connectors whose circuit breaker is open are
+     * skipped as well, and connectors whose bulkhead is saturated are tried after the
+     * others. If every candidate is eliminated the original list is returned
+     * so that routing fails open.
+     */
+    public List<Connector> filter(List<Connector> candidates) {
+        return select(candidates, false, System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    List<Connector> filter(List<Connector> candidates, long now, RandomGenerator random) {
+        return select(candidates, false, now, random);
+    }
+
+    /**
+     * Side-effect free variant of {@link #filter} for what-if evaluation such as shadow routing
+     * Applies the same elimination, circuit breaker and saturation rules but does not sync from
+     * Redis, move connectors between states or emit metrics. Probing connectors are always
+     * demoted rather than drawing from the probe share.
+     */
+    public List<Connector> preview(List<Connector> candidates) {
+        return select(candidates, true, System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    private List<Connector> select(List<Connector> candidates, boolean preview, long now, RandomGenerator random) {
+        if (!enabled || candidates == null || candidates.isEmpty()) {
+            return candidates;
+        }
+
+        if (!preview) {
+            syncFromRemoteIfDue(now);
+        }
+
+        List<Connector> admitted = new ArrayList<>(candidates.size());
+        List<Connector> demoted = new ArrayList<>(0);
+        for (Connector connector : candidates) {
+            if (circuitState != null && circuitState.isOpen(connector)) {
+                if (!preview) {
+                    increment(connector, "circuit_open");
+                }
+                continue;
+            }
+            State state = preview ? peekState(connector, now) : currentState(connector, now);
+            switch (state) {
+                case HEALTHY:
+                    if (capacity != null && capacity.isSaturated(connector)) {
+                        if (!preview) {
+                            increment(connector, "saturated");
+                        }
+                        demoted.add(connector);
+                    } else {
+                        admitted.add(connector);
+                    }
+                    break;
+                case PROBING:
+                    if (!preview && random.nextDouble() < probeRatio) {
+                        admitted.add(connector);
+                        increment(connector, "probe");
+                    } else {
+                        demoted.add(connector);
+                    }
+                    break;
+                default:
+                    // Eliminated for the remainder of the cooldown
+                    break;
+            }
+        }
+
+        if (admitted.isEmpty() && demoted.isEmpty()) {
+            if (!preview) {
+                log.warn("All candidate connectors are eliminated, routing fails open: {}", candidates);
+            }
+            return candidates;
+        }
+
+        admitted.addAll(demoted);
+        return admitted;
+    }
+
+    /**
+     * Record the outcome of a connector call
+     */
+    public void recordOutcome(String connectorName, boolean success, long latencyMillis) {
+        if (!enabled || connectorName == null) {
+            return;
+        }
+        try {
+            recordOutcome(Connector.valueOf(connectorName.toUpperCase()), success, latencyMillis);
+        } catch (IllegalArgumentException _) {
+            log.debug("Ignoring outcome for unknown connector: {}", connectorName);
+        }
+    }
+
+    /**
+     * Record the outcome of a connector call
+     */
+    public void recordOutcome(Connector connector, boolean success, long latencyMillis) {
+        recordOutcome(connector, success, latencyMillis, System.currentTimeMillis());
+    }
+
+    void recordOutcome(Connector connector, boolean success, long latencyMillis, long now) {
+        if (!enabled) {
+            return;
+        }
+        ConnectorHealth h = health[connector.ordinal()];
+        boolean slow = latencyMillis >= slowCallThresholdMillis;
+        h.window.record(now, !success, slow);
+
+        switch (currentState(connector, now)) {
+            case PROBING:
+                if (success && !slow) {
+                    if (h.probeSuccesses.incrementAndGet() >= probeSuccessesToReadmit) {
+                        readmit(connector, h);
+                    }
+                } else {
+                    eliminate(connector, h, now, "probe failed");
+                }
+                break;
+            case HEALTHY:
+                WindowSnapshot snapshot = h.window.snapshot(now);
+                if (snapshot.total >= minRequests) {
+                    if (snapshot.errorRate() >= errorRateThreshold) {
+                        eliminate(connector, h, now, "error rate " + snapshot.errorRate());
+                    } else if (snapshot.slowRate() >= slowCallRateThreshold) {
+                        eliminate(connector, h, now, "slow call rate " + snapshot.slowRate());
+                    }
+                }
+                break;
+            default:
+                // Outcomes of calls still in flight when the connector was eliminated
+                break;
+        }
+    }
+
+    /**
+     * Version counter bumped on every connector state transition, used to invalidate derived caches
+     */
+    public long stateVersion() {
+        return stateVersion.get();
+    }
+
+    /**
+     * Current elimination state of a connector
+     */
+    public State getState(Connector connector) {
+        return currentState(connector, System.currentTimeMillis());
+    }
+
+    State getState(Connector connector, long now) {
+        return currentState(connector, now);
+    }
+
+    private State currentState(Connector connector, long now) {
+        ConnectorHealth h = health[connector.ordinal()];
+        State state = h.state.get();
+
+        // Another node eliminated this connector
+        if (state == State.HEALTHY && h.remoteEliminatedUntil > now) {
+            if (h.state.compareAndSet(State.HEALTHY, State.ELIMINATED)) {
+                h.eliminatedUntil = h.remoteEliminatedUntil;
+                stateVersion.incrementAndGet();
+                log.info("Connector {} eliminated by another node until {}", connector, h.eliminatedUntil);
+            }
+            return h.state.get();
+        }
+
+        if (state == State.ELIMINATED && now >= h.eliminatedUntil) {
+            if (h.state.compareAndSet(State.ELIMINATED, State.PROBING)) {
+                h.probeSuccesses.set(0);
+                stateVersion.incrementAndGet();
+                log.info("Cooldown expired for connector {}, sending probe traffic", connector);
+            }
+            return h.state.get();
+        }
+        return state;
+    }
+
+    /**
+     * State currentState would report, without applying the transition
+     */
+    private State peekState(Connector connector, long now) {
+        ConnectorHealth h = health[connector.ordinal()];
+        State state = h.state.get();
+        if (state == State.HEALTHY && h.remoteEliminatedUntil > now) {
+            return State.ELIMINATED;
+        }
+        if (state == State.ELIMINATED && now >= h.eliminatedUntil) {
+            return State.PROBING;
+        }
+        return state;
+    }
+
+    private void eliminate(Connector connector, ConnectorHealth h, long now, String reason) {
+        State previous = h.state.get();
+        if (previous == State.ELIMINATED || !h.state.compareAndSet(previous, State.ELIMINATED)) {
+            return;
+        }
+        h.eliminatedUntil = now + cooldownMillis;
+        h.window.reset();
+        stateVersion.incrementAndGet();
+        increment(connector, "eliminated");
+        log.warn("Eliminating connector {} from routing for {}ms: {}", connector, cooldownMillis, reason);
+        publish(connector, h.eliminatedUntil);
+    }
+
+    private void readmit(Connector connector, ConnectorHealth h) {
+        if (h.state.compareAndSet(State.PROBING, State.HEALTHY)) {
+            h.window.reset();
+            h.remoteEliminatedUntil = 0L;
+            stateVersion.incrementAndGet();
+            increment(connector, "readmitted");
+            log.info("Connector {} re-admitted to routing after {} successful probes",
+                connector, probeSuccessesToReadmit);
+            if (redisTemplate != null) {
+                redisTemplate.delete(REDIS_KEY_PREFIX + connector.name().toLowerCase())
+                    .subscribe(null, error -> log.debug("Failed to clear elimination state in Redis", error));
+            }
+        }
+    }
+
+    private void publish(Connector connector, long eliminatedUntil) {
+        if (redisTemplate == null) {
+            return;
+        }
+        redisTemplate.opsForValue()
+            .set(REDIS_KEY_PREFIX + connector.name().toLowerCase(), eliminatedUntil, Duration.ofMillis(cooldownMillis))
+            .subscribe(null, error -> log.debug("Failed to publish elimination state to Redis", error));
+    }
+
+    /**
+     * Pull elimination state published by other nodes. Runs at most once per sync
+     * interval and never blocks the routing path.
+     */
+    private void syncFromRemoteIfDue(long now) {
+        if (redisTemplate == null) {
+            return;
+        }
+        long last = lastRemoteSync.get();
+        if (now - last < syncIntervalMillis || !lastRemoteSync.compareAndSet(last, now)) {
+            return;
+        }
+
+        Connector[] connectors = Connector.values();
+        List<String> keys = new ArrayList<>(connectors.length);
+        for (Connector connector : connectors) {
+            keys.add(REDIS_KEY_PREFIX + connector.name().toLowerCase());
+        }
+
+        redisTemplate.opsForValue().multiGet(keys)
+            .subscribe(values -> {
+                for (int i = 0; i < connectors.length && i < values.size(); i++) {
+                    Object value = values.get(i);
+                    health[i].remoteEliminatedUntil = value instanceof Number number ? number.longValue() : 0L;
+                }
+            }, error -> log.debug("Failed to read elimination state from Redis, using local state", error));
+    }
+
+    private void increment(Connector connector, String event) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_PREFIX + ".events")
+            .description("Connector elimination events")
+            .tag("connector", connector.name().toLowerCase())
+            .tag("event", event)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Per-connector health state
+     */
+    private static class ConnectorHealth {
+        final RollingWindow window;
+        final AtomicReference<State> state = new AtomicReference<>(State.HEALTHY);
+        final AtomicInteger probeSuccesses = new AtomicInteger();
+        volatile long eliminatedUntil;
+        volatile long remoteEliminatedUntil;
+
+        ConnectorHealth(long bucketMillis) {
+            this.window = new RollingWindow(WINDOW_BUCKETS, bucketMillis);
+        }
+
+        double stateOrdinal() {
+            return state.get().ordinal();
+        }
+    }
+
+    /**
+     * Bucketed rolling window of call outcomes
+     */
+    private static class RollingWindow {
+        private final Bucket[] buckets;
+        private final long bucketMillis;
+
+        RollingWindow(int size, long bucketMillis) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = new Bucket[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        void record(long now, boolean error, boolean slow) {
+            long epoch = now / bucketMillis;
+            Bucket bucket = buckets[(int) (epoch % buckets.length)];
+            bucket.rollTo(epoch);
+            bucket.total.incrementAndGet();
+            if (error) {
+                bucket.errors.incrementAndGet();
+            }
+            if (slow) {
+                bucket.slow.incrementAndGet();
+            }
+        }
+
+        WindowSnapshot snapshot(long now) {
+            long epoch = now / bucketMillis;
+            long total = 0;
+            long errors = 0;
+            long slow = 0;
+            for (Bucket bucket : buckets) {
+                if (epoch - bucket.epoch.get() < buckets.length) {
+                    total += bucket.total.get();
+                    errors += bucket.errors.get();
+                    slow += bucket.slow.get();
+                }
+            }
+            return new WindowSnapshot(total, errors, slow);
+        }
+
+        void reset() {
+            for (Bucket bucket : buckets) {
+                bucket.epoch.set(-1L);
+                bucket.clear();
+            }
+        }
+    }
+
+    private static class Bucket {
+        final AtomicLong epoch = new AtomicLong(-1L);
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong slow = new AtomicLong();
+
+        void rollTo(long newEpoch) {
+            long current = epoch.get();
+            if (current != newEpoch && epoch.compareAndSet(current, newEpoch)) {
+                clear();
+            }
+        }
+
+        void clear() {
+            total.set(0);
+            errors.set(0);
+            slow.set(0);
+        }
+    }
+
+    private record WindowSnapshot(long total, long errors, long slow) {
+        double errorRate() {
+            return total == 0 ? 0.0 : (double) errors / total;
+        }
+
+        double slowRate() {
+            return total == 0 ? 0.0 : (double) slow / total;
+        }
+    }
+}
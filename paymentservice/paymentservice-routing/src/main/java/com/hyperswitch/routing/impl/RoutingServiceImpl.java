@@ -8,25 +8,42 @@ import com.hyperswitch.common.errors.PaymentError;
 import com.hyperswitch.common.types.Result;
 import com.hyperswitch.routing.RoutingAlgorithm;
 import com.hyperswitch.routing.RoutingService;
+import com.hyperswitch.routing.bandit.ThompsonSamplingRouter;
+import com.hyperswitch.routing.cache.RoutingDecisionCache;
+import com.hyperswitch.routing.contract.ConnectorFeeTable;
+import com.hyperswitch.routing.elimination.ConnectorEliminationService;
+import com.hyperswitch.routing.latency.ConnectorLatencyTracker;
+import com.hyperswitch.routing.payout.PayoutRouter;
+import com.hyperswitch.routing.payout.PayoutRoutingInput;
+import com.hyperswitch.routing.shadow.ShadowRoutingEvaluator;
+import com.hyperswitch.routing.surcharge.SurchargeEvaluator;
+import com.hyperswitch.storage.entity.ConnectorFeeScheduleEntity;
 import com.hyperswitch.storage.entity.ConnectorSuccessRateEntity;
 import com.hyperswitch.storage.entity.DecisionManagerConfigEntity;
 import com.hyperswitch.storage.entity.RoutingAlgorithmEntity;
 import com.hyperswitch.storage.entity.RoutingConfigEntity;
+import com.hyperswitch.storage.entity.RoutingDecisionLogEntity;
+import com.hyperswitch.storage.repository.ConnectorFeeScheduleRepository;
 import com.hyperswitch.storage.repository.ConnectorSuccessRateRepository;
 import com.hyperswitch.storage.repository.DecisionManagerConfigRepository;
 import com.hyperswitch.storage.repository.RoutingAlgorithmRepository;
 import com.hyperswitch.storage.repository.RoutingConfigRepository;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Implementation of RoutingService
@@ -37,6 +54,7 @@ public class RoutingServiceImpl implements RoutingService {
 
     private static final Logger log = LoggerFactory.getLogger(RoutingServiceImpl.class);
     private static final Random random = new Random();
+    private static final String PAYOUT = "payout";
 
     @Value("${hyperswitch.routing.algorithm:SUCCESS_RATE_BASED}")
     private RoutingAlgorithm algorithm;
@@ -49,16 +67,49 @@ public class RoutingServiceImpl implements RoutingService {
     private AnalyticsService analyticsService;
     private final RoutingAlgorithmRepository routingAlgorithmRepository;
     private final DecisionManagerConfigRepository decisionManagerConfigRepository;
+    private final ConnectorEliminationService eliminationService;
+    private final ThompsonSamplingRouter banditRouter;
+    private final RoutingDecisionCache decisionCache;
+    private final ConnectorLatencyTracker latencyTracker;
+    private final ConnectorFeeTable feeTable;
+    private final ConnectorFeeScheduleRepository feeScheduleRepository;
+    private final RoutingDecisionLogRepository decisionLogRepository;
+    private final ShadowRoutingEvaluator shadowEvaluator;
+    private final SurchargeEvaluator surchargeEvaluator;
+    private final PayoutRouter payoutRouter;
+    private final TransactionalOperator transactionalOperator;
 
     public RoutingServiceImpl(
             RoutingConfigRepository routingConfigRepository,
             ConnectorSuccessRateRepository successRateRepository,
             RoutingAlgorithmRepository routingAlgorithmRepository,
-            DecisionManagerConfigRepository decisionManagerConfigRepository) {
+            DecisionManagerConfigRepository decisionManagerConfigRepository,
+            ConnectorEliminationService eliminationService,
+            ThompsonSamplingRouter banditRouter,
+            RoutingDecisionCache decisionCache,
+            ConnectorLatencyTracker latencyTracker,
+            ConnectorFeeTable feeTable,
+            ConnectorFeeScheduleRepository feeScheduleRepository,
+            RoutingDecisionLogRepository decisionLogRepository,
+            ShadowRoutingEvaluator shadowEvaluator,
+            SurchargeEvaluator surchargeEvaluator,
+            PayoutRouter payoutRouter,
+            TransactionalOperator transactionalOperator) {
         this.routingConfigRepository = routingConfigRepository;
         this.successRateRepository = successRateRepository;
         this.routingAlgorithmRepository = routingAlgorithmRepository;
         this.decisionManagerConfigRepository = decisionManagerConfigRepository;
+        this.eliminationService = eliminationService;
+        this.banditRouter = banditRouter;
+        this.decisionCache = decisionCache;
+        this.latencyTracker = latencyTracker;
+        this.feeTable = feeTable;
+        this.feeScheduleRepository = feeScheduleRepository;
+        this.decisionLogRepository = decisionLogRepository;
+        this.shadowEvaluator = shadowEvaluator;
+        this.surchargeEvaluator = surchargeEvaluator;
+        this.payoutRouter = payoutRouter;
+        this.transactionalOperator = transactionalOperator;
     }
     
     @Autowired(required = false)
@@ -77,29 +128,55 @@ public class RoutingServiceImpl implements RoutingService {
             merchantId, request.getAmount());
         
         return Mono.fromCallable(() -> {
-            List<Connector> connectors = new ArrayList<>();
+            List<Connector> connectors = decisionCache.getOrCompute(
+                request, merchantId, algorithm, eliminationService.stateVersion(),
+                () -> computeConnectors(request, merchantId, algorithm));
             
-            switch (algorithm) {
-                case PRIORITY_BASED:
-                    connectors = priorityBasedRouting(request, merchantId);
-                    break;
-                case SUCCESS_RATE_BASED:
-                    connectors = successRateBasedRouting(request, merchantId);
-                    break;
-                case VOLUME_BASED:
-                    connectors = volumeBasedRouting(request, merchantId);
-                    break;
-                case RULE_BASED:
-                    connectors = ruleBasedRouting(request, merchantId);
-                    break;
-                default:
-                    connectors = getDefaultConnectors();
-            }
+            // Drop connectors that are currently eliminated for poor health
+            List<Connector> selected = eliminationService.filter(connectors);
             
-            return connectors;
+            // Compare inactive algorithms off the critical path
+            shadowEvaluator.evaluate(request, merchantId, algorithm, selected,
+                shadowAlgorithm -> eliminationService.preview(computeConnectors(request, merchantId, shadowAlgorithm)));
+            return selected;
         });
     }
 
+    private List<Connector> computeConnectors(CreatePaymentRequest request, String merchantId,
+                                              RoutingAlgorithm algorithm) {
+        switch (algorithm) {
+            case PRIORITY_BASED:
+                return priorityBasedRouting(request, merchantId);
+            case SUCCESS_RATE_BASED:
+                return successRateBasedRouting(request, merchantId);
+            case VOLUME_BASED:
+                return volumeBasedRouting(request, merchantId);
+            case RULE_BASED:
+                return ruleBasedRouting(request, merchantId);
+            case BANDIT:
+                return banditRouting(request, merchantId);
+            case LATENCY_BASED:
+                return latencyTracker.rank(priorityBasedRouting(request, merchantId));
+            case CONTRACT_BASED:
+                return contractBasedRouting(request, merchantId);
+            default:
+                return getDefaultConnectors();
+        }
+    }
+
+    @Override
+    public void recordConnectorOutcome(
+            String merchantId,
+            String connectorName,
+            String paymentMethod,
+            String currency,
+            boolean success,
+            long latencyMillis) {
+        eliminationService.recordOutcome(connectorName, success, latencyMillis);
+        banditRouter.recordOutcome(merchantId, connectorName, paymentMethod, currency, success);
+        latencyTracker.recordConfirmLatency(connectorName, latencyMillis);
+    }
+
     @Override
     public RoutingAlgorithm getAlgorithm() {
         return algorithm;
@@ -179,6 +256,43 @@ public class RoutingServiceImpl implements RoutingService {
             .orElseGet(this::getDefaultConnectors);
     }
 
+    /**
+     * Bandit routing - orders eligible connectors by Thompson sampling of their success posteriors
+     */
+    private List<Connector> banditRouting(CreatePaymentRequest request, String merchantId) {
+        List<Connector> candidates = priorityBasedRouting(request, merchantId);
+        if (candidates.isEmpty()) {
+            candidates = getDefaultConnectors();
+        }
+        String paymentMethod = request.getPaymentMethod() != null 
+            ? request.getPaymentMethod().name() 
+            : null;
+        return banditRouter.rank(merchantId, paymentMethod, request.getAmount().getCurrencyCode(), candidates);
+    }
+
+    /**
+     * Contract-based routing - orders eligible connectors by expected processing cost,
+     * preferring connectors that meet the success-rate floor
+     */
+    private List<Connector> contractBasedRouting(CreatePaymentRequest request, String merchantId) {
+        List<Connector> candidates = priorityBasedRouting(request, merchantId);
+        if (candidates.isEmpty()) {
+            candidates = getDefaultConnectors();
+        }
+        return feeTable.rank(merchantId, candidates, request.getAmount().getValue().longValue(), feeContext(request));
+    }
+
+    private ConnectorFeeTable.FeeContext feeContext(CreatePaymentRequest request) {
+        Map<String, Object> metadata = request.getMetadata() != null ? request.getMetadata() : Map.of();
+        Object cardNetwork = metadata.get("card_network");
+        Object region = metadata.get("region");
+        return new ConnectorFeeTable.FeeContext(
+            cardNetwork != null ? cardNetwork.toString() : null,
+            region != null ? region.toString() : null,
+            request.getPaymentMethod() != null ? request.getPaymentMethod().name() : null,
+            request.getAmount().getCurrencyCode());
+    }
+
     /**
      * Volume-based routing - splits traffic based on volume percentages
      */
@@ -372,6 +486,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setModifiedAt(Instant.now());
                 return routingAlgorithmRepository.save(entity);
             })
+            .doOnNext(saved -> invalidateRoutingCaches(merchantId))
             .map(this::toRoutingConfigResponse)
             .map(Result::<RoutingConfigResponse, PaymentError>ok)
             .switchIfEmpty(Mono.just(Result.<RoutingConfigResponse, PaymentError>err(
@@ -394,6 +509,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setModifiedAt(Instant.now());
                 return routingAlgorithmRepository.save(entity);
             })
+            .doOnComplete(() -> invalidateRoutingCaches(merchantId))
             .then(Mono.just(Result.<Void, PaymentError>ok(null)));
     }
     
@@ -423,6 +539,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setModifiedAt(Instant.now());
                 return routingAlgorithmRepository.save(entity);
             })
+            .doOnNext(saved -> invalidateRoutingCaches(merchantId))
             .map(this::toRoutingConfigResponse)
             .map(Result::<RoutingConfigResponse, PaymentError>ok)
             .switchIfEmpty(Mono.just(Result.<RoutingConfigResponse, PaymentError>err(
@@ -493,6 +610,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setModifiedAt(Instant.now());
                 return routingAlgorithmRepository.save(entity);
             })
+            .doOnNext(saved -> invalidateRoutingCaches(merchantId))
             .map(this::toRoutingConfigResponse)
             .map(Result::<RoutingConfigResponse, PaymentError>ok)
             .switchIfEmpty(Mono.just(Result.<RoutingConfigResponse, PaymentError>err(
@@ -596,6 +714,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setModifiedAt(Instant.now());
                 return decisionManagerConfigRepository.save(entity);
             })
+            .doOnNext(saved -> surchargeEvaluator.invalidate(merchantId))
             .map(this::toDecisionManagerConfigResponse)
             .map(Result::<DecisionManagerConfigResponse, PaymentError>ok)
             .onErrorResume(error -> {
@@ -625,7 +744,8 @@ public class RoutingServiceImpl implements RoutingService {
         
         return decisionManagerConfigRepository
             .findByMerchantIdAndConfigType(merchantId, "surcharge")
-            .flatMap(decisionManagerConfigRepository::delete)
+            .flatMap(entity -> decisionManagerConfigRepository.delete(entity)
+                .doOnSuccess(v -> surchargeEvaluator.invalidate(merchantId)))
             .then(Mono.just(Result.<Void, PaymentError>ok(null)))
             .switchIfEmpty(Mono.just(Result.<Void, PaymentError>err(
                 PaymentError.of("SURCHARGE_DECISION_MANAGER_CONFIG_NOT_FOUND", 
@@ -672,6 +792,7 @@ public class RoutingServiceImpl implements RoutingService {
             String merchantId, GatewayScoreUpdateRequest request) {
         log.info("Updating gateway score for merchant: {}, connector: {}", merchantId, request.getConnector());
         
+        // The call itself was already fed to elimination by recordConnectorOutcome, with its latency
         // Update success rate based on gateway score feedback
         return successRateRepository
             .findByMerchantIdAndConnectorAndProfileIdAndPaymentMethodAndCurrency(
@@ -705,6 +826,7 @@ public class RoutingServiceImpl implements RoutingService {
                 entity.setSuccessRate(newRate);
                 return successRateRepository.save(entity);
             })
+            .doOnNext(saved -> decisionCache.invalidateMerchant(merchantId))
             .then(Mono.just(Result.<Void, PaymentError>ok(null)))
             .onErrorResume(error -> {
                 log.error("Error updating gateway score", error);
@@ -755,6 +877,11 @@ public class RoutingServiceImpl implements RoutingService {
         return response;
     }
     
+    private void invalidateRoutingCaches(String merchantId) {
+        decisionCache.invalidateMerchant(merchantId);
+        payoutRouter.invalidate(merchantId);
+    }
+    
     private String determineAlgorithmKind(Map<String, Object> algorithm) {
         if (algorithm == null) {
             return "single";
@@ -775,15 +902,10 @@ public class RoutingServiceImpl implements RoutingService {
     public Mono<Result<Flux<PayoutRoutingResponse>, PaymentError>> listPayoutRoutings(String merchantId) {
         log.info("Listing payout routing configurations for merchant: {}", merchantId);
         
-        // In production, this would query payout routing configurations from database
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId("payout_alg_" + UUID.randomUUID().toString().substring(0, 8));
-        response.setIsDefault(Boolean.FALSE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
+        Flux<PayoutRoutingResponse> response = payoutAlgorithms(merchantId)
+            .map(this::toPayoutRoutingResponse);
         
-        return Mono.just(Result.<Flux<PayoutRoutingResponse>, PaymentError>ok(Flux.just(response)));
+        return Mono.just(Result.<Flux<PayoutRoutingResponse>, PaymentError>ok(response));
     }
     
     @Override
@@ -792,46 +914,63 @@ public class RoutingServiceImpl implements RoutingService {
             PayoutRoutingRequest request) {
         log.info("Creating payout routing configuration for merchant: {}", merchantId);
         
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId(request.getAlgorithmId() != null ? request.getAlgorithmId() : 
+        Instant now = Instant.now();
+        RoutingAlgorithmEntity entity = new RoutingAlgorithmEntity();
+        entity.setAlgorithmId(request.getAlgorithmId() != null ? request.getAlgorithmId() :
             "payout_alg_" + UUID.randomUUID().toString().substring(0, 8));
-        response.setProfileId(request.getProfileId());
-        response.setConfig(request.getConfig());
-        response.setIsDefault(request.getIsDefault() != null ? request.getIsDefault() : Boolean.FALSE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
+        entity.setMerchantId(merchantId);
+        entity.setProfileId(request.getProfileId());
+        entity.setName(entity.getAlgorithmId());
+        entity.setAlgorithmData(request.getConfig());
+        entity.setKind(determineAlgorithmKind(request.getConfig()));
+        entity.setAlgorithmFor(PAYOUT);
+        entity.setIsActive(false);
+        entity.setIsDefault(Boolean.TRUE.equals(request.getIsDefault()));
+        entity.setCreatedAt(now);
+        entity.setModifiedAt(now);
         
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        Mono<Void> unsetDefaults = Boolean.TRUE.equals(request.getIsDefault())
+            ? clearPayoutFlag(merchantId, RoutingAlgorithmEntity::getIsDefault, RoutingAlgorithmEntity::setIsDefault)
+            : Mono.empty();
+        return unsetDefaults
+            .then(routingAlgorithmRepository.save(entity))
+            .doOnNext(saved -> payoutRouter.invalidate(merchantId))
+            .map(this::toPayoutRoutingResponse)
+            .map(Result::<PayoutRoutingResponse, PaymentError>ok)
+            .onErrorResume(error -> {
+                log.error("Error creating payout routing config", error);
+                return Mono.just(Result.<PayoutRoutingResponse, PaymentError>err(
+                    PaymentError.of("ROUTING_CONFIG_CREATE_FAILED", error.getMessage())
+                ));
+            });
     }
     
     @Override
     public Mono<Result<PayoutRoutingResponse, PaymentError>> getActivePayoutRouting(String merchantId) {
         log.info("Getting active payout routing for merchant: {}", merchantId);
         
-        // In production, this would query active payout routing from database
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId("payout_alg_active");
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
-        
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        return payoutAlgorithms(merchantId)
+            .filter(e -> Boolean.TRUE.equals(e.getIsActive()))
+            .next()
+            .map(this::toPayoutRoutingResponse)
+            .map(Result::<PayoutRoutingResponse, PaymentError>ok)
+            .switchIfEmpty(Mono.just(Result.<PayoutRoutingResponse, PaymentError>err(
+                PaymentError.of("ROUTING_CONFIG_NOT_FOUND", "No active payout routing config")
+            )));
     }
     
     @Override
     public Mono<Result<PayoutRoutingResponse, PaymentError>> getDefaultPayoutRouting(String merchantId) {
         log.info("Getting default payout routing for merchant: {}", merchantId);
         
-        // In production, this would query default payout routing from database
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId("payout_alg_default");
-        response.setIsDefault(Boolean.TRUE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
-        
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        return payoutAlgorithms(merchantId)
+            .filter(e -> Boolean.TRUE.equals(e.getIsDefault()))
+            .next()
+            .map(this::toPayoutRoutingResponse)
+            .map(Result::<PayoutRoutingResponse, PaymentError>ok)
+            .switchIfEmpty(Mono.just(Result.<PayoutRoutingResponse, PaymentError>err(
+                PaymentError.of("ROUTING_CONFIG_NOT_FOUND", "No default payout routing config")
+            )));
     }
     
     @Override
@@ -840,16 +979,7 @@ public class RoutingServiceImpl implements RoutingService {
             PayoutRoutingRequest request) {
         log.info("Setting default payout routing for merchant: {}", merchantId);
         
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId(request.getAlgorithmId());
-        response.setProfileId(request.getProfileId());
-        response.setConfig(request.getConfig());
-        response.setIsDefault(Boolean.TRUE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
-        
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        return setDefaultPayoutAlgorithm(merchantId, request.getAlgorithmId());
     }
     
     @Override
@@ -858,20 +988,31 @@ public class RoutingServiceImpl implements RoutingService {
             String algorithmId) {
         log.info("Activating payout routing: {} for merchant: {}", algorithmId, merchantId);
         
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId(algorithmId);
-        response.setIsActive(Boolean.TRUE);
-        response.setUpdatedAt(Instant.now());
-        
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        return routingAlgorithmRepository.findByAlgorithmIdAndMerchantId(algorithmId, merchantId)
+            .filter(e -> PAYOUT.equals(e.getAlgorithmFor()))
+            .flatMap(entity -> clearPayoutFlag(merchantId, RoutingAlgorithmEntity::getIsActive,
+                    RoutingAlgorithmEntity::setIsActive)
+                .then(Mono.fromSupplier(() -> {
+                    entity.setIsActive(true);
+                    entity.setModifiedAt(Instant.now());
+                    return entity;
+                }))
+                .flatMap(routingAlgorithmRepository::save))
+            .doOnNext(saved -> payoutRouter.invalidate(merchantId))
+            .map(this::toPayoutRoutingResponse)
+            .map(Result::<PayoutRoutingResponse, PaymentError>ok)
+            .switchIfEmpty(Mono.just(Result.<PayoutRoutingResponse, PaymentError>err(
+                PaymentError.of("ROUTING_CONFIG_NOT_FOUND", "Payout routing config not found")
+            )));
     }
     
     @Override
     public Mono<Result<Void, PaymentError>> deactivatePayoutRouting(String merchantId) {
         log.info("Deactivating payout routing for merchant: {}", merchantId);
         
-        // In production, this would deactivate all payout routing configurations
-        return Mono.just(Result.<Void, PaymentError>ok(null));
+        return clearPayoutFlag(merchantId, RoutingAlgorithmEntity::getIsActive, RoutingAlgorithmEntity::setIsActive)
+            .doOnSuccess(v -> payoutRouter.invalidate(merchantId))
+            .then(Mono.just(Result.<Void, PaymentError>ok(null)));
     }
     
     @Override
@@ -881,31 +1022,81 @@ public class RoutingServiceImpl implements RoutingService {
             PayoutRoutingRequest request) {
         log.info("Setting default payout routing for profile: {} in merchant: {}", profileId, merchantId);
         
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId(request.getAlgorithmId());
-        response.setProfileId(profileId);
-        response.setConfig(request.getConfig());
-        response.setIsDefault(Boolean.TRUE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
-        
-        return Mono.just(Result.<PayoutRoutingResponse, PaymentError>ok(response));
+        return setDefaultPayoutAlgorithm(merchantId, request.getAlgorithmId());
     }
     
     @Override
     public Mono<Result<Flux<PayoutRoutingResponse>, PaymentError>> getDefaultPayoutRoutingForProfiles(String merchantId) {
         log.info("Getting default payout routing for profiles in merchant: {}", merchantId);
         
-        // In production, this would query default payout routing for all profiles
-        PayoutRoutingResponse response = new PayoutRoutingResponse();
-        response.setAlgorithmId("payout_alg_profile_default");
-        response.setIsDefault(Boolean.TRUE);
-        response.setIsActive(Boolean.TRUE);
-        response.setCreatedAt(Instant.now());
-        response.setUpdatedAt(Instant.now());
+        Flux<PayoutRoutingResponse> response = payoutAlgorithms(merchantId)
+            .filter(e -> Boolean.TRUE.equals(e.getIsDefault()))
+            .map(this::toPayoutRoutingResponse);
         
-        return Mono.just(Result.<Flux<PayoutRoutingResponse>, PaymentError>ok(Flux.just(response)));
+        return Mono.just(Result.<Flux<PayoutRoutingResponse>, PaymentError>ok(response));
+    }
+    
+    @Override
+    public Mono<List<Connector>> selectPayoutConnectors(String merchantId, PayoutRoutingInput input) {
+        return payoutRouter.route(merchantId, input);
+    }
+    
+    @Override
+    public void recordPayoutOutcome(String connector, boolean success, long latencyMillis) {
+        payoutRouter.recordOutcome(connector, success, latencyMillis);
+    }
+    
+    private Flux<RoutingAlgorithmEntity> payoutAlgorithms(String merchantId) {
+        return routingAlgorithmRepository.findByMerchantId(merchantId)
+            .filter(e -> PAYOUT.equals(e.getAlgorithmFor()));
+    }
+    
+    private Mono<Void> clearPayoutFlag(String merchantId,
+                                       Function<RoutingAlgorithmEntity, Boolean> flag,
+                                       BiConsumer<RoutingAlgorithmEntity, Boolean> setter) {
+        return payoutAlgorithms(merchantId)
+            .filter(e -> Boolean.TRUE.equals(flag.apply(e)))
+            .flatMap(e -> {
+                setter.accept(e, false);
+                e.setModifiedAt(Instant.now());
+                return routingAlgorithmRepository.save(e);
+            })
+            .then();
+    }
+    
+    private Mono<Result<PayoutRoutingResponse, PaymentError>> setDefaultPayoutAlgorithm(
+            String merchantId, String algorithmId) {
+        if (algorithmId == null) {
+            return Mono.just(Result.err(PaymentError.of("INVALID_REQUEST", "algorithm_id is required")));
+        }
+        return routingAlgorithmRepository.findByAlgorithmIdAndMerchantId(algorithmId, merchantId)
+            .filter(e -> PAYOUT.equals(e.getAlgorithmFor()))
+            .flatMap(entity -> clearPayoutFlag(merchantId, RoutingAlgorithmEntity::getIsDefault,
+                    RoutingAlgorithmEntity::setIsDefault)
+                .then(Mono.fromSupplier(() -> {
+                    entity.setIsDefault(true);
+                    entity.setModifiedAt(Instant.now());
+                    return entity;
+                }))
+                .flatMap(routingAlgorithmRepository::save))
+            .doOnNext(saved -> payoutRouter.invalidate(merchantId))
+            .map(this::toPayoutRoutingResponse)
+            .map(Result::<PayoutRoutingResponse, PaymentError>ok)
+            .switchIfEmpty(Mono.just(Result.<PayoutRoutingResponse, PaymentError>err(
+                PaymentError.of("ROUTING_CONFIG_NOT_FOUND", "Payout routing config not found")
+            )));
+    }
+    
+    private PayoutRoutingResponse toPayoutRoutingResponse(RoutingAlgorithmEntity entity) {
+        PayoutRoutingResponse response = new PayoutRoutingResponse();
+        response.setAlgorithmId(entity.getAlgorithmId());
+        response.setProfileId(entity.getProfileId());
+        response.setConfig(entity.getAlgorithmData());
+        response.setIsDefault(entity.getIsDefault());
+        response.setIsActive(entity.getIsActive());
+        response.setCreatedAt(entity.getCreatedAt());
+        response.setUpdatedAt(entity.getModifiedAt());
+        return response;
     }
     
     @Override
@@ -1068,7 +1259,201 @@ public class RoutingServiceImpl implements RoutingService {
         response.setEnabled(request.getEnabled());
         response.setUpdatedAt(Instant.now());
         
-        return Mono.just(Result.<DynamicRoutingResponse, PaymentError>ok(response));
+        Object fees = request.getConfig() != null ? request.getConfig().get("fees") : null;
+        if (fees == null) {
+            return Mono.just(Result.<DynamicRoutingResponse, PaymentError>ok(response));
+        }
+        List<ConnectorFeeScheduleEntity> schedule;
+        try {
+            schedule = parseFeeSchedule(accountId, fees);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(Result.<DynamicRoutingResponse, PaymentError>err(
+                PaymentError.of("INVALID_REQUEST", e.getMessage())));
+        }
+        
+        // Replace the fee schedule in one transaction, so a failed insert leaves the old schedule
+        // in place, then drop the fee snapshots of the merchant on every node
+        return feeScheduleRepository.deleteByMerchantId(accountId)
+            .thenMany(feeScheduleRepository.saveAll(schedule))
+            .then()
+            .as(transactionalOperator::transactional)
+            .then(Mono.fromRunnable(() -> feeTable.invalidate(accountId)))
+            .thenReturn(Result.<DynamicRoutingResponse, PaymentError>ok(response))
+            .onErrorResume(error -> {
+                log.error("Error updating contract fee schedule", error);
+                return Mono.just(Result.<DynamicRoutingResponse, PaymentError>err(
+                    PaymentError.of("CONTRACT_FEE_UPDATE_FAILED", error.getMessage())
+                ));
+            });
+    }
+    
+    /**
+     * Parse fee schedule entries of the form
+     * {"connector", "card_network", "region", "payment_method", "min_monthly_volume",
+     * "percentage_fee", "fixed_fee"}; only the connector is required
+     */
+    private static List<ConnectorFeeScheduleEntity> parseFeeSchedule(String merchantId, Object fees) {
+        if (!(fees instanceof List<?> entries)) {
+            throw new IllegalArgumentException("fees must be a list");
+        }
+        Instant now = Instant.now();
+        List<ConnectorFeeScheduleEntity> schedule = new ArrayList<>(entries.size());
+        for (Object item : entries) {
+            if (!(item instanceof Map<?, ?> entry)) {
+                throw new IllegalArgumentException("fee entries must be objects");
+            }
+            Connector connector = parseConnector(entry.get("connector") != null ? entry.get("connector").toString() : null);
+            if (connector == null) {
+                throw new IllegalArgumentException("Unknown connector in fee entry: " + entry.get("connector"));
+            }
+            BigDecimal percentage = entry.get("percentage_fee") != null
+                ? new BigDecimal(entry.get("percentage_fee").toString()) : BigDecimal.ZERO;
+            long fixed = entry.get("fixed_fee") != null ? new BigDecimal(entry.get("fixed_fee").toString()).longValueExact() : 0L;
+            long minVolume = entry.get("min_monthly_volume") != null
+                ? new BigDecimal(entry.get("min_monthly_volume").toString()).longValueExact() : 0L;
+            if (percentage.signum() < 0 || fixed < 0 || minVolume < 0) {
+                throw new IllegalArgumentException("Fees and volume thresholds must not be negative");
+            }
+            
+            ConnectorFeeScheduleEntity entity = new ConnectorFeeScheduleEntity();
+            entity.setId(UUID.randomUUID().toString());
+            entity.setMerchantId(merchantId);
+            entity.setConnector(connector.name().toLowerCase());
+            entity.setCardNetwork(entry.get("card_network") != null ? entry.get("card_network").toString() : null);
+            entity.setRegion(entry.get("region") != null ? entry.get("region").toString() : null);
+            entity.setPaymentMethod(entry.get("payment_method") != null ? entry.get("payment_method").toString() : null);
+            entity.setMinMonthlyVolume(minVolume);
+            entity.setPercentageFee(percentage);
+            entity.setFixedFee(fixed);
+            entity.setEnabled(true);
+            entity.setCreatedAt(now);
+            entity.setModifiedAt(now);
+            schedule.add(entity);
+        }
+        return schedule;
+    }
+    
+    @Override
+    public Mono<Result<ContractCostSavingsResponse, PaymentError>> getContractCostSavings(
+            String merchantId,
+            String profileId,
+            Instant from,
+            Instant to) {
+        log.info("Computing contract cost savings for merchant: {}, profile: {}, from: {}, to: {}",
+            merchantId, profileId, from, to);
+        
+        if (from == null || to == null || !from.isBefore(to)) {
+            return Mono.just(Result.<ContractCostSavingsResponse, PaymentError>err(
+                PaymentError.of("INVALID_REQUEST", "from must be before to")));
+        }
+        Flux<RoutingDecisionLogEntity> decisions = profileId != null
+            ? decisionLogRepository.findByMerchantIdAndProfileIdAndCreatedAtBetween(merchantId, profileId, from, to)
+            : decisionLogRepository.findByMerchantIdAndCreatedAtBetween(merchantId, from, to);
+        
+        return routingConfigRepository.findByMerchantIdAndEnabledTrue(merchantId)
+            .filter(config -> profileId == null || config.getProfileId() == null || profileId.equals(config.getProfileId()))
+            .collectList()
+            .flatMap(configs -> decisions
+                // Fee snapshots may be loaded on first use
+                .publishOn(Schedulers.boundedElastic())
+                .reduce(new CostSavingsAccumulator(), (acc, decision) -> {
+                    acc.add(decision, merchantId, configs);
+                    return acc;
+                }))
+            .map(acc -> Result.<ContractCostSavingsResponse, PaymentError>ok(acc.toResponse(merchantId, profileId, from, to)))
+            .onErrorResume(error -> {
+                log.error("Error computing contract cost savings", error);
+                return Mono.just(Result.<ContractCostSavingsResponse, PaymentError>err(
+                    PaymentError.of("CONTRACT_COST_SAVINGS_FAILED", error.getMessage())
+                ));
+            });
+    }
+    
+    /**
+     * Running totals for the cost savings report
+     */
+    private final class CostSavingsAccumulator {
+        long totalDecisions;
+        long pricedDecisions;
+        long cheaperOptions;
+        double actualCost;
+        double leastCost;
+        final Map<String, Double> actualCostByConnector = new TreeMap<>();
+        final Map<String, Long> leastCostVolumeByConnector = new TreeMap<>();
+        
+        void add(RoutingDecisionLogEntity decision, String merchantId, List<RoutingConfigEntity> configs) {
+            totalDecisions++;
+            Connector selected = parseConnector(decision.getSelectedConnector());
+            if (selected == null || decision.getAmount() == null) {
+                return;
+            }
+            long amount = decision.getAmount();
+            // The decision log carries no card network or region, so only wildcard fee rules apply
+            ConnectorFeeTable.FeeContext context = new ConnectorFeeTable.FeeContext(
+                null, null, decision.getPaymentMethod(), decision.getCurrency());
+            double actual = feeTable.expectedCost(merchantId, selected, amount, context);
+            if (Double.isNaN(actual)) {
+                return;
+            }
+            
+            Connector cheapest = selected;
+            double least = actual;
+            for (RoutingConfigEntity config : configs) {
+                if (!matchesAmount(config, BigDecimal.valueOf(amount))
+                    || !matchesCurrency(config, decision.getCurrency())
+                    || (config.getPaymentMethod() != null && !config.getPaymentMethod().equals(decision.getPaymentMethod()))) {
+                    continue;
+                }
+                Connector candidate = parseConnector(config.getConnector());
+                if (candidate == null || candidate == selected || !feeTable.meetsFloor(merchantId, candidate, context)) {
+                    continue;
+                }
+                double cost = feeTable.expectedCost(merchantId, candidate, amount, context);
+                if (!Double.isNaN(cost) && cost < least) {
+                    least = cost;
+                    cheapest = candidate;
+                }
+            }
+            
+            pricedDecisions++;
+            actualCost += actual;
+            leastCost += least;
+            if (cheapest != selected) {
+                cheaperOptions++;
+            }
+            actualCostByConnector.merge(selected.name(), actual, Double::sum);
+            leastCostVolumeByConnector.merge(cheapest.name(), amount, Long::sum);
+        }
+        
+        ContractCostSavingsResponse toResponse(String merchantId, String profileId, Instant from, Instant to) {
+            ContractCostSavingsResponse response = new ContractCostSavingsResponse();
+            response.setMerchantId(merchantId);
+            response.setProfileId(profileId);
+            response.setFrom(from);
+            response.setTo(to);
+            response.setTotalDecisions(totalDecisions);
+            response.setPricedDecisions(pricedDecisions);
+            response.setDecisionsWithCheaperOption(cheaperOptions);
+            response.setActualCost(Math.round(actualCost));
+            response.setLeastCost(Math.round(leastCost));
+            response.setPotentialSavings(Math.round(actualCost - leastCost));
+            Map<String, Long> costs = new TreeMap<>();
+            actualCostByConnector.forEach((connector, cost) -> costs.put(connector, Math.round(cost)));
+            response.setActualCostByConnector(costs);
+            response.setLeastCostVolumeByConnector(leastCostVolumeByConnector);
+            return response;
+        }
+    }
+    
+    private static Connector parseConnector(String connectorName) {
+        if (connectorName == null) {
+            return null;
+        }
+        try {
+            return Connector.valueOf(connectorName.toUpperCase());
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
     }
     
     @Override
@@ -0,0 +1,222 @@
+package com.hyperswitch.routing.latency;
+
+import com.hyperswitch.common.enums.Connector;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latency-aware connector scoring
+ * Keeps per-connector exponentially weighted moving averages of response latency and
+ * success, fed from connector HTTP call timings, and ranks candidates with
+ * power-of-two-choices so traffic does not herd onto a single fastest connector.
+ * Averages of a connector that receives no calls decay back to the optimistic start with
+ * the configured half-life, so a connector that was slow once is tried again later.
+ */
+@Component
+public class ConnectorLatencyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorLatencyTracker.class);
+
+    private final double alpha;
+    private final double latencyWeight;
+    private final double referenceLatencyMillis;
+    private final double idleHalfLifeMillis;
+
+    // Indexed by Connector ordinal, doubles stored as raw long bits
+    private final AtomicLong[] latencyEwma;
+    private final AtomicLong[] successEwma;
+    // Time of the last recorded call in epoch milliseconds, 0 if none
+    private final AtomicLong[] updatedAt;
+
+    private Timer[] httpLatencyTimers;
+    private Timer[] confirmLatencyTimers;
+
+    public ConnectorLatencyTracker(
+            @Value("${hyperswitch.routing.latency.ewma-alpha:0.2}") double alpha,
+            @Value("${hyperswitch.routing.latency.latency-weight:0.5}") double latencyWeight,
+            @Value("${hyperswitch.routing.latency.reference-latency-ms:1000}") double referenceLatencyMillis,
+            @Value("${hyperswitch.routing.latency.idle-half-life-seconds:300}") long idleHalfLifeSeconds) {
+        this.alpha = alpha;
+        this.latencyWeight = latencyWeight;
+        this.referenceLatencyMillis = referenceLatencyMillis;
+        this.idleHalfLifeMillis = idleHalfLifeSeconds * 1000.0;
+
+        int count = Connector.values().length;
+        this.latencyEwma = new AtomicLong[count];
+        this.successEwma = new AtomicLong[count];
+        this.updatedAt = new AtomicLong[count];
+        for (int i = 0; i < count; i++) {
+            updatedAt[i] = new AtomicLong();
+            // Optimistic start so connectors without data still get traffic
+            latencyEwma[i] = new AtomicLong(Double.doubleToRawLongBits(referenceLatencyMillis));
+            successEwma[i] = new AtomicLong(Double.doubleToRawLongBits(1.0));
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Connector[] connectors = Connector.values();
+        httpLatencyTimers = new Timer[connectors.length];
+        confirmLatencyTimers = new Timer[connectors.length];
+        for (Connector connector : connectors) {
+            int i = connector.ordinal();
+            String tag = connector.name().toLowerCase();
+            httpLatencyTimers[i] = Timer.builder("hyperswitch.routing.connector.latency")
+                .description("Connector HTTP call latency")
+                .tag("connector", tag)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            confirmLatencyTimers[i] = Timer.builder("hyperswitch.payment.confirm.connector_latency")
+                .description("Time spent in the connector during payment confirm")
+                .tag("connector", tag)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            Gauge.builder("hyperswitch.routing.connector.latency.ewma", latencyEwma[i],
+                    v -> Double.longBitsToDouble(v.get()))
+                .description("Exponentially weighted moving average of connector latency in milliseconds")
+                .tag("connector", tag)
+                .register(meterRegistry);
+            Gauge.builder("hyperswitch.routing.connector.success.ewma", successEwma[i],
+                    v -> Double.longBitsToDouble(v.get()))
+                .description("Exponentially weighted moving average of connector success")
+                .tag("connector", tag)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Record a connector HTTP call
+     */
+    public void recordCall(String connectorName, boolean success, long latencyMillis) {
+        recordCall(connectorName, success, latencyMillis, System.currentTimeMillis());
+    }
+
+    void recordCall(String connectorName, boolean success, long latencyMillis, long now) {
+        Connector connector = parse(connectorName);
+        if (connector == null) {
+            return;
+        }
+        int i = connector.ordinal();
+        double decay = decay(i, now);
+        update(latencyEwma[i], latencyMillis, referenceLatencyMillis, decay);
+        update(successEwma[i], success ? 1.0 : 0.0, 1.0, decay);
+        updatedAt[i].set(now);
+        if (httpLatencyTimers != null) {
+            httpLatencyTimers[i].record(Duration.ofMillis(latencyMillis));
+        }
+    }
+
+    /**
+     * Record the time a payment confirm spent waiting on a connector
+     */
+    public void recordConfirmLatency(String connectorName, long latencyMillis) {
+        Connector connector = parse(connectorName);
+        if (connector != null && confirmLatencyTimers != null) {
+            confirmLatencyTimers[connector.ordinal()].record(Duration.ofMillis(latencyMillis));
+        }
+    }
+
+    /**
+     * Score in [0, 1] blending success and latency by the configured weight
+     */
+    public double score(Connector connector) {
+        return score(connector, System.currentTimeMillis());
+    }
+
+    double score(Connector connector, long now) {
+        int i = connector.ordinal();
+        double decay = decay(i, now);
+        double latency = decayed(Double.longBitsToDouble(latencyEwma[i].get()), referenceLatencyMillis, decay);
+        double success = decayed(Double.longBitsToDouble(successEwma[i].get()), 1.0, decay);
+        double latencyScore = referenceLatencyMillis / (referenceLatencyMillis + latency);
+        return (1.0 - latencyWeight) * success + latencyWeight * latencyScore;
+    }
+
+    /**
+     * Rank candidates: the first connector is chosen by power-of-two-choices,
+     * the remaining ones follow by descending score as fallbacks
+     */
+    public List<Connector> rank(List<Connector> candidates) {
+        return rank(candidates, System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    List<Connector> rank(List<Connector> candidates, long now, RandomGenerator random) {
+        int size = candidates.size();
+        if (size < 2) {
+            return candidates;
+        }
+        // Two distinct positions: the second is drawn from the other size - 1
+        int firstIndex = random.nextInt(size);
+        int secondIndex = random.nextInt(size - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+        Connector first = candidates.get(firstIndex);
+        Connector second = candidates.get(secondIndex);
+        Connector winner = score(first, now) >= score(second, now) ? first : second;
+
+        List<Connector> ranked = new ArrayList<>(size);
+        ranked.add(winner);
+        candidates.stream()
+            .filter(c -> c != winner)
+            .sorted(Comparator.comparingDouble((Connector c) -> score(c, now)).reversed())
+            .forEach(ranked::add);
+        return ranked;
+    }
+
+    /**
+     * Weight left to a connector's averages after the time it received no calls
+     */
+    private double decay(int index, long now) {
+        long last = updatedAt[index].get();
+        long elapsed = now - last;
+        return last == 0L || elapsed <= 0 ? 1.0 : Math.pow(0.5, elapsed / idleHalfLifeMillis);
+    }
+
+    private static double decayed(double value, double prior, double decay) {
+        return prior + (value - prior) * decay;
+    }
+
+    /**
+     * Fold a sample into an average, first decaying it towards the prior for the idle time
+     */
+    private void update(AtomicLong ewma, double sample, double prior, double decay) {
+        while (true) {
+            long bits = ewma.get();
+            double current = decayed(Double.longBitsToDouble(bits), prior, decay);
+            double next = current + alpha * (sample - current);
+            if (ewma.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private static Connector parse(String connectorName) {
+        if (connectorName == null) {
+            return null;
+        }
+        try {
+            return Connector.valueOf(connectorName.toUpperCase());
+        } catch (IllegalArgumentException _) {
+            log.debug("Ignoring latency for unknown connector: {}", connectorName);
+            return null;
+        }
+    }
+}
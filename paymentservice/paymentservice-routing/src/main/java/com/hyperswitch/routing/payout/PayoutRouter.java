@@ -0,0 +1,408 @@
+package com.hyperswitch.routing.payout;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.storage.entity.RoutingAlgorithmEntity;
+import com.hyperswitch.storage.repository.RoutingAlgorithmRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Payout connector selection
+ * The merchant's active payout routing algorithm (priority, volume split or rules over
+ * destination country, payout method, currency and amount) is compiled into arrays once
+ * and cached, so routing a payout needs no I/O while the cached routing is fresh.
+ * Eligible connectors are then ordered by the payout's speed versus cost preference using
+ * per-connector payout latency and success averages and the payout fees configured in the
+ * algorithm. Payment fee schedules are not used, since payout pricing differs per connector;
+ * without payout fees the cost preference keeps the algorithm's order.
+ */
+@Component
+public class PayoutRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutRouter.class);
+    private static final String ALGORITHM_FOR_PAYOUT = "payout";
+    private static final Connector[] CONNECTORS = Connector.values();
+    private static final List<Connector> DEFAULT_CONNECTORS = List.of(Connector.STRIPE);
+
+    private final RoutingAlgorithmRepository routingAlgorithmRepository;
+    private final long ttlMillis;
+    private final double alpha;
+    private final double successFloor;
+
+    private final ConcurrentHashMap<String, CompiledPayoutRouting> compiled = new ConcurrentHashMap<>();
+
+    // Indexed by Connector ordinal, doubles stored as raw long bits
+    private final AtomicLong[] latencyEwma;
+    private final AtomicLong[] successEwma;
+
+    private Timer[] latencyTimers;
+    private Counter[] successCounters;
+    private Counter[] failureCounters;
+
+    public PayoutRouter(
+            RoutingAlgorithmRepository routingAlgorithmRepository,
+            @Value("${hyperswitch.routing.payout.cache-ttl-seconds:60}") long ttlSeconds,
+            @Value("${hyperswitch.routing.payout.ewma-alpha:0.1}") double alpha,
+            @Value("${hyperswitch.routing.payout.success-floor:0.8}") double successFloor) {
+        this.routingAlgorithmRepository = routingAlgorithmRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.alpha = alpha;
+        this.successFloor = successFloor;
+
+        this.latencyEwma = new AtomicLong[CONNECTORS.length];
+        this.successEwma = new AtomicLong[CONNECTORS.length];
+        for (int i = 0; i < CONNECTORS.length; i++) {
+            // Unknown latency and optimistic success until payouts are observed
+            latencyEwma[i] = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+            successEwma[i] = new AtomicLong(Double.doubleToRawLongBits(1.0));
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        latencyTimers = new Timer[CONNECTORS.length];
+        successCounters = new Counter[CONNECTORS.length];
+        failureCounters = new Counter[CONNECTORS.length];
+        for (Connector connector : CONNECTORS) {
+            int i = connector.ordinal();
+            String tag = connector.name().toLowerCase();
+            latencyTimers[i] = Timer.builder("hyperswitch.payout.connector.latency")
+                .description("Time from payout routing to connector completion")
+                .tag("connector", tag)
+                .register(meterRegistry);
+            successCounters[i] = Counter.builder("hyperswitch.payout.connector.outcomes")
+                .description("Payout outcomes per connector")
+                .tag("connector", tag)
+                .tag("result", "success")
+                .register(meterRegistry);
+            failureCounters[i] = Counter.builder("hyperswitch.payout.connector.outcomes")
+                .description("Payout outcomes per connector")
+                .tag("connector", tag)
+                .tag("result", "failure")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Ordered connectors for a single payout
+     */
+    public Mono<List<Connector>> route(String merchantId, PayoutRoutingInput input) {
+        return compiled(merchantId)
+            .map(routing -> select(routing, input, ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Record a completed or failed payout
+     */
+    public void recordOutcome(String connectorName, boolean success, long latencyMillis) {
+        Connector connector = parse(connectorName);
+        if (connector == null) {
+            return;
+        }
+        int i = connector.ordinal();
+        update(latencyEwma[i], latencyMillis);
+        update(successEwma[i], success ? 1.0 : 0.0);
+        if (latencyTimers != null) {
+            latencyTimers[i].record(Duration.ofMillis(latencyMillis));
+            (success ? successCounters : failureCounters)[i].increment();
+        }
+    }
+
+    /**
+     * Drop the compiled payout routing of a merchant after its configuration changed
+     */
+    public void invalidate(String merchantId) {
+        compiled.remove(merchantId);
+    }
+
+    List<Connector> select(CompiledPayoutRouting routing, PayoutRoutingInput input, RandomGenerator random) {
+        List<Connector> candidates = routing.candidates(input, random);
+        if (candidates.isEmpty()) {
+            return DEFAULT_CONNECTORS;
+        }
+        if (candidates.size() == 1) {
+            return candidates;
+        }
+        List<Connector> ordered = new ArrayList<>(candidates);
+        // A volume split pick stays first so the configured split is honored
+        int fixed = routing.kind == Kind.VOLUME_SPLIT ? 1 : 0;
+        List<Connector> tail = ordered.subList(fixed, ordered.size());
+        Comparator<Connector> healthy = Comparator.comparing(c -> successOf(c) < successFloor);
+        switch (input.preference()) {
+            case SPEED -> tail.sort(healthy.thenComparingDouble(this::expectedLatency));
+            // Connectors without a payout fee keep their configured order after the priced ones
+            case COST -> tail.sort(healthy.thenComparingDouble(c -> routing.expectedCost(c, input.amount())));
+            default -> tail.sort(healthy);
+        }
+        return ordered;
+    }
+
+    private double expectedLatency(Connector connector) {
+        double latency = Double.longBitsToDouble(latencyEwma[connector.ordinal()].get());
+        return Double.isNaN(latency) ? Double.MAX_VALUE : latency;
+    }
+
+    private double successOf(Connector connector) {
+        return Double.longBitsToDouble(successEwma[connector.ordinal()].get());
+    }
+
+    private Mono<CompiledPayoutRouting> compiled(String merchantId) {
+        CompiledPayoutRouting current = compiled.get(merchantId);
+        if (current != null && current.expiresAt > System.currentTimeMillis()) {
+            return Mono.just(current);
+        }
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        return routingAlgorithmRepository.findByMerchantId(merchantId)
+            .filter(entity -> ALGORITHM_FOR_PAYOUT.equals(entity.getAlgorithmFor()))
+            .filter(entity -> Boolean.TRUE.equals(entity.getIsActive()) || Boolean.TRUE.equals(entity.getIsDefault()))
+            // Active algorithm wins over the default one
+            .sort(Comparator.comparing((RoutingAlgorithmEntity entity) -> !Boolean.TRUE.equals(entity.getIsActive())))
+            .next()
+            .map(entity -> compile(entity.getAlgorithmData(), expiresAt))
+            .defaultIfEmpty(CompiledPayoutRouting.empty(expiresAt))
+            .doOnNext(loaded -> compiled.put(merchantId, loaded))
+            .onErrorResume(error -> {
+                log.warn("Failed to load payout routing for merchant {}", merchantId, error);
+                return Mono.just(CompiledPayoutRouting.empty(expiresAt));
+            });
+    }
+
+    /**
+     * Compile algorithm data of the form {"priority": [...]}, {"volume_split": [{"connector", "split"}]}
+     * or {"rules": [{"condition": {...}, "connectors": [...]}], "default_selection": {"connectors": [...]}},
+     * each optionally with "payout_fees": {"adyen": {"percentage": 0.5, "fixed": 25}}
+     */
+    static CompiledPayoutRouting compile(Map<String, Object> algorithmData, long expiresAt) {
+        if (algorithmData == null) {
+            return CompiledPayoutRouting.empty(expiresAt);
+        }
+        PayoutFee[] fees = parseFees(algorithmData.get("payout_fees"));
+        if (algorithmData.get("volume_split") instanceof List<?> splits) {
+            List<Connector> connectors = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (Object item : splits) {
+                if (item instanceof Map<?, ?> split && split.get("split") instanceof Number weight) {
+                    Connector connector = parse(String.valueOf(split.get("connector")));
+                    if (connector != null && weight.intValue() > 0) {
+                        connectors.add(connector);
+                        weights.add(weight.intValue());
+                    }
+                }
+            }
+            int[] cumulative = new int[weights.size()];
+            int total = 0;
+            for (int i = 0; i < weights.size(); i++) {
+                total += weights.get(i);
+                cumulative[i] = total;
+            }
+            return new CompiledPayoutRouting(Kind.VOLUME_SPLIT, connectors.toArray(Connector[]::new),
+                cumulative, new PayoutRule[0], new Connector[0], fees, expiresAt);
+        }
+        if (algorithmData.get("rules") instanceof List<?> ruleList) {
+            List<PayoutRule> rules = new ArrayList<>();
+            for (Object item : ruleList) {
+                if (item instanceof Map<?, ?> rule) {
+                    rules.add(PayoutRule.compile(rule));
+                }
+            }
+            Connector[] defaults = algorithmData.get("default_selection") instanceof Map<?, ?> defaultSelection
+                ? parseConnectors(defaultSelection.get("connectors"))
+                : new Connector[0];
+            return new CompiledPayoutRouting(Kind.RULES, new Connector[0], new int[0],
+                rules.toArray(PayoutRule[]::new), defaults, fees, expiresAt);
+        }
+        return new CompiledPayoutRouting(Kind.PRIORITY, parseConnectors(algorithmData.get("priority")),
+            new int[0], new PayoutRule[0], new Connector[0], fees, expiresAt);
+    }
+
+    /**
+     * Payout fees indexed by connector ordinal; null where a connector has none
+     */
+    private static PayoutFee[] parseFees(Object config) {
+        PayoutFee[] fees = new PayoutFee[CONNECTORS.length];
+        if (!(config instanceof Map<?, ?> byConnector)) {
+            return fees;
+        }
+        byConnector.forEach((name, value) -> {
+            Connector connector = parse(String.valueOf(name));
+            if (connector != null && value instanceof Map<?, ?> fee) {
+                fees[connector.ordinal()] = new PayoutFee(
+                    fee.get("percentage") instanceof Number percentage ? percentage.doubleValue() / 100.0 : 0.0,
+                    fee.get("fixed") instanceof Number fixed ? fixed.longValue() : 0L);
+            }
+        });
+        return fees;
+    }
+
+    private static Connector[] parseConnectors(Object names) {
+        if (!(names instanceof List<?> list)) {
+            return new Connector[0];
+        }
+        return list.stream()
+            .map(name -> parse(String.valueOf(name)))
+            .filter(Objects::nonNull)
+            .toArray(Connector[]::new);
+    }
+
+    private void update(AtomicLong ewma, double sample) {
+        while (true) {
+            long bits = ewma.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = Double.isNaN(current) ? sample : current + alpha * (sample - current);
+            if (ewma.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private static Connector parse(String connectorName) {
+        if (connectorName == null) {
+            return null;
+        }
+        try {
+            return Connector.valueOf(connectorName.toUpperCase());
+        } catch (IllegalArgumentException _) {
+            log.debug("Ignoring unknown payout connector: {}", connectorName);
+            return null;
+        }
+    }
+
+    enum Kind {
+        PRIORITY,
+        VOLUME_SPLIT,
+        RULES
+    }
+
+    /**
+     * A payout rule compiled for matching; null arrays match any value
+     */
+    record PayoutRule(long minAmount, long maxAmount, String[] countries, String[] payoutMethods,
+                      String[] currencies, Connector[] connectors) {
+
+        static PayoutRule compile(Map<?, ?> rule) {
+            Map<?, ?> condition = rule.get("condition") instanceof Map<?, ?> c ? c : Map.of();
+            return new PayoutRule(
+                condition.get("min_amount") instanceof Number min ? min.longValue() : Long.MIN_VALUE,
+                condition.get("max_amount") instanceof Number max ? max.longValue() : Long.MAX_VALUE,
+                upperCased(condition.get("countries")),
+                upperCased(condition.get("payout_methods")),
+                upperCased(condition.get("currencies")),
+                parseConnectors(rule.get("connectors")));
+        }
+
+        boolean matches(PayoutRoutingInput input) {
+            return input.amount() >= minAmount
+                && input.amount() <= maxAmount
+                && contains(countries, input.destinationCountry())
+                && contains(payoutMethods, input.payoutMethod())
+                && contains(currencies, input.currency());
+        }
+
+        private static String[] upperCased(Object values) {
+            if (!(values instanceof List<?> list) || list.isEmpty()) {
+                return null;
+            }
+            return list.stream().map(v -> v.toString().toUpperCase()).toArray(String[]::new);
+        }
+
+        private static boolean contains(String[] allowed, String value) {
+            if (allowed == null) {
+                return true;
+            }
+            if (value == null) {
+                return false;
+            }
+            for (String candidate : allowed) {
+                if (candidate.equalsIgnoreCase(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Fee a connector charges per payout
+     *
+     * @param percentage share of the amount, as a fraction
+     * @param fixed fixed fee in minor units
+     */
+    record PayoutFee(double percentage, long fixed) {
+    }
+
+    /**
+     * Compiled payout routing algorithm of one merchant
+     */
+    record CompiledPayoutRouting(Kind kind, Connector[] connectors, int[] cumulativeWeights,
+                                 PayoutRule[] rules, Connector[] defaultConnectors, PayoutFee[] fees,
+                                 long expiresAt) {
+
+        static CompiledPayoutRouting empty(long expiresAt) {
+            return new CompiledPayoutRouting(Kind.PRIORITY, new Connector[0], new int[0],
+                new PayoutRule[0], new Connector[0], new PayoutFee[CONNECTORS.length], expiresAt);
+        }
+
+        /**
+         * Expected payout fee in minor units, or Double.MAX_VALUE if the connector has none
+         */
+        double expectedCost(Connector connector, long amount) {
+            PayoutFee fee = fees[connector.ordinal()];
+            return fee == null ? Double.MAX_VALUE : amount * fee.percentage() + fee.fixed();
+        }
+
+        List<Connector> candidates(PayoutRoutingInput input, RandomGenerator random) {
+            switch (kind) {
+                case VOLUME_SPLIT -> {
+                    if (connectors.length == 0) {
+                        return List.of();
+                    }
+                    int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+                    int picked = 0;
+                    while (cumulativeWeights[picked] <= point) {
+                        picked++;
+                    }
+                    List<Connector> result = new ArrayList<>(connectors.length);
+                    result.add(connectors[picked]);
+                    for (int i = 0; i < connectors.length; i++) {
+                        if (i != picked) {
+                            result.add(connectors[i]);
+                        }
+                    }
+                    return result;
+                }
+                case RULES -> {
+                    for (PayoutRule rule : rules) {
+                        if (rule.matches(input)) {
+                            return List.of(rule.connectors());
+                        }
+                    }
+                    return List.of(defaultConnectors);
+                }
+                default -> {
+                    return List.of(connectors);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.hyperswitch.routing.payout;
+
+/**
+ * Payout attributes used to select a connector
+ *
+ * @param amount payout amount in minor units
+ * @param currency destination currency
+ * @param destinationCountry destination country code, or null if unknown
+ * @param payoutMethod payout method such as CARD, BANK or WALLET, or null if unknown
+ * @param preference speed versus cost trade-off
+ */
+public record PayoutRoutingInput(
+    long amount,
+    String currency,
+    String destinationCountry,
+    String payoutMethod,
+    Preference preference
+) {
+
+    /**
+     * Speed versus cost preference for ordering eligible connectors
+     */
+    public enum Preference {
+        SPEED,
+        COST,
+        BALANCED;
+
+        /**
+         * Map a payout priority such as instant, fast or regular to a preference
+         */
+        public static Preference fromPriority(String priority) {
+            if (priority == null) {
+                return BALANCED;
+            }
+            return switch (priority.toLowerCase()) {
+                case "instant", "fast" -> SPEED;
+                case "regular", "wire", "cross_border" -> COST;
+                default -> BALANCED;
+            };
+        }
+    }
+}
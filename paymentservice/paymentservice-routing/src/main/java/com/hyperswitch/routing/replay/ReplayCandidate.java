@@ -0,0 +1,202 @@
+package com.hyperswitch.routing.replay;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.routing.RoutingAlgorithm;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Replays historical decisions through one candidate routing configuration.
+ * When the candidate picks the connector that was actually used the real outcome
+ * is counted; otherwise the outcome is estimated from the shared statistics.
+ * Instances are confined to one thread at a time.
+ */
+class ReplayCandidate {
+
+    private static final Connector[] CONNECTORS = Connector.values();
+
+    private final String name;
+    private final RoutingAlgorithm algorithm;
+    private final int[] priority;
+    private final int[] weights;
+    private final double explorationRate;
+    private final double[] feePercentage;
+    private final long[] feeFixed;
+    private final SplittableRandom random;
+
+    private long events;
+    private long matchedDecisions;
+    private double projectedSuccesses;
+    private double projectedCost;
+    private final long[] load = new long[CONNECTORS.length];
+    // Connectors eligible for the event being processed, reused across events
+    private final BitSet eligible = new BitSet(CONNECTORS.length);
+
+    private ReplayCandidate(String name, RoutingAlgorithm algorithm, int[] priority, int[] weights,
+                            double explorationRate, Map<String, RoutingReplayProperties.FeeConfig> fees, long seed) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.priority = priority;
+        this.weights = weights;
+        this.explorationRate = explorationRate;
+        this.random = new SplittableRandom(seed);
+        this.feePercentage = new double[CONNECTORS.length];
+        this.feeFixed = new long[CONNECTORS.length];
+        fees.forEach((connector, fee) -> {
+            int ordinal = Connector.valueOf(connector.toUpperCase()).ordinal();
+            BigDecimal percentage = fee.getPercentage() != null ? fee.getPercentage() : BigDecimal.ZERO;
+            feePercentage[ordinal] = percentage.doubleValue() / 100.0;
+            feeFixed[ordinal] = fee.getFixed();
+        });
+    }
+
+    /**
+     * Baseline candidate that keeps every logged decision
+     */
+    static ReplayCandidate logged(Map<String, RoutingReplayProperties.FeeConfig> fees) {
+        return new ReplayCandidate("logged", null, new int[0], new int[CONNECTORS.length], 0.0, fees, 0L);
+    }
+
+    static ReplayCandidate of(RoutingReplayProperties.CandidateConfig config,
+                              Map<String, RoutingReplayProperties.FeeConfig> fees, long seed) {
+        List<String> connectors = config.getConnectors();
+        int[] priority = new int[connectors.size()];
+        for (int i = 0; i < priority.length; i++) {
+            priority[i] = Connector.valueOf(connectors.get(i).toUpperCase()).ordinal();
+        }
+        int[] weights = new int[CONNECTORS.length];
+        config.getWeights().forEach((connector, weight) ->
+            weights[Connector.valueOf(connector.toUpperCase()).ordinal()] = weight);
+
+        String name = config.getName() != null ? config.getName() : config.getAlgorithm().name().toLowerCase();
+        return new ReplayCandidate(name, config.getAlgorithm(), priority, weights,
+            config.getExplorationRate(), fees, seed);
+    }
+
+    void process(List<ReplayEvent> batch, ReplayStatistics statistics) {
+        for (ReplayEvent event : batch) {
+            statistics.eligibleConnectors(event, eligible);
+            int chosen = choose(event, statistics);
+
+            double successProbability;
+            if (chosen == event.connector()) {
+                matchedDecisions++;
+                successProbability = event.success() ? 1.0 : 0.0;
+            } else {
+                successProbability = statistics.successRate(event.segment(), chosen);
+            }
+
+            events++;
+            load[chosen]++;
+            projectedSuccesses += successProbability;
+            projectedCost += successProbability * fee(chosen, event.amount());
+        }
+    }
+
+    private int choose(ReplayEvent event, ReplayStatistics statistics) {
+        if (algorithm == null) {
+            return event.connector();
+        }
+        return switch (algorithm) {
+            case PRIORITY_BASED -> choosePriority(event);
+            case VOLUME_BASED -> chooseVolume(event);
+            case SUCCESS_RATE_BASED -> chooseSuccessRate(event, statistics);
+            case CONTRACT_BASED -> chooseLeastCost(event);
+            // Rule inputs are not captured in the decision log, keep the logged decision
+            default -> event.connector();
+        };
+    }
+
+    private int choosePriority(ReplayEvent event) {
+        for (int connector : priority) {
+            if (eligible.get(connector)) {
+                return connector;
+            }
+        }
+        return event.connector();
+    }
+
+    private int chooseVolume(ReplayEvent event) {
+        int total = 0;
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            total += weights[i];
+        }
+        if (total <= 0) {
+            return event.connector();
+        }
+        int pick = random.nextInt(total);
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return event.connector();
+    }
+
+    private int chooseSuccessRate(ReplayEvent event, ReplayStatistics statistics) {
+        if (random.nextDouble() < explorationRate) {
+            return randomEligible();
+        }
+        int best = event.connector();
+        double bestRate = -1.0;
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            double rate = statistics.successRate(event.segment(), i);
+            if (rate > bestRate) {
+                bestRate = rate;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int chooseLeastCost(ReplayEvent event) {
+        int best = event.connector();
+        double bestFee = Double.MAX_VALUE;
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            double fee = fee(i, event.amount());
+            if (fee < bestFee) {
+                bestFee = fee;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int randomEligible() {
+        int pick = random.nextInt(eligible.cardinality());
+        int connector = eligible.nextSetBit(0);
+        while (pick-- > 0) {
+            connector = eligible.nextSetBit(connector + 1);
+        }
+        return connector;
+    }
+
+    private double fee(int connector, long amount) {
+        return amount * feePercentage[connector] + feeFixed[connector];
+    }
+
+    RoutingReplayReport.CandidateResult result() {
+        Map<String, Double> distribution = new LinkedHashMap<>();
+        for (Connector connector : CONNECTORS) {
+            long count = load[connector.ordinal()];
+            if (count > 0) {
+                distribution.put(connector.name(), (double) count / events);
+            }
+        }
+        return new RoutingReplayReport.CandidateResult(
+            name,
+            algorithm != null ? algorithm.name() : "LOGGED",
+            events,
+            events == 0 ? 0.0 : projectedSuccesses / events,
+            projectedCost,
+            events == 0 ? 0.0 : (double) matchedDecisions / events,
+            distribution
+        );
+    }
+}
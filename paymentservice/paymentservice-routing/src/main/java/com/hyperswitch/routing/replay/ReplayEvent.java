@@ -0,0 +1,13 @@
+package com.hyperswitch.routing.replay;
+
+/**
+ * Compact form of a historical routing decision and its outcome
+ *
+ * @param merchantId merchant the payment belongs to
+ * @param segment payment method and currency segment used for success rate estimation
+ * @param connector ordinal of the connector that was actually selected
+ * @param success whether the payment attempt succeeded
+ * @param amount payment amount in minor units
+ */
+record ReplayEvent(String merchantId, String segment, int connector, boolean success, long amount) {
+}
@@ -0,0 +1,67 @@
+package com.hyperswitch.routing.replay;
+
+import com.hyperswitch.common.enums.Connector;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historical outcome statistics shared by all replay candidates.
+ * Only updated between batches, so candidates can read it concurrently.
+ */
+class ReplayStatistics {
+
+    private static final int CONNECTOR_COUNT = Connector.values().length;
+
+    private final double priorSuccesses;
+    private final double priorFailures;
+
+    // segment -> [successes..., attempts...] indexed by connector ordinal
+    private final Map<String, long[]> outcomesBySegment = new HashMap<>();
+    // merchant -> connectors the merchant has routed to, by ordinal
+    private final Map<String, BitSet> eligibleByMerchant = new HashMap<>();
+
+    ReplayStatistics(double priorSuccesses, double priorFailures) {
+        this.priorSuccesses = priorSuccesses;
+        this.priorFailures = priorFailures;
+    }
+
+    /**
+     * Fold a processed batch into the statistics
+     */
+    void update(List<ReplayEvent> batch) {
+        for (ReplayEvent event : batch) {
+            long[] outcomes = outcomesBySegment.computeIfAbsent(event.segment(), k -> new long[CONNECTOR_COUNT * 2]);
+            if (event.success()) {
+                outcomes[event.connector()]++;
+            }
+            outcomes[CONNECTOR_COUNT + event.connector()]++;
+            eligibleByMerchant.computeIfAbsent(event.merchantId(), k -> new BitSet(CONNECTOR_COUNT))
+                .set(event.connector());
+        }
+    }
+
+    /**
+     * Posterior mean success rate of a connector within a segment
+     */
+    double successRate(String segment, int connector) {
+        long[] outcomes = outcomesBySegment.get(segment);
+        long successes = outcomes != null ? outcomes[connector] : 0L;
+        long attempts = outcomes != null ? outcomes[CONNECTOR_COUNT + connector] : 0L;
+        return (successes + priorSuccesses) / (attempts + priorSuccesses + priorFailures);
+    }
+
+    /**
+     * Fill in the connectors a merchant can be routed to, always including the logged connector
+     */
+    void eligibleConnectors(ReplayEvent event, BitSet eligible) {
+        eligible.clear();
+        BitSet routed = eligibleByMerchant.get(event.merchantId());
+        if (routed != null) {
+            eligible.or(routed);
+        }
+        eligible.set(event.connector());
+    }
+}
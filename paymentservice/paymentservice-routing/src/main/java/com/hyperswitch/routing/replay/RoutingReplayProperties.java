@@ -0,0 +1,212 @@
+package com.hyperswitch.routing.replay;
+
+import com.hyperswitch.routing.RoutingAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for the offline routing replay simulator
+ */
+@Configuration
+@Profile(RoutingReplayRunner.PROFILE)
+@ConfigurationProperties(prefix = "hyperswitch.routing.replay")
+public class RoutingReplayProperties {
+
+    /**
+     * Start of the replayed time range (ISO-8601 instant)
+     */
+    private String from;
+
+    /**
+     * End of the replayed time range (ISO-8601 instant), defaults to now
+     */
+    private String to;
+
+    private int batchSize = 2048;
+    private long seed = 42L;
+    private int progressInterval = 1_000_000;
+    private boolean exitOnCompletion = true;
+
+    /**
+     * Beta prior used when estimating success rates for counterfactual decisions
+     */
+    private double priorSuccesses = 1.0;
+    private double priorFailures = 1.0;
+
+    private List<CandidateConfig> candidates = new ArrayList<>();
+    private Map<String, FeeConfig> fees = new HashMap<>();
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(int progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    public boolean isExitOnCompletion() {
+        return exitOnCompletion;
+    }
+
+    public void setExitOnCompletion(boolean exitOnCompletion) {
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    public double getPriorSuccesses() {
+        return priorSuccesses;
+    }
+
+    public void setPriorSuccesses(double priorSuccesses) {
+        this.priorSuccesses = priorSuccesses;
+    }
+
+    public double getPriorFailures() {
+        return priorFailures;
+    }
+
+    public void setPriorFailures(double priorFailures) {
+        this.priorFailures = priorFailures;
+    }
+
+    public List<CandidateConfig> getCandidates() {
+        return candidates;
+    }
+
+    public void setCandidates(List<CandidateConfig> candidates) {
+        this.candidates = candidates;
+    }
+
+    public Map<String, FeeConfig> getFees() {
+        return fees;
+    }
+
+    public void setFees(Map<String, FeeConfig> fees) {
+        this.fees = fees;
+    }
+
+    /**
+     * A candidate routing configuration to evaluate against history
+     */
+    public static class CandidateConfig {
+        private String name;
+        private RoutingAlgorithm algorithm = RoutingAlgorithm.SUCCESS_RATE_BASED;
+
+        /**
+         * Connector order for PRIORITY_BASED
+         */
+        private List<String> connectors = new ArrayList<>();
+
+        /**
+         * Connector split percentages for VOLUME_BASED
+         */
+        private Map<String, Integer> weights = new HashMap<>();
+
+        /**
+         * Share of traffic sent to a random eligible connector for SUCCESS_RATE_BASED
+         */
+        private double explorationRate = 0.05;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public RoutingAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(RoutingAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public List<String> getConnectors() {
+            return connectors;
+        }
+
+        public void setConnectors(List<String> connectors) {
+            this.connectors = connectors;
+        }
+
+        public Map<String, Integer> getWeights() {
+            return weights;
+        }
+
+        public void setWeights(Map<String, Integer> weights) {
+            this.weights = weights;
+        }
+
+        public double getExplorationRate() {
+            return explorationRate;
+        }
+
+        public void setExplorationRate(double explorationRate) {
+            this.explorationRate = explorationRate;
+        }
+    }
+
+    /**
+     * Connector processing fee: percentage of amount plus a fixed fee in minor units
+     */
+    public static class FeeConfig {
+        private BigDecimal percentage = BigDecimal.ZERO;
+        private long fixed;
+
+        public BigDecimal getPercentage() {
+            return percentage;
+        }
+
+        public void setPercentage(BigDecimal percentage) {
+            this.percentage = percentage;
+        }
+
+        public long getFixed() {
+            return fixed;
+        }
+
+        public void setFixed(long fixed) {
+            this.fixed = fixed;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.hyperswitch.routing.replay;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Result of replaying routing history through a set of candidate configurations
+ *
+ * @param rowsRead rows streamed from the decision log
+ * @param rowsReplayed rows with a known connector and outcome
+ * @param elapsed wall clock time of the replay
+ * @param candidates per-candidate projections, the logged baseline first
+ */
+public record RoutingReplayReport(long rowsRead, long rowsReplayed, Duration elapsed, List<CandidateResult> candidates) {
+
+    /**
+     * Projected outcome of one candidate configuration
+     *
+     * @param name candidate name
+     * @param algorithm routing algorithm used by the candidate
+     * @param decisions number of routing decisions replayed
+     * @param successRate projected authorization success rate
+     * @param cost projected processing cost in minor units
+     * @param agreement share of decisions identical to the logged decision
+     * @param loadDistribution share of traffic per connector
+     */
+    public record CandidateResult(
+        String name,
+        String algorithm,
+        long decisions,
+        double successRate,
+        double cost,
+        double agreement,
+        Map<String, Double> loadDistribution
+    ) {
+    }
+
+    /**
+     * Render the report as a plain text table
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Routing replay: %d rows read, %d replayed in %ds%n",
+            rowsRead, rowsReplayed, elapsed.toSeconds()));
+        sb.append(String.format("%-24s %-20s %12s %10s %16s %10s  %s%n",
+            "candidate", "algorithm", "decisions", "success", "cost", "agreement", "load"));
+        for (CandidateResult result : candidates) {
+            String load = result.loadDistribution().entrySet().stream()
+                .map(e -> String.format("%s=%.1f%%", e.getKey(), e.getValue() * 100))
+                .collect(Collectors.joining(" "));
+            sb.append(String.format("%-24s %-20s %12d %9.2f%% %16.0f %9.1f%%  %s%n",
+                result.name(), result.algorithm(), result.decisions(), result.successRate() * 100,
+                result.cost(), result.agreement() * 100, load));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.hyperswitch.routing.replay;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.storage.entity.RoutingDecisionLogEntity;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline routing replay simulator.
+ * Streams historical routing decisions and their outcomes and runs candidate routing
+ * configurations against them in parallel, reporting projected success rate, cost and
+ * connector load distribution. Rows are processed in fixed-size batches so memory stays
+ * bounded regardless of the size of the replayed range. The outcome is reported as the
+ * application's exit code, which the main class exits with once the replay is done.
+ *
+ * Run with: --spring.profiles.active=routing-replay --hyperswitch.routing.replay.from=2025-01-01T00:00:00Z
+ */
+@Component
+@Profile(RoutingReplayRunner.PROFILE)
+public class RoutingReplayRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final String PROFILE = "routing-replay";
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingReplayRunner.class);
+
+    private final RoutingDecisionLogRepository decisionLogRepository;
+    private final RoutingReplayProperties properties;
+    private volatile int exitCode;
+
+    public RoutingReplayRunner(
+            RoutingDecisionLogRepository decisionLogRepository,
+            RoutingReplayProperties properties) {
+        this.decisionLogRepository = decisionLogRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.getFrom() == null) {
+            log.error("hyperswitch.routing.replay.from is required for routing replay");
+            exitCode = 2;
+            return;
+        }
+        try {
+            Instant from = Instant.parse(properties.getFrom());
+            Instant to = properties.getTo() != null ? Instant.parse(properties.getTo()) : Instant.now();
+
+            log.info("Starting routing replay from {} to {} with {} candidate(s)",
+                from, to, properties.getCandidates().size());
+            RoutingReplayReport report = replay(from, to).block();
+            if (report != null) {
+                log.info("\n{}", report.format());
+            }
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            log.error("Routing replay failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+    }
+
+    /**
+     * 0 once the replay completed, 1 if it failed and 2 if it was not configured
+     */
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Replay routing decisions in a time range through the configured candidates
+     */
+    public Mono<RoutingReplayReport> replay(Instant from, Instant to) {
+        List<ReplayCandidate> candidates = new ArrayList<>();
+        candidates.add(ReplayCandidate.logged(properties.getFees()));
+        long seed = properties.getSeed();
+        for (RoutingReplayProperties.CandidateConfig config : properties.getCandidates()) {
+            candidates.add(ReplayCandidate.of(config, properties.getFees(), seed++));
+        }
+
+        ReplayStatistics statistics = new ReplayStatistics(
+            properties.getPriorSuccesses(), properties.getPriorFailures());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int parallelism = Math.min(candidates.size(), Runtime.getRuntime().availableProcessors());
+        Scheduler scheduler = Schedulers.newParallel("routing-replay", parallelism);
+        AtomicLong rowsRead = new AtomicLong();
+        AtomicLong rowsReplayed = new AtomicLong();
+        long startNanos = System.nanoTime();
+
+        return decisionLogRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(from, to)
+            .limitRate(batchSize)
+            .doOnNext(row -> {
+                long read = rowsRead.incrementAndGet();
+                if (read % properties.getProgressInterval() == 0) {
+                    log.info("Routing replay progress: {} rows read", read);
+                }
+            })
+            .mapNotNull(this::toEvent)
+            .buffer(batchSize)
+            // One batch in flight: every candidate sees the same statistics for a batch
+            .concatMap(batch -> Flux.fromIterable(candidates)
+                .parallel(parallelism)
+                .runOn(scheduler)
+                .doOnNext(candidate -> candidate.process(batch, statistics))
+                .sequential()
+                .then(Mono.fromRunnable(() -> {
+                    statistics.update(batch);
+                    rowsReplayed.addAndGet(batch.size());
+                })), 1)
+            .then(Mono.fromCallable(() -> new RoutingReplayReport(
+                rowsRead.get(),
+                rowsReplayed.get(),
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                candidates.stream().map(ReplayCandidate::result).toList())))
+            .doFinally(signal -> scheduler.dispose());
+    }
+
+    private ReplayEvent toEvent(RoutingDecisionLogEntity row) {
+        if (row.getSuccess() == null || row.getSelectedConnector() == null) {
+            // Outcome never recorded
+            return null;
+        }
+        int connector;
+        try {
+            connector = Connector.valueOf(row.getSelectedConnector().toUpperCase()).ordinal();
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+        String segment = (row.getPaymentMethod() != null ? row.getPaymentMethod() : "unknown")
+            + ":" + (row.getCurrency() != null ? row.getCurrency() : "unknown");
+        return new ReplayEvent(
+            row.getMerchantId(),
+            segment,
+            connector,
+            row.getSuccess(),
+            row.getAmount() != null ? row.getAmount() : 0L);
+    }
+}
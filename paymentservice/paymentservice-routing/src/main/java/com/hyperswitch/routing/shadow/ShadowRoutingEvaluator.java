@@ -0,0 +1,230 @@
+package com.hyperswitch.routing.shadow;
+
+import com.hyperswitch.common.dto.CreatePaymentRequest;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.storage.entity.RoutingShadowDecisionEntity;
+import com.hyperswitch.storage.repository.RoutingShadowDecisionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Shadow evaluation of inactive routing algorithms on live traffic
+ * After the active algorithm has chosen, the configured shadow algorithms are run on a
+ * small bounded executor and their hypothetical first choice is buffered and written to
+ * routing_shadow_decision in batches. When the executor or the write buffer is full the
+ * evaluation is dropped, so shadow work never queues behind or slows down payments.
+ */
+@Component
+public class ShadowRoutingEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShadowRoutingEvaluator.class);
+
+    private final RoutingShadowDecisionRepository repository;
+    private final List<RoutingAlgorithm> shadowAlgorithms;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int batchSize;
+    private final ThreadPoolExecutor executor;
+    private final ArrayBlockingQueue<RoutingShadowDecisionEntity> buffer;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private MeterRegistry meterRegistry;
+    private Counter executorShedCounter;
+    private Counter bufferShedCounter;
+
+    public ShadowRoutingEvaluator(
+            RoutingShadowDecisionRepository repository,
+            @Value("${hyperswitch.routing.shadow.enabled:false}") boolean enabled,
+            @Value("${hyperswitch.routing.shadow.algorithms:}") String algorithms,
+            @Value("${hyperswitch.routing.shadow.sample-rate:1.0}") double sampleRate,
+            @Value("${hyperswitch.routing.shadow.threads:2}") int threads,
+            @Value("${hyperswitch.routing.shadow.queue-capacity:256}") int queueCapacity,
+            @Value("${hyperswitch.routing.shadow.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${hyperswitch.routing.shadow.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.shadowAlgorithms = parseAlgorithms(algorithms);
+        this.enabled = enabled && !shadowAlgorithms.isEmpty();
+        this.sampleRate = sampleRate;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "routing-shadow-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        if (this.enabled) {
+            log.info("Shadow routing enabled for algorithms: {}", shadowAlgorithms);
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        this.meterRegistry = meterRegistry;
+        this.executorShedCounter = Counter.builder("hyperswitch.routing.shadow.shed")
+            .description("Shadow evaluations dropped under load")
+            .tag("stage", "executor")
+            .register(meterRegistry);
+        this.bufferShedCounter = Counter.builder("hyperswitch.routing.shadow.shed")
+            .description("Shadow evaluations dropped under load")
+            .tag("stage", "buffer")
+            .register(meterRegistry);
+        Gauge.builder("hyperswitch.routing.shadow.buffer.size", buffer, ArrayBlockingQueue::size)
+            .description("Shadow decisions waiting to be written")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schedule shadow evaluation of a routing decision. Never blocks the caller.
+     *
+     * @param router computes the connector list for a given algorithm
+     */
+    public void evaluate(CreatePaymentRequest request, String merchantId, RoutingAlgorithm activeAlgorithm,
+                         List<Connector> activeConnectors, Function<RoutingAlgorithm, List<Connector>> router) {
+        if (!enabled || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        Connector activeConnector = activeConnectors.isEmpty() ? null : activeConnectors.get(0);
+        try {
+            executor.execute(() -> run(request, merchantId, activeAlgorithm, activeConnector, router));
+        } catch (RejectedExecutionException _) {
+            if (executorShedCounter != null) {
+                executorShedCounter.increment();
+            }
+        }
+    }
+
+    private void run(CreatePaymentRequest request, String merchantId, RoutingAlgorithm activeAlgorithm,
+                     Connector activeConnector, Function<RoutingAlgorithm, List<Connector>> router) {
+        for (RoutingAlgorithm shadowAlgorithm : shadowAlgorithms) {
+            if (shadowAlgorithm == activeAlgorithm) {
+                continue;
+            }
+            List<Connector> shadowConnectors;
+            try {
+                shadowConnectors = router.apply(shadowAlgorithm);
+            } catch (Exception e) {
+                log.debug("Shadow routing with {} failed for merchant {}", shadowAlgorithm, merchantId, e);
+                count(shadowAlgorithm, "error");
+                continue;
+            }
+            Connector shadowConnector = shadowConnectors.isEmpty() ? null : shadowConnectors.get(0);
+            boolean agreed = activeConnector == shadowConnector;
+            count(shadowAlgorithm, agreed ? "agree" : "disagree");
+
+            RoutingShadowDecisionEntity entity = new RoutingShadowDecisionEntity();
+            entity.setMerchantId(merchantId);
+            entity.setPaymentId(paymentId(request));
+            entity.setActiveAlgorithm(activeAlgorithm.name());
+            entity.setShadowAlgorithm(shadowAlgorithm.name());
+            entity.setActiveConnector(activeConnector != null ? activeConnector.name() : null);
+            entity.setShadowConnector(shadowConnector != null ? shadowConnector.name() : null);
+            entity.setAgreed(agreed);
+            if (request.getAmount() != null) {
+                entity.setAmount(request.getAmount().getValue().longValue());
+                entity.setCurrency(request.getAmount().getCurrencyCode());
+            }
+            entity.setCreatedAt(Instant.now());
+            if (!buffer.offer(entity) && bufferShedCounter != null) {
+                bufferShedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Write buffered shadow decisions in batches
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.routing.shadow.flush-interval-ms:1000}")
+    public void flush() {
+        if (buffer.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<List<RoutingShadowDecisionEntity>> batches = new ArrayList<>();
+        List<RoutingShadowDecisionEntity> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            batches.add(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        Flux.fromIterable(batches)
+            .concatMap(repository::saveAll)
+            .doFinally(signal -> flushing.set(false))
+            .subscribe(null, error -> log.warn("Failed to write shadow routing decisions", error));
+    }
+
+    int bufferedCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void count(RoutingAlgorithm algorithm, String result) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("hyperswitch.routing.shadow.evaluations",
+                "algorithm", algorithm.name().toLowerCase(), "result", result).increment();
+        }
+    }
+
+    private static String paymentId(CreatePaymentRequest request) {
+        Object paymentId = request.getMetadata() != null ? request.getMetadata().get("payment_id") : null;
+        return paymentId != null ? paymentId.toString() : null;
+    }
+
+    private static List<RoutingAlgorithm> parseAlgorithms(String algorithms) {
+        if (algorithms == null || algorithms.isBlank()) {
+            return List.of();
+        }
+        List<RoutingAlgorithm> parsed = new ArrayList<>();
+        Arrays.stream(algorithms.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .forEach(name -> {
+                try {
+                    parsed.add(RoutingAlgorithm.valueOf(name.toUpperCase()));
+                } catch (IllegalArgumentException _) {
+                    log.warn("Ignoring unknown shadow routing algorithm: {}", name);
+                }
+            });
+        return List.copyOf(parsed);
+    }
+}
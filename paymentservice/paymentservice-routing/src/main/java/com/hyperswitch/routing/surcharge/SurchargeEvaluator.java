@@ -0,0 +1,292 @@
+package com.hyperswitch.routing.surcharge;
+
+import com.hyperswitch.common.enums.PaymentMethod;
+import com.hyperswitch.storage.entity.DecisionManagerConfigEntity;
+import com.hyperswitch.storage.repository.DecisionManagerConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates surcharge decision manager configs on the confirm path
+ * The JSON config of a profile is compiled once into flat rule arrays with bitmask and
+ * fixed-point matching, cached per (merchant, profile) and dropped when the config is
+ * written, so a payment costs only an in-memory scan of the compiled rules. Config writes are
+ * published to Redis, so every node drops the merchant's compiled configs within the
+ * invalidation sync interval rather than waiting for the TTL.
+ *
+ * Config format:
+ * <pre>
+ * {
+ *   "rules": [
+ *     {
+ *       "name": "us_credit",
+ *       "condition": {
+ *         "min_amount": 1000, "max_amount": 500000,
+ *         "payment_methods": ["CARD"], "card_types": ["credit"], "countries": ["US"]
+ *       },
+ *       "surcharge": {"type": "rate", "value": 2.5},
+ *       "tax_on_surcharge": 8.25
+ *     }
+ *   ],
+ *   "default_selection": {"surcharge": {"type": "fixed", "value": 100}}
+ * }
+ * </pre>
+ * Rules are evaluated in order and the first match wins.
+ */
+@Component
+public class SurchargeEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(SurchargeEvaluator.class);
+    private static final String CONFIG_TYPE = "surcharge";
+    private static final long PPM = 1_000_000L;
+    private static final String INVALIDATION_KEY = "routing:surcharge:config_versions";
+
+    private final DecisionManagerConfigRepository decisionManagerConfigRepository;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, CompiledSurcharge> compiled = new ConcurrentHashMap<>();
+
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    public SurchargeEvaluator(
+            DecisionManagerConfigRepository decisionManagerConfigRepository,
+            @Value("${hyperswitch.routing.surcharge.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.decisionManagerConfigRepository = decisionManagerConfigRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    @Autowired(required = false)
+    public void setRedisTemplate(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.warn("ReactiveRedisTemplate not available - surcharge config changes will only reach other nodes on expiry");
+        }
+    }
+
+    /**
+     * Compute surcharge and tax on surcharge for a payment
+     *
+     * @param amount payment amount in minor units
+     * @param cardType card type such as credit or debit, or null
+     * @param country issuing country code, or null
+     */
+    public Mono<SurchargeDetails> evaluate(String merchantId, String profileId, long amount,
+                                           PaymentMethod paymentMethod, String cardType, String country) {
+        String key = key(merchantId, profileId);
+        CompiledSurcharge current = compiled.get(key);
+        if (current != null && current.expiresAt > System.currentTimeMillis()) {
+            return Mono.just(current.evaluate(amount, paymentMethod, cardType, country));
+        }
+        return load(merchantId, profileId)
+            .doOnNext(loaded -> compiled.put(key, loaded))
+            .map(loaded -> loaded.evaluate(amount, paymentMethod, cardType, country))
+            .onErrorResume(error -> {
+                log.warn("Failed to load surcharge config for merchant {}, applying no surcharge", merchantId, error);
+                return Mono.just(SurchargeDetails.NONE);
+            });
+    }
+
+    /**
+     * Drop compiled surcharge configs of a merchant after a config write, on every node
+     */
+    public void invalidate(String merchantId) {
+        long changedAt = System.currentTimeMillis();
+        String prefix = merchantId + "|";
+        compiled.keySet().removeIf(key -> key.startsWith(prefix));
+        if (redisTemplate != null) {
+            redisTemplate.opsForHash().put(INVALIDATION_KEY, merchantId, String.valueOf(changedAt))
+                .subscribe(null, error -> log.warn("Failed to publish surcharge config change for {} to Redis", merchantId, error));
+        }
+    }
+
+    /**
+     * Pick up surcharge config changes made on other nodes
+     */
+    @Scheduled(fixedDelayString = "${hyperswitch.routing.surcharge.invalidation-sync-ms:5000}")
+    public void syncInvalidations() {
+        if (redisTemplate == null || compiled.isEmpty()) {
+            return;
+        }
+        redisTemplate.<String, Object>opsForHash().entries(INVALIDATION_KEY)
+            .collectMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString())
+            .subscribe(this::applyInvalidations,
+                error -> log.debug("Failed to read surcharge config changes from Redis", error));
+    }
+
+    void applyInvalidations(Map<String, String> changedAt) {
+        changedAt.forEach((merchantId, value) -> {
+            long changed;
+            try {
+                changed = Long.parseLong(value);
+            } catch (NumberFormatException _) {
+                log.warn("Ignoring invalid surcharge config change time for {}: {}", merchantId, value);
+                return;
+            }
+            String prefix = merchantId + "|";
+            compiled.entrySet().removeIf(entry -> entry.getKey().startsWith(prefix)
+                && entry.getValue().expiresAt() - ttlMillis <= changed);
+        });
+    }
+
+    private Mono<CompiledSurcharge> load(String merchantId, String profileId) {
+        Mono<DecisionManagerConfigEntity> merchantConfig = Mono.defer(() ->
+            decisionManagerConfigRepository.findByMerchantIdAndConfigType(merchantId, CONFIG_TYPE));
+        Mono<DecisionManagerConfigEntity> config = profileId != null
+            ? decisionManagerConfigRepository
+                .findByMerchantIdAndProfileIdAndConfigType(merchantId, profileId, CONFIG_TYPE)
+                .switchIfEmpty(merchantConfig)
+            : merchantConfig;
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        return config
+            .map(entity -> compile(entity.getConfigData(), expiresAt))
+            .defaultIfEmpty(new CompiledSurcharge(new Rule[0], null, expiresAt));
+    }
+
+    static CompiledSurcharge compile(Map<String, Object> configData, long expiresAt) {
+        if (configData == null) {
+            return new CompiledSurcharge(new Rule[0], null, expiresAt);
+        }
+        List<Rule> rules = new ArrayList<>();
+        if (configData.get("rules") instanceof List<?> ruleList) {
+            for (Object item : ruleList) {
+                if (item instanceof Map<?, ?> rule) {
+                    rules.add(compileRule(rule));
+                }
+            }
+        }
+        Rule defaultRule = configData.get("default_selection") instanceof Map<?, ?> defaultSelection
+            ? compileRule(defaultSelection)
+            : null;
+        return new CompiledSurcharge(rules.toArray(Rule[]::new), defaultRule, expiresAt);
+    }
+
+    private static Rule compileRule(Map<?, ?> rule) {
+        Map<?, ?> condition = rule.get("condition") instanceof Map<?, ?> c ? c : Map.of();
+
+        long paymentMethodMask = -1L;
+        if (condition.get("payment_methods") instanceof List<?> methods && !methods.isEmpty()) {
+            paymentMethodMask = 0L;
+            for (Object method : methods) {
+                try {
+                    paymentMethodMask |= 1L << PaymentMethod.valueOf(method.toString().toUpperCase()).ordinal();
+                } catch (IllegalArgumentException _) {
+                    log.warn("Ignoring unknown payment method in surcharge rule: {}", method);
+                }
+            }
+        }
+
+        long fixed = 0L;
+        long ratePpm = 0L;
+        if (rule.get("surcharge") instanceof Map<?, ?> surcharge && surcharge.get("value") instanceof Number value) {
+            if ("fixed".equalsIgnoreCase(String.valueOf(surcharge.get("type")))) {
+                fixed = value.longValue();
+            } else {
+                ratePpm = Math.round(value.doubleValue() * 10_000);
+            }
+        }
+        long taxPpm = rule.get("tax_on_surcharge") instanceof Number tax ? Math.round(tax.doubleValue() * 10_000) : 0L;
+
+        return new Rule(
+            rule.get("name") != null ? rule.get("name").toString() : null,
+            condition.get("min_amount") instanceof Number min ? min.longValue() : Long.MIN_VALUE,
+            condition.get("max_amount") instanceof Number max ? max.longValue() : Long.MAX_VALUE,
+            paymentMethodMask,
+            upperCased(condition.get("card_types")),
+            upperCased(condition.get("countries")),
+            fixed,
+            ratePpm,
+            taxPpm);
+    }
+
+    private static String[] upperCased(Object values) {
+        if (!(values instanceof List<?> list) || list.isEmpty()) {
+            return null;
+        }
+        return list.stream().map(v -> v.toString().toUpperCase()).toArray(String[]::new);
+    }
+
+    private static String key(String merchantId, String profileId) {
+        return merchantId + "|" + (profileId != null ? profileId : "");
+    }
+
+    /**
+     * Surcharge outcome in minor units
+     *
+     * @param surchargeAmount surcharge added to the payment amount
+     * @param taxOnSurcharge tax charged on the surcharge
+     * @param ruleName matched rule, or null if no rule matched
+     */
+    public record SurchargeDetails(long surchargeAmount, long taxOnSurcharge, String ruleName) {
+
+        public static final SurchargeDetails NONE = new SurchargeDetails(0L, 0L, null);
+
+        public long total() {
+            return surchargeAmount + taxOnSurcharge;
+        }
+    }
+
+    /**
+     * A surcharge rule compiled for matching; null arrays and full masks match any value
+     */
+    record Rule(String name, long minAmount, long maxAmount, long paymentMethodMask,
+                String[] cardTypes, String[] countries, long fixed, long ratePpm, long taxPpm) {
+
+        boolean matches(long amount, PaymentMethod paymentMethod, String cardType, String country) {
+            if (amount < minAmount || amount > maxAmount) {
+                return false;
+            }
+            if (paymentMethodMask != -1L
+                && (paymentMethod == null || (paymentMethodMask & (1L << paymentMethod.ordinal())) == 0)) {
+                return false;
+            }
+            return contains(cardTypes, cardType) && contains(countries, country);
+        }
+
+        SurchargeDetails apply(long amount) {
+            long surcharge = fixed + (amount * ratePpm + PPM / 2) / PPM;
+            long tax = (surcharge * taxPpm + PPM / 2) / PPM;
+            return new SurchargeDetails(surcharge, tax, name);
+        }
+
+        private static boolean contains(String[] allowed, String value) {
+            if (allowed == null) {
+                return true;
+            }
+            if (value == null) {
+                return false;
+            }
+            for (String candidate : allowed) {
+                if (candidate.equalsIgnoreCase(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Compiled surcharge config of one profile
+     */
+    record CompiledSurcharge(Rule[] rules, Rule defaultRule, long expiresAt) {
+
+        SurchargeDetails evaluate(long amount, PaymentMethod paymentMethod, String cardType, String country) {
+            for (Rule rule : rules) {
+                if (rule.matches(amount, paymentMethod, cardType, country)) {
+                    return rule.apply(amount);
+                }
+            }
+            return defaultRule != null ? defaultRule.apply(amount) : SurchargeDetails.NONE;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.hyperswitch.routing.bandit;
+
+import com.hyperswitch.common.enums.Connector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests and regret simulation for ThompsonSamplingRouter
+ */
+@DisplayName("ThompsonSamplingRouter Unit Tests")
+class ThompsonSamplingRouterTest {
+
+    private static final String MERCHANT = "merchant_sim";
+    private static final String PAYMENT_METHOD = "CARD";
+    private static final String CURRENCY = "USD";
+    private static final List<Connector> CONNECTORS = List.of(Connector.STRIPE, Connector.ADYEN, Connector.CHECKOUT);
+    private static final double SUCCESS_RATE_EXPLORATION = 0.05;
+
+    private ThompsonSamplingRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ThompsonSamplingRouter(1.0, 1.0, 60, 1000);
+    }
+
+    @Test
+    @DisplayName("Beta sampler should match the analytical mean")
+    void testBetaSamplerMean() {
+        // Given
+        SplittableRandom random = new SplittableRandom(7);
+        int samples = 50_000;
+
+        // When
+        double sum = 0;
+        for (int i = 0; i < samples; i++) {
+            sum += ThompsonSamplingRouter.sampleBeta(8.0, 2.0, random);
+        }
+
+        // Then
+        assertThat(sum / samples).isCloseTo(0.8, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should prefer the connector with the stronger posterior")
+    void testPrefersStrongerPosterior() {
+        // Given
+        long now = 0L;
+        for (int i = 0; i < 200; i++) {
+            router.update(MERCHANT, Connector.ADYEN, PAYMENT_METHOD, CURRENCY, true, now);
+            router.update(MERCHANT, Connector.STRIPE, PAYMENT_METHOD, CURRENCY, i % 2 == 0, now);
+        }
+        SplittableRandom random = new SplittableRandom(11);
+
+        // When
+        int adyenFirst = 0;
+        for (int i = 0; i < 1000; i++) {
+            List<Connector> ranked = router.rank(MERCHANT, PAYMENT_METHOD, CURRENCY,
+                List.of(Connector.STRIPE, Connector.ADYEN), now, random);
+            if (ranked.get(0) == Connector.ADYEN) {
+                adyenFirst++;
+            }
+        }
+
+        // Then
+        assertThat(adyenFirst).isGreaterThan(990);
+    }
+
+    @Test
+    @DisplayName("Decayed evidence should fall back towards the prior")
+    void testTimeDecay() {
+        // Given - STRIPE looked perfect a long time ago
+        for (int i = 0; i < 200; i++) {
+            router.update(MERCHANT, Connector.STRIPE, PAYMENT_METHOD, CURRENCY, true, 0L);
+        }
+        long muchLater = 24L * 60 * 60 * 1000;
+        SplittableRandom random = new SplittableRandom(13);
+
+        // When
+        int stripeFirst = 0;
+        for (int i = 0; i < 2000; i++) {
+            List<Connector> ranked = router.rank(MERCHANT, PAYMENT_METHOD, CURRENCY,
+                List.of(Connector.STRIPE, Connector.ADYEN), muchLater, random);
+            if (ranked.get(0) == Connector.STRIPE) {
+                stripeFirst++;
+            }
+        }
+
+        // Then - both connectors are back to the uniform prior
+        assertThat(stripeFirst).isBetween(850, 1150);
+    }
+
+    @Test
+    @DisplayName("Simulation: bandit regret should beat static strategies under a success-rate shift")
+    void testRegretAgainstExistingStrategies() {
+        // Given - STRIPE degrades and ADYEN improves halfway through
+        int rounds = 20_000;
+        long stepMillis = 1000L;
+        double[] before = {0.92, 0.85, 0.80};
+        double[] after = {0.70, 0.93, 0.80};
+        SplittableRandom outcomes = new SplittableRandom(42);
+        SplittableRandom sampling = new SplittableRandom(43);
+        SplittableRandom split = new SplittableRandom(44);
+        SplittableRandom exploration = new SplittableRandom(45);
+
+        long[] greedySuccesses = new long[CONNECTORS.size()];
+        long[] greedyAttempts = new long[CONNECTORS.size()];
+        double banditRegret = 0;
+        double successRateRegret = 0;
+        double priorityRegret = 0;
+        double volumeRegret = 0;
+
+        // When
+        for (int t = 0; t < rounds; t++) {
+            double[] p = t < rounds / 2 ? before : after;
+            double best = Math.max(p[0], Math.max(p[1], p[2]));
+            long now = t * stepMillis;
+
+            // BANDIT
+            Connector chosen = router.rank(MERCHANT, PAYMENT_METHOD, CURRENCY, CONNECTORS, now, sampling).get(0);
+            int b = CONNECTORS.indexOf(chosen);
+            router.update(MERCHANT, chosen, PAYMENT_METHOD, CURRENCY, outcomes.nextDouble() < p[b], now);
+            banditRegret += best - p[b];
+
+            // SUCCESS_RATE_BASED as in the replay simulator: highest posterior mean under the same
+            // uniform prior, so unseen connectors get tried, plus a share of random exploration
+            int s = 0;
+            if (exploration.nextDouble() < SUCCESS_RATE_EXPLORATION) {
+                s = exploration.nextInt(CONNECTORS.size());
+            } else {
+                double bestRate = -1;
+                for (int i = 0; i < CONNECTORS.size(); i++) {
+                    double rate = (greedySuccesses[i] + 1.0) / (greedyAttempts[i] + 2.0);
+                    if (rate > bestRate) {
+                        bestRate = rate;
+                        s = i;
+                    }
+                }
+            }
+            greedyAttempts[s]++;
+            if (outcomes.nextDouble() < p[s]) {
+                greedySuccesses[s]++;
+            }
+            successRateRegret += best - p[s];
+
+            // PRIORITY_BASED: always the first connector
+            priorityRegret += best - p[0];
+
+            // VOLUME_BASED: even split
+            volumeRegret += best - p[split.nextInt(CONNECTORS.size())];
+        }
+
+        // Then
+        assertThat(banditRegret).isLessThan(successRateRegret);
+        assertThat(banditRegret).isLessThan(priorityRegret);
+        assertThat(banditRegret).isLessThan(volumeRegret);
+    }
+}
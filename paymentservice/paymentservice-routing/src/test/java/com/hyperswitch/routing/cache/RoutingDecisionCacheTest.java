@@ -0,0 +1,157 @@
+package com.hyperswitch.routing.cache;
+
+import com.hyperswitch.common.dto.CreatePaymentRequest;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.enums.PaymentMethod;
+import com.hyperswitch.common.types.Amount;
+import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.storage.entity.RoutingConfigEntity;
+import com.hyperswitch.storage.repository.RoutingConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RoutingDecisionCache
+ */
+@DisplayName("RoutingDecisionCache Unit Tests")
+class RoutingDecisionCacheTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final String MERCHANT = "merchant_1";
+
+    private RoutingConfigRepository routingConfigRepository;
+    private AtomicReference<List<RoutingConfigEntity>> configs;
+    private AtomicInteger computed;
+    private SimpleMeterRegistry meterRegistry;
+    private RoutingDecisionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        routingConfigRepository = mock(RoutingConfigRepository.class);
+        configs = new AtomicReference<>(List.of(config(0L, 5_000L), config(5_000L, null)));
+        when(routingConfigRepository.findByMerchantIdAndEnabledTrue(anyString()))
+            .thenAnswer(invocation -> Flux.fromIterable(configs.get()));
+        computed = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RoutingDecisionCache(routingConfigRepository, true, 2_000, 30_000, 100);
+        cache.setMeterRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share a decision only between requests of the same shape")
+    void testFingerprint() {
+        // Given
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+
+        // When / Then - another amount matching the same configs reuses it
+        decide(MERCHANT, request(2_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        assertThat(computed.get()).isEqualTo(1);
+
+        // Each field of the fingerprint separates decisions
+        decide(MERCHANT, request(6_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide(MERCHANT, request(1_000, "EUR", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.WALLET, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_2"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide("merchant_2", request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.SUCCESS_RATE_BASED, 0, NOW);
+        assertThat(computed.get()).isEqualTo(7);
+
+        // A connector health change makes every decision stale
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 1, NOW);
+        assertThat(computed.get()).isEqualTo(8);
+
+        // Randomized and amount-exact algorithms are never cached
+        for (RoutingAlgorithm algorithm : List.of(RoutingAlgorithm.VOLUME_BASED, RoutingAlgorithm.BANDIT,
+                RoutingAlgorithm.LATENCY_BASED, RoutingAlgorithm.CONTRACT_BASED)) {
+            decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), algorithm, 1, NOW);
+            decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), algorithm, 1, NOW);
+        }
+        assertThat(computed.get()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should recompute a decision once its TTL passed")
+    void testTtl() {
+        // Given
+        CreatePaymentRequest request = request(1_000, "USD", PaymentMethod.CARD, "pro_1");
+        decide(MERCHANT, request, RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+
+        // When / Then
+        decide(MERCHANT, request, RoutingAlgorithm.PRIORITY_BASED, 0, NOW + 1_999);
+        assertThat(computed.get()).isEqualTo(1);
+        decide(MERCHANT, request, RoutingAlgorithm.PRIORITY_BASED, 0, NOW + 2_000);
+        assertThat(computed.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("hyperswitch.routing.decision_cache.requests", "result", "hit").count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("hyperswitch.routing.decision_cache.requests", "result", "miss").count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should drop a merchant's decisions and amount buckets when its routing configs change")
+    void testInvalidationOnConfigChange() {
+        // Given - one config covering both amounts, so they share a decision
+        configs.set(List.of(config(0L, 10_000L)));
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide(MERCHANT, request(6_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        decide("merchant_2", request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW);
+        assertThat(computed.get()).isEqualTo(2);
+
+        // When - a config starting at 5000 is activated
+        configs.set(List.of(config(0L, 10_000L), config(5_000L, null)));
+        cache.invalidateMerchant(MERCHANT);
+
+        // Then - the merchant's decisions are recomputed against the new buckets
+        decide(MERCHANT, request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW + 1);
+        assertThat(computed.get()).isEqualTo(3);
+        decide(MERCHANT, request(6_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW + 1);
+        assertThat(computed.get()).isEqualTo(4);
+        verify(routingConfigRepository, times(2)).findByMerchantIdAndEnabledTrue(MERCHANT);
+
+        // Other merchants keep theirs
+        decide("merchant_2", request(1_000, "USD", PaymentMethod.CARD, "pro_1"), RoutingAlgorithm.PRIORITY_BASED, 0, NOW + 1);
+        assertThat(computed.get()).isEqualTo(4);
+    }
+
+    private List<Connector> decide(String merchantId, CreatePaymentRequest request, RoutingAlgorithm algorithm,
+                                   long healthVersion, long now) {
+        return cache.getOrCompute(request, merchantId, algorithm, healthVersion, () -> {
+            computed.incrementAndGet();
+            return List.of(Connector.STRIPE, Connector.ADYEN);
+        }, now);
+    }
+
+    private static CreatePaymentRequest request(long amount, String currency, PaymentMethod paymentMethod,
+                                                String profileId) {
+        CreatePaymentRequest request = new CreatePaymentRequest();
+        request.setAmount(Amount.of(BigDecimal.valueOf(amount), currency));
+        request.setPaymentMethod(paymentMethod);
+        request.setMetadata(Map.of("profile_id", profileId));
+        return request;
+    }
+
+    private static RoutingConfigEntity config(Long minAmount, Long maxAmount) {
+        RoutingConfigEntity config = new RoutingConfigEntity();
+        config.setMerchantId(MERCHANT);
+        config.setEnabled(true);
+        config.setMinAmount(minAmount);
+        config.setMaxAmount(maxAmount);
+        return config;
+    }
+}
@@ -0,0 +1,160 @@
+package com.hyperswitch.routing.contract;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.storage.entity.ConnectorFeeScheduleEntity;
+import com.hyperswitch.storage.entity.ConnectorSuccessRateEntity;
+import com.hyperswitch.storage.repository.ConnectorFeeScheduleRepository;
+import com.hyperswitch.storage.repository.ConnectorSuccessRateRepository;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectorFeeTable
+ */
+@DisplayName("ConnectorFeeTable Unit Tests")
+class ConnectorFeeTableTest {
+
+    private static final String MERCHANT = "merchant_fees";
+    private static final ConnectorFeeTable.FeeContext CARD_USD =
+        new ConnectorFeeTable.FeeContext(null, null, "CARD", "USD");
+
+    private ConnectorFeeScheduleRepository feeScheduleRepository;
+    private ConnectorSuccessRateRepository successRateRepository;
+    private RoutingDecisionLogRepository decisionLogRepository;
+    private ConnectorFeeTable feeTable;
+    private List<ConnectorFeeScheduleEntity> schedule;
+    private List<ConnectorSuccessRateEntity> rates;
+
+    @BeforeEach
+    void setUp() {
+        feeScheduleRepository = mock(ConnectorFeeScheduleRepository.class);
+        successRateRepository = mock(ConnectorSuccessRateRepository.class);
+        decisionLogRepository = mock(RoutingDecisionLogRepository.class);
+        schedule = new ArrayList<>();
+        rates = new ArrayList<>();
+        when(feeScheduleRepository.findByMerchantIdAndEnabledTrue(MERCHANT))
+            .thenAnswer(invocation -> Flux.fromIterable(new ArrayList<>(schedule)));
+        when(successRateRepository.findByMerchantId(MERCHANT))
+            .thenAnswer(invocation -> Flux.fromIterable(new ArrayList<>(rates)));
+        when(decisionLogRepository.sumSuccessfulAmountSince(eq(MERCHANT), anyString(), any()))
+            .thenReturn(Mono.just(0L));
+        feeTable = new ConnectorFeeTable(feeScheduleRepository, successRateRepository, decisionLogRepository, 0.85, 300);
+    }
+
+    @Test
+    @DisplayName("Should rank by exact amount where percentage and fixed fees cross over")
+    void testFeeCrossover() {
+        // Given - 2.9% + 30 against 1.5% + 100, equal at 5000
+        schedule.add(fee("stripe", null, "2.9", 30, 0));
+        schedule.add(fee("adyen", null, "1.5", 100, 0));
+        List<Connector> candidates = List.of(Connector.STRIPE, Connector.ADYEN);
+
+        // Then - amounts within one routing cache bucket rank differently
+        assertThat(feeTable.rank(MERCHANT, candidates, 4_000, CARD_USD))
+            .containsExactly(Connector.STRIPE, Connector.ADYEN);
+        assertThat(feeTable.rank(MERCHANT, candidates, 6_000, CARD_USD))
+            .containsExactly(Connector.ADYEN, Connector.STRIPE);
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(320.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should rank connectors below the success-rate floor and without fees last")
+    void testFloorAndUnpricedOrdering() {
+        // Given
+        schedule.add(fee("stripe", null, "1.0", 0, 0));
+        schedule.add(fee("adyen", null, "2.0", 0, 0));
+        rates.add(successRate("stripe", 0.70));
+
+        // When
+        List<Connector> ranked = feeTable.rank(MERCHANT,
+            List.of(Connector.CHECKOUT, Connector.STRIPE, Connector.ADYEN), 10_000, CARD_USD);
+
+        // Then
+        assertThat(ranked).containsExactly(Connector.ADYEN, Connector.STRIPE, Connector.CHECKOUT);
+    }
+
+    @Test
+    @DisplayName("Should prefer the most specific rule and the tier reached by monthly volume")
+    void testSpecificityAndTiers() {
+        // Given
+        schedule.add(fee("stripe", null, "2.9", 30, 0));
+        schedule.add(fee("stripe", "amex", "3.5", 30, 0));
+        schedule.add(fee("stripe", null, "2.5", 30, 1_000_000));
+        schedule.add(fee("stripe", null, "2.0", 30, 5_000_000));
+        when(decisionLogRepository.sumSuccessfulAmountSince(eq(MERCHANT), eq("STRIPE"), any()))
+            .thenReturn(Mono.just(2_000_000L));
+        ConnectorFeeTable.FeeContext amex = new ConnectorFeeTable.FeeContext("AMEX", null, "CARD", "USD");
+
+        // Then
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, amex)).isCloseTo(380.0, within(1e-6));
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(280.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should reload fees after a local or published invalidation")
+    void testInvalidation() {
+        // Given
+        schedule.add(fee("stripe", null, "2.9", 30, 0));
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(320.0, within(1e-6));
+        schedule.clear();
+        schedule.add(fee("stripe", null, "1.9", 30, 0));
+
+        // When - unchanged until invalidated
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(320.0, within(1e-6));
+        feeTable.invalidate(MERCHANT);
+
+        // Then
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(220.0, within(1e-6));
+
+        // A change published by another node drops snapshots loaded before it
+        schedule.clear();
+        schedule.add(fee("stripe", null, "0.9", 30, 0));
+        feeTable.applyInvalidations(Map.of(MERCHANT, String.valueOf(System.currentTimeMillis() + 1_000)));
+        assertThat(feeTable.expectedCost(MERCHANT, Connector.STRIPE, 10_000, CARD_USD)).isCloseTo(120.0, within(1e-6));
+        verify(feeScheduleRepository, times(3)).findByMerchantIdAndEnabledTrue(MERCHANT);
+    }
+
+    private static ConnectorFeeScheduleEntity fee(String connector, String cardNetwork, String percentage,
+                                                  long fixed, long minMonthlyVolume) {
+        ConnectorFeeScheduleEntity entity = new ConnectorFeeScheduleEntity();
+        entity.setMerchantId(MERCHANT);
+        entity.setConnector(connector);
+        entity.setCardNetwork(cardNetwork);
+        entity.setPercentageFee(new BigDecimal(percentage));
+        entity.setFixedFee(fixed);
+        entity.setMinMonthlyVolume(minMonthlyVolume);
+        entity.setEnabled(true);
+        return entity;
+    }
+
+    private static ConnectorSuccessRateEntity successRate(String connector, double rate) {
+        ConnectorSuccessRateEntity entity = new ConnectorSuccessRateEntity();
+        entity.setMerchantId(MERCHANT);
+        entity.setConnector(connector);
+        entity.setPaymentMethod("CARD");
+        entity.setCurrency("USD");
+        entity.setTotalAttempts(100L);
+        entity.setSuccessfulAttempts(Math.round(rate * 100));
+        entity.setSuccessRate(BigDecimal.valueOf(rate));
+        return entity;
+    }
+}
@@ -0,0 +1,163 @@
+package com.hyperswitch.routing.elimination;
+
+import com.hyperswitch.common.enums.Connector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for ConnectorEliminationService
+ */
+@DisplayName("ConnectorEliminationService Unit Tests")
+class ConnectorEliminationServiceTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private ConnectorEliminationService eliminationService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // No cooldown and every probing call admitted, so an eliminated connector is probing right away
+        eliminationService = new ConnectorEliminationService(true, 60, 2, 0.5, 5000, 0.5, 0, 1.0, 5, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        eliminationService.setMeterRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should preview the filtered order without state transitions, probes or metrics")
+    void testPreviewHasNoSideEffects() {
+        // Given
+        eliminationService.recordOutcome(Connector.STRIPE, false, 100);
+        eliminationService.recordOutcome(Connector.STRIPE, false, 100);
+        long version = eliminationService.stateVersion();
+        List<Connector> candidates = List.of(Connector.STRIPE, Connector.ADYEN);
+
+        // When
+        List<Connector> first = eliminationService.preview(candidates);
+        List<Connector> second = eliminationService.preview(candidates);
+
+        // Then - probing connectors are demoted and nothing is recorded
+        assertThat(first).containsExactly(Connector.ADYEN, Connector.STRIPE);
+        assertThat(second).isEqualTo(first);
+        assertThat(eliminationService.stateVersion()).isEqualTo(version);
+        assertThat(meterRegistry.find("hyperswitch.routing.elimination.events").tag("event", "probe").counter())
+            .isNull();
+
+        // The live filter moves the connector to probing and admits it as a probe
+        assertThat(eliminationService.filter(candidates)).containsExactly(Connector.STRIPE, Connector.ADYEN);
+        assertThat(eliminationService.stateVersion()).isGreaterThan(version);
+        assertThat(meterRegistry.get("hyperswitch.routing.elimination.events").tag("event", "probe")
+            .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should eliminate a connector once the window has enough calls at the error rate threshold")
+    void testErrorRateThreshold() {
+        // Given - ten calls minimum, eliminated at half of them failing
+        ConnectorEliminationService service = gradualService();
+
+        // When / Then - failures below the minimum call count do not count yet
+        record(service, Connector.STRIPE, false, 4);
+        assertThat(service.getState(Connector.STRIPE, NOW)).isEqualTo(ConnectorEliminationService.State.HEALTHY);
+        record(service, Connector.STRIPE, true, 6);
+        assertThat(service.getState(Connector.STRIPE, NOW)).isEqualTo(ConnectorEliminationService.State.HEALTHY);
+
+        // 5 of 11 failed, still below the threshold
+        record(service, Connector.STRIPE, false, 1);
+        assertThat(service.getState(Connector.STRIPE, NOW)).isEqualTo(ConnectorEliminationService.State.HEALTHY);
+
+        // 6 of 12 failed
+        record(service, Connector.STRIPE, false, 1);
+        assertThat(service.getState(Connector.STRIPE, NOW)).isEqualTo(ConnectorEliminationService.State.ELIMINATED);
+        assertThat(service.getState(Connector.ADYEN, NOW)).isEqualTo(ConnectorEliminationService.State.HEALTHY);
+    }
+
+    @Test
+    @DisplayName("Should keep an eliminated connector out of routing for the cooldown")
+    void testCooldown() {
+        // Given
+        ConnectorEliminationService service = gradualService();
+        record(service, Connector.STRIPE, false, 10);
+        List<Connector> candidates = List.of(Connector.STRIPE, Connector.ADYEN);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When / Then - removed until the cooldown ends, whatever its calls in flight report
+        assertThat(service.filter(candidates, NOW + 29_999, random)).containsExactly(Connector.ADYEN);
+        service.recordOutcome(Connector.STRIPE, true, 100, NOW + 29_999);
+        assertThat(service.getState(Connector.STRIPE, NOW + 29_999))
+            .isEqualTo(ConnectorEliminationService.State.ELIMINATED);
+
+        // Probing once it ends
+        assertThat(service.getState(Connector.STRIPE, NOW + 30_000))
+            .isEqualTo(ConnectorEliminationService.State.PROBING);
+        assertThat(service.filter(candidates, NOW + 30_000, random)).contains(Connector.STRIPE);
+
+        // Every connector eliminated: routing fails open
+        record(service, Connector.ADYEN, false, 10);
+        assertThat(service.filter(List.of(Connector.ADYEN), NOW + 1, random)).containsExactly(Connector.ADYEN);
+    }
+
+    @Test
+    @DisplayName("Should send the probe ratio of traffic to a probing connector and re-admit it after enough probes")
+    void testProbeRatio() {
+        // Given - probing after the cooldown, one call in five admitted first
+        ConnectorEliminationService service = gradualService();
+        record(service, Connector.STRIPE, false, 10);
+        long probing = NOW + 30_000;
+        List<Connector> candidates = List.of(Connector.STRIPE, Connector.ADYEN);
+        SplittableRandom random = new SplittableRandom(7);
+        int draws = 20_000;
+        int probes = 0;
+
+        // When
+        for (int i = 0; i < draws; i++) {
+            List<Connector> selected = service.filter(candidates, probing, random);
+            assertThat(selected).containsExactlyInAnyOrderElementsOf(candidates);
+            if (selected.get(0) == Connector.STRIPE) {
+                probes++;
+            }
+        }
+
+        // Then - otherwise tried only after the healthy connectors
+        assertThat(probes / (double) draws).isCloseTo(0.2, within(0.02));
+
+        // Three clean probes re-admit it
+        record(service, Connector.STRIPE, true, 2, probing);
+        assertThat(service.getState(Connector.STRIPE, probing)).isEqualTo(ConnectorEliminationService.State.PROBING);
+        record(service, Connector.STRIPE, true, 1, probing);
+        assertThat(service.getState(Connector.STRIPE, probing)).isEqualTo(ConnectorEliminationService.State.HEALTHY);
+
+        // A failed probe starts a new cooldown
+        record(service, Connector.ADYEN, false, 10);
+        record(service, Connector.ADYEN, false, 1, probing);
+        assertThat(service.getState(Connector.ADYEN, probing)).isEqualTo(ConnectorEliminationService.State.ELIMINATED);
+        assertThat(service.getState(Connector.ADYEN, probing + 29_999))
+            .isEqualTo(ConnectorEliminationService.State.ELIMINATED);
+    }
+
+    /**
+     * Ten calls minimum, 50% error threshold, 30s cooldown, 20% probe ratio, three probes to re-admit
+     */
+    private static ConnectorEliminationService gradualService() {
+        return new ConnectorEliminationService(true, 60, 10, 0.5, 5000, 0.5, 30, 0.2, 3, 1000);
+    }
+
+    private static void record(ConnectorEliminationService service, Connector connector, boolean success, int calls) {
+        record(service, connector, success, calls, NOW);
+    }
+
+    private static void record(ConnectorEliminationService service, Connector connector, boolean success,
+                               int calls, long now) {
+        for (int i = 0; i < calls; i++) {
+            service.recordOutcome(connector, success, 100, now);
+        }
+    }
+}
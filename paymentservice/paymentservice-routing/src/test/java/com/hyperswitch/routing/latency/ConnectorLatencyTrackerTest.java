@@ -0,0 +1,100 @@
+package com.hyperswitch.routing.latency;
+
+import com.hyperswitch.common.enums.Connector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for ConnectorLatencyTracker
+ */
+@DisplayName("ConnectorLatencyTracker Unit Tests")
+class ConnectorLatencyTrackerTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private ConnectorLatencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ConnectorLatencyTracker(0.5, 0.5, 1000, 300);
+    }
+
+    @Test
+    @DisplayName("Should fold call latency and outcome into the moving averages")
+    void testEwmaUpdates() {
+        // Given - no calls yet: full success and the reference latency
+        assertThat(tracker.score(Connector.STRIPE, NOW)).isCloseTo(0.75, within(1e-9));
+
+        // When / Then - latency 1000 -> 600, success stays 1
+        tracker.recordCall("stripe", true, 200, NOW);
+        assertThat(tracker.score(Connector.STRIPE, NOW)).isCloseTo(0.5 + 0.5 * 1000 / 1600.0, within(1e-9));
+
+        // Latency stays 600, success 1 -> 0.5
+        tracker.recordCall("STRIPE", false, 600, NOW);
+        assertThat(tracker.score(Connector.STRIPE, NOW)).isCloseTo(0.25 + 0.5 * 1000 / 1600.0, within(1e-9));
+
+        // Unknown connectors are ignored
+        tracker.recordCall("not_a_connector", false, 5_000, NOW);
+        tracker.recordCall(null, false, 5_000, NOW);
+        assertThat(tracker.score(Connector.ADYEN, NOW)).isCloseTo(0.75, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should compare two distinct candidates and order the rest by score")
+    void testPowerOfTwoChoices() {
+        // Given - stripe best, adyen middle, checkout worst
+        for (int i = 0; i < 20; i++) {
+            tracker.recordCall("stripe", true, 100, NOW);
+            tracker.recordCall("adyen", true, 1_000, NOW);
+            tracker.recordCall("checkout", false, 3_000, NOW);
+        }
+        List<Connector> candidates = List.of(Connector.CHECKOUT, Connector.ADYEN, Connector.STRIPE);
+        SplittableRandom random = new SplittableRandom(3);
+        Map<Connector, Integer> firsts = new EnumMap<>(Connector.class);
+        int draws = 30_000;
+
+        // When
+        for (int i = 0; i < draws; i++) {
+            List<Connector> ranked = tracker.rank(candidates, NOW, random);
+            assertThat(ranked).containsExactlyInAnyOrderElementsOf(candidates);
+            firsts.merge(ranked.get(0), 1, Integer::sum);
+        }
+
+        // Then - each pair is equally likely, so the best wins two pairs of three and the worst none
+        assertThat(firsts.getOrDefault(Connector.STRIPE, 0) / (double) draws).isCloseTo(2 / 3.0, within(0.02));
+        assertThat(firsts.getOrDefault(Connector.ADYEN, 0) / (double) draws).isCloseTo(1 / 3.0, within(0.02));
+        assertThat(firsts).doesNotContainKey(Connector.CHECKOUT);
+        assertThat(tracker.rank(List.of(Connector.ADYEN, Connector.STRIPE), NOW, random))
+            .containsExactly(Connector.STRIPE, Connector.ADYEN);
+    }
+
+    @Test
+    @DisplayName("Should decay the averages of an idle connector back to the optimistic start")
+    void testIdleDecay() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            tracker.recordCall("checkout", false, 5_000, NOW);
+        }
+        double penalized = tracker.score(Connector.CHECKOUT, NOW);
+        assertThat(penalized).isLessThan(0.2);
+
+        // When / Then - one half-life halves the distance to the start
+        long halfLifeLater = NOW + 300_000L;
+        double afterHalfLife = tracker.score(Connector.CHECKOUT, halfLifeLater);
+        assertThat(afterHalfLife).isBetween(penalized, 0.75);
+        assertThat(tracker.score(Connector.CHECKOUT, NOW + 20 * 300_000L)).isCloseTo(0.75, within(1e-3));
+
+        // A new call starts from the decayed averages, not from the stale ones
+        tracker.recordCall("checkout", true, 1_000, halfLifeLater);
+        assertThat(tracker.score(Connector.CHECKOUT, halfLifeLater)).isGreaterThan(afterHalfLife);
+    }
+}
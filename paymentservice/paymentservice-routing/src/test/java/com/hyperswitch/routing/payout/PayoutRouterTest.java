@@ -0,0 +1,186 @@
+package com.hyperswitch.routing.payout;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.storage.entity.RoutingAlgorithmEntity;
+import com.hyperswitch.storage.repository.RoutingAlgorithmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PayoutRouter
+ */
+@DisplayName("PayoutRouter Unit Tests")
+class PayoutRouterTest {
+
+    private static final String MERCHANT = "merchant_payout";
+
+    private static final Map<String, Object> RULES = Map.of(
+        "rules", List.of(
+            Map.of(
+                "name", "eu_bank",
+                "condition", Map.of(
+                    "countries", List.of("DE", "FR"),
+                    "payout_methods", List.of("bank")),
+                "connectors", List.of("adyen", "mollie")),
+            Map.of(
+                "name", "large_wallet",
+                "condition", Map.of("min_amount", 100_000, "payout_methods", List.of("wallet")),
+                "connectors", List.of("paypal"))),
+        "default_selection", Map.of("connectors", List.of("stripe", "checkout")));
+
+    private RoutingAlgorithmRepository repository;
+    private PayoutRouter router;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RoutingAlgorithmRepository.class);
+        router = new PayoutRouter(repository, 300, 0.5, 0.8);
+    }
+
+    @Test
+    @DisplayName("Should route by the first matching rule and fall back to the default selection")
+    void testRuleBasedRouting() {
+        // Given
+        givenActiveAlgorithm(RULES);
+
+        // When / Then
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "de", "BANK", PayoutRoutingInput.Preference.BALANCED)))
+            .assertNext(connectors -> assertThat(connectors).containsExactly(Connector.ADYEN, Connector.MOLLIE))
+            .verifyComplete();
+        StepVerifier.create(router.route(MERCHANT, input(200_000, "US", "wallet", PayoutRoutingInput.Preference.BALANCED)))
+            .assertNext(connectors -> assertThat(connectors).containsExactly(Connector.PAYPAL))
+            .verifyComplete();
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "US", "card", PayoutRoutingInput.Preference.BALANCED)))
+            .assertNext(connectors -> assertThat(connectors).containsExactly(Connector.STRIPE, Connector.CHECKOUT))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should order eligible connectors by latency for speed and by payout fee for cost")
+    void testPreferenceOrdering() {
+        // Given - checkout costs 5000 * 0.1% + 5 = 10 and stripe 25
+        givenActiveAlgorithm(Map.of(
+            "priority", List.of("stripe", "adyen", "checkout"),
+            "payout_fees", Map.of(
+                "checkout", Map.of("percentage", 0.1, "fixed", 5),
+                "stripe", Map.of("fixed", 25))));
+        router.recordOutcome("stripe", true, 900);
+        router.recordOutcome("adyen", true, 100);
+        router.recordOutcome("checkout", true, 400);
+
+        // When / Then
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "US", "card", PayoutRoutingInput.Preference.SPEED)))
+            .assertNext(connectors -> assertThat(connectors)
+                .containsExactly(Connector.ADYEN, Connector.CHECKOUT, Connector.STRIPE))
+            .verifyComplete();
+        // Connectors without a fee schedule go last
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "US", "card", PayoutRoutingInput.Preference.COST)))
+            .assertNext(connectors -> assertThat(connectors)
+                .containsExactly(Connector.CHECKOUT, Connector.STRIPE, Connector.ADYEN))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep the priority order for cost when no payout fees are configured")
+    void testCostWithoutPayoutFees() {
+        // Given
+        givenActiveAlgorithm(Map.of("priority", List.of("stripe", "adyen", "checkout")));
+
+        // When / Then
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "US", "card", PayoutRoutingInput.Preference.COST)))
+            .assertNext(connectors -> assertThat(connectors)
+                .containsExactly(Connector.STRIPE, Connector.ADYEN, Connector.CHECKOUT))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should demote connectors whose payout success falls below the floor")
+    void testDemotesUnhealthyConnectors() {
+        // Given
+        givenActiveAlgorithm(Map.of("priority", List.of("stripe", "adyen")));
+        router.recordOutcome("stripe", false, 200);
+        router.recordOutcome("stripe", false, 200);
+
+        // When / Then
+        StepVerifier.create(router.route(MERCHANT, input(5_000, "US", "card", PayoutRoutingInput.Preference.BALANCED)))
+            .assertNext(connectors -> assertThat(connectors).containsExactly(Connector.ADYEN, Connector.STRIPE))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should split volume by configured weights")
+    void testVolumeSplit() {
+        // Given
+        PayoutRouter.CompiledPayoutRouting compiled = PayoutRouter.compile(Map.of("volume_split", List.of(
+            Map.of("connector", "stripe", "split", 80),
+            Map.of("connector", "adyen", "split", 20))), Long.MAX_VALUE);
+        Random random = new Random(42);
+        PayoutRoutingInput input = input(5_000, "US", "card", PayoutRoutingInput.Preference.SPEED);
+
+        // When
+        int stripeFirst = 0;
+        for (int i = 0; i < 10_000; i++) {
+            List<Connector> connectors = router.select(compiled, input, random);
+            assertThat(connectors).hasSize(2);
+            if (connectors.get(0) == Connector.STRIPE) {
+                stripeFirst++;
+            }
+        }
+
+        // Then
+        assertThat(stripeFirst).isBetween(7_700, 8_300);
+    }
+
+    @Test
+    @DisplayName("Should route many payouts with a single algorithm lookup")
+    void testRoutingLoadsOnce() {
+        // Given
+        givenActiveAlgorithm(RULES);
+        List<List<Connector>> routed = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            routed.add(router.route(MERCHANT,
+                input(5_000, i % 2 == 0 ? "FR" : "US", "bank", PayoutRoutingInput.Preference.BALANCED)).block());
+        }
+
+        // Then
+        assertThat(routed).hasSize(1_000);
+        assertThat(routed.get(0)).containsExactly(Connector.ADYEN, Connector.MOLLIE);
+        assertThat(routed.get(1)).containsExactly(Connector.STRIPE, Connector.CHECKOUT);
+        verify(repository, times(1)).findByMerchantId(MERCHANT);
+    }
+
+    private void givenActiveAlgorithm(Map<String, Object> algorithmData) {
+        RoutingAlgorithmEntity payout = new RoutingAlgorithmEntity();
+        payout.setMerchantId(MERCHANT);
+        payout.setAlgorithmFor("payout");
+        payout.setIsActive(true);
+        payout.setAlgorithmData(algorithmData);
+        RoutingAlgorithmEntity payment = new RoutingAlgorithmEntity();
+        payment.setMerchantId(MERCHANT);
+        payment.setAlgorithmFor("payment");
+        payment.setIsActive(true);
+        payment.setAlgorithmData(Map.of("priority", List.of("klarna")));
+        when(repository.findByMerchantId(MERCHANT)).thenReturn(Flux.just(payment, payout));
+    }
+
+    private static PayoutRoutingInput input(long amount, String country, String method,
+                                            PayoutRoutingInput.Preference preference) {
+        return new PayoutRoutingInput(amount, "EUR", country, method, preference);
+    }
+}
@@ -0,0 +1,160 @@
+package com.hyperswitch.routing.replay;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.storage.entity.RoutingDecisionLogEntity;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RoutingReplayRunner
+ */
+@DisplayName("RoutingReplayRunner Unit Tests")
+class RoutingReplayRunnerTest {
+
+    private static final Instant FROM = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-02T00:00:00Z");
+
+    private RoutingDecisionLogRepository decisionLogRepository;
+    private RoutingReplayProperties properties;
+    private RoutingReplayRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        decisionLogRepository = mock(RoutingDecisionLogRepository.class);
+        properties = new RoutingReplayProperties();
+        properties.setBatchSize(2);
+        properties.setCandidates(List.of(
+            candidate("adyen-first", RoutingAlgorithm.PRIORITY_BASED),
+            candidate("least-cost", RoutingAlgorithm.CONTRACT_BASED)));
+        properties.setFees(Map.of("STRIPE", fee("2.9", 30), "ADYEN", fee("2.5", 12)));
+        runner = new RoutingReplayRunner(decisionLogRepository, properties);
+
+        // Two batches; rows without an outcome or with an unknown connector are read but not replayed
+        when(decisionLogRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(any(Instant.class), any(Instant.class)))
+            .thenReturn(Flux.just(
+                row("stripe", true),
+                row("adyen", false),
+                row("stripe", true),
+                row("stripe", null),
+                row("not_a_connector", true)));
+    }
+
+    @Test
+    @DisplayName("Should project candidates from logged outcomes and estimates for decisions that differ")
+    void testReplay() {
+        // When
+        RoutingReplayReport report = runner.replay(FROM, TO).block(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(report).isNotNull();
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.rowsReplayed()).isEqualTo(3);
+        assertThat(report.candidates()).extracting(RoutingReplayReport.CandidateResult::name)
+            .containsExactly("logged", "adyen-first", "least-cost");
+
+        RoutingReplayReport.CandidateResult logged = report.candidates().get(0);
+        assertThat(logged.successRate()).isCloseTo(2 / 3.0, within(1e-9));
+        assertThat(logged.agreement()).isEqualTo(1.0);
+
+        // First batch: only the logged connectors are known. Second: ADYEN is picked over the
+        // logged STRIPE and its outcome estimated as (0 + 1) / (1 + 1 + 1)
+        RoutingReplayReport.CandidateResult priority = report.candidates().get(1);
+        assertThat(priority.successRate()).isCloseTo((1 + 0 + 1 / 3.0) / 3, within(1e-9));
+        assertThat(priority.agreement()).isCloseTo(2 / 3.0, within(1e-9));
+        assertThat(priority.loadDistribution())
+            .containsEntry("ADYEN", 2 / 3.0)
+            .containsEntry("STRIPE", 1 / 3.0);
+
+        // STRIPE costs 59 on 1000, ADYEN 37
+        RoutingReplayReport.CandidateResult leastCost = report.candidates().get(2);
+        assertThat(leastCost.cost()).isCloseTo(59 + 37 / 3.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should report the replay outcome as an exit code instead of exiting")
+    void testExitCode() {
+        // When / Then - not configured
+        runner.run(null);
+        assertThat(runner.getExitCode()).isEqualTo(2);
+
+        // Completed
+        properties.setFrom(FROM.toString());
+        properties.setTo(TO.toString());
+        runner.run(null);
+        assertThat(runner.getExitCode()).isZero();
+
+        // Failed
+        when(decisionLogRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(any(Instant.class), any(Instant.class)))
+            .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+        runner.run(null);
+        assertThat(runner.getExitCode()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should track eligibility for every connector")
+    void testEligibleConnectors() {
+        // Given - a merchant routed through every connector
+        ReplayStatistics statistics = new ReplayStatistics(1.0, 1.0);
+        Connector[] connectors = Connector.values();
+        statistics.update(Arrays.stream(connectors)
+            .map(connector -> new ReplayEvent("merchant_1", "card:USD", connector.ordinal(), true, 1000L))
+            .toList());
+        BitSet eligible = new BitSet();
+
+        // When
+        statistics.eligibleConnectors(new ReplayEvent("merchant_1", "card:USD", 0, true, 1000L), eligible);
+
+        // Then
+        assertThat(eligible.cardinality()).isEqualTo(connectors.length);
+
+        // Another merchant only has its logged connector
+        statistics.eligibleConnectors(
+            new ReplayEvent("merchant_2", "card:USD", connectors.length - 1, true, 1000L), eligible);
+        assertThat(eligible.stream().toArray()).containsExactly(connectors.length - 1);
+    }
+
+    private static RoutingReplayProperties.CandidateConfig candidate(String name, RoutingAlgorithm algorithm) {
+        RoutingReplayProperties.CandidateConfig config = new RoutingReplayProperties.CandidateConfig();
+        config.setName(name);
+        config.setAlgorithm(algorithm);
+        config.setConnectors(List.of("ADYEN", "STRIPE"));
+        return config;
+    }
+
+    private static RoutingReplayProperties.FeeConfig fee(String percentage, long fixed) {
+        RoutingReplayProperties.FeeConfig fee = new RoutingReplayProperties.FeeConfig();
+        fee.setPercentage(new BigDecimal(percentage));
+        fee.setFixed(fixed);
+        return fee;
+    }
+
+    private static RoutingDecisionLogEntity row(String connector, Boolean success) {
+        RoutingDecisionLogEntity row = new RoutingDecisionLogEntity();
+        row.setMerchantId("merchant_1");
+        row.setSelectedConnector(connector);
+        row.setSuccess(success);
+        row.setAmount(1000L);
+        row.setCurrency("USD");
+        row.setPaymentMethod("card");
+        row.setCreatedAt(FROM);
+        return row;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hyperswitch.routing.shadow;
+
+import com.hyperswitch.common.dto.CreatePaymentRequest;
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.common.types.Amount;
+import com.hyperswitch.routing.RoutingAlgorithm;
+import com.hyperswitch.storage.entity.RoutingShadowDecisionEntity;
+import com.hyperswitch.storage.repository.RoutingShadowDecisionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ShadowRoutingEvaluator
+ */
+@DisplayName("ShadowRoutingEvaluator Unit Tests")
+class ShadowRoutingEvaluatorTest {
+
+    private static final String MERCHANT = "merchant_shadow";
+
+    private RoutingShadowDecisionRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private ShadowRoutingEvaluator evaluator;
+    private CreatePaymentRequest request;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RoutingShadowDecisionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        evaluator = new ShadowRoutingEvaluator(repository, true, "BANDIT,LATENCY_BASED",
+            1.0, 1, 1, 100, 50);
+        evaluator.setMeterRegistry(meterRegistry);
+        request = new CreatePaymentRequest();
+        request.setAmount(Amount.of(BigDecimal.valueOf(1000), "USD"));
+        request.setMetadata(Map.of("payment_id", "pay_shadow"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record agreement per shadow algorithm and write in one batch")
+    @SuppressWarnings("unchecked")
+    void testRecordsAgreementAndFlushesBatch() {
+        // Given
+        when(repository.saveAll(any(Iterable.class))).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        // When
+        evaluator.evaluate(request, MERCHANT, RoutingAlgorithm.PRIORITY_BASED, List.of(Connector.STRIPE),
+            algorithm -> algorithm == RoutingAlgorithm.BANDIT
+                ? List.of(Connector.STRIPE, Connector.ADYEN)
+                : List.of(Connector.ADYEN, Connector.STRIPE));
+        awaitBuffered(2);
+        evaluator.flush();
+
+        // Then
+        ArgumentCaptor<Iterable<RoutingShadowDecisionEntity>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository, timeout(1000)).saveAll(captor.capture());
+        List<RoutingShadowDecisionEntity> written = new ArrayList<>();
+        captor.getValue().forEach(written::add);
+        assertThat(written).hasSize(2);
+        assertThat(written).extracting(RoutingShadowDecisionEntity::getPaymentId).containsOnly("pay_shadow");
+        assertThat(written).filteredOn(e -> e.getShadowAlgorithm().equals("BANDIT"))
+            .singleElement()
+            .satisfies(e -> assertThat(e.getAgreed()).isTrue());
+        assertThat(written).filteredOn(e -> e.getShadowAlgorithm().equals("LATENCY_BASED"))
+            .singleElement()
+            .satisfies(e -> {
+                assertThat(e.getAgreed()).isFalse();
+                assertThat(e.getShadowConnector()).isEqualTo("ADYEN");
+            });
+        assertThat(meterRegistry.counter("hyperswitch.routing.shadow.evaluations",
+            "algorithm", "bandit", "result", "agree").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should shed evaluations instead of queueing when saturated")
+    void testShedsUnderLoad() throws InterruptedException {
+        // Given - the single worker is blocked and its one queue slot is taken
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        evaluator.evaluate(request, MERCHANT, RoutingAlgorithm.PRIORITY_BASED, List.of(Connector.STRIPE),
+            algorithm -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of(Connector.STRIPE);
+            });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        evaluator.evaluate(request, MERCHANT, RoutingAlgorithm.PRIORITY_BASED, List.of(Connector.STRIPE),
+            algorithm -> List.of(Connector.STRIPE));
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            evaluator.evaluate(request, MERCHANT, RoutingAlgorithm.PRIORITY_BASED, List.of(Connector.STRIPE),
+                algorithm -> List.of(Connector.STRIPE));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(meterRegistry.counter("hyperswitch.routing.shadow.shed", "stage", "executor").count())
+            .isEqualTo(100.0);
+    }
+
+    private void awaitBuffered(int expected) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (evaluator.bufferedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(evaluator.bufferedCount()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,144 @@
+package com.hyperswitch.routing.surcharge;
+
+import com.hyperswitch.common.enums.PaymentMethod;
+import com.hyperswitch.storage.entity.DecisionManagerConfigEntity;
+import com.hyperswitch.storage.repository.DecisionManagerConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SurchargeEvaluator
+ */
+@DisplayName("SurchargeEvaluator Unit Tests")
+class SurchargeEvaluatorTest {
+
+    private static final String MERCHANT = "merchant_surcharge";
+    private static final String PROFILE = "profile_1";
+
+    private static final Map<String, Object> CONFIG = Map.of(
+        "rules", List.of(
+            Map.of(
+                "name", "us_credit",
+                "condition", Map.of(
+                    "min_amount", 1000,
+                    "max_amount", 500000,
+                    "payment_methods", List.of("CARD"),
+                    "card_types", List.of("credit"),
+                    "countries", List.of("US", "CA")),
+                "surcharge", Map.of("type", "rate", "value", 2.5),
+                "tax_on_surcharge", 10.0),
+            Map.of(
+                "name", "any_card",
+                "condition", Map.of("payment_methods", List.of("CARD")),
+                "surcharge", Map.of("type", "fixed", "value", 50))),
+        "default_selection", Map.of("surcharge", Map.of("type", "fixed", "value", 0)));
+
+    private DecisionManagerConfigRepository repository;
+    private SurchargeEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DecisionManagerConfigRepository.class);
+        evaluator = new SurchargeEvaluator(repository, 300);
+        DecisionManagerConfigEntity entity = new DecisionManagerConfigEntity();
+        entity.setMerchantId(MERCHANT);
+        entity.setConfigType("surcharge");
+        entity.setConfigData(CONFIG);
+        when(repository.findByMerchantIdAndProfileIdAndConfigType(MERCHANT, PROFILE, "surcharge"))
+            .thenReturn(Mono.empty());
+        when(repository.findByMerchantIdAndConfigType(MERCHANT, "surcharge"))
+            .thenReturn(Mono.just(entity));
+    }
+
+    @Test
+    @DisplayName("Should return surcharge and tax of the first matching rule")
+    void testFirstMatchingRule() {
+        // When / Then - 2.5% of 10000 is 250, 10% tax on it is 25
+        StepVerifier.create(evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "CREDIT", "us"))
+            .assertNext(details -> {
+                assertThat(details.surchargeAmount()).isEqualTo(250);
+                assertThat(details.taxOnSurcharge()).isEqualTo(25);
+                assertThat(details.ruleName()).isEqualTo("us_credit");
+            })
+            .verifyComplete();
+
+        // Debit cards fall through to the fixed surcharge
+        StepVerifier.create(evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "debit", "US"))
+            .assertNext(details -> {
+                assertThat(details.surchargeAmount()).isEqualTo(50);
+                assertThat(details.taxOnSurcharge()).isZero();
+            })
+            .verifyComplete();
+
+        // Other payment methods get the default selection
+        StepVerifier.create(evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.WALLET, null, null))
+            .assertNext(details -> assertThat(details.total()).isZero())
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should compile once per profile and recompile after invalidation")
+    void testCachingAndInvalidation() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "credit", "US").block();
+        }
+        evaluator.invalidate(MERCHANT);
+        evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "credit", "US").block();
+
+        // Then
+        verify(repository, times(2)).findByMerchantIdAndConfigType(MERCHANT, "surcharge");
+    }
+
+    @Test
+    @DisplayName("Should recompile after a config change published by another node")
+    void testPublishedInvalidation() {
+        // Given
+        evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "credit", "US").block();
+
+        // When - changes older than the compiled config are ignored, newer ones drop it
+        evaluator.applyInvalidations(Map.of(MERCHANT, String.valueOf(System.currentTimeMillis() - 60_000)));
+        evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "credit", "US").block();
+        evaluator.applyInvalidations(Map.of("other_merchant", String.valueOf(System.currentTimeMillis() + 1_000),
+            MERCHANT, String.valueOf(System.currentTimeMillis() + 1_000)));
+        evaluator.evaluate(MERCHANT, PROFILE, 10_000, PaymentMethod.CARD, "credit", "US").block();
+
+        // Then
+        verify(repository, times(2)).findByMerchantIdAndConfigType(MERCHANT, "surcharge");
+    }
+
+    @Test
+    @DisplayName("Should publish local invalidations to Redis")
+    @SuppressWarnings("unchecked")
+    void testInvalidationPublished() {
+        // Given
+        ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveHashOperations<String, Object, Object> hashOperations = mock(ReactiveHashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.put(eq("routing:surcharge:config_versions"), eq(MERCHANT), anyString()))
+            .thenReturn(Mono.just(true));
+        evaluator.setRedisTemplate(redisTemplate);
+
+        // When
+        evaluator.invalidate(MERCHANT);
+
+        // Then
+        verify(hashOperations).put(eq("routing:surcharge:config_versions"), eq(MERCHANT), anyString());
+    }
+}
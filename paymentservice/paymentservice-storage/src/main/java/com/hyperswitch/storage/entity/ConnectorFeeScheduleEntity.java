@@ -0,0 +1,149 @@
+package com.hyperswitch.storage.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Connector fee schedule entry for contract-based routing
+ * Null card network, region or payment method match any value.
+ */
+@Table("connector_fee_schedule")
+public class ConnectorFeeScheduleEntity {
+    @Id
+    @Column("id")
+    private String id;
+    
+    @Column("merchant_id")
+    private String merchantId;
+    
+    @Column("connector")
+    private String connector;
+    
+    @Column("card_network")
+    private String cardNetwork;
+    
+    @Column("region")
+    private String region;
+    
+    @Column("payment_method")
+    private String paymentMethod;
+    
+    @Column("min_monthly_volume")
+    private Long minMonthlyVolume;
+    
+    @Column("percentage_fee")
+    private BigDecimal percentageFee;
+    
+    @Column("fixed_fee")
+    private Long fixedFee;
+    
+    @Column("enabled")
+    private Boolean enabled;
+    
+    @Column("created_at")
+    private Instant createdAt;
+    
+    @Column("modified_at")
+    private Instant modifiedAt;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    public String getConnector() {
+        return connector;
+    }
+
+    public void setConnector(String connector) {
+        this.connector = connector;
+    }
+
+    public String getCardNetwork() {
+        return cardNetwork;
+    }
+
+    public void setCardNetwork(String cardNetwork) {
+        this.cardNetwork = cardNetwork;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public Long getMinMonthlyVolume() {
+        return minMonthlyVolume;
+    }
+
+    public void setMinMonthlyVolume(Long minMonthlyVolume) {
+        this.minMonthlyVolume = minMonthlyVolume;
+    }
+
+    public BigDecimal getPercentageFee() {
+        return percentageFee;
+    }
+
+    public void setPercentageFee(BigDecimal percentageFee) {
+        this.percentageFee = percentageFee;
+    }
+
+    public Long getFixedFee() {
+        return fixedFee;
+    }
+
+    public void setFixedFee(Long fixedFee) {
+        this.fixedFee = fixedFee;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(Instant modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hyperswitch.storage.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Entity mapping a connector's transaction ID to the payment attempt it belongs to
+ */
+@Table("connector_transaction_map")
+public class ConnectorTransactionMapEntity {
+    
+    @Id
+    @Column("id")
+    private Long id;
+    
+    @Column("connector")
+    private String connector;
+    
+    @Column("connector_transaction_id")
+    private String connectorTransactionId;
+    
+    @Column("merchant_id")
+    private String merchantId;
+    
+    @Column("payment_id")
+    private String paymentId;
+    
+    @Column("attempt_id")
+    private String attemptId;
+    
+    @Column("created_at")
+    private Instant createdAt;
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getConnector() {
+        return connector;
+    }
+    
+    public void setConnector(String connector) {
+        this.connector = connector;
+    }
+    
+    public String getConnectorTransactionId() {
+        return connectorTransactionId;
+    }
+    
+    public void setConnectorTransactionId(String connectorTransactionId) {
+        this.connectorTransactionId = connectorTransactionId;
+    }
+    
+    public String getMerchantId() {
+        return merchantId;
+    }
+    
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+    
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public String getAttemptId() {
+        return attemptId;
+    }
+    
+    public void setAttemptId(String attemptId) {
+        this.attemptId = attemptId;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
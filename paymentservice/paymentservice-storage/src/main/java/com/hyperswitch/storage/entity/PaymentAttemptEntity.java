@@ -75,6 +75,12 @@ public class PaymentAttemptEntity {
     
     @Column("organization_id")
     private String organizationId;
+    
+    @Column("surcharge_amount")
+    private Long surchargeAmount;
+    
+    @Column("tax_amount")
+    private Long taxAmount;
 
     // Getters and Setters
     public String getId() {
@@ -245,6 +251,22 @@ public class PaymentAttemptEntity {
         this.organizationId = organizationId;
     }
 
+    public Long getSurchargeAmount() {
+        return surchargeAmount;
+    }
+
+    public void setSurchargeAmount(Long surchargeAmount) {
+        this.surchargeAmount = surchargeAmount;
+    }
+
+    public Long getTaxAmount() {
+        return taxAmount;
+    }
+
+    public void setTaxAmount(Long taxAmount) {
+        this.taxAmount = taxAmount;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -357,6 +379,16 @@ public class PaymentAttemptEntity {
             return this;
         }
 
+        public Builder surchargeAmount(Long surchargeAmount) {
+            entity.surchargeAmount = surchargeAmount;
+            return this;
+        }
+
+        public Builder taxAmount(Long taxAmount) {
+            entity.taxAmount = taxAmount;
+            return this;
+        }
+
         public PaymentAttemptEntity build() {
             return entity;
         }
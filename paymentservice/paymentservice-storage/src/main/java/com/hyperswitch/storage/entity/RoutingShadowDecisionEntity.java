@@ -0,0 +1,137 @@
+package com.hyperswitch.storage.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Entity recording the connector a shadow routing algorithm would have chosen
+ */
+@Table("routing_shadow_decision")
+public class RoutingShadowDecisionEntity {
+    
+    @Id
+    @Column("id")
+    private Long id;
+    
+    @Column("merchant_id")
+    private String merchantId;
+    
+    @Column("payment_id")
+    private String paymentId;
+    
+    @Column("active_algorithm")
+    private String activeAlgorithm;
+    
+    @Column("shadow_algorithm")
+    private String shadowAlgorithm;
+    
+    @Column("active_connector")
+    private String activeConnector;
+    
+    @Column("shadow_connector")
+    private String shadowConnector;
+    
+    @Column("agreed")
+    private Boolean agreed;
+    
+    @Column("amount")
+    private Long amount;
+    
+    @Column("currency")
+    private String currency;
+    
+    @Column("created_at")
+    private Instant createdAt;
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getMerchantId() {
+        return merchantId;
+    }
+    
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+    
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public String getActiveAlgorithm() {
+        return activeAlgorithm;
+    }
+    
+    public void setActiveAlgorithm(String activeAlgorithm) {
+        this.activeAlgorithm = activeAlgorithm;
+    }
+    
+    public String getShadowAlgorithm() {
+        return shadowAlgorithm;
+    }
+    
+    public void setShadowAlgorithm(String shadowAlgorithm) {
+        this.shadowAlgorithm = shadowAlgorithm;
+    }
+    
+    public String getActiveConnector() {
+        return activeConnector;
+    }
+    
+    public void setActiveConnector(String activeConnector) {
+        this.activeConnector = activeConnector;
+    }
+    
+    public String getShadowConnector() {
+        return shadowConnector;
+    }
+    
+    public void setShadowConnector(String shadowConnector) {
+        this.shadowConnector = shadowConnector;
+    }
+    
+    public Boolean getAgreed() {
+        return agreed;
+    }
+    
+    public void setAgreed(Boolean agreed) {
+        this.agreed = agreed;
+    }
+    
+    public Long getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
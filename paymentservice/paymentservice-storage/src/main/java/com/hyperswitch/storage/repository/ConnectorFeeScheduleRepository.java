@@ -0,0 +1,24 @@
+package com.hyperswitch.storage.repository;
+
+import com.hyperswitch.storage.entity.ConnectorFeeScheduleEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for connector fee schedule entities
+ */
+@Repository
+public interface ConnectorFeeScheduleRepository extends ReactiveCrudRepository<ConnectorFeeScheduleEntity, String> {
+    
+    /**
+     * Find all enabled fee schedule entries for a merchant
+     */
+    Flux<ConnectorFeeScheduleEntity> findByMerchantIdAndEnabledTrue(String merchantId);
+    
+    /**
+     * Delete all fee schedule entries of a merchant
+     */
+    Mono<Void> deleteByMerchantId(String merchantId);
+}
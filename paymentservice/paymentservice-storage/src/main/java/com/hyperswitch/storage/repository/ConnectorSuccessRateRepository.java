@@ -11,6 +11,8 @@ public interface ConnectorSuccessRateRepository extends ReactiveCrudRepository<C
     
     Flux<ConnectorSuccessRateEntity> findByMerchantIdAndProfileId(String merchantId, String profileId);
     
+    Flux<ConnectorSuccessRateEntity> findByMerchantId(String merchantId);
+    
     Mono<ConnectorSuccessRateEntity> findByMerchantIdAndConnectorAndProfileIdAndPaymentMethodAndCurrency(
         String merchantId, 
         String connector, 
@@ -0,0 +1,53 @@
+package com.hyperswitch.storage.repository;
+
+import com.hyperswitch.storage.entity.ConnectorTransactionMapEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive repository for connector transaction ID mappings
+ */
+@Repository
+public interface ConnectorTransactionMapRepository extends ReactiveCrudRepository<ConnectorTransactionMapEntity, Long> {
+    
+    /**
+     * Point lookup on the (connector, connector_transaction_id) unique index
+     */
+    Mono<ConnectorTransactionMapEntity> findByConnectorAndConnectorTransactionId(
+        String connector,
+        String connectorTransactionId
+    );
+    
+    /**
+     * Batched lookup of many transaction IDs of one connector
+     */
+    @Query("SELECT * FROM connector_transaction_map WHERE connector = :connector "
+        + "AND connector_transaction_id IN (:connectorTransactionIds)")
+    Flux<ConnectorTransactionMapEntity> findByConnectorAndConnectorTransactionIdIn(
+        String connector,
+        Collection<String> connectorTransactionIds
+    );
+    
+    /**
+     * Insert a mapping, repointing it if the connector reuses the transaction ID
+     */
+    @Modifying
+    @Query("INSERT INTO connector_transaction_map "
+        + "(connector, connector_transaction_id, merchant_id, payment_id, attempt_id, created_at) "
+        + "VALUES (:connector, :connectorTransactionId, :merchantId, :paymentId, :attemptId, CURRENT_TIMESTAMP) "
+        + "ON CONFLICT (connector, connector_transaction_id) DO UPDATE SET "
+        + "merchant_id = EXCLUDED.merchant_id, payment_id = EXCLUDED.payment_id, attempt_id = EXCLUDED.attempt_id")
+    Mono<Integer> upsert(
+        String connector,
+        String connectorTransactionId,
+        String merchantId,
+        String paymentId,
+        String attemptId
+    );
+}
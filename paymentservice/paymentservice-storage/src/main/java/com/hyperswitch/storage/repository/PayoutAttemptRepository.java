@@ -15,5 +15,7 @@ public interface PayoutAttemptRepository extends ReactiveCrudRepository<PayoutAt
     Flux<PayoutAttemptEntity> findByPayoutId(String payoutId);
 
     Mono<PayoutAttemptEntity> findByPayoutIdAndMerchantId(String payoutId, String merchantId);
+
+    Flux<PayoutAttemptEntity> findByPayoutIdAndMerchantIdAndStatus(String payoutId, String merchantId, String status);
 }
 
@@ -1,10 +1,14 @@
 package com.hyperswitch.storage.repository;
 
 import com.hyperswitch.storage.entity.RoutingDecisionLogEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 /**
  * Repository for routing decision log entities
  */
@@ -20,5 +24,29 @@ public interface RoutingDecisionLogRepository extends R2dbcRepository<RoutingDec
      * Find routing decision log by attempt ID
      */
     Mono<RoutingDecisionLogEntity> findByAttemptId(String attemptId);
+    
+    /**
+     * Stream routing decisions created within a time range in creation order
+     */
+    Flux<RoutingDecisionLogEntity> findByCreatedAtBetweenOrderByCreatedAtAsc(Instant from, Instant to);
+    
+    /**
+     * Stream a merchant's routing decisions created within a time range
+     */
+    Flux<RoutingDecisionLogEntity> findByMerchantIdAndCreatedAtBetween(String merchantId, Instant from, Instant to);
+    
+    /**
+     * Stream a profile's routing decisions created within a time range
+     */
+    Flux<RoutingDecisionLogEntity> findByMerchantIdAndProfileIdAndCreatedAtBetween(
+        String merchantId, String profileId, Instant from, Instant to);
+    
+    /**
+     * Sum of successfully routed amounts for a merchant and connector since an instant
+     */
+    @Query("SELECT COALESCE(SUM(amount), 0) FROM routing_decision_log " +
+           "WHERE merchant_id = :merchantId AND selected_connector = :connector " +
+           "AND success = TRUE AND created_at >= :since")
+    Mono<Long> sumSuccessfulAmountSince(String merchantId, String connector, Instant since);
 }
 
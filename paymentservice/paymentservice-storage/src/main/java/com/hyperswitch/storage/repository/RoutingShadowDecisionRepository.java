@@ -0,0 +1,19 @@
+package com.hyperswitch.storage.repository;
+
+import com.hyperswitch.storage.entity.RoutingShadowDecisionEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Reactive repository for shadow routing decisions
+ */
+@Repository
+public interface RoutingShadowDecisionRepository extends ReactiveCrudRepository<RoutingShadowDecisionEntity, Long> {
+    
+    @Query("SELECT * FROM routing_shadow_decision WHERE merchant_id = :merchantId AND created_at >= :since")
+    Flux<RoutingShadowDecisionEntity> findByMerchantIdSince(String merchantId, Instant since);
+}
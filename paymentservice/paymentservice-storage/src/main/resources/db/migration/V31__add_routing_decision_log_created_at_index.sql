@@ -0,0 +1,2 @@
+-- V31: Index routing_decision_log by creation time for time-range replay scans
+CREATE INDEX IF NOT EXISTS idx_routing_decision_created_at ON routing_decision_log(created_at);
@@ -0,0 +1,21 @@
+-- V32: Per-merchant connector fee schedules for contract-based routing
+CREATE TABLE IF NOT EXISTS connector_fee_schedule (
+    id VARCHAR(64) PRIMARY KEY,
+    merchant_id VARCHAR(64) NOT NULL,
+    connector VARCHAR(64) NOT NULL,
+    card_network VARCHAR(32),
+    region VARCHAR(32),
+    payment_method VARCHAR(64),
+    min_monthly_volume BIGINT NOT NULL DEFAULT 0,
+    percentage_fee DECIMAL(7,4) NOT NULL DEFAULT 0.0000,
+    fixed_fee BIGINT NOT NULL DEFAULT 0,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_connector_fee_schedule_merchant ON connector_fee_schedule(merchant_id);
+
+-- Month-to-date volume lookups for fee tiers
+CREATE INDEX IF NOT EXISTS idx_routing_decision_merchant_connector_created
+    ON routing_decision_log(merchant_id, selected_connector, created_at);
@@ -0,0 +1,16 @@
+-- V33: Hypothetical connector choices of shadow routing algorithms
+CREATE TABLE IF NOT EXISTS routing_shadow_decision (
+    id BIGSERIAL PRIMARY KEY,
+    merchant_id VARCHAR(64) NOT NULL,
+    active_algorithm VARCHAR(32) NOT NULL,
+    shadow_algorithm VARCHAR(32) NOT NULL,
+    active_connector VARCHAR(32),
+    shadow_connector VARCHAR(32),
+    agreed BOOLEAN NOT NULL,
+    amount BIGINT,
+    currency VARCHAR(3),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_routing_shadow_decision_merchant_created
+    ON routing_shadow_decision(merchant_id, shadow_algorithm, created_at);
@@ -0,0 +1,3 @@
+-- V34: Surcharge and tax on surcharge applied to a payment attempt
+ALTER TABLE payment_attempt ADD COLUMN IF NOT EXISTS surcharge_amount BIGINT;
+ALTER TABLE payment_attempt ADD COLUMN IF NOT EXISTS tax_amount BIGINT;
@@ -0,0 +1,16 @@
+-- V35: Point lookups from a connector's transaction ID back to the payment and attempt
+CREATE TABLE IF NOT EXISTS connector_transaction_map (
+    id BIGSERIAL PRIMARY KEY,
+    connector VARCHAR(64) NOT NULL,
+    connector_transaction_id VARCHAR(255) NOT NULL,
+    merchant_id VARCHAR(64) NOT NULL,
+    payment_id VARCHAR(64) NOT NULL,
+    attempt_id VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_connector_transaction_map_connector_txn
+    ON connector_transaction_map(connector, connector_transaction_id);
+
+CREATE INDEX IF NOT EXISTS idx_connector_transaction_map_payment
+    ON connector_transaction_map(payment_id);
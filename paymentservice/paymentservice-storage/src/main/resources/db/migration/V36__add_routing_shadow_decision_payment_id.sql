@@ -0,0 +1,5 @@
+-- V36: Link shadow routing decisions to the payment they were evaluated for
+ALTER TABLE routing_shadow_decision ADD COLUMN IF NOT EXISTS payment_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_routing_shadow_decision_payment
+    ON routing_shadow_decision(payment_id);
@@ -1,6 +1,7 @@
 package com.hyperswitch;
 
 import com.hyperswitch.connectors.config.ConnectorConfig;
+import com.hyperswitch.routing.replay.RoutingReplayRunner;
 import com.hyperswitch.storage.config.DatabaseConfig;
 import com.hyperswitch.web.config.DataSourceConfig;
 import com.hyperswitch.web.config.FlywayConfig;
@@ -13,8 +14,10 @@ import com.hyperswitch.web.config.WebClientConfig;
 import com.hyperswitch.web.controller.*;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Profiles;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -152,7 +155,14 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(PaymentServiceApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(PaymentServiceApplication.class, args);
+
+        // The routing replay runs once at startup; exit with its status instead of serving
+        if (context.getEnvironment().acceptsProfiles(Profiles.of(RoutingReplayRunner.PROFILE))
+                && context.getEnvironment().getProperty(
+                    "hyperswitch.routing.replay.exit-on-completion", Boolean.class, true)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
 
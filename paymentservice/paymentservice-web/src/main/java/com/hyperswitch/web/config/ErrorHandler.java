@@ -50,6 +50,7 @@ public class ErrorHandler {
             case "CUSTOMER_NOT_FOUND":
             case "PAYMENT_METHOD_NOT_FOUND":
             case "REFUND_NOT_FOUND":
+            case "SIMULATION_NOT_FOUND":
                 return HttpStatus.NOT_FOUND;
             case "UNAUTHORIZED":
             case "FORBIDDEN":
@@ -60,6 +61,16 @@ public class ErrorHandler {
             case "INTERNAL_ERROR":
             case "SERVER_ERROR":
                 return HttpStatus.INTERNAL_SERVER_ERROR;
+            case "CONNECTOR_RATE_LIMITED":
+                return HttpStatus.TOO_MANY_REQUESTS;
+            case "CONNECTOR_UNAVAILABLE":
+            case "CONNECTOR_BULKHEAD_FULL":
+            case "CONNECTOR_CIRCUIT_OPEN":
+                return HttpStatus.SERVICE_UNAVAILABLE;
+            case "CONNECTOR_TIMEOUT":
+                return HttpStatus.GATEWAY_TIMEOUT;
+            case "CONNECTOR_SERVER_ERROR":
+                return HttpStatus.BAD_GATEWAY;
             default:
                 return HttpStatus.BAD_REQUEST;
         }
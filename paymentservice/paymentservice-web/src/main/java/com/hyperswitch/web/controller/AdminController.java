@@ -2,6 +2,9 @@ package com.hyperswitch.web.controller;
 
 import com.hyperswitch.common.dto.*;
 import com.hyperswitch.core.configs.ConfigService;
+import com.hyperswitch.core.connectors.ConnectorBulkhead;
+import com.hyperswitch.core.connectors.ConnectorRateLimiter;
+import com.hyperswitch.core.connectors.ConnectorWebClientRegistry;
 import com.hyperswitch.core.connectoraccount.ConnectorAccountService;
 import com.hyperswitch.core.merchantaccount.MerchantAccountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +40,9 @@ public class AdminController {
     
     private MerchantAccountService merchantAccountService;
     private ConfigService configService;
+    private ConnectorRateLimiter rateLimiter;
+    private ConnectorBulkhead bulkhead;
+    private ConnectorWebClientRegistry clientRegistry;
     
     // Default constructor to allow bean creation even if dependencies are missing
     public AdminController() {
@@ -52,6 +59,21 @@ public class AdminController {
         this.configService = configService;
     }
     
+    @Autowired(required = false)
+    public void setRateLimiter(ConnectorRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @Autowired(required = false)
+    public void setBulkhead(ConnectorBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+    
+    @Autowired(required = false)
+    public void setClientRegistry(ConnectorWebClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
+    
     @PostConstruct
     public void init() {
         log.info("=== AdminController BEAN CREATED ===");
@@ -303,6 +325,262 @@ public class AdminController {
             });
     }
     
+    /**
+     * Get connector rate limits
+     * GET /api/admin/rate-limits
+     */
+    @GetMapping("/rate-limits")
+    @Operation(
+        summary = "Get connector rate limits",
+        description = "Retrieves effective rate limits by connector and by merchant account on a connector (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rate limits retrieved successfully"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> getRateLimits() {
+        if (rateLimiter == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        Map<String, Object> response = new HashMap<>();
+        rateLimiter.getRateLimits().forEach((key, config) -> response.put(key, Map.of(
+            "max_requests", config.maxRequests(),
+            "window_seconds", config.window().toSeconds()
+        )));
+        return Mono.just(ResponseEntity.ok(response));
+    }
+    
+    /**
+     * Update a connector rate limit without a redeploy
+     * PUT /api/admin/rate-limits/{connector}
+     */
+    @PutMapping("/rate-limits/{connector}")
+    @Operation(
+        summary = "Update connector rate limit",
+        description = "Updates the rate limit of a connector, or of one merchant account on it when merchant_id is given. "
+            + "The change is applied by all nodes (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rate limit updated successfully"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid rate limit"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> updateRateLimit(
+            @PathVariable("connector") String connector,
+            @RequestBody Map<String, Object> request) {
+        if (rateLimiter == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        if (!(request.get("max_requests") instanceof Number maxRequests) || maxRequests.intValue() <= 0
+            || !(request.get("window_seconds") instanceof Number windowSeconds) || windowSeconds.longValue() <= 0) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", "max_requests and window_seconds must be positive numbers"
+            )));
+        }
+        String merchantId = request.get("merchant_id") instanceof String id ? id : null;
+        rateLimiter.updateRateLimit(connector, merchantId, maxRequests.intValue(),
+            Duration.ofSeconds(windowSeconds.longValue()));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("connector", connector.toLowerCase());
+        response.put("merchant_id", merchantId);
+        response.put("max_requests", maxRequests.intValue());
+        response.put("window_seconds", windowSeconds.longValue());
+        return Mono.just(ResponseEntity.ok(response));
+    }
+    
+    /**
+     * Get connector bulkheads
+     * GET /api/admin/bulkheads
+     */
+    @GetMapping("/bulkheads")
+    @Operation(
+        summary = "Get connector bulkheads",
+        description = "Retrieves effective bulkhead limits by connector with the calls currently in flight and queued (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Bulkheads retrieved successfully"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> getBulkheads() {
+        if (bulkhead == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        Map<String, Object> response = new HashMap<>();
+        bulkhead.getLimits().forEach((connector, limits) -> response.put(connector, Map.of(
+            "max_concurrent", limits.maxConcurrent(),
+            "max_queued", limits.maxQueued(),
+            "in_flight", bulkhead.inFlight(connector),
+            "queued", bulkhead.queued(connector)
+        )));
+        return Mono.just(ResponseEntity.ok(response));
+    }
+    
+    /**
+     * Update a connector bulkhead without a redeploy
+     * PUT /api/admin/bulkheads/{connector}
+     */
+    @PutMapping("/bulkheads/{connector}")
+    @Operation(
+        summary = "Update connector bulkhead",
+        description = "Updates the in-flight and queued call limits of a connector. The change is applied by all nodes (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Bulkhead updated successfully"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid bulkhead limits"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> updateBulkhead(
+            @PathVariable("connector") String connector,
+            @RequestBody Map<String, Object> request) {
+        if (bulkhead == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        if (!(request.get("max_concurrent") instanceof Number maxConcurrent) || maxConcurrent.intValue() <= 0
+            || !(request.get("max_queued") instanceof Number maxQueued) || maxQueued.intValue() < 0) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", "max_concurrent must be a positive number and max_queued a non-negative number"
+            )));
+        }
+        bulkhead.updateLimits(connector, maxConcurrent.intValue(), maxQueued.intValue());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("connector", connector.toLowerCase());
+        response.put("max_concurrent", maxConcurrent.intValue());
+        response.put("max_queued", maxQueued.intValue());
+        return Mono.just(ResponseEntity.ok(response));
+    }
+    
+    /**
+     * Get the HTTP connection pool settings of a connector
+     * GET /api/admin/connector-pools/{connector}
+     */
+    @GetMapping("/connector-pools/{connector}")
+    @Operation(
+        summary = "Get connector connection pool",
+        description = "Retrieves the effective HTTP connection pool settings of a connector (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Connection pool settings retrieved successfully"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> getConnectorPool(
+            @PathVariable("connector") String connector) {
+        if (clientRegistry == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        return Mono.just(ResponseEntity.ok(poolResponse(connector, clientRegistry.settings(connector))));
+    }
+    
+    /**
+     * Update the HTTP connection pool of a connector without a redeploy
+     * PUT /api/admin/connector-pools/{connector}
+     */
+    @PutMapping("/connector-pools/{connector}")
+    @Operation(
+        summary = "Update connector connection pool",
+        description = "Overrides HTTP connection pool settings of a connector; omitted settings keep their current value. "
+            + "The change is applied by all nodes; old pools close once their calls complete (admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Connection pool updated successfully"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid connection pool settings"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> updateConnectorPool(
+            @PathVariable("connector") String connector,
+            @RequestBody Map<String, Object> request) {
+        if (clientRegistry == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        ConnectorWebClientRegistry.PoolSettings current = clientRegistry.settings(connector);
+        ConnectorWebClientRegistry.PoolSettings settings;
+        try {
+            settings = new ConnectorWebClientRegistry.PoolSettings(
+                positiveInt(request, "max_connections", current.maxConnections()),
+                positiveInt(request, "pending_acquire_max_count", current.pendingAcquireMaxCount()),
+                positiveMillis(request, "pending_acquire_timeout_ms", current.pendingAcquireTimeout()),
+                positiveMillis(request, "max_idle_time_ms", current.maxIdleTime()),
+                positiveMillis(request, "max_life_time_ms", current.maxLifeTime()),
+                positiveMillis(request, "eviction_interval_ms", current.evictionInterval()),
+                request.get("http2") instanceof Boolean http2 ? http2 : current.http2(),
+                positiveInt(request, "max_concurrent_streams", current.maxConcurrentStreams()),
+                positiveMillis(request, "response_timeout_ms", current.responseTimeout()));
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            )));
+        }
+        clientRegistry.configure(connector, settings);
+        
+        Map<String, Object> response = poolResponse(connector, settings);
+        response.put("status", "success");
+        return Mono.just(ResponseEntity.ok(response));
+    }
+    
+    private static Map<String, Object> poolResponse(String connector, ConnectorWebClientRegistry.PoolSettings settings) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("connector", connector.toLowerCase());
+        response.put("max_connections", settings.maxConnections());
+        response.put("pending_acquire_max_count", settings.pendingAcquireMaxCount());
+        response.put("pending_acquire_timeout_ms", settings.pendingAcquireTimeout().toMillis());
+        response.put("max_idle_time_ms", settings.maxIdleTime().toMillis());
+        response.put("max_life_time_ms", settings.maxLifeTime().toMillis());
+        response.put("eviction_interval_ms", settings.evictionInterval().toMillis());
+        response.put("http2", settings.http2());
+        response.put("max_concurrent_streams", settings.maxConcurrentStreams());
+        response.put("response_timeout_ms", settings.responseTimeout().toMillis());
+        return response;
+    }
+    
+    private static int positiveInt(Map<String, Object> request, String field, int current) {
+        Object value = request.get(field);
+        if (value == null) {
+            return current;
+        }
+        if (!(value instanceof Number number) || number.intValue() <= 0) {
+            throw new IllegalArgumentException(field + " must be a positive number");
+        }
+        return number.intValue();
+    }
+    
+    private static Duration positiveMillis(Map<String, Object> request, String field, Duration current) {
+        Object value = request.get(field);
+        if (value == null) {
+            return current;
+        }
+        if (!(value instanceof Number number) || number.longValue() <= 0) {
+            throw new IllegalArgumentException(field + " must be a positive number");
+        }
+        return Duration.ofMillis(number.longValue());
+    }
+    
     /**
      * Get audit logs
      * GET /api/admin/audit-logs
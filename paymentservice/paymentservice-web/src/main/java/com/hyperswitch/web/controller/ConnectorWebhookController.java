@@ -12,12 +12,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST controller for connector webhook signature verification
@@ -60,7 +63,7 @@ public class ConnectorWebhookController {
             @Parameter(description = "Connector name", required = true)
             @RequestParam("connector") String connectorName,
             @Parameter(description = "Webhook payload", required = true)
-            @RequestBody String payload,
+            @RequestBody Flux<DataBuffer> payload,
             @Parameter(description = "Webhook signature", required = true)
             @RequestHeader("X-Webhook-Signature") String signature,
             @Parameter(description = "Merchant ID", required = false)
@@ -69,28 +72,29 @@ public class ConnectorWebhookController {
         return Mono.fromCallable(() -> {
             // Get webhook secret from connector account
             Map<String, String> credentials = getWebhookCredentials(connectorName, merchantId);
-            String secret = webhookVerifier.getWebhookSecret(connectorName, credentials);
-            
-            if (secret == null) {
+            return Optional.ofNullable(webhookVerifier.getWebhookSecret(connectorName, credentials));
+        })
+        .flatMap(secret -> {
+            if (secret.isEmpty()) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("verified", false);
                 response.put("error", "Webhook secret not found");
-                return ResponseEntity.badRequest().body(response);
-            }
-            
-            // Verify signature
-            boolean verified = webhookVerifier.verifyWebhookSignature(
-                connectorName, payload, signature, secret);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("verified", verified);
-            response.put("connector", connectorName);
-            
-            if (!verified) {
-                response.put("error", "Signature verification failed");
+                return Mono.just(ResponseEntity.badRequest().body(response));
             }
             
-            return ResponseEntity.ok(response);
+            // Verify signature over the raw body
+            return webhookVerifier.verifyWebhookSignature(connectorName, payload, signature, secret.get())
+                .map(verified -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("verified", verified);
+                    response.put("connector", connectorName);
+                    
+                    if (!verified) {
+                        response.put("error", "Signature verification failed");
+                    }
+                    
+                    return ResponseEntity.ok(response);
+                });
         })
         .onErrorResume(error -> {
             Map<String, Object> response = new HashMap<>();
@@ -16,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 /**
  * REST controller for Dummy Connector operations (testing)
  */
@@ -206,5 +208,146 @@ public class DummyConnectorController {
                 }
             });
     }
+    
+    /**
+     * Capture dummy payment
+     * POST /api/dummy-connector/payments/{payment_id}/capture
+     */
+    @PostMapping("/payments/{payment_id}/capture")
+    @Operation(
+        summary = "Capture dummy payment",
+        description = "Completes a dummy payment without the authorization page, as connector API clients do"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Payment captured successfully",
+            content = @Content(schema = @Schema(implementation = DummyConnectorPaymentResponse.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Payment not found")
+    })
+    public Mono<ResponseEntity<DummyConnectorPaymentResponse>> capturePayment(
+            @PathVariable("payment_id") String paymentId) {
+        return dummyConnectorService.capturePayment(paymentId)
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.ok(result.unwrap());
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
+    
+    /**
+     * Create dummy session
+     * POST /api/dummy-connector/sessions
+     */
+    @PostMapping("/sessions")
+    @Operation(
+        summary = "Create dummy session",
+        description = "Creates a dummy session token for a payment"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Session created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> createSession(
+            @RequestBody Map<String, Object> request) {
+        Object paymentId = request.get("payment_id");
+        Object connector = request.get("connector");
+        return dummyConnectorService.createSession(paymentId != null ? paymentId.toString() : null,
+                connector != null ? connector.toString() : null)
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.ok(result.unwrap());
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
+    
+    /**
+     * Apply a simulation to a connector
+     * PUT /api/dummy-connector/simulations/{connector}
+     */
+    @PutMapping("/simulations/{connector}")
+    @Operation(
+        summary = "Apply connector simulation",
+        description = "Simulates latency distributions, error and timeout rates, rate limits, slow webhooks and "
+            + "outage windows for payments made with the given connector, or for every connector without its own "
+            + "simulation when the connector is *"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Simulation applied successfully"
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid simulation")
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> applySimulation(
+            @PathVariable("connector") String connector,
+            @RequestBody Map<String, Object> settings) {
+        return dummyConnectorService.applySimulation(connector, settings)
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.ok(result.unwrap());
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
+    
+    /**
+     * Get applied simulations
+     * GET /api/dummy-connector/simulations
+     */
+    @GetMapping("/simulations")
+    @Operation(
+        summary = "Get connector simulations",
+        description = "Retrieves the applied simulations by connector"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Simulations retrieved successfully"
+        )
+    })
+    public Mono<ResponseEntity<Map<String, Object>>> getSimulations() {
+        return dummyConnectorService.getSimulations()
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.ok(result.unwrap());
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
+    
+    /**
+     * Remove the simulation of a connector
+     * DELETE /api/dummy-connector/simulations/{connector}
+     */
+    @DeleteMapping("/simulations/{connector}")
+    @Operation(
+        summary = "Remove connector simulation",
+        description = "Restores instant, successful responses for the given connector"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Simulation removed successfully"
+        ),
+        @ApiResponse(responseCode = "404", description = "No simulation applied to the connector")
+    })
+    public Mono<ResponseEntity<Void>> clearSimulation(
+            @PathVariable("connector") String connector) {
+        return dummyConnectorService.clearSimulation(connector)
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.noContent().<Void>build();
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
 }
-
@@ -1,5 +1,6 @@
 package com.hyperswitch.web.controller;
 
+import com.hyperswitch.common.dto.ContractCostSavingsResponse;
 import com.hyperswitch.common.dto.DynamicRoutingRequest;
 import com.hyperswitch.common.dto.DynamicRoutingResponse;
 import com.hyperswitch.common.dto.VolumeSplitRequest;
@@ -16,6 +17,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 /**
  * REST controller for dynamic routing operations
  */
@@ -188,6 +191,38 @@ public class DynamicRoutingController {
             });
     }
     
+    /**
+     * Get contract-based routing cost savings
+     * GET /api/account/{account_id}/business_profile/{profile_id}/dynamic_routing/contracts/cost_savings
+     */
+    @GetMapping("/contracts/cost_savings")
+    @Operation(
+        summary = "Get contract cost savings",
+        description = "Compares the processing cost of past routing decisions with the least-cost eligible connector"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cost savings report computed successfully",
+            content = @Content(schema = @Schema(implementation = ContractCostSavingsResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid time range")
+    })
+    public Mono<ResponseEntity<ContractCostSavingsResponse>> getContractCostSavings(
+            @PathVariable("account_id") String accountId,
+            @PathVariable("profile_id") String profileId,
+            @RequestParam("from") Instant from,
+            @RequestParam("to") Instant to) {
+        return routingService.getContractCostSavings(accountId, profileId, from, to)
+            .map(result -> {
+                if (result.isOk()) {
+                    return ResponseEntity.ok(result.unwrap());
+                } else {
+                    throw new PaymentException(result.unwrapErr());
+                }
+            });
+    }
+    
     /**
      * Update contract-based routing config
      * PATCH /api/account/{account_id}/business_profile/{profile_id}/dynamic_routing/contracts/config/{algorithm_id}
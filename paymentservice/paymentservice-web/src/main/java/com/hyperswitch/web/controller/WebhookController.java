@@ -3,8 +3,11 @@ package com.hyperswitch.web.controller;
 import com.hyperswitch.connectors.ConnectorService;
 import com.hyperswitch.connectors.WebhookPayload;
 import com.hyperswitch.common.types.PaymentId;
+import com.hyperswitch.core.payments.ConnectorTransactionIndex;
 import com.hyperswitch.core.payments.PaymentService;
 import com.hyperswitch.core.fraudcheck.FraudCheckService;
+import com.hyperswitch.core.webhooks.IncomingWebhook;
+import com.hyperswitch.core.webhooks.IncomingWebhookQueue;
 import com.hyperswitch.common.types.FraudCheckStatus;
 import com.hyperswitch.web.config.ConnectorWebhookConfig;
 import org.slf4j.Logger;
@@ -30,6 +33,8 @@ public class WebhookController {
     private final FraudCheckService fraudCheckService;
     private final ConnectorWebhookConfig webhookConfig;
     private final com.hyperswitch.core.webhooks.WebhookDeliveryService webhookDeliveryService;
+    private IncomingWebhookQueue ingestQueue;
+    private ConnectorTransactionIndex transactionIndex;
 
     @Autowired
     public WebhookController(
@@ -45,6 +50,17 @@ public class WebhookController {
         this.webhookDeliveryService = webhookDeliveryService;
     }
 
+    @Autowired(required = false)
+    public void setIngestQueue(IncomingWebhookQueue ingestQueue) {
+        this.ingestQueue = ingestQueue;
+        ingestQueue.setProcessor(this::processQueuedWebhook);
+    }
+
+    @Autowired(required = false)
+    public void setTransactionIndex(ConnectorTransactionIndex transactionIndex) {
+        this.transactionIndex = transactionIndex;
+    }
+
     @PostMapping("/{connector}")
     public Mono<ResponseEntity<Map<String, String>>> handleWebhook(
             @PathVariable String connector,
@@ -77,12 +93,23 @@ public class WebhookController {
                 return connectorService.getConnector(connector)
                     .parseWebhook(payload)
                     .flatMap(webhookPayload -> {
-                        log.info("Processing webhook event: {} for payment: {}", 
-                            webhookPayload.getEventType(), webhookPayload.getPaymentId());
+                        if (ingestQueue == null || !ingestQueue.isEnabled()) {
+                            return processInline(connector, webhookPayload);
+                        }
                         
-                        // Process webhook based on event type
-                        return processWebhookEvent(webhookPayload)
-                            .thenReturn(ResponseEntity.ok(Map.of("status", "processed")));
+                        // Queue the event and acknowledge; workers process it off the request path
+                        IncomingWebhook incoming = new IncomingWebhook(connector.toLowerCase(),
+                            IncomingWebhookQueue.eventId(payload), webhookPayload.getPaymentId(), payload);
+                        return ingestQueue.ingest(incoming)
+                            .flatMap(outcome -> switch (outcome) {
+                                case ACCEPTED -> Mono.just(ResponseEntity.accepted().body(Map.of("status", "accepted")));
+                                case DUPLICATE -> Mono.just(ResponseEntity.ok(Map.of("status", "duplicate")));
+                                case INLINE -> processInline(connector, webhookPayload);
+                            })
+                            .onErrorResume(error -> {
+                                log.warn("Webhook ingest queue unavailable, processing inline: {}", error.getMessage());
+                                return processInline(connector, webhookPayload);
+                            });
                     });
             })
             .onErrorResume(error -> {
@@ -93,7 +120,25 @@ public class WebhookController {
             });
     }
 
-    private Mono<Void> processWebhookEvent(WebhookPayload payload) {
+    private Mono<ResponseEntity<Map<String, String>>> processInline(String connector, WebhookPayload webhookPayload) {
+        log.info("Processing webhook event: {} for payment: {}", 
+            webhookPayload.getEventType(), webhookPayload.getPaymentId());
+        
+        // Process webhook based on event type
+        return processWebhookEvent(connector, webhookPayload)
+            .thenReturn(ResponseEntity.ok(Map.of("status", "processed")));
+    }
+    
+    /**
+     * Process a webhook taken off the ingest queue
+     */
+    private Mono<Void> processQueuedWebhook(IncomingWebhook webhook) {
+        return connectorService.getConnector(webhook.connector())
+            .parseWebhook(webhook.payload())
+            .flatMap(payload -> processWebhookEvent(webhook.connector(), payload));
+    }
+
+    private Mono<Void> processWebhookEvent(String connector, WebhookPayload payload) {
         log.info("Processing webhook event: {} for payment: {}", 
             payload.getEventType(), payload.getPaymentId());
         
@@ -106,7 +151,7 @@ public class WebhookController {
         String eventType = payload.getEventType();
         
         if (eventType != null && eventType.contains("payment_intent")) {
-            return processPaymentWebhook(payload);
+            return processPaymentWebhook(connector, payload);
         } else if (eventType != null && eventType.contains("refund")) {
             return processRefundWebhook(payload);
         } else if (eventType != null && (eventType.contains("fraud") || eventType.contains("frm"))) {
@@ -117,9 +162,25 @@ public class WebhookController {
         }
     }
     
-    private Mono<Void> processPaymentWebhook(WebhookPayload payload) {
+    private Mono<Void> processPaymentWebhook(String connector, WebhookPayload payload) {
+        // Connectors report their own transaction ID; map it back to our payment when indexed
+        String connectorTransactionId = payload.getConnectorTransactionId() != null
+            ? payload.getConnectorTransactionId()
+            : payload.getPaymentId();
+        Mono<String> paymentIdLookup = transactionIndex != null
+            ? transactionIndex.resolve(connector, connectorTransactionId)
+                .map(ConnectorTransactionIndex.TransactionRef::paymentId)
+                .onErrorResume(error -> Mono.empty())
+            : Mono.empty();
+        
+        return paymentIdLookup
+            .defaultIfEmpty(payload.getPaymentId())
+            .flatMap(this::processResolvedPaymentWebhook);
+    }
+    
+    private Mono<Void> processResolvedPaymentWebhook(String resolvedPaymentId) {
         try {
-            PaymentId paymentId = PaymentId.of(payload.getPaymentId());
+            PaymentId paymentId = PaymentId.of(resolvedPaymentId);
             
             // Get current payment status and process webhook event
             return paymentService.getPayment(paymentId)
@@ -140,7 +201,7 @@ public class WebhookController {
                     return Mono.<Void>empty();
                 });
         } catch (Exception e) {
-            log.error("Invalid payment ID in webhook: {}", payload.getPaymentId(), e);
+            log.error("Invalid payment ID in webhook: {}", resolvedPaymentId, e);
             return Mono.empty();
         }
     }
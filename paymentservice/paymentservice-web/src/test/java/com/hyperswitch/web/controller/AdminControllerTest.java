@@ -0,0 +1,77 @@
+package com.hyperswitch.web.controller;
+
+import com.hyperswitch.core.connectors.ConnectorWebClientRegistry;
+import com.hyperswitch.web.config.ErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the connector pool endpoints of AdminController
+ */
+@DisplayName("AdminController Connector Pool Tests")
+class AdminControllerTest {
+
+    private ConnectorWebClientRegistry clientRegistry;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        clientRegistry = new ConnectorWebClientRegistry(4, 8, 1000, 30000, 300000, 10000, false, 100, 5000, 64, 3600);
+        AdminController controller = new AdminController();
+        controller.setClientRegistry(clientRegistry);
+        webTestClient = WebTestClient.bindToController(controller)
+            .controllerAdvice(new ErrorHandler())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientRegistry.close();
+    }
+
+    @Test
+    @DisplayName("Should override the given pool settings of one connector and keep the rest")
+    void testUpdateConnectorPool() {
+        // Given
+        var before = clientRegistry.client("adyen");
+
+        // When / Then
+        webTestClient.put()
+            .uri("/api/admin/connector-pools/Adyen")
+            .bodyValue(Map.of("max_connections", 16, "http2", true, "response_timeout_ms", 2000))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.connector").isEqualTo("adyen")
+            .jsonPath("$.max_connections").isEqualTo(16)
+            .jsonPath("$.pending_acquire_max_count").isEqualTo(8);
+
+        assertThat(clientRegistry.settings("adyen").http2()).isTrue();
+        assertThat(clientRegistry.settings("adyen").responseTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(clientRegistry.settings("stripe").maxConnections()).isEqualTo(4);
+        assertThat(clientRegistry.client("adyen")).isNotSameAs(before);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid pool settings without replacing the pool")
+    void testRejectsInvalidPoolSettings() {
+        // When / Then
+        webTestClient.put()
+            .uri("/api/admin/connector-pools/adyen")
+            .bodyValue(Map.of("max_connections", 0))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.message").isEqualTo("max_connections must be a positive number");
+
+        assertThat(clientRegistry.settings("adyen").maxConnections()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,200 @@
+package com.hyperswitch.web.controller;
+
+import com.hyperswitch.common.enums.Connector;
+import com.hyperswitch.routing.bandit.ThompsonSamplingRouter;
+import com.hyperswitch.routing.cache.RoutingDecisionCache;
+import com.hyperswitch.routing.contract.ConnectorFeeTable;
+import com.hyperswitch.routing.elimination.ConnectorEliminationService;
+import com.hyperswitch.routing.impl.RoutingServiceImpl;
+import com.hyperswitch.routing.latency.ConnectorLatencyTracker;
+import com.hyperswitch.routing.payout.PayoutRouter;
+import com.hyperswitch.routing.shadow.ShadowRoutingEvaluator;
+import com.hyperswitch.routing.surcharge.SurchargeEvaluator;
+import com.hyperswitch.storage.entity.ConnectorFeeScheduleEntity;
+import com.hyperswitch.storage.entity.RoutingConfigEntity;
+import com.hyperswitch.storage.entity.RoutingDecisionLogEntity;
+import com.hyperswitch.storage.repository.ConnectorFeeScheduleRepository;
+import com.hyperswitch.storage.repository.ConnectorSuccessRateRepository;
+import com.hyperswitch.storage.repository.DecisionManagerConfigRepository;
+import com.hyperswitch.storage.repository.RoutingAlgorithmRepository;
+import com.hyperswitch.storage.repository.RoutingConfigRepository;
+import com.hyperswitch.storage.repository.RoutingDecisionLogRepository;
+import com.hyperswitch.web.config.ErrorHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the contract-based routing endpoints of DynamicRoutingController
+ */
+@DisplayName("DynamicRoutingController Contract Endpoint Tests")
+class DynamicRoutingControllerTest {
+
+    private static final String MERCHANT = "merchant_contracts";
+    private static final String BASE = "/api/account/" + MERCHANT + "/business_profile/pro_1/dynamic_routing";
+    private static final Instant FROM = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-02-01T00:00:00Z");
+
+    private RoutingConfigRepository routingConfigRepository;
+    private RoutingDecisionLogRepository decisionLogRepository;
+    private ConnectorFeeScheduleRepository feeScheduleRepository;
+    private ConnectorFeeTable feeTable;
+    private TransactionalOperator transactionalOperator;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        routingConfigRepository = mock(RoutingConfigRepository.class);
+        decisionLogRepository = mock(RoutingDecisionLogRepository.class);
+        feeScheduleRepository = mock(ConnectorFeeScheduleRepository.class);
+        feeTable = mock(ConnectorFeeTable.class);
+        transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RoutingServiceImpl routingService = new RoutingServiceImpl(
+            routingConfigRepository,
+            mock(ConnectorSuccessRateRepository.class),
+            mock(RoutingAlgorithmRepository.class),
+            mock(DecisionManagerConfigRepository.class),
+            mock(ConnectorEliminationService.class),
+            mock(ThompsonSamplingRouter.class),
+            mock(RoutingDecisionCache.class),
+            mock(ConnectorLatencyTracker.class),
+            feeTable,
+            feeScheduleRepository,
+            decisionLogRepository,
+            mock(ShadowRoutingEvaluator.class),
+            mock(SurchargeEvaluator.class),
+            mock(PayoutRouter.class),
+            transactionalOperator);
+        webTestClient = WebTestClient.bindToController(new DynamicRoutingController(routingService))
+            .controllerAdvice(new ErrorHandler())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should reject a cost savings range that does not start before it ends")
+    void testCostSavingsRejectsInvertedRange() {
+        webTestClient.get()
+            .uri(BASE + "/contracts/cost_savings?from={from}&to={to}", TO, FROM)
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error.code").isEqualTo("INVALID_REQUEST");
+
+        verifyNoInteractions(decisionLogRepository, routingConfigRepository);
+    }
+
+    @Test
+    @DisplayName("Should report cost savings for the profile's decisions and connectors only")
+    void testCostSavingsScopedToProfile() {
+        // Given - checkout is cheapest but only configured for another profile
+        when(routingConfigRepository.findByMerchantIdAndEnabledTrue(MERCHANT)).thenReturn(Flux.just(
+            config("stripe", "pro_1"), config("adyen", "pro_1"), config("checkout", "pro_2")));
+        RoutingDecisionLogEntity decision = new RoutingDecisionLogEntity();
+        decision.setMerchantId(MERCHANT);
+        decision.setProfileId("pro_1");
+        decision.setSelectedConnector("stripe");
+        decision.setAmount(10_000L);
+        decision.setCurrency("USD");
+        decision.setPaymentMethod("CARD");
+        when(decisionLogRepository.findByMerchantIdAndProfileIdAndCreatedAtBetween(MERCHANT, "pro_1", FROM, TO))
+            .thenReturn(Flux.just(decision));
+        when(feeTable.meetsFloor(eq(MERCHANT), any(), any())).thenReturn(true);
+        when(feeTable.expectedCost(eq(MERCHANT), eq(Connector.STRIPE), anyLong(), any())).thenReturn(300.0);
+        when(feeTable.expectedCost(eq(MERCHANT), eq(Connector.ADYEN), anyLong(), any())).thenReturn(250.0);
+        when(feeTable.expectedCost(eq(MERCHANT), eq(Connector.CHECKOUT), anyLong(), any())).thenReturn(100.0);
+
+        // When / Then
+        webTestClient.get()
+            .uri(BASE + "/contracts/cost_savings?from={from}&to={to}", FROM, TO)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.profile_id").isEqualTo("pro_1")
+            .jsonPath("$.priced_decisions").isEqualTo(1)
+            .jsonPath("$.least_cost").isEqualTo(250)
+            .jsonPath("$.potential_savings").isEqualTo(50)
+            .jsonPath("$.least_cost_volume_by_connector.ADYEN").isEqualTo(10_000);
+        verify(decisionLogRepository, never()).findByMerchantIdAndCreatedAtBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replace the fee schedule and invalidate fee snapshots on a contract config update")
+    void testFeeUpdateInvalidatesFeeTable() {
+        // Given
+        when(feeScheduleRepository.deleteByMerchantId(MERCHANT)).thenReturn(Mono.empty());
+        when(feeScheduleRepository.saveAll(anyIterable()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<ConnectorFeeScheduleEntity>>getArgument(0)));
+        Map<String, Object> body = Map.of("config", Map.of("fees", List.of(
+            Map.of("connector", "stripe", "percentage_fee", 2.9, "fixed_fee", 30),
+            Map.of("connector", "adyen", "card_network", "amex", "percentage_fee", 3.1))));
+
+        // When / Then
+        webTestClient.patch()
+            .uri(BASE + "/contracts/config/contract_1")
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk();
+        verify(feeScheduleRepository).deleteByMerchantId(MERCHANT);
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(feeTable).invalidate(MERCHANT);
+
+        // Unknown connectors are rejected before anything is written
+        webTestClient.patch()
+            .uri(BASE + "/contracts/config/contract_1")
+            .bodyValue(Map.of("config", Map.of("fees", List.of(Map.of("connector", "nope")))))
+            .exchange()
+            .expectStatus().isBadRequest();
+        verify(feeScheduleRepository, times(1)).deleteByMerchantId(MERCHANT);
+    }
+
+    @Test
+    @DisplayName("Should replace the fee schedule in one transaction and keep fee snapshots if it fails")
+    @SuppressWarnings("unchecked")
+    void testFeeUpdateIsTransactional() {
+        // Given - the insert fails after the old schedule was deleted
+        when(feeScheduleRepository.deleteByMerchantId(MERCHANT)).thenReturn(Mono.empty());
+        when(feeScheduleRepository.saveAll(anyIterable()))
+            .thenReturn(Flux.error(new IllegalStateException("duplicate key value")));
+
+        // When / Then
+        webTestClient.patch()
+            .uri(BASE + "/contracts/config/contract_1")
+            .bodyValue(Map.of("config", Map.of("fees", List.of(Map.of("connector", "stripe", "percentage_fee", 2.9)))))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error.code").isEqualTo("CONTRACT_FEE_UPDATE_FAILED");
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(feeTable, never()).invalidate(any());
+    }
+
+    private static RoutingConfigEntity config(String connector, String profileId) {
+        RoutingConfigEntity config = new RoutingConfigEntity();
+        config.setMerchantId(MERCHANT);
+        config.setProfileId(profileId);
+        config.setConnector(connector);
+        config.setEnabled(true);
+        return config;
+    }
+}